@@ -4,7 +4,7 @@ RogueLab Analytics - Telemetry analysis for RogueLab game runs.
 
 __version__ = "0.1.0"
 
-from .loader import load_run, load_runs_from_directory
+from .loader import load_run, load_runs_from_directory, load_arrow_tables
 from .models import RunData, CombatEvent, DamageEvent
 from .analyzers import (
     analyze_run,
@@ -205,3 +205,29 @@ def load_runs_from_directory(directory: Path | str) -> list[RunData]:
             print(f"Warning: Failed to load {filepath}: {e}")
     
     return runs
+
+
+ARROW_TABLES = ("runs", "combats", "damage", "items", "deaths")
+
+
+def load_arrow_tables(directory: Path | str) -> dict:
+    """
+    Load the columnar tables written by ``RogueLab --export-arrow``.
+    
+    Much faster than parsing JSONL for large sweeps: each table is read
+    in one call and enum columns arrive as pandas categoricals.
+    
+    Args:
+        directory: Directory containing runs.arrow, combats.arrow, ...
+        
+    Returns:
+        Dict of table name to pandas DataFrame (missing tables are skipped)
+    """
+    import pandas as pd
+    
+    directory = Path(directory)
+    return {
+        name: pd.read_feather(directory / f"{name}.arrow")
+        for name in ARROW_TABLES
+        if (directory / f"{name}.arrow").exists()
+    }
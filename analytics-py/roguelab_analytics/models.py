@@ -19,9 +19,12 @@ class EventType(Enum):
     DAMAGE_DEALT = "DAMAGE_DEALT"
     ITEM_PICKED = "ITEM_PICKED"
     SHOP_PURCHASED = "SHOP_PURCHASED"
-    PLAYER_RESTED = "PLAYER_RESTED"
+    ITEM_USED = "ITEM_USED"
+    PLAYER_HEALED = "PLAYER_HEALED"
+    PLAYER_RESTED = "PLAYER_RESTED"  # Written by older builds; now PLAYER_HEALED
     PLAYER_LEVEL_UP = "PLAYER_LEVEL_UP"
     PLAYER_DIED = "PLAYER_DIED"
+    BOSS_DEFEATED = "BOSS_DEFEATED"
 
 
 @dataclass
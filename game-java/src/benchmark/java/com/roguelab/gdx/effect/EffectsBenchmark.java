@@ -0,0 +1,195 @@
+package com.roguelab.gdx.effect;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Stress test for {@link EffectsManager}: tries to spawn many effects over
+ * ten simulated seconds at 60 frames per second and times both the update
+ * and the render pass. Needs no window.
+ *
+ * Each run is done twice: once with the game's default capacity and spawn
+ * budget, which drops most of a large burst, and once uncapped, with a
+ * budget and capacity big enough that every effect lives out its lifetime.
+ *
+ * Rendering goes through the real {@link EffectsManager#render} with the
+ * gdx default font, so every live damage number is laid out with
+ * {@code GlyphLayout.setText} as in the game. Drawing needs a GL context,
+ * so the batch only counts the draws it is given and the font has no
+ * textures: the timings cover the CPU side of rendering, not the GPU.
+ *
+ * Usage: {@code gradle effectsBenchmark --args="[count]"}, default 100000.
+ * The first pass of each mode warms up the JIT; the second is reported.
+ */
+public final class EffectsBenchmark {
+
+    private static final int FRAMES = 600;
+    private static final float FRAME_TIME = 1f / 60f;
+    private static final String FONT = "com/badlogic/gdx/utils/lsans-15.fnt";
+
+    private EffectsBenchmark() {}
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int perFrame = Math.max(1, (count + FRAMES - 1) / FRAMES);
+        com.sun.management.ThreadMXBean threads =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean sun
+                && sun.isThreadAllocatedMemorySupported() ? sun : null;
+        BitmapFont font = loadFont();
+
+        System.out.println("Spawning " + count + " effects, " + perFrame + " per frame...");
+
+        System.out.println();
+        System.out.println("Game limits:");
+        run(count, perFrame, threads, font,
+            EffectsManager.DEFAULT_SPRITE_CAPACITY, EffectsManager.DEFAULT_NUMBER_CAPACITY,
+            EffectsManager.DEFAULT_SPAWNS_PER_FRAME);
+
+        // Room for every effect spawned within the longest lifetime, plus the frame in flight
+        int lifetimeFrames = (int) Math.ceil(EffectBuffer.Kind.DAMAGE_NUMBER.getLifetime() / FRAME_TIME) + 1;
+        System.out.println();
+        System.out.println("Uncapped:");
+        run(count, perFrame, threads, font, perFrame * lifetimeFrames, perFrame * lifetimeFrames, perFrame);
+    }
+
+    private static void run(int count, int perFrame, com.sun.management.ThreadMXBean threads, BitmapFont font,
+                            int spriteCapacity, int numberCapacity, int spawnsPerFrame) {
+        // No textures: the batch only counts draws
+        TextureRegion region = new TextureRegion();
+        for (int pass = 0; pass < 2; pass++) {
+            EffectsManager effects = new EffectsManager(font, region, region,
+                spriteCapacity, numberCapacity, spawnsPerFrame);
+            CountingBatch batch = new CountingBatch();
+            long allocatedBefore = threads != null ? threads.getCurrentThreadAllocatedBytes() : 0;
+            long updateTime = 0;
+            long renderTime = 0;
+            long worstUpdate = 0;
+            long worstRender = 0;
+            int peakActive = 0;
+            int attempted = 0;
+
+            for (int frame = 0; frame < FRAMES; frame++) {
+                long frameStart = System.nanoTime();
+                for (int i = 0; i < perFrame && attempted < count; i++, attempted++) {
+                    float x = (attempted * 37) % 1280;
+                    float y = (attempted * 91) % 720;
+                    switch (attempted % 3) {
+                        case 0 -> effects.addSlash(x, y);
+                        case 1 -> effects.addHit(x, y);
+                        default -> effects.addDamageNumber(x, y, "-12", Color.RED);
+                    }
+                }
+                effects.update(FRAME_TIME);
+                long renderStart = System.nanoTime();
+                effects.render(batch, FRAME_TIME);
+                long frameEnd = System.nanoTime();
+
+                updateTime += renderStart - frameStart;
+                renderTime += frameEnd - renderStart;
+                worstUpdate = Math.max(worstUpdate, renderStart - frameStart);
+                worstRender = Math.max(worstRender, frameEnd - renderStart);
+                peakActive = Math.max(peakActive, effects.getActiveCount());
+            }
+            long allocated = threads != null ? threads.getCurrentThreadAllocatedBytes() - allocatedBefore : -1;
+
+            if (pass == 1) {
+                System.out.printf("  Effects: attempted %d, dropped or recycled %d, peak %d live of %d%n",
+                    attempted, effects.getDroppedCount(), peakActive, spriteCapacity + numberCapacity);
+                System.out.printf("  Update: %.2f us per frame mean, %.2f us worst%n",
+                    updateTime / 1e3 / FRAMES, worstUpdate / 1e3);
+                System.out.printf("  Render: %.2f us per frame mean, %.2f us worst, %d draws%n",
+                    renderTime / 1e3 / FRAMES, worstRender / 1e3, batch.draws);
+                System.out.println(allocated >= 0
+                    ? "  Allocated while running: " + allocated + " bytes"
+                    : "  Allocated while running: not measurable on this JVM");
+            }
+        }
+    }
+
+    /**
+     * The gdx default font without its page texture. Glyph metrics are all
+     * layout needs; the texture is only read when drawing.
+     */
+    private static BitmapFont loadFont() {
+        FileHandle file = new FileHandle(FONT, Files.FileType.Classpath) {};
+        BitmapFont.BitmapFontData data = new BitmapFont.BitmapFontData(file, false);
+        return new BitmapFont(data, Array.with(new TextureRegion()), false) {
+            @Override
+            protected void load(BitmapFontData fontData) {
+                // Skips the texture coordinates, which need the page texture
+            }
+        };
+    }
+
+    /** Batch that counts draws instead of sending them to the GPU. */
+    private static final class CountingBatch implements Batch {
+        private final Color color = new Color(Color.WHITE);
+        private final Matrix4 projection = new Matrix4();
+        private final Matrix4 transform = new Matrix4();
+        private boolean drawing;
+        long draws;
+
+        @Override public void begin() { drawing = true; }
+        @Override public void end() { drawing = false; }
+        @Override public void setColor(Color tint) { color.set(tint); }
+        @Override public void setColor(float r, float g, float b, float a) { color.set(r, g, b, a); }
+        @Override public Color getColor() { return color; }
+        @Override public void setPackedColor(float packedColor) { Color.abgr8888ToColor(color, packedColor); }
+        @Override public float getPackedColor() { return color.toFloatBits(); }
+
+        @Override
+        public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height,
+                         float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight,
+                         boolean flipX, boolean flipY) { draws++; }
+        @Override
+        public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY,
+                         int srcWidth, int srcHeight, boolean flipX, boolean flipY) { draws++; }
+        @Override
+        public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) { draws++; }
+        @Override
+        public void draw(Texture texture, float x, float y, float width, float height,
+                         float u, float v, float u2, float v2) { draws++; }
+        @Override public void draw(Texture texture, float x, float y) { draws++; }
+        @Override public void draw(Texture texture, float x, float y, float width, float height) { draws++; }
+        @Override public void draw(Texture texture, float[] spriteVertices, int offset, int count) { draws++; }
+        @Override public void draw(TextureRegion region, float x, float y) { draws++; }
+        @Override public void draw(TextureRegion region, float x, float y, float width, float height) { draws++; }
+        @Override
+        public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+                         float scaleX, float scaleY, float rotation) { draws++; }
+        @Override
+        public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+                         float scaleX, float scaleY, float rotation, boolean clockwise) { draws++; }
+        @Override public void draw(TextureRegion region, float width, float height, Affine2 transform) { draws++; }
+
+        @Override public void flush() {}
+        @Override public void disableBlending() {}
+        @Override public void enableBlending() {}
+        @Override public void setBlendFunction(int srcFunc, int dstFunc) {}
+        @Override public void setBlendFunctionSeparate(int srcRgb, int dstRgb, int srcAlpha, int dstAlpha) {}
+        @Override public int getBlendSrcFunc() { return 0; }
+        @Override public int getBlendDstFunc() { return 0; }
+        @Override public int getBlendSrcFuncAlpha() { return 0; }
+        @Override public int getBlendDstFuncAlpha() { return 0; }
+        @Override public Matrix4 getProjectionMatrix() { return projection; }
+        @Override public Matrix4 getTransformMatrix() { return transform; }
+        @Override public void setProjectionMatrix(Matrix4 matrix) { projection.set(matrix); }
+        @Override public void setTransformMatrix(Matrix4 matrix) { transform.set(matrix); }
+        @Override public void setShader(ShaderProgram shader) {}
+        @Override public ShaderProgram getShader() { return null; }
+        @Override public boolean isBlendingEnabled() { return true; }
+        @Override public boolean isDrawing() { return drawing; }
+        @Override public void dispose() {}
+    }
+}
@@ -0,0 +1,100 @@
+package com.roguelab.bot;
+
+/**
+ * A single decision returned by a {@link Policy}.
+ *
+ * Actions without an argument are shared constants. Indexed actions
+ * (buy, use, pick up) are cached for small indices so that policies
+ * evaluated millions of times per sweep don't allocate.
+ *
+ * Index meaning depends on the kind:
+ * - BUY, PICK_UP: index into the current room's item list
+ * - USE_ITEM: index into the player's inventory
+ */
+public record Action(Kind kind, int index) {
+
+    public enum Kind {
+        /** Resolve the combat in the current room */
+        FIGHT,
+        /** Move to the next room on the floor */
+        ADVANCE,
+        /** Descend to the next floor, or finish the run on the final floor */
+        DESCEND,
+        /** Rest at a rest site, then leave it */
+        REST,
+        /** Leave a rest site without resting */
+        SKIP_REST,
+        /** Purchase a shop item */
+        BUY,
+        /** Leave the shop */
+        LEAVE_SHOP,
+        /** Use a consumable from the inventory */
+        USE_ITEM,
+        /** Pick up an item lying in the room */
+        PICK_UP,
+        /** Give up the run */
+        ABANDON;
+
+        /**
+         * Check if this kind carries an item index.
+         */
+        public boolean isIndexed() {
+            return this == BUY || this == USE_ITEM || this == PICK_UP;
+        }
+    }
+
+    private static final int CACHED_INDICES = 32;
+
+    public static final Action FIGHT = new Action(Kind.FIGHT, -1);
+    public static final Action ADVANCE = new Action(Kind.ADVANCE, -1);
+    public static final Action DESCEND = new Action(Kind.DESCEND, -1);
+    public static final Action REST = new Action(Kind.REST, -1);
+    public static final Action SKIP_REST = new Action(Kind.SKIP_REST, -1);
+    public static final Action LEAVE_SHOP = new Action(Kind.LEAVE_SHOP, -1);
+    public static final Action ABANDON = new Action(Kind.ABANDON, -1);
+
+    private static final Action[] BUY_CACHE = indexed(Kind.BUY);
+    private static final Action[] USE_CACHE = indexed(Kind.USE_ITEM);
+    private static final Action[] PICK_UP_CACHE = indexed(Kind.PICK_UP);
+
+    public Action {
+        if (kind == null) {
+            throw new IllegalArgumentException("Action kind cannot be null");
+        }
+        if (kind.isIndexed() && index < 0) {
+            throw new IllegalArgumentException(kind + " requires a non-negative index");
+        }
+    }
+
+    public static Action buy(int index) {
+        return cached(BUY_CACHE, Kind.BUY, index);
+    }
+
+    public static Action useItem(int index) {
+        return cached(USE_CACHE, Kind.USE_ITEM, index);
+    }
+
+    public static Action pickUp(int index) {
+        return cached(PICK_UP_CACHE, Kind.PICK_UP, index);
+    }
+
+    private static Action cached(Action[] cache, Kind kind, int index) {
+        if (index >= 0 && index < cache.length) {
+            return cache[index];
+        }
+        return new Action(kind, index);
+    }
+
+    private static Action[] indexed(Kind kind) {
+        Action[] cache = new Action[CACHED_INDICES];
+        for (int i = 0; i < cache.length; i++) {
+            cache[i] = new Action(kind, i);
+        }
+        return cache;
+    }
+
+    @Override
+    public String toString() {
+        return kind.isIndexed() ? kind + "(" + index + ")" : kind.name();
+    }
+}
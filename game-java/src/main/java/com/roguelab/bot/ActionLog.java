@@ -0,0 +1,48 @@
+package com.roguelab.bot;
+
+import com.roguelab.game.GameSession;
+
+import java.util.Arrays;
+
+/**
+ * The sequence of actions applied to a session since it started.
+ *
+ * The {@link AutoPlayer} records every action it applies, and the log's
+ * size identifies how far into the run a decision is. Search policies
+ * use it to recognise a decision point they have already searched and
+ * reuse that part of their tree. Forking a session is done by
+ * snapshotting it (see {@link SessionView#fork()}), not through the log.
+ */
+public final class ActionLog {
+
+    private final long seed;
+
+    private Action[] actions;
+    private int size;
+
+    /**
+     * Start an empty log for a session that has not yet taken any actions.
+     */
+    public ActionLog(GameSession session) {
+        this.seed = session.getSeed();
+        this.actions = new Action[64];
+        this.size = 0;
+    }
+
+    public long getSeed() { return seed; }
+    public int size() { return size; }
+
+    public Action get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Action index: " + index);
+        }
+        return actions[index];
+    }
+
+    public void append(Action action) {
+        if (size == actions.length) {
+            actions = Arrays.copyOf(actions, size * 2);
+        }
+        actions[size++] = action;
+    }
+}
@@ -0,0 +1,74 @@
+package com.roguelab.bot;
+
+import com.roguelab.domain.RoomType;
+
+import java.util.List;
+
+/**
+ * Enumerates the meaningful legal actions at a decision point.
+ *
+ * The space is deliberately pruned to keep search branching small:
+ * - picking up loot is always taken (it has no downside)
+ * - only the strongest consumable is offered, and only when hurt
+ * - moving forward is a single action (advance, descend or finish)
+ */
+public final class ActionSpace {
+
+    private ActionSpace() {}
+
+    /**
+     * Fill {@code out} with the legal actions for the current state.
+     * The list is cleared first; it is empty when the run is over.
+     */
+    public static void legalActions(SessionView view, List<Action> out) {
+        out.clear();
+        if (!view.isActive()) {
+            return;
+        }
+
+        switch (view.state()) {
+            case IN_COMBAT -> {
+                out.add(Action.FIGHT);
+                addPotion(view, out);
+            }
+            case IN_SHOP -> {
+                for (int i = 0; i < view.roomItemCount(); i++) {
+                    if (view.roomItemValue(i) <= view.gold()) {
+                        out.add(Action.buy(i));
+                    }
+                }
+                out.add(Action.LEAVE_SHOP);
+                addPotion(view, out);
+            }
+            case AT_REST -> {
+                out.add(Action.REST);
+                out.add(Action.SKIP_REST);
+                addPotion(view, out);
+            }
+            case EXPLORING -> {
+                if (view.roomType() != RoomType.SHOP && view.roomItemCount() > 0) {
+                    out.add(Action.pickUp(0));
+                    return;
+                }
+                if (view.hasNextRoom()) {
+                    out.add(Action.ADVANCE);
+                } else if (view.canDescend() || view.canFinish()) {
+                    out.add(Action.DESCEND);
+                } else {
+                    out.add(Action.ABANDON);
+                }
+                addPotion(view, out);
+            }
+            default -> out.add(Action.ABANDON);
+        }
+    }
+
+    private static void addPotion(SessionView view, List<Action> out) {
+        if (view.playerHealth() < view.playerMaxHealth()) {
+            int potion = view.bestConsumable();
+            if (potion >= 0) {
+                out.add(Action.useItem(potion));
+            }
+        }
+    }
+}
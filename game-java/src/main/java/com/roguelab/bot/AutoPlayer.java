@@ -0,0 +1,133 @@
+package com.roguelab.bot;
+
+import com.roguelab.domain.Item;
+import com.roguelab.domain.Room;
+import com.roguelab.domain.RoomType;
+import com.roguelab.dungeon.Dungeon;
+import com.roguelab.game.GameSession;
+import com.roguelab.game.GameSessionListener;
+import com.roguelab.game.GameState;
+
+import java.util.Objects;
+
+/**
+ * Drives a game session to completion using a {@link Policy}.
+ *
+ * The auto player owns the rules of automated play so every policy is
+ * measured the same way:
+ * - REST heals once and leaves the site (as the GUI does)
+ * - shop stock must be bought, never picked up
+ * - DESCEND on the cleared final floor ends the run as a victory
+ * - runs that exceed the action limit are abandoned
+ *
+ * Every applied action is recorded in an {@link ActionLog} so that
+ * policies can tell how far into the run a decision is. The count is
+ * exact only if the session had taken no actions before {@link #play}
+ * was called.
+ */
+public final class AutoPlayer {
+
+    public static final int DEFAULT_MAX_ACTIONS = 10_000;
+
+    private final Policy policy;
+    private final int maxActions;
+
+    public AutoPlayer(Policy policy) {
+        this(policy, DEFAULT_MAX_ACTIONS);
+    }
+
+    public AutoPlayer(Policy policy, int maxActions) {
+        this.policy = Objects.requireNonNull(policy);
+        if (maxActions <= 0) {
+            throw new IllegalArgumentException("maxActions must be positive");
+        }
+        this.maxActions = maxActions;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Play the session until the run ends. Starts the session if needed.
+     */
+    public RunOutcome play(GameSession session) {
+        if (session.getState() == GameState.INITIALIZING) {
+            session.start();
+        }
+
+        ActionLog history = new ActionLog(session);
+        SessionView view = new SessionView(session, history);
+        int actions = 0;
+
+        while (session.isActive() && actions < maxActions) {
+            if (!isDecisionState(session.getState())) {
+                break;
+            }
+            Action action = policy.decide(view);
+            apply(session, action);
+            history.append(action);
+            actions++;
+        }
+
+        if (session.isActive()) {
+            session.endRun(GameSessionListener.RunEndReason.ABANDONED);
+        }
+
+        return RunOutcome.of(session, actions);
+    }
+
+    /**
+     * Apply a single action to a session.
+     * @throws IllegalStateException if the action is not legal in the current state
+     */
+    public static void apply(GameSession session, Action action) {
+        Room room = session.getCurrentRoom();
+
+        switch (action.kind()) {
+            case FIGHT -> session.executeCombat();
+            case ADVANCE -> session.advanceRoom();
+            case DESCEND -> descendOrFinish(session);
+            case REST -> {
+                session.rest();
+                session.leaveRest();
+            }
+            case SKIP_REST -> session.leaveRest();
+            case BUY -> {
+                Item item = room.getItems().get(action.index());
+                if (!session.purchaseItem(item)) {
+                    throw new IllegalStateException("Cannot afford " + item.getName());
+                }
+            }
+            case LEAVE_SHOP -> session.leaveShop();
+            case USE_ITEM -> session.useItem(
+                session.getPlayer().getInventory().getItems().get(action.index()));
+            case PICK_UP -> {
+                if (room.getType() == RoomType.SHOP) {
+                    throw new IllegalStateException("Shop items must be purchased");
+                }
+                session.pickUpItem(room.getItems().get(action.index()));
+            }
+            case ABANDON -> session.endRun(GameSessionListener.RunEndReason.ABANDONED);
+        }
+    }
+
+    private static void descendOrFinish(GameSession session) {
+        Dungeon dungeon = session.getDungeon();
+        if (dungeon.canDescend()) {
+            session.descendFloor();
+        } else if (new SessionView(session).canFinish()
+                   && session.getState() == GameState.EXPLORING) {
+            session.endRun(GameSessionListener.RunEndReason.VICTORY);
+        } else {
+            throw new IllegalStateException("Cannot descend - not at exit or rooms not cleared");
+        }
+    }
+
+    private static boolean isDecisionState(GameState state) {
+        return switch (state) {
+            case EXPLORING, IN_COMBAT, IN_SHOP, AT_REST -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.roguelab.bot;
+
+import com.roguelab.domain.RoomType;
+
+/**
+ * The behaviour of the CLI demo's {@code RogueLab.playFloor}:
+ * always fight, always rest, never buy, never use items, pick up
+ * everything, advance until the exit and descend.
+ *
+ * The one difference is that shop stock is left alone, since the
+ * auto player does not allow looting shops.
+ *
+ * Other policies wrap this one and override only the decisions they
+ * care about.
+ */
+public final class BaselinePolicy implements Policy {
+
+    public static final BaselinePolicy INSTANCE = new BaselinePolicy();
+
+    @Override
+    public Action decide(SessionView view) {
+        return switch (view.state()) {
+            case IN_COMBAT -> Action.FIGHT;
+            case IN_SHOP -> Action.LEAVE_SHOP;
+            case AT_REST -> Action.REST;
+            case EXPLORING -> explore(view);
+            default -> Action.ABANDON;
+        };
+    }
+
+    private Action explore(SessionView view) {
+        if (view.roomType() != RoomType.SHOP && view.roomItemCount() > 0) {
+            return Action.pickUp(0);
+        }
+        if (view.hasNextRoom()) {
+            return Action.ADVANCE;
+        }
+        if (view.canDescend() || view.canFinish()) {
+            return Action.DESCEND;
+        }
+        return Action.ABANDON;
+    }
+}
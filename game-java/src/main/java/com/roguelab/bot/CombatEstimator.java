@@ -0,0 +1,87 @@
+package com.roguelab.bot;
+
+/**
+ * Fast expected-value simulation of a fight, used by policies to look
+ * ahead before engaging.
+ *
+ * Mirrors the turn order of {@link com.roguelab.combat.CombatEngine}
+ * (player hits the first living enemy, then every surviving enemy hits
+ * back) and the formula of {@link com.roguelab.combat.DamageCalculator},
+ * with critical hits folded in as an expected value. Status effects are
+ * ignored. Works on primitives from the {@link SessionView}; the only
+ * state is a scratch array that grows to the largest room seen.
+ *
+ * Not thread-safe - use one estimator per policy instance.
+ */
+public final class CombatEstimator {
+
+    private static final int MAX_TURNS = 100;
+    private static final int MINIMUM_DAMAGE = 1;
+
+    private double[] enemyHealth = new double[8];
+
+    /**
+     * Estimate the player's health after fighting every living enemy in a room.
+     *
+     * @param view Session view
+     * @param room Room index on the current floor
+     * @param playerHealth Health the player would enter the fight with
+     * @return Expected remaining health; zero or less means a predicted death
+     */
+    public double estimateRemainingHealth(SessionView view, int room, double playerHealth) {
+        int slots = view.enemySlots(room);
+        if (enemyHealth.length < slots) {
+            enemyHealth = new double[Math.max(slots, enemyHealth.length * 2)];
+        }
+        for (int i = 0; i < slots; i++) {
+            enemyHealth[i] = view.enemyAlive(room, i) ? view.enemyHealth(room, i) : 0;
+        }
+
+        int attack = view.playerAttack();
+        int defense = view.playerDefense();
+        double critChance = view.playerCritChance();
+        double critMultiplier = view.playerCritMultiplier();
+        double health = playerHealth;
+
+        for (int turn = 0; turn < MAX_TURNS; turn++) {
+            int target = firstAlive(slots);
+            if (target < 0) {
+                break;
+            }
+
+            int enemyDefense = view.enemyDefense(room, target);
+            double normal = damage(attack, enemyDefense);
+            double critical = damage(attack * critMultiplier, enemyDefense);
+            enemyHealth[target] -= (1 - critChance) * normal + critChance * critical;
+
+            for (int i = 0; i < slots; i++) {
+                if (enemyHealth[i] > 0) {
+                    health -= damage(view.enemyAttack(room, i), defense);
+                    if (health <= 0) {
+                        return health;
+                    }
+                }
+            }
+        }
+
+        return health;
+    }
+
+    /**
+     * Check if the player is expected to survive a room.
+     */
+    public boolean survives(SessionView view, int room) {
+        return estimateRemainingHealth(view, room, view.playerHealth()) > 0;
+    }
+
+    private int firstAlive(int slots) {
+        for (int i = 0; i < slots; i++) {
+            if (enemyHealth[i] > 0) return i;
+        }
+        return -1;
+    }
+
+    private static double damage(double attack, int defense) {
+        return Math.max(MINIMUM_DAMAGE, Math.round(attack - defense));
+    }
+}
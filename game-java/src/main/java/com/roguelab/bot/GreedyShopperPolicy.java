@@ -0,0 +1,64 @@
+package com.roguelab.bot;
+
+import com.roguelab.domain.ItemType;
+import com.roguelab.game.GameState;
+
+/**
+ * Buys the most valuable affordable item in every shop, repeatedly,
+ * until nothing else is affordable. Consumables are preferred when
+ * health is below the given threshold. All other decisions are delegated.
+ */
+public final class GreedyShopperPolicy implements Policy {
+
+    private final double potionThreshold;
+    private final Policy fallback;
+
+    public GreedyShopperPolicy() {
+        this(0.5, BaselinePolicy.INSTANCE);
+    }
+
+    public GreedyShopperPolicy(Policy fallback) {
+        this(0.5, fallback);
+    }
+
+    /**
+     * @param potionThreshold Prefer consumables when health percent is below this
+     */
+    public GreedyShopperPolicy(double potionThreshold, Policy fallback) {
+        this.potionThreshold = potionThreshold;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Action decide(SessionView view) {
+        if (view.state() != GameState.IN_SHOP) {
+            return fallback.decide(view);
+        }
+
+        boolean wantPotion = view.playerHealthPercent() < potionThreshold;
+        int gold = view.gold();
+        int best = -1;
+        int bestScore = Integer.MIN_VALUE;
+
+        for (int i = 0; i < view.roomItemCount(); i++) {
+            int value = view.roomItemValue(i);
+            if (value > gold) continue;
+
+            int score = value;
+            if (wantPotion && view.roomItemType(i) == ItemType.CONSUMABLE) {
+                score += 10_000;
+            }
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+
+        return best >= 0 ? Action.buy(best) : Action.LEAVE_SHOP;
+    }
+
+    @Override
+    public String name() {
+        return "GreedyShopper";
+    }
+}
@@ -0,0 +1,79 @@
+package com.roguelab.bot;
+
+import com.roguelab.game.GameState;
+
+/**
+ * Simulates the next fight with a {@link CombatEstimator} before
+ * engaging, and drinks consumables first when the fight is predicted
+ * to end below a safety margin.
+ *
+ * Checks the current room when in combat, and the next room before
+ * advancing into it. All other decisions are delegated.
+ */
+public final class LookaheadPolicy implements Policy {
+
+    private final double safetyMargin;
+    private final Policy fallback;
+    private final CombatEstimator estimator = new CombatEstimator();
+
+    public LookaheadPolicy() {
+        this(0.2, BaselinePolicy.INSTANCE);
+    }
+
+    public LookaheadPolicy(Policy fallback) {
+        this(0.2, fallback);
+    }
+
+    /**
+     * @param safetyMargin Minimum predicted health percent after a fight
+     */
+    public LookaheadPolicy(double safetyMargin, Policy fallback) {
+        if (safetyMargin < 0.0 || safetyMargin > 1.0) {
+            throw new IllegalArgumentException("safetyMargin must be between 0 and 1");
+        }
+        this.safetyMargin = safetyMargin;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Action decide(SessionView view) {
+        GameState state = view.state();
+
+        if (state == GameState.IN_COMBAT) {
+            Action potion = prepareFor(view, view.roomIndex());
+            return potion != null ? potion : Action.FIGHT;
+        }
+
+        if (state == GameState.EXPLORING && view.hasNextRoom()) {
+            int next = view.roomIndex() + 1;
+            if (view.aliveEnemies(next) > 0) {
+                Action potion = prepareFor(view, next);
+                if (potion != null) {
+                    return potion;
+                }
+            }
+        }
+
+        return fallback.decide(view);
+    }
+
+    /**
+     * Return a potion action if the fight in the room looks too risky, or null.
+     */
+    private Action prepareFor(SessionView view, int room) {
+        if (view.playerHealth() >= view.playerMaxHealth()) {
+            return null;
+        }
+        double remaining = estimator.estimateRemainingHealth(view, room, view.playerHealth());
+        if (remaining >= safetyMargin * view.playerMaxHealth()) {
+            return null;
+        }
+        int potion = view.bestConsumable();
+        return potion >= 0 ? Action.useItem(potion) : null;
+    }
+
+    @Override
+    public String name() {
+        return "Lookahead(" + safetyMargin + ")";
+    }
+}
@@ -0,0 +1,123 @@
+package com.roguelab.bot;
+
+import com.roguelab.domain.Difficulty;
+import com.roguelab.domain.PlayerClass;
+import com.roguelab.dungeon.DungeonConfig;
+import com.roguelab.game.GameSession;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares the greedy baseline ({@code RogueLab.playFloor} behaviour)
+ * against search-based play on the same seeds, to show how far greedy
+ * play falls below the achievable outcome for each seed.
+ */
+public final class OptimalityGapReport {
+
+    /**
+     * Outcome of both players on one seed.
+     */
+    public record SeedResult(long seed, RunOutcome greedy, RunOutcome search) {
+
+        /**
+         * Score difference (search minus greedy), in [-1, 1].
+         */
+        public double gap() {
+            return SearchPolicy.score(search) - SearchPolicy.score(greedy);
+        }
+    }
+
+    private final PlayerClass playerClass;
+    private final String searchName;
+    private final List<SeedResult> results;
+
+    private OptimalityGapReport(PlayerClass playerClass, String searchName, List<SeedResult> results) {
+        this.playerClass = playerClass;
+        this.searchName = searchName;
+        this.results = Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Play every seed in [firstSeed, firstSeed + seedCount) with both players.
+     */
+    public static OptimalityGapReport measure(PlayerClass playerClass, DungeonConfig config,
+                                              long firstSeed, int seedCount, SearchPolicy search) {
+        List<SeedResult> results = new ArrayList<>(seedCount);
+        AutoPlayer greedyPlayer = new AutoPlayer(BaselinePolicy.INSTANCE);
+        AutoPlayer searchPlayer = new AutoPlayer(search);
+
+        for (long seed = firstSeed; seed < firstSeed + seedCount; seed++) {
+            RunOutcome greedy = greedyPlayer.play(newSession(playerClass, seed, config));
+            RunOutcome searched = searchPlayer.play(newSession(playerClass, seed, config));
+            results.add(new SeedResult(seed, greedy, searched));
+        }
+
+        return new OptimalityGapReport(playerClass, search.name(), results);
+    }
+
+    private static GameSession newSession(PlayerClass playerClass, long seed, DungeonConfig config) {
+        return new GameSession("Bot", playerClass, seed, Difficulty.NORMAL, config);
+    }
+
+    public List<SeedResult> getResults() {
+        return results;
+    }
+
+    public long greedyVictories() {
+        return results.stream().filter(r -> r.greedy().victory()).count();
+    }
+
+    public long searchVictories() {
+        return results.stream().filter(r -> r.search().victory()).count();
+    }
+
+    /**
+     * Seeds the search player wins but the greedy player loses.
+     */
+    public long missedVictories() {
+        return results.stream().filter(r -> r.search().victory() && !r.greedy().victory()).count();
+    }
+
+    public double meanGap() {
+        return results.stream().mapToDouble(SeedResult::gap).average().orElse(0);
+    }
+
+    /**
+     * Render the report as Markdown, in the style of the analytics batch reports.
+     */
+    public String toMarkdown() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# RogueLab Optimality Gap Report\n\n");
+        sb.append("## Overview\n\n");
+        sb.append("| Metric | Value |\n");
+        sb.append("|--------|-------|\n");
+        sb.append(String.format("| Player Class | %s |%n", playerClass));
+        sb.append(String.format("| Search Player | %s |%n", searchName));
+        sb.append(String.format("| Seeds | %d |%n", results.size()));
+        sb.append(String.format("| Greedy Victories | %d (%s) |%n", greedyVictories(), percent(greedyVictories())));
+        sb.append(String.format("| Search Victories | %d (%s) |%n", searchVictories(), percent(searchVictories())));
+        sb.append(String.format("| Missed by Greedy | %d |%n", missedVictories()));
+        sb.append(String.format("| Mean Score Gap | %.3f |%n", meanGap()));
+        sb.append("\n## Per-Seed Results\n\n");
+        sb.append("| Seed | Greedy | Search | Gap |\n");
+        sb.append("|------|--------|--------|-----|\n");
+        for (SeedResult r : results) {
+            sb.append(String.format("| %d | %s | %s | %.3f |%n",
+                r.seed(), describe(r.greedy()), describe(r.search()), r.gap()));
+        }
+        return sb.toString();
+    }
+
+    private String percent(long count) {
+        return results.isEmpty() ? "0.0%" : String.format("%.1f%%", 100.0 * count / results.size());
+    }
+
+    private static String describe(RunOutcome outcome) {
+        if (outcome.victory()) {
+            return "WIN";
+        }
+        return String.format("died F%d (%d rooms)", outcome.floorReached(), outcome.roomsCleared());
+    }
+}
@@ -0,0 +1,27 @@
+package com.roguelab.bot;
+
+/**
+ * Decision-making strategy for automated play.
+ *
+ * A policy sees the game only through a read-only {@link SessionView}
+ * and returns the next {@link Action}. The {@link AutoPlayer} applies it.
+ *
+ * Implementations should be cheap and allocation-free in {@link #decide}:
+ * balance sweeps call it millions of times.
+ */
+@FunctionalInterface
+public interface Policy {
+
+    /**
+     * Choose the next action for the current session state.
+     * Only called while the run is active.
+     */
+    Action decide(SessionView view);
+
+    /**
+     * Name used in reports.
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
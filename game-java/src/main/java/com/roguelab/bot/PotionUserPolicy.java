@@ -0,0 +1,46 @@
+package com.roguelab.bot;
+
+import com.roguelab.game.GameState;
+
+/**
+ * Drinks the strongest consumable whenever health drops below a
+ * threshold, in or out of combat. All other decisions are delegated.
+ */
+public final class PotionUserPolicy implements Policy {
+
+    private final double threshold;
+    private final Policy fallback;
+
+    /**
+     * @param threshold Drink when health percent is below this (0.0 to 1.0)
+     */
+    public PotionUserPolicy(double threshold) {
+        this(threshold, BaselinePolicy.INSTANCE);
+    }
+
+    public PotionUserPolicy(double threshold, Policy fallback) {
+        if (threshold < 0.0 || threshold > 1.0) {
+            throw new IllegalArgumentException("threshold must be between 0 and 1");
+        }
+        this.threshold = threshold;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Action decide(SessionView view) {
+        GameState state = view.state();
+        if ((state == GameState.IN_COMBAT || state == GameState.EXPLORING)
+                && view.playerHealthPercent() < threshold) {
+            int potion = view.bestConsumable();
+            if (potion >= 0) {
+                return Action.useItem(potion);
+            }
+        }
+        return fallback.decide(view);
+    }
+
+    @Override
+    public String name() {
+        return "PotionUser(" + threshold + ")";
+    }
+}
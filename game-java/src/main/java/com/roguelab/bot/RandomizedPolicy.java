@@ -0,0 +1,43 @@
+package com.roguelab.bot;
+
+import com.roguelab.util.GameRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Follows a base policy but takes a uniformly random legal action with
+ * probability epsilon. Used as the rollout policy for search, where a
+ * fully deterministic rollout would return the same value every time.
+ *
+ * Deterministic for a given seed.
+ */
+public final class RandomizedPolicy implements Policy {
+
+    private final Policy base;
+    private final double epsilon;
+    private final GameRandom random;
+    private final List<Action> legal = new ArrayList<>();
+
+    public RandomizedPolicy(Policy base, double epsilon, long seed) {
+        this.base = base;
+        this.epsilon = epsilon;
+        this.random = new GameRandom(seed);
+    }
+
+    @Override
+    public Action decide(SessionView view) {
+        if (random.chance(epsilon)) {
+            ActionSpace.legalActions(view, legal);
+            if (!legal.isEmpty()) {
+                return random.pick(legal);
+            }
+        }
+        return base.decide(view);
+    }
+
+    @Override
+    public String name() {
+        return "Randomized(" + base.name() + ", " + epsilon + ")";
+    }
+}
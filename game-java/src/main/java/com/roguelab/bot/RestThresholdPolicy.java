@@ -0,0 +1,41 @@
+package com.roguelab.bot;
+
+import com.roguelab.game.GameState;
+
+/**
+ * Rests only when health is below a threshold, saving the rest site
+ * otherwise. All other decisions are delegated.
+ */
+public final class RestThresholdPolicy implements Policy {
+
+    private final double threshold;
+    private final Policy fallback;
+
+    /**
+     * @param threshold Rest when health percent is below this (0.0 to 1.0)
+     */
+    public RestThresholdPolicy(double threshold) {
+        this(threshold, BaselinePolicy.INSTANCE);
+    }
+
+    public RestThresholdPolicy(double threshold, Policy fallback) {
+        if (threshold < 0.0 || threshold > 1.0) {
+            throw new IllegalArgumentException("threshold must be between 0 and 1");
+        }
+        this.threshold = threshold;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Action decide(SessionView view) {
+        if (view.state() == GameState.AT_REST) {
+            return view.playerHealthPercent() < threshold ? Action.REST : Action.SKIP_REST;
+        }
+        return fallback.decide(view);
+    }
+
+    @Override
+    public String name() {
+        return "RestThreshold(" + threshold + ")";
+    }
+}
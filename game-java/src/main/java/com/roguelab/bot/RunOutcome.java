@@ -0,0 +1,52 @@
+package com.roguelab.bot;
+
+import com.roguelab.dungeon.Dungeon;
+import com.roguelab.game.GameSession;
+import com.roguelab.game.RunStatistics;
+
+/**
+ * Immutable summary of an automated run.
+ */
+public record RunOutcome(
+    long seed,
+    boolean victory,
+    int floorReached,
+    int maxFloors,
+    int roomsCleared,
+    int finalHealth,
+    int maxHealth,
+    int actions
+) {
+
+    /**
+     * Build an outcome from a finished session.
+     * Victory uses the same check as the GUI: alive, on the final floor,
+     * every combat room on it cleared.
+     */
+    public static RunOutcome of(GameSession session, int actions) {
+        Dungeon dungeon = session.getDungeon();
+        RunStatistics stats = session.getStatistics();
+        boolean victory = session.getPlayer().isAlive()
+            && dungeon.isOnFinalFloor()
+            && dungeon.getCurrentFloor().allCombatRoomsCleared();
+
+        return new RunOutcome(
+            session.getSeed(),
+            victory,
+            dungeon.getCurrentFloorNumber(),
+            dungeon.getMaxFloors(),
+            stats.getRoomsCleared(),
+            session.getPlayer().getHealth().getCurrent(),
+            session.getPlayer().getHealth().getMaximum(),
+            actions
+        );
+    }
+
+    /**
+     * Progress through the dungeon in [0, 1]: 1.0 only for a victory.
+     */
+    public double progress() {
+        if (victory) return 1.0;
+        return Math.min(0.99, (floorReached - 1) / (double) maxFloors);
+    }
+}
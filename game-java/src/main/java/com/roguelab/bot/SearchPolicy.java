@@ -0,0 +1,340 @@
+package com.roguelab.bot;
+
+import com.roguelab.game.GameSession;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Monte Carlo tree search over decision points (combat potions, shop
+ * purchases, rest vs. continue, item use), for upper-bound balance
+ * analysis: "is this seed winnable with near-optimal play?".
+ *
+ * Each iteration selects a node by UCT, expands one untried action on a
+ * forked session and scores it with randomized rollouts run in parallel.
+ * The decision point is snapshotted once per decision and every fork is
+ * restored from that snapshot, then replays only the actions on its path
+ * from the root, so a fork costs the same however long the run has been.
+ * This is exact because all randomness is seeded and snapshotted. The
+ * chosen child becomes the root of the next decision, so the tree is
+ * reused between decisions.
+ *
+ * The tree is only reused across decisions for views created by the
+ * {@link AutoPlayer}, whose {@link ActionLog} identifies the decision
+ * point. Close the policy to release its worker threads.
+ */
+public final class SearchPolicy implements Policy, AutoCloseable {
+
+    private final int rolloutBudget;
+    private final Duration timeBudget;
+    private final int parallelism;
+    private final double exploration;
+    private final Policy rolloutPolicy;
+    private final double rolloutEpsilon;
+    private final ExecutorService executor;
+
+    private final List<Action> legal = new ArrayList<>();
+    private Node root;
+    private int rootHistorySize = -1;
+    private long rootSeed;
+    private long rolloutCounter;
+    private long totalRollouts;
+
+    private SearchPolicy(Builder builder) {
+        this.rolloutBudget = builder.rolloutBudget;
+        this.timeBudget = builder.timeBudget;
+        this.parallelism = builder.parallelism;
+        this.exploration = builder.exploration;
+        this.rolloutPolicy = builder.rolloutPolicy;
+        this.rolloutEpsilon = builder.rolloutEpsilon;
+        this.executor = parallelism > 1
+            ? Executors.newFixedThreadPool(parallelism, daemonThreads())
+            : null;
+    }
+
+    /**
+     * Total rollouts played over the policy's lifetime.
+     */
+    public long getTotalRollouts() {
+        return totalRollouts;
+    }
+
+    @Override
+    public Action decide(SessionView view) {
+        ActionSpace.legalActions(view, legal);
+        if (legal.isEmpty()) {
+            return Action.ABANDON;
+        }
+
+        Node current = rootFor(view);
+        if (legal.size() > 1) {
+            search(view, current);
+        }
+
+        Action chosen = current.children.isEmpty() ? legal.get(0) : mostVisited(current).action;
+        advanceRoot(current, chosen, view);
+        return chosen;
+    }
+
+    // === TREE REUSE ===
+
+    private Node rootFor(SessionView view) {
+        if (root != null && rootSeed == view.seed() && rootHistorySize == view.historySize()) {
+            return root;
+        }
+        Node fresh = new Node(null, null);
+        fresh.untried = new ArrayList<>(legal);
+        return fresh;
+    }
+
+    private void advanceRoot(Node current, Action chosen, SessionView view) {
+        Node next = null;
+        for (Node child : current.children) {
+            if (child.action.equals(chosen)) {
+                next = child;
+                break;
+            }
+        }
+        if (next != null) {
+            next.parent = null;
+        }
+        root = next;
+        rootSeed = view.seed();
+        rootHistorySize = view.historySize() + 1;
+    }
+
+    // === SEARCH ===
+
+    private void search(SessionView view, Node searchRoot) {
+        long deadline = timeBudget != null ? System.nanoTime() + timeBudget.toNanos() : Long.MAX_VALUE;
+        int rollouts = 0;
+        byte[] start = view.snapshot();
+
+        while (rollouts < rolloutBudget && System.nanoTime() < deadline) {
+            Node node = select(searchRoot);
+            List<Action> path = pathTo(node, searchRoot);
+
+            GameSession fork = GameSession.restore(start);
+            for (Action action : path) {
+                AutoPlayer.apply(fork, action);
+            }
+
+            if (node.untried == null) {
+                node.untried = legalAt(fork);
+                node.terminal = !fork.isActive();
+            }
+
+            if (!node.terminal && !node.untried.isEmpty()) {
+                Action action = node.untried.remove(node.untried.size() - 1);
+                AutoPlayer.apply(fork, action);
+                Node child = new Node(node, action);
+                child.untried = legalAt(fork);
+                child.terminal = !fork.isActive();
+                node.children.add(child);
+                node = child;
+                path.add(action);
+            }
+
+            if (node.terminal) {
+                backpropagate(node, score(RunOutcome.of(fork, 0)));
+                rollouts++;
+                continue;
+            }
+
+            double[] rewards = rollout(view, start, path, fork);
+            for (double reward : rewards) {
+                backpropagate(node, reward);
+            }
+            rollouts += rewards.length;
+        }
+
+        totalRollouts += rollouts;
+    }
+
+    private Node select(Node node) {
+        while (!node.terminal && node.untried != null && node.untried.isEmpty()
+               && !node.children.isEmpty()) {
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(node.visits);
+            for (Node child : node.children) {
+                double value = child.mean() + exploration * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    best = child;
+                    bestValue = value;
+                }
+            }
+            node = best;
+        }
+        return node;
+    }
+
+    private double[] rollout(SessionView view, byte[] start, List<Action> path, GameSession first) {
+        int count = executor != null ? parallelism : 1;
+        List<Callable<Double>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long seed = view.seed() * 31 + rolloutCounter++;
+            GameSession session = i == 0 ? first : null;
+            tasks.add(() -> playOut(start, path, session, seed));
+        }
+
+        double[] rewards = new double[count];
+        if (executor == null) {
+            try {
+                rewards[0] = tasks.get(0).call();
+            } catch (Exception e) {
+                throw new IllegalStateException("Rollout failed", e);
+            }
+            return rewards;
+        }
+
+        try {
+            List<Future<Double>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < count; i++) {
+                rewards[i] = futures.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rollout failed", e.getCause());
+        }
+        return rewards;
+    }
+
+    private double playOut(byte[] start, List<Action> path, GameSession forked, long seed) {
+        GameSession session = forked;
+        if (session == null) {
+            session = GameSession.restore(start);
+            for (Action action : path) {
+                AutoPlayer.apply(session, action);
+            }
+        }
+        Policy policy = new RandomizedPolicy(rolloutPolicy, rolloutEpsilon, seed);
+        return score(new AutoPlayer(policy).play(session));
+    }
+
+    private static void backpropagate(Node node, double reward) {
+        for (Node n = node; n != null; n = n.parent) {
+            n.visits++;
+            n.valueSum += reward;
+        }
+    }
+
+    private static List<Action> pathTo(Node node, Node searchRoot) {
+        List<Action> path = new ArrayList<>();
+        for (Node n = node; n != searchRoot; n = n.parent) {
+            path.add(0, n.action);
+        }
+        return path;
+    }
+
+    private static List<Action> legalAt(GameSession session) {
+        List<Action> actions = new ArrayList<>();
+        ActionSpace.legalActions(new SessionView(session), actions);
+        return actions;
+    }
+
+    private static Node mostVisited(Node node) {
+        Node best = node.children.get(0);
+        for (Node child : node.children) {
+            if (child.visits > best.visits
+                || (child.visits == best.visits && child.mean() > best.mean())) {
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Reward in [0, 1]: 1.0 for a victory, otherwise dungeon progress
+     * with a small bonus per cleared room to separate early deaths.
+     */
+    static double score(RunOutcome outcome) {
+        if (outcome.victory()) return 1.0;
+        return Math.min(0.95, outcome.progress() + 0.01 * outcome.roomsCleared());
+    }
+
+    @Override
+    public String name() {
+        return "Search(" + rolloutBudget + ")";
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        return runnable -> {
+            Thread thread = new Thread(runnable, "roguelab-search");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Node in the search tree, one per decision-point state.
+     */
+    private static final class Node {
+        private Node parent;
+        private final Action action;
+        private final List<Node> children = new ArrayList<>();
+        private List<Action> untried;
+        private boolean terminal;
+        private int visits;
+        private double valueSum;
+
+        Node(Node parent, Action action) {
+            this.parent = parent;
+            this.action = action;
+        }
+
+        double mean() {
+            return visits == 0 ? 0 : valueSum / visits;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int rolloutBudget = 200;
+        private Duration timeBudget = null;
+        private int parallelism = 1;
+        private double exploration = 0.7;
+        private Policy rolloutPolicy = BaselinePolicy.INSTANCE;
+        private double rolloutEpsilon = 0.2;
+
+        /** Maximum rollouts per decision */
+        public Builder rolloutBudget(int value) { this.rolloutBudget = value; return this; }
+        /** Maximum wall-clock time per decision (optional) */
+        public Builder timeBudget(Duration value) { this.timeBudget = value; return this; }
+        /** Rollouts run in parallel per expansion */
+        public Builder parallelism(int value) { this.parallelism = value; return this; }
+        /** UCT exploration constant */
+        public Builder exploration(double value) { this.exploration = value; return this; }
+        /** Base policy for rollouts; shared across threads, so it must be stateless */
+        public Builder rolloutPolicy(Policy value) { this.rolloutPolicy = value; return this; }
+        /** Probability of a random action during rollouts */
+        public Builder rolloutEpsilon(double value) { this.rolloutEpsilon = value; return this; }
+
+        public SearchPolicy build() {
+            if (rolloutBudget < 1) {
+                throw new IllegalArgumentException("rolloutBudget must be at least 1");
+            }
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be at least 1");
+            }
+            if (rolloutPolicy == null) {
+                throw new IllegalArgumentException("rolloutPolicy cannot be null");
+            }
+            return new SearchPolicy(this);
+        }
+    }
+}
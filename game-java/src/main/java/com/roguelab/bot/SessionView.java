@@ -0,0 +1,192 @@
+package com.roguelab.bot;
+
+import com.roguelab.domain.*;
+import com.roguelab.dungeon.Dungeon;
+import com.roguelab.dungeon.Floor;
+import com.roguelab.game.GameSession;
+import com.roguelab.game.GameState;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Read-only, primitive view of a game session for policies.
+ *
+ * Every accessor returns a primitive or enum read straight from the
+ * live domain objects, so a single view can be reused for the whole run
+ * without allocating observation objects per decision.
+ *
+ * Room-indexed accessors take an index into the current floor, which lets
+ * a policy peek at upcoming rooms (the floor is generated up front).
+ *
+ * Views created by the {@link AutoPlayer} also carry the run's
+ * {@link ActionLog}, which lets search policies recognise a decision
+ * point they have already searched. Any view can {@link #fork()} its
+ * session.
+ */
+public final class SessionView {
+
+    private final GameSession session;
+    private final ActionLog history;
+
+    public SessionView(GameSession session) {
+        this(session, null);
+    }
+
+    public SessionView(GameSession session, ActionLog history) {
+        this.session = Objects.requireNonNull(session);
+        this.history = history;
+    }
+
+    // === RUN ===
+
+    public GameState state() { return session.getState(); }
+    public boolean isActive() { return session.isActive(); }
+    public long seed() { return session.getSeed(); }
+    public int tick() { return session.getCurrentTick(); }
+
+    // === HISTORY ===
+
+    /**
+     * Number of actions applied since the run started, or -1 if unrecorded.
+     */
+    public int historySize() {
+        return history != null ? history.size() : -1;
+    }
+
+    /**
+     * Create an independent copy of the session in its current state.
+     * To fork the same state many times, restore copies from one
+     * {@link #snapshot()} instead.
+     */
+    public GameSession fork() {
+        return GameSession.restore(session.snapshot());
+    }
+
+    /**
+     * Encode the session's current state; see {@link GameSession#restore}.
+     */
+    public byte[] snapshot() {
+        return session.snapshot();
+    }
+
+    // === FLOOR ===
+
+    public int floorNumber() { return session.getCurrentFloorNumber(); }
+    public int maxFloors() { return session.getDungeon().getMaxFloors(); }
+    public int roomIndex() { return session.getCurrentFloor().getCurrentRoomIndex(); }
+    public int roomCount() { return session.getCurrentFloor().getRoomCount(); }
+    public boolean hasNextRoom() { return session.getCurrentFloor().hasNextRoom(); }
+    public boolean canDescend() { return session.getDungeon().canDescend(); }
+
+    /**
+     * Check if the run can be finished as a victory from here:
+     * final floor, standing at the exit, all combat rooms cleared.
+     */
+    public boolean canFinish() {
+        Dungeon dungeon = session.getDungeon();
+        Floor floor = dungeon.getCurrentFloor();
+        return dungeon.isOnFinalFloor() && floor.isAtExit() && floor.allCombatRoomsCleared();
+    }
+
+    // === PLAYER ===
+
+    public int playerHealth() { return player().getHealth().getCurrent(); }
+    public int playerMaxHealth() { return player().getHealth().getMaximum(); }
+    public double playerHealthPercent() { return player().getHealth().getPercent(); }
+    public int playerAttack() { return player().getEffectiveAttack(); }
+    public int playerDefense() { return player().getEffectiveDefense(); }
+    public double playerCritChance() { return player().getCombat().getCriticalChance(); }
+    public double playerCritMultiplier() { return player().getCombat().getCriticalMultiplier(); }
+    public int playerLevel() { return player().getLevel(); }
+    public int gold() { return player().getInventory().getGold(); }
+
+    // === INVENTORY ===
+
+    public int inventoryCount() { return inventory().size(); }
+    public ItemType inventoryItemType(int i) { return inventory().get(i).getType(); }
+    public int inventoryItemHealthBonus(int i) { return inventory().get(i).getHealthBonus(); }
+
+    /**
+     * Index of the consumable with the largest heal, or -1 if none.
+     */
+    public int bestConsumable() {
+        List<Item> items = inventory();
+        int best = -1;
+        int bestHeal = 0;
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            if (item.getType() == ItemType.CONSUMABLE && item.getHealthBonus() > bestHeal) {
+                best = i;
+                bestHeal = item.getHealthBonus();
+            }
+        }
+        return best;
+    }
+
+    // === CURRENT ROOM ITEMS ===
+
+    public RoomType roomType() { return currentRoom().getType(); }
+    public boolean roomCleared() { return currentRoom().isCleared(); }
+    public int roomItemCount() { return currentRoom().getItemCount(); }
+    public ItemType roomItemType(int i) { return roomItem(i).getType(); }
+    public Rarity roomItemRarity(int i) { return roomItem(i).getRarity(); }
+    public int roomItemValue(int i) { return roomItem(i).getValue(); }
+    public int roomItemAttackBonus(int i) { return roomItem(i).getAttackBonus(); }
+    public int roomItemDefenseBonus(int i) { return roomItem(i).getDefenseBonus(); }
+    public int roomItemHealthBonus(int i) { return roomItem(i).getHealthBonus(); }
+
+    // === ROOMS BY INDEX ===
+
+    public RoomType roomType(int room) { return room(room).getType(); }
+    public boolean roomCleared(int room) { return room(room).isCleared(); }
+
+    /**
+     * Number of enemy slots in a room, dead or alive.
+     */
+    public int enemySlots(int room) { return room(room).getEnemyCount(); }
+    public boolean enemyAlive(int room, int i) { return enemy(room, i).isAlive(); }
+    public boolean enemyIsBoss(int room, int i) { return enemy(room, i).isBoss(); }
+    public EnemyType enemyType(int room, int i) { return enemy(room, i).getType(); }
+    public int enemyHealth(int room, int i) { return enemy(room, i).getHealth().getCurrent(); }
+    public int enemyAttack(int room, int i) { return enemy(room, i).getEffectiveAttack(); }
+    public int enemyDefense(int room, int i) { return enemy(room, i).getCombat().getTotalDefense(); }
+
+    /**
+     * Number of living enemies in a room.
+     */
+    public int aliveEnemies(int room) {
+        Room r = room(room);
+        int alive = 0;
+        for (int i = 0; i < r.getEnemyCount(); i++) {
+            if (r.getEnemy(i).isAlive()) alive++;
+        }
+        return alive;
+    }
+
+    // === INTERNAL ===
+
+    private Player player() {
+        return session.getPlayer();
+    }
+
+    private List<Item> inventory() {
+        return session.getPlayer().getInventory().getItems();
+    }
+
+    private Room currentRoom() {
+        return session.getCurrentRoom();
+    }
+
+    private Item roomItem(int i) {
+        return currentRoom().getItem(i);
+    }
+
+    private Room room(int index) {
+        return session.getCurrentFloor().getRoom(index);
+    }
+
+    private Enemy enemy(int room, int i) {
+        return room(room).getEnemy(i);
+    }
+}
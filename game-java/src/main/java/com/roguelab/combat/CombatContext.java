@@ -1,6 +1,7 @@
 package com.roguelab.combat;
 
 import com.roguelab.domain.Enemy;
+import com.roguelab.domain.EntityId;
 import com.roguelab.domain.Player;
 import com.roguelab.domain.Room;
 
@@ -26,6 +27,8 @@ public final class CombatContext {
     private int goldEarned;
     private int experienceGained;
     private final List<String> killedEnemyIds;
+    private Enemy lastDamageSource;
+    private int lastDamageAmount;
     
     public CombatContext(String runId, Player player, Room room, int startTick) {
         this.runId = Objects.requireNonNull(runId);
@@ -124,6 +127,42 @@ public final class CombatContext {
         totalDamageTaken += amount;
     }
     
+    /**
+     * Record that an enemy, or an effect it applied, just did
+     * {@code amount} damage to the player. The last one recorded is
+     * credited if the player dies.
+     */
+    public void recordDamageFrom(Enemy source, int amount) {
+        lastDamageSource = source;
+        lastDamageAmount = amount;
+    }
+    
+    /**
+     * The enemy that last damaged the player, or null if none has.
+     */
+    public Enemy getLastDamageSource() {
+        return lastDamageSource;
+    }
+    
+    /**
+     * The damage the player last took from {@link #getLastDamageSource()}.
+     */
+    public int getLastDamageAmount() {
+        return lastDamageAmount;
+    }
+    
+    /**
+     * The enemy in this room with the given id, dead or alive, or null.
+     */
+    public Enemy findEnemy(EntityId id) {
+        for (Enemy enemy : room.getEnemies()) {
+            if (enemy.getId().equals(id)) {
+                return enemy;
+            }
+        }
+        return null;
+    }
+    
     public void recordKill(Enemy enemy) {
         killedEnemyIds.add(enemy.getId().value());
         goldEarned += enemy.calculateGoldDrop();
@@ -137,7 +176,8 @@ public final class CombatContext {
     public CombatResult buildResult() {
         if (player.isDead()) {
             return CombatResult.defeat(
-                currentTurn, totalDamageDealt, totalDamageTaken, killedEnemyIds
+                currentTurn, totalDamageDealt, totalDamageTaken, killedEnemyIds,
+                lastDamageSource != null ? lastDamageSource.getType() : null
             );
         } else {
             return CombatResult.victory(
@@ -3,7 +3,10 @@ package com.roguelab.combat;
 import com.roguelab.domain.*;
 import java.util.Random;
 import com.roguelab.domain.component.StatusEffect;
+import com.roguelab.jfr.CombatEncounter;
 import com.roguelab.util.GameRandom;
+import com.roguelab.util.PhaseProfiler;
+import com.roguelab.util.PhaseProfiler.Phase;
 
 import java.util.List;
 
@@ -21,11 +24,20 @@ import java.util.List;
  * 
  * Combat is deterministic given the same seed.
  * 
+ * {@link #runCombat} resolves a whole encounter in one call. {@link #begin}
+ * returns the same encounter as a {@link CombatSimulation} to be played a
+ * turn at a time; runCombat is just that loop run to the end.
+ * 
  * Note: Telemetry emission is handled separately through CombatEventListener.
+ * 
+ * Turns, status effect processing, damage calculation and listener
+ * dispatch are bracketed for {@link PhaseProfiler}, and each encounter
+ * is committed as a {@link CombatEncounter} JFR event.
  */
 public final class CombatEngine {
     
     private static final int MAX_TURNS = 100; // Safety limit
+    private static final PhaseProfiler PROFILER = PhaseProfiler.global();
     
     private final DamageCalculator damageCalculator;
     private CombatEventListener eventListener;
@@ -54,19 +66,67 @@ public final class CombatEngine {
      */
     public CombatResult runCombat(String runId, Player player, Room room,
                                    GameRandom random, int startTick) {
-        
+        CombatSimulation simulation = begin(runId, player, room, random, startTick);
+        while (!simulation.isFinished()) {
+            simulation.step();
+        }
+        return simulation.getResult();
+    }
+    
+    /**
+     * Start a combat encounter to be played one turn at a time with
+     * {@link CombatSimulation#step()}. Plays out exactly as
+     * {@link #runCombat} would for the same engine state.
+     * 
+     * @param runId Current run identifier
+     * @param player The player
+     * @param room Room containing enemies
+     * @param random RNG for combat (for determinism, pass seeded instance)
+     * @param startTick Current game tick
+     * @return The encounter, already finished if the room has no enemies
+     */
+    public CombatSimulation begin(String runId, Player player, Room room,
+                                  GameRandom random, int startTick) {
+        CombatEncounter encounter = new CombatEncounter();
+        encounter.begin();
+        int enemyCount = encounter.isEnabled() ? room.getAliveEnemyCount() : 0;
         CombatContext ctx = new CombatContext(runId, player, room, startTick);
         
         // Notify listener of combat start
         if (eventListener != null) {
+            PROFILER.begin(Phase.LISTENER_DISPATCH);
             eventListener.onCombatStarted(ctx);
+            PROFILER.end(Phase.LISTENER_DISPATCH);
         }
         
-        // Main combat loop
-        while (ctx.isCombatActive() && ctx.getCurrentTurn() < MAX_TURNS) {
-            ctx.nextTurn();
-            executeTurn(ctx);
-        }
+        return new CombatSimulation(this, ctx, encounter, enemyCount);
+    }
+    
+    /**
+     * Whether another turn should be played.
+     */
+    boolean canContinue(CombatContext ctx) {
+        return ctx.isCombatActive() && ctx.getCurrentTurn() < MAX_TURNS;
+    }
+    
+    /**
+     * Advance to and play the next turn.
+     */
+    CombatSimulation.Turn playTurn(CombatContext ctx) {
+        ctx.nextTurn();
+        PROFILER.begin(Phase.COMBAT_TURN);
+        CombatSimulation.Turn turn = executeTurn(ctx);
+        PROFILER.end(Phase.COMBAT_TURN);
+        return turn;
+    }
+    
+    /**
+     * Apply rewards, notify the listener and commit the JFR event once
+     * the last turn has been played.
+     */
+    CombatResult endCombat(CombatContext ctx, CombatEncounter encounter, int enemyCount) {
+        Player player = ctx.getPlayer();
+        Room room = ctx.getRoom();
         
         // Apply rewards if victorious
         if (player.isAlive()) {
@@ -78,11 +138,24 @@ public final class CombatEngine {
         
         // Notify listener of combat end
         if (eventListener != null) {
+            PROFILER.begin(Phase.LISTENER_DISPATCH);
             eventListener.onCombatEnded(ctx, result);
             
             if (player.isDead()) {
                 eventListener.onPlayerDied(ctx);
             }
+            PROFILER.end(Phase.LISTENER_DISPATCH);
+        }
+        
+        if (encounter.shouldCommit()) {
+            encounter.runId = ctx.getRunId();
+            encounter.roomId = room.getId().value();
+            encounter.roomType = room.getType().name();
+            encounter.floor = room.getFloor();
+            encounter.enemyCount = enemyCount;
+            encounter.turns = result.turnsElapsed();
+            encounter.outcome = result.outcome().name();
+            encounter.commit();
         }
         
         return result;
@@ -91,27 +164,38 @@ public final class CombatEngine {
     /**
      * Execute a single combat turn.
      */
-    private void executeTurn(CombatContext ctx) {
+    private CombatSimulation.Turn executeTurn(CombatContext ctx) {
         Player player = ctx.getPlayer();
+        int takenBefore = ctx.getTotalDamageTaken();
         
         // 1. Process DoT effects on player
+        PROFILER.begin(Phase.STATUS_EFFECTS);
         processPlayerDoT(ctx);
-        if (player.isDead()) return;
+        if (player.isDead()) {
+            PROFILER.end(Phase.STATUS_EFFECTS);
+            return turnRecord(ctx, null, 0, takenBefore);
+        }
         
         // 2. Process HoT effects on player
-        processPlayerHoT(ctx);
+        int healed = processPlayerHoT(ctx);
+        PROFILER.end(Phase.STATUS_EFFECTS);
         
         // 3. Player attacks
+        AttackResult attack = null;
         if (ctx.hasAliveEnemies()) {
             Enemy target = selectTarget(ctx);
-            AttackResult result = damageCalculator.calculatePlayerAttack(player, target);
-            ctx.addDamageDealt(result.actualDamage());
+            PROFILER.begin(Phase.DAMAGE_CALCULATION);
+            attack = damageCalculator.calculatePlayerAttack(player, target);
+            PROFILER.end(Phase.DAMAGE_CALCULATION);
+            ctx.addDamageDealt(attack.actualDamage());
             
             if (eventListener != null) {
-                eventListener.onDamageDealt(ctx, result, true);
+                PROFILER.begin(Phase.LISTENER_DISPATCH);
+                eventListener.onDamageDealt(ctx, attack, true);
+                PROFILER.end(Phase.LISTENER_DISPATCH);
             }
             
-            if (result.killed()) {
+            if (attack.killed()) {
                 ctx.recordKill(target);
             }
         }
@@ -120,19 +204,46 @@ public final class CombatEngine {
         for (Enemy enemy : ctx.getAliveEnemies()) {
             if (player.isDead()) break;
             
+            PROFILER.begin(Phase.DAMAGE_CALCULATION);
             AttackResult result = damageCalculator.calculateEnemyAttack(enemy, player);
+            PROFILER.end(Phase.DAMAGE_CALCULATION);
             ctx.addDamageTaken(result.actualDamage());
+            if (result.dealtDamage()) {
+                ctx.recordDamageFrom(enemy, result.actualDamage());
+            }
             
             if (eventListener != null) {
+                PROFILER.begin(Phase.LISTENER_DISPATCH);
                 eventListener.onDamageDealt(ctx, result, false);
+                PROFILER.end(Phase.LISTENER_DISPATCH);
             }
         }
         
         // 5. Tick status effects
+        PROFILER.begin(Phase.STATUS_EFFECTS);
         player.getStatuses().tickAll();
         for (Enemy enemy : ctx.getAliveEnemies()) {
             enemy.getStatuses().tickAll();
         }
+        PROFILER.end(Phase.STATUS_EFFECTS);
+        
+        return turnRecord(ctx, attack, healed, takenBefore);
+    }
+    
+    private CombatSimulation.Turn turnRecord(CombatContext ctx, AttackResult attack,
+                                             int healed, int takenBefore) {
+        return new CombatSimulation.Turn(
+            ctx.getCurrentTurn(),
+            attack == null ? null : attack.defenderId(),
+            attack == null ? 0 : attack.actualDamage(),
+            attack != null && attack.critical(),
+            attack != null && attack.killed(),
+            attack == null ? 0 : attack.healthAfter(),
+            ctx.getTotalDamageTaken() - takenBefore,
+            healed,
+            ctx.getPlayer().getHealth().getCurrent(),
+            ctx.getAliveEnemies().size()
+        );
     }
     
     /**
@@ -143,33 +254,43 @@ public final class CombatEngine {
         
         // Poison damage
         if (player.getStatuses().hasStatus(StatusType.POISONED)) {
-            StatusEffect poison = player.getStatuses().getStatus(StatusType.POISONED);
-            int damage = poison.getDamagePerTick();
-            player.getHealth().takeDamage(damage);
-            ctx.addDamageTaken(damage);
+            applyDoT(ctx, player.getStatuses().getStatus(StatusType.POISONED));
         }
         
         // Burning damage
         if (player.getStatuses().hasStatus(StatusType.BURNING)) {
-            StatusEffect burning = player.getStatuses().getStatus(StatusType.BURNING);
-            int damage = burning.getDamagePerTick();
-            player.getHealth().takeDamage(damage);
-            ctx.addDamageTaken(damage);
+            applyDoT(ctx, player.getStatuses().getStatus(StatusType.BURNING));
+        }
+    }
+    
+    /**
+     * Apply one tick of a damage-over-time effect, crediting the enemy in
+     * this room that applied it.
+     */
+    private void applyDoT(CombatContext ctx, StatusEffect effect) {
+        int damage = effect.getDamagePerTick();
+        ctx.getPlayer().getHealth().takeDamage(damage);
+        ctx.addDamageTaken(damage);
+        Enemy source = ctx.findEnemy(effect.getSourceId());
+        if (source != null && damage > 0) {
+            ctx.recordDamageFrom(source, damage);
         }
     }
     
     /**
      * Process healing-over-time effects on the player.
+     * @return Health actually restored
      */
-    private void processPlayerHoT(CombatContext ctx) {
+    private int processPlayerHoT(CombatContext ctx) {
         Player player = ctx.getPlayer();
         
         // Regeneration healing
         if (player.getStatuses().hasStatus(StatusType.REGENERATING)) {
             StatusEffect regen = player.getStatuses().getStatus(StatusType.REGENERATING);
             int healing = regen.getHealingPerTick();
-            player.getHealth().heal(healing);
+            return player.getHealth().heal(healing);
         }
+        return 0;
     }
     
     /**
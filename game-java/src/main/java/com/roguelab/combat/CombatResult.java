@@ -1,9 +1,14 @@
 package com.roguelab.combat;
 
+import com.roguelab.domain.EnemyType;
+
 import java.util.List;
 
 /**
  * Immutable result of a complete combat encounter.
+ * 
+ * On a defeat, {@code killedBy} is the type of the enemy whose damage,
+ * direct or over time, brought the player down; otherwise it is null.
  */
 public record CombatResult(
     Outcome outcome,
@@ -13,7 +18,8 @@ public record CombatResult(
     int goldEarned,
     int experienceGained,
     int enemiesKilled,
-    List<String> killedEnemyIds
+    List<String> killedEnemyIds,
+    EnemyType killedBy
 ) {
     
     public enum Outcome {
@@ -35,15 +41,15 @@ public record CombatResult(
                                         int gold, int xp, List<String> killedIds) {
         return new CombatResult(
             Outcome.VICTORY, turns, damageDealt, damageTaken,
-            gold, xp, killedIds.size(), killedIds
+            gold, xp, killedIds.size(), killedIds, null
         );
     }
     
     public static CombatResult defeat(int turns, int damageDealt, int damageTaken,
-                                       List<String> killedIds) {
+                                       List<String> killedIds, EnemyType killedBy) {
         return new CombatResult(
             Outcome.DEFEAT, turns, damageDealt, damageTaken,
-            0, 0, killedIds.size(), killedIds
+            0, 0, killedIds.size(), killedIds, killedBy
         );
     }
 }
@@ -0,0 +1,105 @@
+package com.roguelab.combat;
+
+import com.roguelab.jfr.CombatEncounter;
+
+/**
+ * A combat encounter played one turn at a time.
+ *
+ * Created by {@link CombatEngine#begin}. Each {@link #step()} plays one
+ * turn and returns a compact {@link Turn} describing it, so a client can
+ * animate the fight as it goes or keep only the latest turn instead of
+ * buffering every event of a long boss fight. After the last turn the
+ * encounter ends by itself: rewards are applied, the listener is told and
+ * {@link #getResult()} becomes available.
+ *
+ * Not thread-safe; step an encounter from the thread that owns its player
+ * and room.
+ */
+public final class CombatSimulation {
+
+    /**
+     * What happened in one turn.
+     *
+     * @param turn Turn number, from 1
+     * @param targetId Enemy the player attacked, or null if the player
+     *                 died to damage over time before attacking
+     * @param damageDealt Damage the player's attack did
+     * @param critical Whether the player's attack was a critical hit
+     * @param killed Whether the player's attack killed its target
+     * @param targetHealth The target's health after the attack
+     * @param damageTaken Damage the player took, from enemies and effects
+     * @param healed Health the player regenerated
+     * @param playerHealth The player's health at the end of the turn
+     * @param enemiesAlive Enemies still standing at the end of the turn
+     */
+    public record Turn(
+        int turn,
+        String targetId,
+        int damageDealt,
+        boolean critical,
+        boolean killed,
+        int targetHealth,
+        int damageTaken,
+        int healed,
+        int playerHealth,
+        int enemiesAlive
+    ) {}
+
+    private final CombatEngine engine;
+    private final CombatContext ctx;
+    private final CombatEncounter encounter;
+    private final int enemyCount;
+    private CombatResult result;
+
+    CombatSimulation(CombatEngine engine, CombatContext ctx, CombatEncounter encounter, int enemyCount) {
+        this.engine = engine;
+        this.ctx = ctx;
+        this.encounter = encounter;
+        this.enemyCount = enemyCount;
+        finishIfOver();
+    }
+
+    /**
+     * Play the next turn. Ends the encounter if it was the last.
+     *
+     * @throws IllegalStateException if the encounter is already over
+     */
+    public Turn step() {
+        if (result != null) {
+            throw new IllegalStateException("Combat is already over");
+        }
+        Turn turn = engine.playTurn(ctx);
+        finishIfOver();
+        return turn;
+    }
+
+    private void finishIfOver() {
+        if (!engine.canContinue(ctx)) {
+            result = engine.endCombat(ctx, encounter, enemyCount);
+        }
+    }
+
+    public boolean isFinished() {
+        return result != null;
+    }
+
+    /**
+     * The outcome of the encounter.
+     *
+     * @throws IllegalStateException if the encounter is not over yet
+     */
+    public CombatResult getResult() {
+        if (result == null) {
+            throw new IllegalStateException("Combat is still in progress");
+        }
+        return result;
+    }
+
+    public int getCurrentTurn() {
+        return ctx.getCurrentTurn();
+    }
+
+    public CombatContext getContext() {
+        return ctx;
+    }
+}
@@ -1,14 +1,23 @@
 package com.roguelab.core;
 
+import com.roguelab.bot.AutoPlayer;
+import com.roguelab.bot.BaselinePolicy;
+import com.roguelab.bot.OptimalityGapReport;
+import com.roguelab.bot.SearchPolicy;
 import com.roguelab.combat.*;
 import com.roguelab.domain.*;
 import com.roguelab.dungeon.*;
 import com.roguelab.game.*;
 import com.roguelab.render.GameWindow;
 import com.roguelab.telemetry.*;
+import com.roguelab.telemetry.arrow.TelemetryArrowExporter;
+import com.roguelab.telemetry.query.BatchReport;
+import com.roguelab.telemetry.query.TelemetryQueryEngine;
+import com.roguelab.util.PhaseProfiler;
 
 import java.io.IOException;
 import java.nio.file.*;
+import java.util.stream.LongStream;
 
 /**
  * Main entry point for RogueLab.
@@ -17,16 +26,39 @@ import java.nio.file.*;
  *   java RogueLab        - Launch GUI mode
  *   java RogueLab --cli  - Run CLI demo
  *   java RogueLab --cli [seed] - Run CLI demo with specific seed
+ *   java RogueLab --gap [seeds] [rollouts] - Compare greedy play against search
+ *   java RogueLab --sweep [runs] - Summarize many greedy runs in-process
+ *   java RogueLab --export-arrow <jsonl file|dir> [outdir] - Convert telemetry to Arrow tables
+ *   java RogueLab --report <jsonl file|dir> - Batch report computed in-process
+ * 
+ * Telemetry self-metrics are published over JMX; add
+ * -Droguelab.telemetry.metricsInterval=10 to also log them every 10 seconds.
+ * Add -Droguelab.profile=true to print per-phase game loop timings on exit.
  */
 public final class RogueLab {
     
     public static final String VERSION = "0.3.0";
     
     public static void main(String[] args) {
+        TelemetryMetrics.install();
+        PhaseProfiler.reportOnExit();
+        
         if (args.length > 0 && args[0].equals("--cli")) {
             // CLI mode
             long seed = args.length > 1 ? Long.parseLong(args[1]) : System.currentTimeMillis();
             runCliDemo(seed);
+        } else if (args.length > 0 && args[0].equals("--gap")) {
+            int seeds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+            int rollouts = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+            runGapReport(seeds, rollouts);
+        } else if (args.length > 0 && args[0].equals("--sweep")) {
+            long runs = args.length > 1 ? Long.parseLong(args[1]) : 10_000;
+            runSweep(runs);
+        } else if (args.length > 1 && args[0].equals("--export-arrow")) {
+            Path output = Paths.get(args.length > 2 ? args[2] : "arrow");
+            exportArrow(Paths.get(args[1]), output);
+        } else if (args.length > 1 && args[0].equals("--report")) {
+            runBatchReport(Paths.get(args[1]));
         } else {
             // GUI mode (default)
             printBanner();
@@ -56,6 +88,81 @@ public final class RogueLab {
         }
     }
     
+    /**
+     * Measure how far greedy play falls below search-based play per seed.
+     */
+    private static void runGapReport(int seeds, int rollouts) {
+        printBanner();
+        System.out.println("Searching " + seeds + " seeds with " + rollouts + " rollouts per decision...");
+        System.out.println();
+
+        SearchPolicy search = SearchPolicy.builder()
+            .rolloutBudget(rollouts)
+            .parallelism(Runtime.getRuntime().availableProcessors())
+            .build();
+        try (search) {
+            OptimalityGapReport report = OptimalityGapReport.measure(
+                PlayerClass.WARRIOR, DungeonConfig.standard(), 1, seeds, search);
+            System.out.println(report.toMarkdown());
+        }
+    }
+    
+    /**
+     * Play many seeds in parallel and print their aggregate statistics.
+     * Memory use is constant in the number of runs.
+     */
+    private static void runSweep(long runs) {
+        printBanner();
+        System.out.println("Sweeping " + runs + " runs...");
+        System.out.println();
+
+        RunStatisticsAggregate.Collector collector = new RunStatisticsAggregate.Collector();
+        AutoPlayer player = new AutoPlayer(BaselinePolicy.INSTANCE);
+        long start = System.nanoTime();
+
+        LongStream.rangeClosed(1, runs).parallel().forEach(seed -> {
+            GameSession session = new GameSession(
+                "Bot", PlayerClass.WARRIOR, seed, Difficulty.NORMAL, DungeonConfig.standard());
+            player.play(session);
+            collector.add(session.getStatistics());
+        });
+
+        System.out.println("# RogueLab Sweep Report\n");
+        System.out.println(collector.result().toMarkdown());
+        System.out.printf("Completed in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+    
+    /**
+     * Convert JSONL telemetry into per-table Arrow IPC files.
+     */
+    private static void exportArrow(Path input, Path outputDir) {
+        long start = System.nanoTime();
+        try (TelemetryArrowExporter exporter = new TelemetryArrowExporter(outputDir)) {
+            long events = exporter.exportAll(input);
+            System.out.println("Read " + events + " events from " + input);
+            exporter.getRowCounts().forEach((table, rows) ->
+                System.out.println("  " + outputDir.resolve(table) + ": " + rows + " rows"));
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+        System.out.printf("Exported in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+    
+    /**
+     * Print the core batch report tables straight from JSONL telemetry.
+     */
+    private static void runBatchReport(Path input) {
+        long start = System.nanoTime();
+        try {
+            TelemetryQueryEngine engine = new TelemetryQueryEngine(input);
+            System.out.println(BatchReport.run(engine));
+            System.out.printf("Scanned %d files in %.1f s%n",
+                engine.getFileCount(), (System.nanoTime() - start) / 1e9);
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+    
     /**
      * Run a complete game with telemetry capture (CLI mode).
      */
@@ -71,8 +178,10 @@ public final class RogueLab {
         System.out.println("Seed: " + seed);
         System.out.println();
         
-        // Create telemetry writer
-        try (TelemetryWriter telemetry = new TelemetryWriter(telemetryFile, runId, true)) {
+        // Create telemetry bus; closing it drains the events and closes the writer
+        try (EventBus telemetry = new EventBus()
+                 .addConsumer("jsonl", EventBus.forWriter(new TelemetryWriter(telemetryFile, runId, true)))
+                 .start()) {
             
             // Create game session
             GameSession session = new GameSession(
@@ -85,13 +194,12 @@ public final class RogueLab {
             
             // Set up listeners - both logging and telemetry
             GameSessionListener loggingListener = new LoggingSessionListener();
-            GameSessionListener telemetryListener = new SimpleTelemetrySessionListener(telemetry);
+            EventBusListener telemetryListener = new EventBusListener(telemetry, runId, VERSION);
             session.setListener(new CompositeSessionListener(loggingListener, telemetryListener));
             
             // Combat listeners
             CombatEventListener combatLogging = new LoggingCombatListener();
-            CombatEventListener combatTelemetry = new SimpleTelemetryCombatListener(telemetry);
-            session.setCombatListener(new CompositeCombatListener(combatLogging, combatTelemetry));
+            session.setCombatListener(new CompositeCombatListener(combatLogging, telemetryListener));
             
             // Start the game
             session.start();
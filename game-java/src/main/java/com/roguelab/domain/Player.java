@@ -109,6 +109,17 @@ public final class Player {
         currentFloor++;
     }
     
+    /**
+     * Set level, experience and kill count directly. Used for loading saves;
+     * health and combat bonuses from levelling are restored separately.
+     */
+    public void restoreProgress(int level, int experience, int enemiesKilled) {
+        if (level < 1) throw new IllegalArgumentException("Level must be positive");
+        this.level = level;
+        this.experience = experience;
+        this.enemiesKilled = enemiesKilled;
+    }
+    
     private void levelUp() {
         level++;
         int healthIncrease = switch (playerClass) {
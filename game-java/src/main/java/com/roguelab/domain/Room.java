@@ -38,6 +38,14 @@ public final class Room {
         return Collections.unmodifiableList(enemies);
     }
     
+    public int getEnemyCount() {
+        return enemies.size();
+    }
+    
+    public Enemy getEnemy(int index) {
+        return enemies.get(index);
+    }
+    
     public List<Enemy> getAliveEnemies() {
         return enemies.stream().filter(Enemy::isAlive).toList();
     }
@@ -62,6 +70,14 @@ public final class Room {
         return Collections.unmodifiableList(items);
     }
     
+    public int getItemCount() {
+        return items.size();
+    }
+    
+    public Item getItem(int index) {
+        return items.get(index);
+    }
+    
     public void addItem(Item item) {
         items.add(Objects.requireNonNull(item));
     }
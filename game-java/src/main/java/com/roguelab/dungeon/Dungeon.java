@@ -102,6 +102,24 @@ public final class Dungeon {
         return generateFloor(currentFloorNumber);
     }
 
+    /**
+     * Regenerate every floor down to the deepest one reached and make
+     * {@code floorNumber} current. Floors come out of the seeded generator
+     * in order, so they match the original run. Used for loading saves;
+     * room contents and progress are restored separately.
+     */
+    public Floor restoreTo(int floorNumber, int deepestFloorReached) {
+        if (floorNumber < 1 || floorNumber > deepestFloorReached || deepestFloorReached > config.getMaxFloors()) {
+            throw new IllegalArgumentException("Invalid floor " + floorNumber + " of " + deepestFloorReached);
+        }
+        for (int n = 1; n <= deepestFloorReached; n++) {
+            generateFloor(n);
+        }
+        this.currentFloorNumber = floorNumber;
+        this.deepestFloorReached = deepestFloorReached;
+        return getCurrentFloor();
+    }
+
     /**
      * Ascend to the previous floor.
      * Only allowed if the floor was already visited.
@@ -83,6 +83,15 @@ public final class Floor {
         return getCurrentRoom();
     }
     
+    /**
+     * Set the current room and completion directly. Used for loading saves.
+     */
+    public void restoreProgress(int currentRoomIndex, boolean completed) {
+        getRoom(currentRoomIndex);
+        this.currentRoomIndex = currentRoomIndex;
+        this.completed = completed;
+    }
+    
     public Room returnToPreviousRoom() {
         if (!hasPreviousRoom()) {
             throw new IllegalStateException("Already at the first room");
@@ -3,6 +3,7 @@ package com.roguelab.dungeon;
 import com.roguelab.domain.EntityId;
 import com.roguelab.domain.Room;
 import com.roguelab.domain.RoomType;
+import com.roguelab.jfr.FloorGenerated;
 import com.roguelab.util.GameRandom;
 
 import java.util.ArrayList;
@@ -11,6 +12,7 @@ import java.util.List;
 /**
  * Generates complete dungeon floors with rooms and content.
  * Produces deterministic results for a given seed.
+ * Each generated floor is committed as a {@link FloorGenerated} JFR event.
  */
 public final class FloorGenerator {
     
@@ -31,6 +33,8 @@ public final class FloorGenerator {
      * Generate a complete floor with all rooms populated.
      */
     public Floor generateFloor(int floorNumber) {
+        FloorGenerated event = new FloorGenerated();
+        event.begin();
         EntityId floorId = EntityId.of("floor_" + (++floorIdCounter));
         
         List<Room> rooms = new ArrayList<>();
@@ -49,7 +53,14 @@ public final class FloorGenerator {
             rooms.add(room);
         }
         
-        return new Floor(floorId, floorNumber, rooms);
+        Floor floor = new Floor(floorId, floorNumber, rooms);
+        if (event.shouldCommit()) {
+            event.floorNumber = floorNumber;
+            event.roomCount = rooms.size();
+            event.bossFloor = isBossFloor;
+            event.commit();
+        }
+        return floor;
     }
     
     /**
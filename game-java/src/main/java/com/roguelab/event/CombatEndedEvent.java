@@ -14,9 +14,17 @@ public final class CombatEndedEvent extends AbstractGameEvent {
     public enum CombatOutcome {
         VICTORY,  // All enemies defeated
         DEFEAT,   // Player died
-        FLED      // Player escaped (if escape mechanic exists)
+        FLED,        // Player escaped (if escape mechanic exists)
+        INTERRUPTED  // Stopped before either side won
     }
     
+    /**
+     * Per-hit damage folded into one record, written instead of
+     * DAMAGE_DEALT events in summary-only telemetry.
+     */
+    public record DamageSummary(int playerHits, int playerCrits, int maxPlayerHit,
+                                int enemyHits, int enemyCrits, int maxEnemyHit) {}
+    
     private final String roomId;
     private final CombatOutcome outcome;
     private final int turnsElapsed;
@@ -25,10 +33,26 @@ public final class CombatEndedEvent extends AbstractGameEvent {
     private final int playerHealthRemaining;
     private final int goldDropped;
     private final int experienceGained;
+    private final int enemiesKilled;
+    private final int playerMaxHealth;
+    private final DamageSummary damageSummary;
     
     public CombatEndedEvent(UUID runId, int tick, String roomId, CombatOutcome outcome,
                             int turnsElapsed, int damageDealt, int damageTaken,
-                            int playerHealthRemaining, int goldDropped, int experienceGained) {
+                            int playerHealthRemaining, int goldDropped, int experienceGained,
+                            int enemiesKilled, int playerMaxHealth) {
+        this(runId, tick, roomId, outcome, turnsElapsed, damageDealt, damageTaken,
+            playerHealthRemaining, goldDropped, experienceGained, enemiesKilled, playerMaxHealth, null);
+    }
+    
+    /**
+     * @param damageSummary Folded per-hit damage, or null if the combat's
+     *                      DAMAGE_DEALT events are reported individually
+     */
+    public CombatEndedEvent(UUID runId, int tick, String roomId, CombatOutcome outcome,
+                            int turnsElapsed, int damageDealt, int damageTaken,
+                            int playerHealthRemaining, int goldDropped, int experienceGained,
+                            int enemiesKilled, int playerMaxHealth, DamageSummary damageSummary) {
         super(EventType.COMBAT_ENDED, runId, tick);
         this.roomId = roomId;
         this.outcome = outcome;
@@ -38,12 +62,15 @@ public final class CombatEndedEvent extends AbstractGameEvent {
         this.playerHealthRemaining = playerHealthRemaining;
         this.goldDropped = goldDropped;
         this.experienceGained = experienceGained;
+        this.enemiesKilled = enemiesKilled;
+        this.playerMaxHealth = playerMaxHealth;
+        this.damageSummary = damageSummary;
     }
     
     public CombatEndedEvent(Instant timestamp, UUID runId, int tick, String roomId, 
                             CombatOutcome outcome, int turnsElapsed, int damageDealt, 
                             int damageTaken, int playerHealthRemaining, int goldDropped, 
-                            int experienceGained) {
+                            int experienceGained, int enemiesKilled, int playerMaxHealth) {
         super(EventType.COMBAT_ENDED, timestamp, runId, tick);
         this.roomId = roomId;
         this.outcome = outcome;
@@ -53,6 +80,9 @@ public final class CombatEndedEvent extends AbstractGameEvent {
         this.playerHealthRemaining = playerHealthRemaining;
         this.goldDropped = goldDropped;
         this.experienceGained = experienceGained;
+        this.enemiesKilled = enemiesKilled;
+        this.playerMaxHealth = playerMaxHealth;
+        this.damageSummary = null;
     }
     
     public String getRoomId() {
@@ -87,6 +117,21 @@ public final class CombatEndedEvent extends AbstractGameEvent {
         return experienceGained;
     }
     
+    public int getEnemiesKilled() {
+        return enemiesKilled;
+    }
+    
+    public int getPlayerMaxHealth() {
+        return playerMaxHealth;
+    }
+    
+    /**
+     * Folded per-hit damage in summary-only telemetry, or null.
+     */
+    public DamageSummary getDamageSummary() {
+        return damageSummary;
+    }
+    
     @Override
     public String toString() {
         return String.format("CombatEndedEvent[room=%s, outcome=%s, turns=%d, dmgDealt=%d, dmgTaken=%d]",
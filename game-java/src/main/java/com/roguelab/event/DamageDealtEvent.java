@@ -1,6 +1,7 @@
 package com.roguelab.event;
 
 import com.roguelab.domain.DamageType;
+import com.roguelab.domain.EnemyType;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -30,11 +31,13 @@ public final class DamageDealtEvent extends AbstractGameEvent {
     private final int targetHealthBefore;
     private final int targetHealthAfter;
     private final boolean targetKilled;
+    private final EnemyType enemyType;  // The enemy on either side, null if unknown
     
     public DamageDealtEvent(UUID runId, int tick, String sourceId, EntityType sourceType,
                             String targetId, EntityType targetType, int baseDamage,
                             int finalDamage, DamageType damageType, boolean isCritical,
-                            int targetHealthBefore, int targetHealthAfter, boolean targetKilled) {
+                            int targetHealthBefore, int targetHealthAfter, boolean targetKilled,
+                            EnemyType enemyType) {
         super(EventType.DAMAGE_DEALT, runId, tick);
         this.sourceId = sourceId;
         this.sourceType = sourceType;
@@ -47,13 +50,14 @@ public final class DamageDealtEvent extends AbstractGameEvent {
         this.targetHealthBefore = targetHealthBefore;
         this.targetHealthAfter = targetHealthAfter;
         this.targetKilled = targetKilled;
+        this.enemyType = enemyType;
     }
     
     public DamageDealtEvent(Instant timestamp, UUID runId, int tick, String sourceId, 
                             EntityType sourceType, String targetId, EntityType targetType, 
                             int baseDamage, int finalDamage, DamageType damageType, 
                             boolean isCritical, int targetHealthBefore, int targetHealthAfter, 
-                            boolean targetKilled) {
+                            boolean targetKilled, EnemyType enemyType) {
         super(EventType.DAMAGE_DEALT, timestamp, runId, tick);
         this.sourceId = sourceId;
         this.sourceType = sourceType;
@@ -66,6 +70,7 @@ public final class DamageDealtEvent extends AbstractGameEvent {
         this.targetHealthBefore = targetHealthBefore;
         this.targetHealthAfter = targetHealthAfter;
         this.targetKilled = targetKilled;
+        this.enemyType = enemyType;
     }
     
     public String getSourceId() {
@@ -112,6 +117,10 @@ public final class DamageDealtEvent extends AbstractGameEvent {
         return targetKilled;
     }
     
+    public EnemyType getEnemyType() {
+        return enemyType;
+    }
+    
     @Override
     public String toString() {
         return String.format("DamageDealtEvent[%s->%s, %d dmg%s, HP:%d->%d%s]",
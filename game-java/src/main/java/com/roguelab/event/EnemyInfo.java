@@ -11,7 +11,9 @@ public record EnemyInfo(
     String enemyId,
     EnemyType enemyType,
     int health,
-    int attack
+    int attack,
+    int maxHealth,
+    int defense
 ) {
     /**
      * Create from an Enemy entity.
@@ -21,7 +23,9 @@ public record EnemyInfo(
             enemy.getId().value(),
             enemy.getType(),
             enemy.getHealth().getCurrent(),
-            enemy.getEffectiveAttack()
+            enemy.getEffectiveAttack(),
+            enemy.getHealth().getMaximum(),
+            enemy.getEffectiveDefense()
         );
     }
 }
@@ -5,18 +5,22 @@ package com.roguelab.event;
  * This serves as a registry of valid event types and their current versions.
  */
 public enum EventType {
-    RUN_STARTED("1.0.0"),
-    RUN_ENDED("1.0.0"),
-    ROOM_ENTERED("1.0.0"),
-    COMBAT_STARTED("1.0.0"),
-    COMBAT_ENDED("1.0.0"),
-    DAMAGE_DEALT("1.0.0"),
+    RUN_STARTED("1.1.0"),
+    RUN_ENDED("1.1.0"),
+    FLOOR_ENTERED("1.0.0"),
+    ROOM_ENTERED("1.1.0"),
+    ROOM_CLEARED("1.0.0"),
+    COMBAT_STARTED("1.1.0"),
+    COMBAT_ENDED("1.1.0"),
+    DAMAGE_DEALT("1.1.0"),
     STATUS_APPLIED("1.0.0"),
-    ITEM_PICKED("1.0.0"),
-    SHOP_PURCHASED("1.0.0"),
+    ITEM_PICKED("1.1.0"),
+    ITEM_USED("1.0.0"),
+    SHOP_PURCHASED("1.1.0"),
     BOSS_DEFEATED("1.0.0"),
-    PLAYER_DIED("1.0.0"),
-    PLAYER_HEALED("1.0.0");
+    PLAYER_DIED("1.1.0"),
+    PLAYER_HEALED("1.0.0"),
+    PLAYER_LEVEL_UP("1.0.0");
     
     private final String currentVersion;
     
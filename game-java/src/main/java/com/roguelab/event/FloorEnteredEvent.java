@@ -0,0 +1,59 @@
+package com.roguelab.event;
+
+import com.roguelab.domain.RoomType;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Emitted when the player arrives on a floor, including the first.
+ */
+public final class FloorEnteredEvent extends AbstractGameEvent {
+    
+    private final int floorNumber;
+    private final int roomCount;
+    private final boolean bossFloor;
+    private final List<RoomType> roomTypes;  // In room order
+    
+    public FloorEnteredEvent(UUID runId, int tick, int floorNumber, int roomCount,
+                             boolean bossFloor, List<RoomType> roomTypes) {
+        super(EventType.FLOOR_ENTERED, runId, tick);
+        this.floorNumber = floorNumber;
+        this.roomCount = roomCount;
+        this.bossFloor = bossFloor;
+        this.roomTypes = Collections.unmodifiableList(roomTypes);
+    }
+    
+    public FloorEnteredEvent(Instant timestamp, UUID runId, int tick, int floorNumber,
+                             int roomCount, boolean bossFloor, List<RoomType> roomTypes) {
+        super(EventType.FLOOR_ENTERED, timestamp, runId, tick);
+        this.floorNumber = floorNumber;
+        this.roomCount = roomCount;
+        this.bossFloor = bossFloor;
+        this.roomTypes = Collections.unmodifiableList(roomTypes);
+    }
+    
+    public int getFloorNumber() {
+        return floorNumber;
+    }
+    
+    public int getRoomCount() {
+        return roomCount;
+    }
+    
+    public boolean isBossFloor() {
+        return bossFloor;
+    }
+    
+    public List<RoomType> getRoomTypes() {
+        return roomTypes;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("FloorEnteredEvent[floor=%d, rooms=%d%s]",
+            floorNumber, roomCount, bossFloor ? ", boss" : "");
+    }
+}
@@ -0,0 +1,27 @@
+package com.roguelab.event;
+
+import com.roguelab.domain.Item;
+import com.roguelab.domain.ItemType;
+import com.roguelab.domain.Rarity;
+
+/**
+ * Snapshot of an item lying in a room, for room events.
+ */
+public record ItemInfo(
+    String itemId,
+    String itemName,
+    ItemType itemType,
+    Rarity rarity
+) {
+    /**
+     * Create from an Item entity.
+     */
+    public static ItemInfo from(Item item) {
+        return new ItemInfo(
+            item.getId().value(),
+            item.getName(),
+            item.getType(),
+            item.getRarity()
+        );
+    }
+}
@@ -29,10 +29,12 @@ public final class ItemPickedEvent extends AbstractGameEvent {
     private final int floor;
     private final ItemSource source;
     private final Map<String, Object> stats;
+    private final int value;
+    private final String roomId;
     
     public ItemPickedEvent(UUID runId, int tick, String itemId, ItemType itemType,
                            String itemName, Rarity rarity, int floor, ItemSource source,
-                           Map<String, Object> stats) {
+                           Map<String, Object> stats, int value, String roomId) {
         super(EventType.ITEM_PICKED, runId, tick);
         this.itemId = itemId;
         this.itemType = itemType;
@@ -41,11 +43,13 @@ public final class ItemPickedEvent extends AbstractGameEvent {
         this.floor = floor;
         this.source = source;
         this.stats = stats;
+        this.value = value;
+        this.roomId = roomId;
     }
     
     public ItemPickedEvent(Instant timestamp, UUID runId, int tick, String itemId, 
                            ItemType itemType, String itemName, Rarity rarity, int floor, 
-                           ItemSource source, Map<String, Object> stats) {
+                           ItemSource source, Map<String, Object> stats, int value, String roomId) {
         super(EventType.ITEM_PICKED, timestamp, runId, tick);
         this.itemId = itemId;
         this.itemType = itemType;
@@ -54,6 +58,8 @@ public final class ItemPickedEvent extends AbstractGameEvent {
         this.floor = floor;
         this.source = source;
         this.stats = stats;
+        this.value = value;
+        this.roomId = roomId;
     }
     
     public String getItemId() {
@@ -84,6 +90,14 @@ public final class ItemPickedEvent extends AbstractGameEvent {
         return stats;
     }
     
+    public int getValue() {
+        return value;
+    }
+    
+    public String getRoomId() {
+        return roomId;
+    }
+    
     @Override
     public String toString() {
         return String.format("ItemPickedEvent[%s %s (%s) from %s on floor %d]",
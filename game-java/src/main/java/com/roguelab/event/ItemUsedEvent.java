@@ -0,0 +1,48 @@
+package com.roguelab.event;
+
+import com.roguelab.domain.ItemType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Emitted when the player uses a consumable from the inventory.
+ */
+public final class ItemUsedEvent extends AbstractGameEvent {
+    
+    private final String itemId;
+    private final String itemName;
+    private final ItemType itemType;
+    
+    public ItemUsedEvent(UUID runId, int tick, String itemId, String itemName, ItemType itemType) {
+        super(EventType.ITEM_USED, runId, tick);
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.itemType = itemType;
+    }
+    
+    public ItemUsedEvent(Instant timestamp, UUID runId, int tick, String itemId,
+                         String itemName, ItemType itemType) {
+        super(EventType.ITEM_USED, timestamp, runId, tick);
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.itemType = itemType;
+    }
+    
+    public String getItemId() {
+        return itemId;
+    }
+    
+    public String getItemName() {
+        return itemName;
+    }
+    
+    public ItemType getItemType() {
+        return itemType;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ItemUsedEvent[%s (%s)]", itemName, itemType);
+    }
+}
@@ -32,10 +32,12 @@ public final class PlayerDiedEvent extends AbstractGameEvent {
     private final List<String> itemsHeld;
     private final int gold;
     private final int enemiesKilledThisRun;
+    private final int totalDamageTaken;
     
     public PlayerDiedEvent(UUID runId, int tick, CauseType causeType, String causeId,
                            String causeName, DamageType damageType, int finalBlow,
-                           int floor, List<String> itemsHeld, int gold, int enemiesKilledThisRun) {
+                           int floor, List<String> itemsHeld, int gold, int enemiesKilledThisRun,
+                           int totalDamageTaken) {
         super(EventType.PLAYER_DIED, runId, tick);
         this.causeType = causeType;
         this.causeId = causeId;
@@ -46,12 +48,13 @@ public final class PlayerDiedEvent extends AbstractGameEvent {
         this.itemsHeld = Collections.unmodifiableList(itemsHeld);
         this.gold = gold;
         this.enemiesKilledThisRun = enemiesKilledThisRun;
+        this.totalDamageTaken = totalDamageTaken;
     }
     
     public PlayerDiedEvent(Instant timestamp, UUID runId, int tick, CauseType causeType, 
                            String causeId, String causeName, DamageType damageType, 
                            int finalBlow, int floor, List<String> itemsHeld, int gold, 
-                           int enemiesKilledThisRun) {
+                           int enemiesKilledThisRun, int totalDamageTaken) {
         super(EventType.PLAYER_DIED, timestamp, runId, tick);
         this.causeType = causeType;
         this.causeId = causeId;
@@ -62,6 +65,7 @@ public final class PlayerDiedEvent extends AbstractGameEvent {
         this.itemsHeld = Collections.unmodifiableList(itemsHeld);
         this.gold = gold;
         this.enemiesKilledThisRun = enemiesKilledThisRun;
+        this.totalDamageTaken = totalDamageTaken;
     }
     
     public CauseType getCauseType() {
@@ -100,6 +104,10 @@ public final class PlayerDiedEvent extends AbstractGameEvent {
         return enemiesKilledThisRun;
     }
     
+    public int getTotalDamageTaken() {
+        return totalDamageTaken;
+    }
+    
     @Override
     public String toString() {
         return String.format("PlayerDiedEvent[killed by %s on floor %d, %d gold, %d kills]",
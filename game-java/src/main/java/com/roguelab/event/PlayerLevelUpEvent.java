@@ -0,0 +1,70 @@
+package com.roguelab.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Emitted when the player gains a level. Stats are after the level up.
+ */
+public final class PlayerLevelUpEvent extends AbstractGameEvent {
+    
+    private final int previousLevel;
+    private final int newLevel;
+    private final int totalExperience;
+    private final int maxHealth;
+    private final int attack;
+    private final int defense;
+    
+    public PlayerLevelUpEvent(UUID runId, int tick, int previousLevel, int newLevel,
+                              int totalExperience, int maxHealth, int attack, int defense) {
+        super(EventType.PLAYER_LEVEL_UP, runId, tick);
+        this.previousLevel = previousLevel;
+        this.newLevel = newLevel;
+        this.totalExperience = totalExperience;
+        this.maxHealth = maxHealth;
+        this.attack = attack;
+        this.defense = defense;
+    }
+    
+    public PlayerLevelUpEvent(Instant timestamp, UUID runId, int tick, int previousLevel,
+                              int newLevel, int totalExperience, int maxHealth,
+                              int attack, int defense) {
+        super(EventType.PLAYER_LEVEL_UP, timestamp, runId, tick);
+        this.previousLevel = previousLevel;
+        this.newLevel = newLevel;
+        this.totalExperience = totalExperience;
+        this.maxHealth = maxHealth;
+        this.attack = attack;
+        this.defense = defense;
+    }
+    
+    public int getPreviousLevel() {
+        return previousLevel;
+    }
+    
+    public int getNewLevel() {
+        return newLevel;
+    }
+    
+    public int getTotalExperience() {
+        return totalExperience;
+    }
+    
+    public int getMaxHealth() {
+        return maxHealth;
+    }
+    
+    public int getAttack() {
+        return attack;
+    }
+    
+    public int getDefense() {
+        return defense;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("PlayerLevelUpEvent[%d->%d, maxHP=%d, atk=%d, def=%d]",
+            previousLevel, newLevel, maxHealth, attack, defense);
+    }
+}
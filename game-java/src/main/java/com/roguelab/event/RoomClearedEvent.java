@@ -0,0 +1,57 @@
+package com.roguelab.event;
+
+import com.roguelab.domain.RoomType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Emitted when the last enemy in a room is defeated.
+ */
+public final class RoomClearedEvent extends AbstractGameEvent {
+    
+    private final String roomId;
+    private final RoomType roomType;
+    private final int floorNumber;
+    private final int enemiesDefeated;
+    
+    public RoomClearedEvent(UUID runId, int tick, String roomId, RoomType roomType,
+                            int floorNumber, int enemiesDefeated) {
+        super(EventType.ROOM_CLEARED, runId, tick);
+        this.roomId = roomId;
+        this.roomType = roomType;
+        this.floorNumber = floorNumber;
+        this.enemiesDefeated = enemiesDefeated;
+    }
+    
+    public RoomClearedEvent(Instant timestamp, UUID runId, int tick, String roomId,
+                            RoomType roomType, int floorNumber, int enemiesDefeated) {
+        super(EventType.ROOM_CLEARED, timestamp, runId, tick);
+        this.roomId = roomId;
+        this.roomType = roomType;
+        this.floorNumber = floorNumber;
+        this.enemiesDefeated = enemiesDefeated;
+    }
+    
+    public String getRoomId() {
+        return roomId;
+    }
+    
+    public RoomType getRoomType() {
+        return roomType;
+    }
+    
+    public int getFloorNumber() {
+        return floorNumber;
+    }
+    
+    public int getEnemiesDefeated() {
+        return enemiesDefeated;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("RoomClearedEvent[room=%s, type=%s, floor=%d, enemies=%d]",
+            roomId, roomType, floorNumber, enemiesDefeated);
+    }
+}
@@ -3,6 +3,8 @@ package com.roguelab.event;
 import com.roguelab.domain.RoomType;
 
 import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -16,10 +18,15 @@ public final class RoomEnteredEvent extends AbstractGameEvent {
     private final int enemyCount;
     private final boolean hasChest;
     private final double playerHealthPercent;
+    private final int roomIndex;
+    private final int itemCount;
+    private final List<EnemyInfo> enemies;
+    private final List<ItemInfo> items;
     
     public RoomEnteredEvent(UUID runId, int tick, int floor, String roomId,
                             RoomType roomType, int enemyCount, boolean hasChest,
-                            double playerHealthPercent) {
+                            double playerHealthPercent, int roomIndex, int itemCount,
+                            List<EnemyInfo> enemies, List<ItemInfo> items) {
         super(EventType.ROOM_ENTERED, runId, tick);
         this.floor = floor;
         this.roomId = roomId;
@@ -27,11 +34,16 @@ public final class RoomEnteredEvent extends AbstractGameEvent {
         this.enemyCount = enemyCount;
         this.hasChest = hasChest;
         this.playerHealthPercent = playerHealthPercent;
+        this.roomIndex = roomIndex;
+        this.itemCount = itemCount;
+        this.enemies = Collections.unmodifiableList(enemies);
+        this.items = Collections.unmodifiableList(items);
     }
     
     public RoomEnteredEvent(Instant timestamp, UUID runId, int tick, int floor, 
                             String roomId, RoomType roomType, int enemyCount, 
-                            boolean hasChest, double playerHealthPercent) {
+                            boolean hasChest, double playerHealthPercent, int roomIndex,
+                            int itemCount, List<EnemyInfo> enemies, List<ItemInfo> items) {
         super(EventType.ROOM_ENTERED, timestamp, runId, tick);
         this.floor = floor;
         this.roomId = roomId;
@@ -39,6 +51,10 @@ public final class RoomEnteredEvent extends AbstractGameEvent {
         this.enemyCount = enemyCount;
         this.hasChest = hasChest;
         this.playerHealthPercent = playerHealthPercent;
+        this.roomIndex = roomIndex;
+        this.itemCount = itemCount;
+        this.enemies = Collections.unmodifiableList(enemies);
+        this.items = Collections.unmodifiableList(items);
     }
     
     public int getFloor() {
@@ -65,6 +81,22 @@ public final class RoomEnteredEvent extends AbstractGameEvent {
         return playerHealthPercent;
     }
     
+    public int getRoomIndex() {
+        return roomIndex;
+    }
+    
+    public int getItemCount() {
+        return itemCount;
+    }
+    
+    public List<EnemyInfo> getEnemies() {
+        return enemies;
+    }
+    
+    public List<ItemInfo> getItems() {
+        return items;
+    }
+    
     @Override
     public String toString() {
         return String.format("RoomEnteredEvent[room=%s, type=%s, floor=%d, enemies=%d]",
@@ -25,10 +25,23 @@ public final class RunEndedEvent extends AbstractGameEvent {
     private final int itemsCollected;
     private final int enemiesDefeated;
     private final long durationSeconds;
+    private final String endReason;  // GameSessionListener.RunEndReason name
+    private final int bossesKilled;
+    private final int goldEarned;
+    private final int goldSpent;
+    private final int damageDealt;
+    private final int damageTaken;
+    private final int roomsVisited;
+    private final int roomsCleared;
+    private final int playerLevel;
+    private final boolean playerAlive;
     
     public RunEndedEvent(UUID runId, int tick, Outcome outcome, int finalFloor,
                          int finalScore, int totalGold, int itemsCollected,
-                         int enemiesDefeated, long durationSeconds) {
+                         int enemiesDefeated, long durationSeconds,
+                         String endReason, int bossesKilled, int goldEarned,
+                         int goldSpent, int damageDealt, int damageTaken, int roomsVisited,
+                         int roomsCleared, int playerLevel, boolean playerAlive) {
         super(EventType.RUN_ENDED, runId, tick);
         this.outcome = outcome;
         this.finalFloor = finalFloor;
@@ -37,11 +50,24 @@ public final class RunEndedEvent extends AbstractGameEvent {
         this.itemsCollected = itemsCollected;
         this.enemiesDefeated = enemiesDefeated;
         this.durationSeconds = durationSeconds;
+        this.endReason = endReason;
+        this.bossesKilled = bossesKilled;
+        this.goldEarned = goldEarned;
+        this.goldSpent = goldSpent;
+        this.damageDealt = damageDealt;
+        this.damageTaken = damageTaken;
+        this.roomsVisited = roomsVisited;
+        this.roomsCleared = roomsCleared;
+        this.playerLevel = playerLevel;
+        this.playerAlive = playerAlive;
     }
     
     public RunEndedEvent(Instant timestamp, UUID runId, int tick, Outcome outcome, 
                          int finalFloor, int finalScore, int totalGold, int itemsCollected,
-                         int enemiesDefeated, long durationSeconds) {
+                         int enemiesDefeated, long durationSeconds,
+                         String endReason, int bossesKilled, int goldEarned,
+                         int goldSpent, int damageDealt, int damageTaken, int roomsVisited,
+                         int roomsCleared, int playerLevel, boolean playerAlive) {
         super(EventType.RUN_ENDED, timestamp, runId, tick);
         this.outcome = outcome;
         this.finalFloor = finalFloor;
@@ -50,6 +76,16 @@ public final class RunEndedEvent extends AbstractGameEvent {
         this.itemsCollected = itemsCollected;
         this.enemiesDefeated = enemiesDefeated;
         this.durationSeconds = durationSeconds;
+        this.endReason = endReason;
+        this.bossesKilled = bossesKilled;
+        this.goldEarned = goldEarned;
+        this.goldSpent = goldSpent;
+        this.damageDealt = damageDealt;
+        this.damageTaken = damageTaken;
+        this.roomsVisited = roomsVisited;
+        this.roomsCleared = roomsCleared;
+        this.playerLevel = playerLevel;
+        this.playerAlive = playerAlive;
     }
     
     public Outcome getOutcome() {
@@ -80,6 +116,46 @@ public final class RunEndedEvent extends AbstractGameEvent {
         return durationSeconds;
     }
     
+    public String getEndReason() {
+        return endReason;
+    }
+    
+    public int getBossesKilled() {
+        return bossesKilled;
+    }
+    
+    public int getGoldEarned() {
+        return goldEarned;
+    }
+    
+    public int getGoldSpent() {
+        return goldSpent;
+    }
+    
+    public int getDamageDealt() {
+        return damageDealt;
+    }
+    
+    public int getDamageTaken() {
+        return damageTaken;
+    }
+    
+    public int getRoomsVisited() {
+        return roomsVisited;
+    }
+    
+    public int getRoomsCleared() {
+        return roomsCleared;
+    }
+    
+    public int getPlayerLevel() {
+        return playerLevel;
+    }
+    
+    public boolean isPlayerAlive() {
+        return playerAlive;
+    }
+    
     @Override
     public String toString() {
         return String.format("RunEndedEvent[runId=%s, outcome=%s, floor=%d, score=%d]",
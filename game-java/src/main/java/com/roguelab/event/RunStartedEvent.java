@@ -17,25 +17,30 @@ public final class RunStartedEvent extends AbstractGameEvent {
     private final PlayerClass playerClass;
     private final Difficulty difficulty;
     private final String playerName;
+    private final int startingHealth;
     
     public RunStartedEvent(UUID runId, long seed, String gameVersion, 
-                           PlayerClass playerClass, Difficulty difficulty, String playerName) {
+                           PlayerClass playerClass, Difficulty difficulty, String playerName,
+                           int startingHealth) {
         super(EventType.RUN_STARTED, runId, 0);
         this.seed = seed;
         this.gameVersion = gameVersion;
         this.playerClass = playerClass;
         this.difficulty = difficulty;
         this.playerName = playerName;
+        this.startingHealth = startingHealth;
     }
     
     public RunStartedEvent(Instant timestamp, UUID runId, long seed, String gameVersion,
-                           PlayerClass playerClass, Difficulty difficulty, String playerName) {
+                           PlayerClass playerClass, Difficulty difficulty, String playerName,
+                           int startingHealth) {
         super(EventType.RUN_STARTED, timestamp, runId, 0);
         this.seed = seed;
         this.gameVersion = gameVersion;
         this.playerClass = playerClass;
         this.difficulty = difficulty;
         this.playerName = playerName;
+        this.startingHealth = startingHealth;
     }
     
     public long getSeed() {
@@ -58,6 +63,10 @@ public final class RunStartedEvent extends AbstractGameEvent {
         return playerName;
     }
     
+    public int getStartingHealth() {
+        return startingHealth;
+    }
+    
     @Override
     public String toString() {
         return String.format("RunStartedEvent[runId=%s, seed=%d, player=%s (%s), difficulty=%s]",
@@ -1,6 +1,7 @@
 package com.roguelab.event;
 
 import com.roguelab.domain.ItemType;
+import com.roguelab.domain.Rarity;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -17,10 +18,11 @@ public final class ShopPurchasedEvent extends AbstractGameEvent {
     private final int playerGoldBefore;
     private final int playerGoldAfter;
     private final int floor;
+    private final Rarity rarity;
     
     public ShopPurchasedEvent(UUID runId, int tick, String itemId, String itemName,
                               ItemType itemType, int price, int playerGoldBefore,
-                              int playerGoldAfter, int floor) {
+                              int playerGoldAfter, int floor, Rarity rarity) {
         super(EventType.SHOP_PURCHASED, runId, tick);
         this.itemId = itemId;
         this.itemName = itemName;
@@ -29,11 +31,12 @@ public final class ShopPurchasedEvent extends AbstractGameEvent {
         this.playerGoldBefore = playerGoldBefore;
         this.playerGoldAfter = playerGoldAfter;
         this.floor = floor;
+        this.rarity = rarity;
     }
     
     public ShopPurchasedEvent(Instant timestamp, UUID runId, int tick, String itemId, 
                               String itemName, ItemType itemType, int price, 
-                              int playerGoldBefore, int playerGoldAfter, int floor) {
+                              int playerGoldBefore, int playerGoldAfter, int floor, Rarity rarity) {
         super(EventType.SHOP_PURCHASED, timestamp, runId, tick);
         this.itemId = itemId;
         this.itemName = itemName;
@@ -42,6 +45,7 @@ public final class ShopPurchasedEvent extends AbstractGameEvent {
         this.playerGoldBefore = playerGoldBefore;
         this.playerGoldAfter = playerGoldAfter;
         this.floor = floor;
+        this.rarity = rarity;
     }
     
     public String getItemId() {
@@ -72,6 +76,10 @@ public final class ShopPurchasedEvent extends AbstractGameEvent {
         return floor;
     }
     
+    public Rarity getRarity() {
+        return rarity;
+    }
+    
     @Override
     public String toString() {
         return String.format("ShopPurchasedEvent[%s for %d gold, %d->%d]",
@@ -3,8 +3,16 @@ package com.roguelab.game;
 import com.roguelab.combat.*;
 import com.roguelab.domain.*;
 import com.roguelab.dungeon.*;
+import com.roguelab.jfr.SessionTransition;
 import com.roguelab.util.GameRandom;
+import com.roguelab.util.PhaseProfiler;
+import com.roguelab.util.PhaseProfiler.Phase;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.time.Instant;
 import java.util.*;
 
@@ -13,9 +21,23 @@ import java.util.*;
  * Manages the player, dungeon, combat, and state transitions.
  * 
  * This is the central coordinator that ties together all game systems.
+ * 
+ * Floor generation, room entry and listener dispatch are bracketed for
+ * {@link PhaseProfiler}, which costs nothing unless profiling is enabled.
+ * State changes are committed as {@link SessionTransition} JFR events.
+ * 
+ * With a {@link SessionJournal} attached, every command is appended to
+ * the journal before it is applied, and every combat once it resolves.
+ * With a {@link SaveGame} attached, the session checkpoints after every
+ * room transition.
+ * 
+ * Every change to the run bumps {@link #getStateVersion()}, so views can
+ * rebuild what they derive from the session only when it moved.
  */
 public final class GameSession {
     
+    private static final PhaseProfiler PROFILER = PhaseProfiler.global();
+    
     // Configuration
     private final String runId;
     private final long seed;
@@ -31,31 +53,46 @@ public final class GameSession {
     // State
     private GameState state;
     private int currentTick;
+    private volatile long stateVersion;
     private final Instant startTime;
     private Instant endTime;
     private final RunStatistics statistics;
+    private CombatSimulation activeCombat;
     
     // Event handling
     private GameSessionListener listener = GameSessionListener.NONE;
+    private SessionJournal journal;
+    private SaveGame autosave;
     
     /**
      * Create a new game session with full configuration.
      */
     public GameSession(String playerName, PlayerClass playerClass, 
                        long seed, Difficulty difficulty, DungeonConfig dungeonConfig) {
-        this.runId = "run_" + System.currentTimeMillis();
+        this("run_" + System.currentTimeMillis(), Instant.now(),
+            playerName, playerClass, seed, difficulty, dungeonConfig);
+    }
+    
+    /**
+     * Recreate a journaled session's identity.
+     */
+    GameSession(String runId, Instant startTime, String playerName, PlayerClass playerClass,
+                long seed, Difficulty difficulty, DungeonConfig dungeonConfig) {
+        this.runId = runId;
         this.seed = seed;
         this.difficulty = difficulty;
         this.dungeonConfig = dungeonConfig;
         this.random = new GameRandom(seed);
         
         this.player = new Player(playerName, playerClass);
+        PROFILER.begin(Phase.FLOOR_GENERATION);
         this.dungeon = new Dungeon(seed, dungeonConfig);
+        PROFILER.end(Phase.FLOOR_GENERATION);
         this.combatEngine = new CombatEngine(random);
         
         this.state = GameState.INITIALIZING;
         this.currentTick = 0;
-        this.startTime = Instant.now();
+        this.startTime = startTime;
         this.statistics = new RunStatistics();
     }
     
@@ -83,16 +120,26 @@ public final class GameSession {
         this.combatEngine.setEventListener(combatListener);
     }
     
+    void attachJournal(SessionJournal journal) {
+        this.journal = journal;
+    }
+    
+    void attachAutosave(SaveGame autosave) {
+        this.autosave = autosave;
+    }
+    
     // === GETTERS ===
     
     public String getRunId() { return runId; }
     public long getSeed() { return seed; }
     public Difficulty getDifficulty() { return difficulty; }
+    public DungeonConfig getDungeonConfig() { return dungeonConfig; }
     public Player getPlayer() { return player; }
     public Dungeon getDungeon() { return dungeon; }
     public GameRandom getRandom() { return random; }
     public GameState getState() { return state; }
     public int getCurrentTick() { return currentTick; }
+    public long getStateVersion() { return stateVersion; }
     public Instant getStartTime() { return startTime; }
     public Optional<Instant> getEndTime() { return Optional.ofNullable(endTime); }
     public RunStatistics getStatistics() { return statistics; }
@@ -118,23 +165,30 @@ public final class GameSession {
         if (state != GameState.INITIALIZING) {
             throw new IllegalStateException("Game already started");
         }
+        journal(SessionRecord.Command.START);
         
-        state = GameState.EXPLORING;
+        setState(GameState.EXPLORING);
         currentTick++;
         
+        PROFILER.begin(Phase.ROOM_ENTRY);
         // Mark first room as visited
         Room firstRoom = getCurrentRoom();
         firstRoom.visit();
         statistics.recordRoomVisited();
         
+        PROFILER.begin(Phase.LISTENER_DISPATCH);
         listener.onRunStarted(this);
         listener.onFloorEntered(this, getCurrentFloor());
         listener.onRoomEntered(this, firstRoom);
+        PROFILER.end(Phase.LISTENER_DISPATCH);
         
         // If first room has enemies, trigger combat
         if (firstRoom.hasAliveEnemies()) {
             enterCombat();
         }
+        PROFILER.end(Phase.ROOM_ENTRY);
+        changed();
+        autosave();
     }
     
     /**
@@ -146,15 +200,20 @@ public final class GameSession {
         if (!getCurrentFloor().hasNextRoom()) {
             throw new IllegalStateException("No more rooms on this floor");
         }
+        journal(SessionRecord.Command.ADVANCE);
         
+        PROFILER.begin(Phase.ROOM_ENTRY);
         Room room = dungeon.advanceToNextRoom();
         room.visit();
         statistics.recordRoomVisited();
         currentTick++;
         
-        listener.onRoomEntered(this, room);
+        dispatchRoomEntered(room);
         
         handleRoomEntry(room);
+        PROFILER.end(Phase.ROOM_ENTRY);
+        changed();
+        autosave();
     }
     
     /**
@@ -166,11 +225,16 @@ public final class GameSession {
         if (!getCurrentFloor().hasPreviousRoom()) {
             throw new IllegalStateException("Already at first room");
         }
+        journal(SessionRecord.Command.RETURN);
         
+        PROFILER.begin(Phase.ROOM_ENTRY);
         Room room = dungeon.returnToPreviousRoom();
         currentTick++;
         
-        listener.onRoomEntered(this, room);
+        dispatchRoomEntered(room);
+        PROFILER.end(Phase.ROOM_ENTRY);
+        changed();
+        autosave();
     }
     
     /**
@@ -182,22 +246,37 @@ public final class GameSession {
         if (!dungeon.canDescend()) {
             throw new IllegalStateException("Cannot descend - not at exit or rooms not cleared");
         }
+        journal(SessionRecord.Command.DESCEND);
         
         statistics.recordFloorCompleted();
+        PROFILER.begin(Phase.FLOOR_GENERATION);
         Floor newFloor = dungeon.descendToNextFloor();
+        PROFILER.end(Phase.FLOOR_GENERATION);
         player.descendToNextFloor();
         currentTick++;
         
+        PROFILER.begin(Phase.LISTENER_DISPATCH);
         listener.onFloorEntered(this, newFloor);
+        PROFILER.end(Phase.LISTENER_DISPATCH);
         
         // Visit first room of new floor
+        PROFILER.begin(Phase.ROOM_ENTRY);
         Room firstRoom = newFloor.getCurrentRoom();
         firstRoom.visit();
         statistics.recordRoomVisited();
         
-        listener.onRoomEntered(this, firstRoom);
+        dispatchRoomEntered(firstRoom);
         
         handleRoomEntry(firstRoom);
+        PROFILER.end(Phase.ROOM_ENTRY);
+        changed();
+        autosave();
+    }
+    
+    private void dispatchRoomEntered(Room room) {
+        PROFILER.begin(Phase.LISTENER_DISPATCH);
+        listener.onRoomEntered(this, room);
+        PROFILER.end(Phase.LISTENER_DISPATCH);
     }
     
     /**
@@ -210,10 +289,10 @@ public final class GameSession {
                     enterCombat();
                 }
             }
-            case SHOP -> state = GameState.IN_SHOP;
-            case REST -> state = GameState.AT_REST;
+            case SHOP -> setState(GameState.IN_SHOP);
+            case REST -> setState(GameState.AT_REST);
             case TREASURE -> collectTreasure(room);
-            case EVENT -> state = GameState.IN_EVENT;
+            case EVENT -> setState(GameState.IN_EVENT);
         }
     }
     
@@ -228,7 +307,7 @@ public final class GameSession {
             throw new IllegalStateException("No enemies in room");
         }
         
-        state = GameState.IN_COMBAT;
+        setState(GameState.IN_COMBAT);
     }
     
     /**
@@ -236,13 +315,79 @@ public final class GameSession {
      * Returns the combat result.
      */
     public CombatResult executeCombat() {
+        CombatSimulation simulation = beginCombat();
+        try {
+            while (!simulation.isFinished()) {
+                simulation.step();
+            }
+            return finishCombat(simulation);
+        } catch (RuntimeException e) {
+            abortCombat();
+            throw e;
+        }
+    }
+    
+    /**
+     * Start combat in the current room, to be played a turn at a time.
+     * Step the returned simulation until it is finished, then hand it to
+     * {@link #finishCombat}; the session stays in combat until then.
+     */
+    public CombatSimulation beginCombat() {
         validateState(GameState.IN_COMBAT);
+        if (activeCombat != null) {
+            throw new IllegalStateException("Combat already in progress");
+        }
+        if (journal != null) {
+            journal.snapshotIfDue();
+        }
         
-        Room room = getCurrentRoom();
-        CombatResult result = combatEngine.runCombat(
-            runId, player, room, random, currentTick
+        activeCombat = combatEngine.begin(
+            runId, player, getCurrentRoom(), random, currentTick
         );
+        return activeCombat;
+    }
+    
+    /**
+     * Apply the outcome of a finished simulation from {@link #beginCombat}.
+     */
+    public CombatResult finishCombat(CombatSimulation simulation) {
+        validateState(GameState.IN_COMBAT);
+        if (simulation != activeCombat) {
+            throw new IllegalArgumentException("Not this session's combat");
+        }
+        CombatResult result = simulation.getResult();
+        activeCombat = null;
+        
+        Room room = getCurrentRoom();
+        journal(SessionRecord.CombatResolved.capture(result, random, player, room));
         
+        completeCombat(room, result);
+        return result;
+    }
+    
+    /**
+     * Give up on a combat from {@link #beginCombat} that failed part way.
+     * The fight has already changed the player and room, so the run cannot
+     * go on consistently: it ends with {@code ERROR}. Does nothing if the
+     * combat was already resolved.
+     */
+    public void abortCombat() {
+        activeCombat = null;
+        if (state == GameState.IN_COMBAT) {
+            endRun(GameSessionListener.RunEndReason.ERROR);
+        }
+    }
+    
+    /**
+     * Apply a journaled combat outcome instead of simulating the fight.
+     */
+    void replayCombat(SessionRecord.CombatResolved combat) {
+        validateState(GameState.IN_COMBAT);
+        Room room = getCurrentRoom();
+        completeCombat(room, combat.applyTo(player, room, random));
+    }
+    
+    private void completeCombat(Room room, CombatResult result) {
         currentTick += result.turnsElapsed();
         statistics.recordCombatTurns(result.turnsElapsed());
         statistics.recordDamageDealt(result.totalDamageDealt());
@@ -259,17 +404,23 @@ public final class GameSession {
             
             room.markCleared();
             statistics.recordRoomCleared();
-            state = GameState.EXPLORING;
+            setState(GameState.EXPLORING);
             
+            PROFILER.begin(Phase.LISTENER_DISPATCH);
             listener.onRoomCleared(this, room);
+            PROFILER.end(Phase.LISTENER_DISPATCH);
         } else {
             // Player died
+            if (result.killedBy() != null) {
+                statistics.recordKilledBy(result.killedBy());
+            }
             endRun(GameSessionListener.RunEndReason.PLAYER_DEATH);
         }
+        changed();
         
+        PROFILER.begin(Phase.LISTENER_DISPATCH);
         listener.onCombatCompleted(this, result);
-        
-        return result;
+        PROFILER.end(Phase.LISTENER_DISPATCH);
     }
     
     // === SHOP ===
@@ -284,6 +435,8 @@ public final class GameSession {
         if (player.getInventory().getGold() < cost) {
             return false;
         }
+        journal(new SessionRecord.Command(SessionRecord.Command.Kind.PURCHASE,
+            getCurrentRoom().getItems().indexOf(item)));
         
         player.getInventory().spendGold(cost);
         player.getInventory().addItem(item);
@@ -291,8 +444,11 @@ public final class GameSession {
         
         statistics.recordGoldSpent(cost);
         statistics.recordItemCollected();
+        changed();
         
+        PROFILER.begin(Phase.LISTENER_DISPATCH);
         listener.onShopPurchase(this, item, cost);
+        PROFILER.end(Phase.LISTENER_DISPATCH);
         
         return true;
     }
@@ -302,7 +458,8 @@ public final class GameSession {
      */
     public void leaveShop() {
         validateState(GameState.IN_SHOP);
-        state = GameState.EXPLORING;
+        journal(SessionRecord.Command.LEAVE_SHOP);
+        setState(GameState.EXPLORING);
     }
     
     // === REST SITE ===
@@ -312,15 +469,20 @@ public final class GameSession {
      */
     public int rest() {
         validateState(GameState.AT_REST);
+        journal(SessionRecord.Command.REST);
         
         // Heal 30% of max health
         int maxHeal = (int) (player.getHealth().getMaximum() * 0.30);
         int healed = player.getHealth().heal(maxHeal);
+        getCurrentRoom().markCleared();
         
         statistics.recordHealing(healed);
         currentTick++;
+        changed();
         
+        PROFILER.begin(Phase.LISTENER_DISPATCH);
         listener.onPlayerRested(this, healed);
+        PROFILER.end(Phase.LISTENER_DISPATCH);
         
         return healed;
     }
@@ -330,7 +492,8 @@ public final class GameSession {
      */
     public void leaveRest() {
         validateState(GameState.AT_REST);
-        state = GameState.EXPLORING;
+        journal(SessionRecord.Command.LEAVE_REST);
+        setState(GameState.EXPLORING);
     }
     
     // === INVENTORY ===
@@ -343,12 +506,17 @@ public final class GameSession {
         if (!room.getItems().contains(item)) {
             throw new IllegalArgumentException("Item not in room");
         }
+        journal(new SessionRecord.Command(SessionRecord.Command.Kind.PICK_UP,
+            room.getItems().indexOf(item)));
         
         player.getInventory().addItem(item);
         room.removeItem(item);
         statistics.recordItemCollected();
+        changed();
         
+        PROFILER.begin(Phase.LISTENER_DISPATCH);
         listener.onItemPicked(this, item);
+        PROFILER.end(Phase.LISTENER_DISPATCH);
     }
     
     /**
@@ -362,6 +530,8 @@ public final class GameSession {
         if (!player.getInventory().getItems().contains(item)) {
             throw new IllegalArgumentException("Item not in inventory");
         }
+        journal(new SessionRecord.Command(SessionRecord.Command.Kind.USE_ITEM,
+            player.getInventory().getItems().indexOf(item)));
         
         // Apply healing
         if (item.getHealthBonus() > 0) {
@@ -371,8 +541,11 @@ public final class GameSession {
         
         player.getInventory().removeItem(item);
         statistics.recordItemUsed();
+        changed();
         
+        PROFILER.begin(Phase.LISTENER_DISPATCH);
         listener.onItemUsed(this, item);
+        PROFILER.end(Phase.LISTENER_DISPATCH);
     }
     
     // === TREASURE ===
@@ -386,7 +559,9 @@ public final class GameSession {
             player.getInventory().addItem(item);
             room.removeItem(item);
             statistics.recordItemCollected();
+            PROFILER.begin(Phase.LISTENER_DISPATCH);
             listener.onItemPicked(this, item);
+            PROFILER.end(Phase.LISTENER_DISPATCH);
         }
         
         room.markCleared();
@@ -402,11 +577,19 @@ public final class GameSession {
         if (state == GameState.RUN_ENDED) {
             return; // Already ended
         }
+        journal(new SessionRecord.Command(SessionRecord.Command.Kind.END_RUN, reason.ordinal()));
         
-        state = GameState.RUN_ENDED;
+        setState(GameState.RUN_ENDED);
         endTime = Instant.now();
+        statistics.recordRunEnded(reason);
+        if (autosave != null) {
+            autosave.discard();
+        }
+        changed();
         
+        PROFILER.begin(Phase.LISTENER_DISPATCH);
         listener.onRunEnded(this, reason);
+        PROFILER.end(Phase.LISTENER_DISPATCH);
     }
     
     /**
@@ -416,6 +599,94 @@ public final class GameSession {
         return state.isRunActive();
     }
     
+    // === SNAPSHOTS ===
+    
+    /**
+     * Encode the session's current state, for {@link #restore} to build
+     * independent copies from. Cheaper than replaying the run's actions,
+     * as it does not grow with the run's length. Call between commands.
+     * @throws IllegalStateException if a combat simulation is in progress
+     */
+    public byte[] snapshot() {
+        if (activeCombat != null) {
+            throw new IllegalStateException("Cannot snapshot during combat");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            SessionSnapshot.writeRun(this, out);
+            SessionSnapshot.writeState(this, out);
+            for (int n = 1; n <= dungeon.getDeepestFloorReached(); n++) {
+                SessionSnapshot.writeFloor(dungeon.getFloor(n).orElseThrow(), out);
+            }
+        } catch (IOException e) {
+            // Only in-memory streams are involved
+            throw new IllegalStateException("Failed to encode snapshot", e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    /**
+     * A new session in the state captured by {@link #snapshot}. It plays
+     * on exactly as the original would, and has no listeners, journal or
+     * autosave attached.
+     * @throws IllegalArgumentException if the bytes are not a snapshot
+     */
+    public static GameSession restore(byte[] snapshot) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+        try {
+            GameSession session = SessionSnapshot.readRun(in);
+            SessionSnapshot.restore(session, in);
+            return session;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not a session snapshot", e);
+        }
+    }
+    
+    // === STATE ===
+    
+    private void setState(GameState next) {
+        SessionTransition event = new SessionTransition();
+        if (event.shouldCommit()) {
+            event.runId = runId;
+            event.tick = currentTick;
+            event.from = state.name();
+            event.to = next.name();
+            event.commit();
+        }
+        state = next;
+        changed();
+    }
+    
+    /**
+     * Put a session rebuilt from a journal snapshot into the snapshotted state.
+     */
+    void restoreState(GameState state, int currentTick, Instant endTime) {
+        this.state = state;
+        this.currentTick = currentTick;
+        this.endTime = endTime;
+        changed();
+    }
+    
+    /**
+     * Record that the run changed. Only the game thread writes the version.
+     */
+    private void changed() {
+        stateVersion++;
+    }
+    
+    private void journal(SessionRecord record) {
+        if (journal != null) {
+            journal.append(record);
+        }
+    }
+    
+    private void autosave() {
+        if (autosave != null) {
+            autosave.checkpoint();
+        }
+    }
+    
     // === VALIDATION ===
     
     private void validateState(GameState expected) {
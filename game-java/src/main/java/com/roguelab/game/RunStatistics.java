@@ -1,5 +1,11 @@
 package com.roguelab.game;
 
+import com.roguelab.domain.EnemyType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Tracks statistics for a single game run.
  * Accumulated throughout gameplay for telemetry and end-of-run summary.
@@ -20,6 +26,8 @@ public final class RunStatistics {
     private int itemsUsed;
     private int turnsInCombat;
     private int totalTicks;
+    private GameSessionListener.RunEndReason endReason;
+    private EnemyType killedBy;
     
     public RunStatistics() {
         // All start at 0
@@ -42,6 +50,8 @@ public final class RunStatistics {
     public void recordCombatTurns(int turns) { turnsInCombat += turns; }
     public void recordTick() { totalTicks++; }
     public void recordTicks(int ticks) { totalTicks += ticks; }
+    public void recordRunEnded(GameSessionListener.RunEndReason reason) { endReason = reason; }
+    public void recordKilledBy(EnemyType type) { killedBy = type; }
     
     // === GETTERS ===
     
@@ -61,6 +71,59 @@ public final class RunStatistics {
     public int getTurnsInCombat() { return turnsInCombat; }
     public int getTotalTicks() { return totalTicks; }
     
+    /** How the run ended, or null while it is still active */
+    public GameSessionListener.RunEndReason getEndReason() { return endReason; }
+    
+    /** Type of the enemy that landed the killing blow if the player died in combat, or null */
+    public EnemyType getKilledBy() { return killedBy; }
+    
+    // === PERSISTENCE ===
+    
+    /**
+     * Write every counter, for session journal snapshots.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        int[] counters = {
+            roomsVisited, roomsCleared, floorsCompleted, enemiesKilled, bossesKilled,
+            totalDamageDealt, totalDamageTaken, totalHealing, goldEarned, goldSpent,
+            itemsCollected, itemsUsed, turnsInCombat, totalTicks
+        };
+        out.writeByte(counters.length);
+        for (int counter : counters) {
+            out.writeInt(counter);
+        }
+        out.writeByte(endReason == null ? -1 : endReason.ordinal());
+        out.writeByte(killedBy == null ? -1 : killedBy.ordinal());
+    }
+    
+    /**
+     * Replace every counter with values written by {@link #writeTo}.
+     */
+    void readFrom(DataInput in) throws IOException {
+        int[] counters = new int[in.readByte()];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = in.readInt();
+        }
+        roomsVisited = counters[0];
+        roomsCleared = counters[1];
+        floorsCompleted = counters[2];
+        enemiesKilled = counters[3];
+        bossesKilled = counters[4];
+        totalDamageDealt = counters[5];
+        totalDamageTaken = counters[6];
+        totalHealing = counters[7];
+        goldEarned = counters[8];
+        goldSpent = counters[9];
+        itemsCollected = counters[10];
+        itemsUsed = counters[11];
+        turnsInCombat = counters[12];
+        totalTicks = counters[13];
+        int reason = in.readByte();
+        endReason = reason < 0 ? null : GameSessionListener.RunEndReason.values()[reason];
+        int enemy = in.readByte();
+        killedBy = enemy < 0 ? null : EnemyType.values()[enemy];
+    }
+    
     // === COMPUTED METRICS ===
     
     public double getAverageRoomClearRate() {
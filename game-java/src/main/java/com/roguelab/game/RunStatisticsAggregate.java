@@ -0,0 +1,202 @@
+package com.roguelab.game;
+
+import com.roguelab.domain.EnemyType;
+import com.roguelab.util.Histogram;
+import com.roguelab.util.StreamingStats;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Mergeable summary of many runs, built in constant memory.
+ *
+ * Each finished run's {@link RunStatistics} is folded into streaming
+ * mean/variance, histograms for damage, combat turns and gold, and
+ * counts of run end reasons and of deaths per {@link EnemyType}. Two
+ * aggregates can be merged exactly, so large sweeps can accumulate per
+ * thread (see {@link Collector}) and combine the results at the end.
+ *
+ * Not thread-safe on its own.
+ */
+public final class RunStatisticsAggregate {
+
+    private static final GameSessionListener.RunEndReason[] REASONS = GameSessionListener.RunEndReason.values();
+    private static final EnemyType[] ENEMY_TYPES = EnemyType.values();
+
+    private long runs;
+    private final long[] endReasons = new long[REASONS.length];
+    private final long[] deathsByEnemy = new long[ENEMY_TYPES.length];
+
+    private final StreamingStats damageDealt = new StreamingStats();
+    private final StreamingStats damageTaken = new StreamingStats();
+    private final StreamingStats combatTurns = new StreamingStats();
+    private final StreamingStats goldEarned = new StreamingStats();
+    private final StreamingStats roomsCleared = new StreamingStats();
+    private final StreamingStats floorsCompleted = new StreamingStats();
+    private final StreamingStats enemiesKilled = new StreamingStats();
+
+    private final Histogram damageDealtHistogram = new Histogram();
+    private final Histogram damageTakenHistogram = new Histogram();
+    private final Histogram combatTurnsHistogram = new Histogram();
+    private final Histogram goldEarnedHistogram = new Histogram();
+
+    /**
+     * Fold one run into the aggregate.
+     */
+    public void add(RunStatistics run) {
+        runs++;
+        if (run.getEndReason() != null) {
+            endReasons[run.getEndReason().ordinal()]++;
+        }
+        if (run.getKilledBy() != null) {
+            deathsByEnemy[run.getKilledBy().ordinal()]++;
+        }
+
+        damageDealt.add(run.getTotalDamageDealt());
+        damageTaken.add(run.getTotalDamageTaken());
+        combatTurns.add(run.getTurnsInCombat());
+        goldEarned.add(run.getGoldEarned());
+        roomsCleared.add(run.getRoomsCleared());
+        floorsCompleted.add(run.getFloorsCompleted());
+        enemiesKilled.add(run.getEnemiesKilled());
+
+        damageDealtHistogram.record(run.getTotalDamageDealt());
+        damageTakenHistogram.record(run.getTotalDamageTaken());
+        combatTurnsHistogram.record(run.getTurnsInCombat());
+        goldEarnedHistogram.record(run.getGoldEarned());
+    }
+
+    /**
+     * Fold another aggregate into this one. Returns this aggregate.
+     */
+    public RunStatisticsAggregate merge(RunStatisticsAggregate other) {
+        runs += other.runs;
+        for (int i = 0; i < endReasons.length; i++) {
+            endReasons[i] += other.endReasons[i];
+        }
+        for (int i = 0; i < deathsByEnemy.length; i++) {
+            deathsByEnemy[i] += other.deathsByEnemy[i];
+        }
+
+        damageDealt.merge(other.damageDealt);
+        damageTaken.merge(other.damageTaken);
+        combatTurns.merge(other.combatTurns);
+        goldEarned.merge(other.goldEarned);
+        roomsCleared.merge(other.roomsCleared);
+        floorsCompleted.merge(other.floorsCompleted);
+        enemiesKilled.merge(other.enemiesKilled);
+
+        damageDealtHistogram.merge(other.damageDealtHistogram);
+        damageTakenHistogram.merge(other.damageTakenHistogram);
+        combatTurnsHistogram.merge(other.combatTurnsHistogram);
+        goldEarnedHistogram.merge(other.goldEarnedHistogram);
+        return this;
+    }
+
+    // === GETTERS ===
+
+    public long getRuns() { return runs; }
+    public long getEndReasonCount(GameSessionListener.RunEndReason reason) { return endReasons[reason.ordinal()]; }
+    public long getDeathsBy(EnemyType type) { return deathsByEnemy[type.ordinal()]; }
+
+    public StreamingStats getDamageDealt() { return damageDealt; }
+    public StreamingStats getDamageTaken() { return damageTaken; }
+    public StreamingStats getCombatTurns() { return combatTurns; }
+    public StreamingStats getGoldEarned() { return goldEarned; }
+    public StreamingStats getRoomsCleared() { return roomsCleared; }
+    public StreamingStats getFloorsCompleted() { return floorsCompleted; }
+    public StreamingStats getEnemiesKilled() { return enemiesKilled; }
+
+    public Histogram getDamageDealtHistogram() { return damageDealtHistogram; }
+    public Histogram getDamageTakenHistogram() { return damageTakenHistogram; }
+    public Histogram getCombatTurnsHistogram() { return combatTurnsHistogram; }
+    public Histogram getGoldEarnedHistogram() { return goldEarnedHistogram; }
+
+    public double getVictoryRate() {
+        return runs == 0 ? 0 : (double) getEndReasonCount(GameSessionListener.RunEndReason.VICTORY) / runs;
+    }
+
+    // === REPORTING ===
+
+    /**
+     * Render the aggregate as Markdown, in the style of the analytics batch reports.
+     */
+    public String toMarkdown() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("## Overview\n\n");
+        sb.append("| Metric | Value |\n");
+        sb.append("|--------|-------|\n");
+        sb.append(String.format("| Total Runs | %d |%n", runs));
+        for (GameSessionListener.RunEndReason reason : REASONS) {
+            long count = endReasons[reason.ordinal()];
+            sb.append(String.format("| %s | %d (%.1f%%) |%n", reason, count, percent(count)));
+        }
+
+        sb.append("\n## Distributions\n\n");
+        sb.append("| Metric | Mean | Std Dev | p50 | p90 | p99 | Max |\n");
+        sb.append("|--------|------|---------|-----|-----|-----|-----|\n");
+        appendRow(sb, "Damage Dealt", damageDealt, damageDealtHistogram);
+        appendRow(sb, "Damage Taken", damageTaken, damageTakenHistogram);
+        appendRow(sb, "Combat Turns", combatTurns, combatTurnsHistogram);
+        appendRow(sb, "Gold Earned", goldEarned, goldEarnedHistogram);
+
+        sb.append("\n## Deaths by Enemy\n\n");
+        sb.append("| Enemy | Deaths |\n");
+        sb.append("|-------|--------|\n");
+        for (EnemyType type : ENEMY_TYPES) {
+            long deaths = deathsByEnemy[type.ordinal()];
+            if (deaths > 0) {
+                sb.append(String.format("| %s | %d |%n", type, deaths));
+            }
+        }
+        return sb.toString();
+    }
+
+    private double percent(long count) {
+        return runs == 0 ? 0 : 100.0 * count / runs;
+    }
+
+    private static void appendRow(StringBuilder sb, String name, StreamingStats stats, Histogram histogram) {
+        sb.append(String.format("| %s | %.1f | %.1f | %d | %d | %d | %d |%n",
+            name, stats.getMean(), stats.getStandardDeviation(),
+            histogram.valueAtPercentile(50), histogram.valueAtPercentile(90),
+            histogram.valueAtPercentile(99), histogram.getMax()));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RunAggregate[runs=%d, victories=%.1f%%, damage=%.1f/%.1f]",
+            runs, getVictoryRate() * 100, damageDealt.getMean(), damageTaken.getMean());
+    }
+
+    /**
+     * Lock-free collector for concurrent sweeps.
+     *
+     * Each thread adds runs to its own aggregate; {@link #result()} merges
+     * them. Call it only after all producing threads have finished.
+     */
+    public static final class Collector {
+
+        private final Queue<RunStatisticsAggregate> partials = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<RunStatisticsAggregate> local = ThreadLocal.withInitial(() -> {
+            RunStatisticsAggregate partial = new RunStatisticsAggregate();
+            partials.add(partial);
+            return partial;
+        });
+
+        public void add(RunStatistics run) {
+            local.get().add(run);
+        }
+
+        /**
+         * Merge all per-thread partial aggregates into a new aggregate.
+         */
+        public RunStatisticsAggregate result() {
+            RunStatisticsAggregate total = new RunStatisticsAggregate();
+            for (RunStatisticsAggregate partial : partials) {
+                total.merge(partial);
+            }
+            return total;
+        }
+    }
+}
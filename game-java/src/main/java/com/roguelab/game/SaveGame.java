@@ -0,0 +1,263 @@
+package com.roguelab.game;
+
+import com.roguelab.dungeon.Dungeon;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Crash-safe save file for an in-progress run.
+ *
+ * Once attached with {@link #autosave}, the session checkpoints itself
+ * after every room transition and the save is deleted when the run ends.
+ * A checkpoint is encoded on the calling thread, which takes microseconds,
+ * and written by a background thread: the bytes go to a temporary file
+ * next to the save, which is forced to disk and then atomically renamed
+ * over it. A crash at any point leaves either the previous save or the
+ * new one, never a mix.
+ *
+ * Checkpoints are incremental in the encoding: a floor only changes while
+ * the player is on it, so the sections for floors already left are
+ * encoded once and reused. Checkpoints that arrive while a write is in
+ * flight are coalesced, so a burst of room transitions costs one fsync
+ * for the newest state rather than one each.
+ *
+ * File layout: {@code [int magic][int length][int crc32][payload]}, where
+ * the payload is the run configuration followed by a {@link SessionSnapshot}.
+ */
+public final class SaveGame implements AutoCloseable {
+
+    private static final int MAGIC = 0x524C5331; // "RLS1"
+    private static final int FILE_HEADER = 12;
+
+    private final Path path;
+    private final Path tempPath;
+    private final GameSession session;
+    private final ExecutorService writer;
+    private final AtomicReference<byte[]> pending = new AtomicReference<>();
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    private final ByteArrayOutputStream floorBuffer = new ByteArrayOutputStream(1024);
+    private final DataOutputStream floorOut = new DataOutputStream(floorBuffer);
+    private byte[][] floorCache = new byte[0][];
+    private volatile IOException failure;
+    private volatile long checkpoints;
+    private volatile long writes;
+
+    private SaveGame(Path path, GameSession session) {
+        this.path = path;
+        this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.session = session;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "roguelab-save");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Autosave a session to {@code path} from now on.
+     */
+    public static SaveGame autosave(Path path, GameSession session) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        SaveGame save = new SaveGame(path, session);
+        session.attachAutosave(save);
+        return save;
+    }
+
+    /**
+     * Rebuild the session saved at {@code path}. The result is not autosaved.
+     * @throws IOException if the file is missing, corrupt or not a save
+     */
+    public static GameSession load(Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer view = ByteBuffer.wrap(bytes);
+        if (bytes.length < FILE_HEADER || view.getInt(0) != MAGIC) {
+            throw new IOException("Not a save file: " + path);
+        }
+        int length = view.getInt(4);
+        if (length != bytes.length - FILE_HEADER) {
+            throw new IOException("Save file is truncated: " + path);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, FILE_HEADER, length);
+        if ((int) crc.getValue() != view.getInt(8)) {
+            throw new IOException("Save file is corrupt: " + path);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, FILE_HEADER, length));
+        GameSession session = SessionSnapshot.readRun(in);
+        SessionSnapshot.restore(session, in);
+        return session;
+    }
+
+    // === CHECKPOINTS ===
+
+    /**
+     * Save the session's current state in the background. The session
+     * must be in a consistent state, between commands. Does nothing unless
+     * the run is active.
+     */
+    public void checkpoint() {
+        if (!session.isActive()) {
+            return;
+        }
+        byte[] payload;
+        try {
+            payload = encode();
+        } catch (IOException e) {
+            // Only in-memory streams are involved
+            throw new IllegalStateException("Failed to encode save", e);
+        }
+        checkpoints++;
+        if (pending.getAndSet(payload) == null) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    private byte[] encode() throws IOException {
+        Dungeon dungeon = session.getDungeon();
+        int current = dungeon.getCurrentFloorNumber();
+        if (floorCache.length < current) {
+            floorCache = Arrays.copyOf(floorCache, current);
+        }
+
+        buffer.reset();
+        out.writeInt(MAGIC);
+        out.writeInt(0);
+        out.writeInt(0);
+        SessionSnapshot.writeRun(session, out);
+        SessionSnapshot.writeState(session, out);
+        for (int n = 1; n <= dungeon.getDeepestFloorReached(); n++) {
+            byte[] section = n < current ? floorCache[n - 1] : null;
+            if (section == null) {
+                floorBuffer.reset();
+                SessionSnapshot.writeFloor(dungeon.getFloor(n).orElseThrow(), floorOut);
+                section = floorBuffer.toByteArray();
+                if (n < current) {
+                    floorCache[n - 1] = section;
+                }
+            }
+            out.write(section);
+        }
+
+        byte[] bytes = buffer.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, FILE_HEADER, bytes.length - FILE_HEADER);
+        ByteBuffer.wrap(bytes)
+            .putInt(4, bytes.length - FILE_HEADER)
+            .putInt(8, (int) crc.getValue());
+        return bytes;
+    }
+
+    private void writePending() {
+        byte[] bytes = pending.getAndSet(null);
+        if (bytes == null) {
+            return;
+        }
+        try {
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer data = ByteBuffer.wrap(bytes);
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+                channel.force(false);
+            }
+            Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory();
+            writes++;
+            failure = null;
+        } catch (IOException e) {
+            failure = e;
+            System.err.println("Autosave to " + path + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Make the rename itself durable. Not every platform can open a
+     * directory for this, in which case the rename is left to the OS.
+     */
+    private void syncDirectory() {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Unsupported here
+        }
+    }
+
+    /**
+     * Wait until every checkpoint so far is on disk.
+     * @throws IOException if the last write failed
+     */
+    public void flush() throws IOException {
+        try {
+            writer.submit(() -> {}).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing save " + path, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to flush save " + path, e.getCause());
+        }
+        IOException last = failure;
+        if (last != null) {
+            throw last;
+        }
+    }
+
+    /**
+     * Called when the run ends: a finished run cannot be resumed.
+     */
+    void discard() {
+        pending.set(null);
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(tempPath);
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                System.err.println("Failed to delete save " + path + ": " + e.getMessage());
+            }
+        });
+    }
+
+    public Path getPath() { return path; }
+    public GameSession getSession() { return session; }
+    public long getCheckpoints() { return checkpoints; }
+    public long getWrites() { return writes; }
+
+    /**
+     * Stop autosaving once pending checkpoints are on disk. The session
+     * keeps running.
+     */
+    @Override
+    public void close() throws IOException {
+        session.attachAutosave(null);
+        try {
+            flush();
+        } finally {
+            writer.shutdown();
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.roguelab.game;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of a {@link GameSession}'s state changes, so a run can
+ * be recovered after a crash and derived views rebuilt by replaying it.
+ *
+ * Once a journal is attached, every command (advancing, descending,
+ * buying, resting, using items, ending the run) is appended before the
+ * session applies it, and every combat is appended as its outcome. Every
+ * {@link Builder#snapshotInterval snapshotInterval} records a snapshot of
+ * the full session state is appended, so {@link #recover} only replays
+ * the records after the last one.
+ *
+ * File layout: a header frame with the run configuration, then one frame
+ * per record or snapshot. Each frame is {@code [int length][int crc32][payload]};
+ * a torn or corrupt frame at the end, as left by a crash mid-write, marks
+ * the end of the journal and is truncated away on recovery.
+ *
+ * Frames are written straight to the file channel, so they survive a
+ * process crash; enable {@link Builder#sync} to also force them to disk
+ * against power loss.
+ */
+public final class SessionJournal implements AutoCloseable {
+
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 64;
+
+    private static final int MAGIC = 0x524C4A31; // "RLJ1"
+    private static final byte HEADER = 0;
+    private static final int FRAME_HEADER = 8;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final GameSession session;
+    private final int snapshotInterval;
+    private final boolean sync;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    private final CRC32 crc = new CRC32();
+    private int sinceSnapshot;
+    private long records;
+    private long snapshots;
+
+    private SessionJournal(Path path, FileChannel channel, GameSession session,
+                           int snapshotInterval, boolean sync, int sinceSnapshot) {
+        this.path = path;
+        this.channel = channel;
+        this.session = session;
+        this.snapshotInterval = snapshotInterval;
+        this.sync = sync;
+        this.sinceSnapshot = sinceSnapshot;
+    }
+
+    /**
+     * Start journaling a session into a new file, with default settings.
+     */
+    public static SessionJournal create(Path path, GameSession session) throws IOException {
+        return builder().create(path, session);
+    }
+
+    /**
+     * Rebuild a session from a journal and keep journaling it.
+     */
+    public static SessionJournal recover(Path path) throws IOException {
+        return builder().recover(path);
+    }
+
+    /**
+     * Replay a whole journal into a new session, with {@code listener}
+     * receiving every state change as it originally happened. Combats are
+     * reported through {@link GameSessionListener#onCombatCompleted} only;
+     * the per-hit combat callbacks are not reproduced. The returned session
+     * is not journaled.
+     */
+    public static GameSession replay(Path path, GameSessionListener listener) throws IOException {
+        return load(path, false, listener).session;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // === WRITING ===
+
+    /**
+     * Append a record, preceded by a snapshot if one is due.
+     */
+    void append(SessionRecord record) {
+        snapshotIfDue();
+        try {
+            buffer.reset();
+            record.writeTo(out);
+            writeFrame();
+            records++;
+            sinceSnapshot++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to session journal " + path, e);
+        }
+    }
+
+    /**
+     * Snapshot the session if enough records have been appended since the
+     * last one. The session must be in a consistent state.
+     */
+    void snapshotIfDue() {
+        if (sinceSnapshot >= snapshotInterval) {
+            snapshot();
+        }
+    }
+
+    private void snapshot() {
+        try {
+            buffer.reset();
+            SessionSnapshot.write(session, out);
+            writeFrame();
+            snapshots++;
+            sinceSnapshot = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to snapshot session journal " + path, e);
+        }
+    }
+
+    private void writeFrame() throws IOException {
+        byte[] payload = buffer.toByteArray();
+        crc.reset();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + payload.length);
+        frame.putInt(payload.length);
+        frame.putInt((int) crc.getValue());
+        frame.put(payload);
+        frame.flip();
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    public Path getPath() { return path; }
+    public GameSession getSession() { return session; }
+    public long getRecordsWritten() { return records; }
+    public long getSnapshotsWritten() { return snapshots; }
+
+    /**
+     * Stop journaling and close the file. The session keeps running.
+     */
+    @Override
+    public void close() throws IOException {
+        session.attachJournal(null);
+        channel.close();
+    }
+
+    // === READING ===
+
+    /**
+     * A verified frame; {@code offset} and {@code length} cover the payload, tag included.
+     */
+    private record Frame(byte tag, int offset, int length) {
+        DataInputStream open(byte[] bytes) {
+            return new DataInputStream(new ByteArrayInputStream(bytes, offset, length));
+        }
+    }
+
+    private record Loaded(GameSession session, long validLength, int sinceSnapshot) {}
+
+    private static Loaded load(Path path, boolean fromLastSnapshot, GameSessionListener listener) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        List<Frame> frames = new ArrayList<>();
+        ByteBuffer view = ByteBuffer.wrap(bytes);
+        CRC32 crc = new CRC32();
+        int position = 0;
+        while (position + FRAME_HEADER <= bytes.length) {
+            int length = view.getInt(position);
+            int expected = view.getInt(position + 4);
+            int start = position + FRAME_HEADER;
+            if (length <= 0 || length > bytes.length - start) {
+                break;
+            }
+            crc.reset();
+            crc.update(bytes, start, length);
+            if ((int) crc.getValue() != expected) {
+                break;
+            }
+            frames.add(new Frame(bytes[start], start, length));
+            position = start + length;
+        }
+        if (frames.isEmpty() || frames.get(0).tag() != HEADER) {
+            throw new IOException("Not a session journal: " + path);
+        }
+
+        DataInputStream header = frames.get(0).open(bytes);
+        header.readByte();
+        GameSession session = readHeader(header);
+
+        // Full replays start after the header, or at the snapshot written
+        // there when the journal was attached mid-run
+        int first = 1;
+        if (fromLastSnapshot) {
+            for (int i = frames.size() - 1; i > 1; i--) {
+                if (frames.get(i).tag() == SessionSnapshot.TAG) {
+                    first = i;
+                    break;
+                }
+            }
+        }
+
+        session.setListener(listener);
+        int sinceSnapshot = 0;
+        for (int i = first; i < frames.size(); i++) {
+            Frame frame = frames.get(i);
+            DataInputStream in = frame.open(bytes);
+            if (frame.tag() == SessionSnapshot.TAG) {
+                if (i == first) {
+                    in.readByte();
+                    SessionSnapshot.restore(session, in);
+                }
+                sinceSnapshot = 0;
+                continue;
+            }
+            SessionRecord record = SessionRecord.readFrom(in);
+            if (record instanceof SessionRecord.Command command) {
+                command.replay(session);
+            } else if (record instanceof SessionRecord.CombatResolved combat) {
+                session.replayCombat(combat);
+            }
+            sinceSnapshot++;
+        }
+        session.setListener(GameSessionListener.NONE);
+        return new Loaded(session, position, sinceSnapshot);
+    }
+
+    private static void writeHeader(GameSession session, DataOutputStream out) throws IOException {
+        out.writeByte(HEADER);
+        out.writeInt(MAGIC);
+        SessionSnapshot.writeRun(session, out);
+    }
+
+    private static GameSession readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Bad session journal header");
+        }
+        return SessionSnapshot.readRun(in);
+    }
+
+    /**
+     * Journal settings.
+     */
+    public static final class Builder {
+
+        private int snapshotInterval = DEFAULT_SNAPSHOT_INTERVAL;
+        private boolean sync;
+
+        private Builder() {}
+
+        /**
+         * Records between snapshots. Smaller values make recovery faster
+         * and the journal larger.
+         */
+        public Builder snapshotInterval(int records) {
+            if (records < 1) {
+                throw new IllegalArgumentException("snapshotInterval must be positive");
+            }
+            this.snapshotInterval = records;
+            return this;
+        }
+
+        /**
+         * Force every frame to disk before the command is applied.
+         */
+        public Builder sync(boolean sync) {
+            this.sync = sync;
+            return this;
+        }
+
+        /**
+         * Start journaling a session into a new file, replacing any
+         * existing one. A session that has already started is snapshotted
+         * first.
+         */
+        public SessionJournal create(Path path, GameSession session) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            SessionJournal journal = new SessionJournal(path, channel, session, snapshotInterval, sync, 0);
+            try {
+                writeHeader(session, journal.out);
+                journal.writeFrame();
+                if (session.getState() != GameState.INITIALIZING) {
+                    journal.snapshot();
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+            session.attachJournal(journal);
+            return journal;
+        }
+
+        /**
+         * Rebuild a session from its last snapshot and the records after
+         * it, drop any torn frame at the end, and keep journaling.
+         */
+        public SessionJournal recover(Path path) throws IOException {
+            Loaded loaded = load(path, true, GameSessionListener.NONE);
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            channel.truncate(loaded.validLength());
+            channel.position(loaded.validLength());
+            SessionJournal journal = new SessionJournal(path, channel, loaded.session(),
+                snapshotInterval, sync, loaded.sinceSnapshot());
+            loaded.session().attachJournal(journal);
+            return journal;
+        }
+    }
+}
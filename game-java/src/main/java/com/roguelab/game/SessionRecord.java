@@ -0,0 +1,248 @@
+package com.roguelab.game;
+
+import com.roguelab.combat.CombatResult;
+import com.roguelab.domain.Enemy;
+import com.roguelab.domain.EnemyType;
+import com.roguelab.domain.EntityId;
+import com.roguelab.domain.Player;
+import com.roguelab.domain.Room;
+import com.roguelab.domain.StatusType;
+import com.roguelab.domain.component.StatusEffect;
+import com.roguelab.domain.component.StatusEffects;
+import com.roguelab.util.GameRandom;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One entry in a {@link SessionJournal}.
+ *
+ * Commands are deterministic given the session state, so they are logged
+ * as the call and replayed by making it again. Combat is the one step
+ * driven by the random generator; it is logged as its outcome and the
+ * state it left behind, so replay never re-simulates a fight.
+ */
+sealed interface SessionRecord {
+
+    byte COMMAND = 1;
+    byte COMBAT = 2;
+
+    void writeTo(DataOutput out) throws IOException;
+
+    static SessionRecord readFrom(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case COMMAND -> new Command(Command.Kind.values()[in.readByte()], in.readInt());
+            case COMBAT -> CombatResolved.read(in);
+            default -> throw new IOException("Unknown journal record tag: " + tag);
+        };
+    }
+
+    /**
+     * A call to one of the {@link GameSession} commands.
+     * @param index Room item index for PURCHASE and PICK_UP, inventory
+     *              index for USE_ITEM, end reason ordinal for END_RUN
+     */
+    record Command(Kind kind, int index) implements SessionRecord {
+
+        enum Kind {
+            START, ADVANCE, RETURN, DESCEND, PURCHASE, PICK_UP, USE_ITEM,
+            REST, LEAVE_SHOP, LEAVE_REST, END_RUN
+        }
+
+        static final Command START = new Command(Kind.START, 0);
+        static final Command ADVANCE = new Command(Kind.ADVANCE, 0);
+        static final Command RETURN = new Command(Kind.RETURN, 0);
+        static final Command DESCEND = new Command(Kind.DESCEND, 0);
+        static final Command REST = new Command(Kind.REST, 0);
+        static final Command LEAVE_SHOP = new Command(Kind.LEAVE_SHOP, 0);
+        static final Command LEAVE_REST = new Command(Kind.LEAVE_REST, 0);
+
+        @Override
+        public void writeTo(DataOutput out) throws IOException {
+            out.writeByte(COMMAND);
+            out.writeByte(kind.ordinal());
+            out.writeInt(index);
+        }
+
+        /**
+         * Make the logged call on a session in the state it was logged in.
+         */
+        void replay(GameSession session) {
+            Room room = session.getCurrentRoom();
+            switch (kind) {
+                case START -> session.start();
+                case ADVANCE -> session.advanceRoom();
+                case RETURN -> session.returnRoom();
+                case DESCEND -> session.descendFloor();
+                case PURCHASE -> session.purchaseItem(room.getItems().get(index));
+                case PICK_UP -> session.pickUpItem(room.getItems().get(index));
+                case USE_ITEM -> session.useItem(session.getPlayer().getInventory().getItems().get(index));
+                case REST -> session.rest();
+                case LEAVE_SHOP -> session.leaveShop();
+                case LEAVE_REST -> session.leaveRest();
+                case END_RUN -> session.endRun(GameSessionListener.RunEndReason.values()[index]);
+            }
+        }
+    }
+
+    /**
+     * The outcome of a fight in the current room and the state it left:
+     * the combat generator, the player's health and statuses, and the
+     * health and statuses of each enemy in room order, and on a defeat
+     * the type of enemy credited with the kill.
+     */
+    record CombatResolved(CombatResult.Outcome outcome, int turns, int damageDealt, int damageTaken,
+                          int goldEarned, int experienceGained, int enemiesKilled,
+                          long randomState, int playerHealth, List<StatusData> playerStatuses,
+                          int[] enemyHealth, List<List<StatusData>> enemyStatuses,
+                          EnemyType killedBy) implements SessionRecord {
+
+        static CombatResolved capture(CombatResult result, GameRandom random, Player player, Room room) {
+            List<Enemy> enemies = room.getEnemies();
+            int[] enemyHealth = new int[enemies.size()];
+            List<List<StatusData>> enemyStatuses = new ArrayList<>(enemies.size());
+            for (int i = 0; i < enemies.size(); i++) {
+                enemyHealth[i] = enemies.get(i).getHealth().getCurrent();
+                enemyStatuses.add(StatusData.of(enemies.get(i).getStatuses()));
+            }
+            return new CombatResolved(result.outcome(), result.turnsElapsed(),
+                result.totalDamageDealt(), result.totalDamageTaken(),
+                result.goldEarned(), result.experienceGained(), result.enemiesKilled(),
+                random.getState(), player.getHealth().getCurrent(), StatusData.of(player.getStatuses()),
+                enemyHealth, enemyStatuses, result.killedBy());
+        }
+
+        /**
+         * Put the player, the room's enemies and the generator into the
+         * logged post-combat state, granting rewards the way the combat
+         * engine does.
+         * @return The result the original fight returned
+         */
+        CombatResult applyTo(Player player, Room room, GameRandom random) {
+            List<Enemy> enemies = room.getEnemies();
+            if (enemies.size() != enemyHealth.length) {
+                throw new IllegalStateException("Journal has " + enemyHealth.length
+                    + " enemies for room " + room.getId().value() + " but it has " + enemies.size());
+            }
+            List<String> killedIds = new ArrayList<>();
+            for (int i = 0; i < enemies.size(); i++) {
+                Enemy enemy = enemies.get(i);
+                if (enemy.isAlive() && enemyHealth[i] <= 0) {
+                    killedIds.add(enemy.getId().value());
+                }
+                enemy.getHealth().setCurrent(enemyHealth[i]);
+                StatusData.restore(enemy.getStatuses(), enemyStatuses.get(i));
+            }
+
+            if (playerHealth > 0) {
+                player.getInventory().addGold(goldEarned);
+                player.addExperience(experienceGained);
+                for (int i = 0; i < killedIds.size(); i++) {
+                    player.incrementEnemiesKilled();
+                }
+            }
+            player.getHealth().setCurrent(playerHealth);
+            StatusData.restore(player.getStatuses(), playerStatuses);
+            random.setState(randomState);
+
+            return new CombatResult(outcome, turns, damageDealt, damageTaken,
+                goldEarned, experienceGained, enemiesKilled, killedIds, killedBy);
+        }
+
+        @Override
+        public void writeTo(DataOutput out) throws IOException {
+            out.writeByte(COMBAT);
+            out.writeByte(outcome.ordinal());
+            out.writeInt(turns);
+            out.writeInt(damageDealt);
+            out.writeInt(damageTaken);
+            out.writeInt(goldEarned);
+            out.writeInt(experienceGained);
+            out.writeInt(enemiesKilled);
+            out.writeLong(randomState);
+            out.writeInt(playerHealth);
+            StatusData.write(out, playerStatuses);
+            out.writeByte(enemyHealth.length);
+            for (int i = 0; i < enemyHealth.length; i++) {
+                out.writeInt(enemyHealth[i]);
+                StatusData.write(out, enemyStatuses.get(i));
+            }
+            out.writeByte(killedBy == null ? -1 : killedBy.ordinal());
+        }
+
+        static CombatResolved read(DataInput in) throws IOException {
+            CombatResult.Outcome outcome = CombatResult.Outcome.values()[in.readByte()];
+            int turns = in.readInt();
+            int damageDealt = in.readInt();
+            int damageTaken = in.readInt();
+            int goldEarned = in.readInt();
+            int experienceGained = in.readInt();
+            int enemiesKilled = in.readInt();
+            long randomState = in.readLong();
+            int playerHealth = in.readInt();
+            List<StatusData> playerStatuses = StatusData.read(in);
+            int[] enemyHealth = new int[in.readUnsignedByte()];
+            List<List<StatusData>> enemyStatuses = new ArrayList<>(enemyHealth.length);
+            for (int i = 0; i < enemyHealth.length; i++) {
+                enemyHealth[i] = in.readInt();
+                enemyStatuses.add(StatusData.read(in));
+            }
+            int killer = in.readByte();
+            return new CombatResolved(outcome, turns, damageDealt, damageTaken, goldEarned,
+                experienceGained, enemiesKilled, randomState, playerHealth, playerStatuses,
+                enemyHealth, enemyStatuses, killer < 0 ? null : EnemyType.values()[killer]);
+        }
+    }
+
+    /**
+     * A status effect by value.
+     */
+    record StatusData(StatusType type, String sourceId, int duration, int stacks) {
+
+        static List<StatusData> of(StatusEffects statuses) {
+            if (statuses.isEmpty()) {
+                return List.of();
+            }
+            List<StatusData> data = new ArrayList<>(statuses.count());
+            for (StatusEffect effect : statuses.getAll()) {
+                data.add(new StatusData(effect.getType(), effect.getSourceId().value(),
+                    effect.getRemainingDuration(), effect.getStacks()));
+            }
+            return data;
+        }
+
+        static void restore(StatusEffects statuses, List<StatusData> data) {
+            statuses.clear();
+            for (StatusData status : data) {
+                statuses.apply(status.type(), EntityId.of(status.sourceId()), status.duration(), status.stacks());
+            }
+        }
+
+        static void write(DataOutput out, List<StatusData> data) throws IOException {
+            out.writeByte(data.size());
+            for (StatusData status : data) {
+                out.writeByte(status.type().ordinal());
+                out.writeUTF(status.sourceId());
+                out.writeInt(status.duration());
+                out.writeInt(status.stacks());
+            }
+        }
+
+        static List<StatusData> read(DataInput in) throws IOException {
+            int count = in.readUnsignedByte();
+            if (count == 0) {
+                return List.of();
+            }
+            List<StatusData> data = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                data.add(new StatusData(StatusType.values()[in.readByte()], in.readUTF(),
+                    in.readInt(), in.readInt()));
+            }
+            return data;
+        }
+    }
+}
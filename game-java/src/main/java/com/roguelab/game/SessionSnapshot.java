@@ -0,0 +1,300 @@
+package com.roguelab.game;
+
+import com.roguelab.domain.Difficulty;
+import com.roguelab.domain.Enemy;
+import com.roguelab.domain.EntityId;
+import com.roguelab.domain.Item;
+import com.roguelab.domain.ItemType;
+import com.roguelab.domain.Player;
+import com.roguelab.domain.PlayerClass;
+import com.roguelab.domain.Position;
+import com.roguelab.domain.Rarity;
+import com.roguelab.domain.Room;
+import com.roguelab.domain.component.Combat;
+import com.roguelab.domain.component.Health;
+import com.roguelab.domain.component.Inventory;
+import com.roguelab.dungeon.Dungeon;
+import com.roguelab.dungeon.DungeonConfig;
+import com.roguelab.dungeon.Floor;
+import com.roguelab.game.SessionRecord.StatusData;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Full mutable state of a {@link GameSession}, written into the journal
+ * periodically so recovery only replays the records after it.
+ *
+ * Floor layouts are not stored: the dungeon generator is seeded, so
+ * regenerating floors in order reproduces the rooms and enemies. A
+ * snapshot stores what play has changed since: progress through each
+ * floor, room flags, enemy health, items left lying in rooms, the player,
+ * the statistics and the combat generator state. Items are stored by
+ * value, with their ids.
+ */
+final class SessionSnapshot {
+
+    static final byte TAG = 3;
+    private static final int VERSION = 1;
+
+    private SessionSnapshot() {}
+
+    static void write(GameSession session, DataOutput out) throws IOException {
+        out.writeByte(TAG);
+        writeState(session, out);
+        Dungeon dungeon = session.getDungeon();
+        for (int n = 1; n <= dungeon.getDeepestFloorReached(); n++) {
+            writeFloor(dungeon.getFloor(n).orElseThrow(), out);
+        }
+    }
+
+    /**
+     * Everything but the floors, which must follow in floor order, each
+     * written by {@link #writeFloor}. A floor's section only changes while
+     * the player is on it.
+     */
+    static void writeState(GameSession session, DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        out.writeByte(session.getState().ordinal());
+        out.writeInt(session.getCurrentTick());
+        out.writeLong(session.getEndTime().map(Instant::toEpochMilli).orElse(-1L));
+        out.writeLong(session.getRandom().getState());
+        session.getStatistics().writeTo(out);
+        writePlayer(session.getPlayer(), out);
+        out.writeByte(session.getDungeon().getCurrentFloorNumber());
+        out.writeByte(session.getDungeon().getDeepestFloorReached());
+    }
+
+    /**
+     * Put a newly constructed session, with the same configuration as the
+     * snapshotted one, into the snapshotted state.
+     */
+    static void restore(GameSession session, DataInput in) throws IOException {
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        GameState state = GameState.values()[in.readByte()];
+        int tick = in.readInt();
+        long endMillis = in.readLong();
+        session.getRandom().setState(in.readLong());
+        session.getStatistics().readFrom(in);
+        readPlayer(session.getPlayer(), in);
+        readDungeon(session.getDungeon(), in);
+        session.restoreState(state, tick, endMillis < 0 ? null : Instant.ofEpochMilli(endMillis));
+    }
+
+    // === RUN ===
+
+    /**
+     * The run's identity and configuration, from which a fresh session
+     * with the same dungeon can be built.
+     */
+    static void writeRun(GameSession session, DataOutput out) throws IOException {
+        DungeonConfig config = session.getDungeonConfig();
+        out.writeUTF(session.getRunId());
+        out.writeLong(session.getStartTime().toEpochMilli());
+        out.writeUTF(session.getPlayer().getName());
+        out.writeByte(session.getPlayer().getPlayerClass().ordinal());
+        out.writeLong(session.getSeed());
+        out.writeByte(session.getDifficulty().ordinal());
+        out.writeInt(config.getMaxFloors());
+        out.writeInt(config.getMinRoomsPerFloor());
+        out.writeInt(config.getMaxRoomsPerFloor());
+        out.writeInt(config.getMinEnemiesPerRoom());
+        out.writeInt(config.getMaxEnemiesPerRoom());
+        out.writeDouble(config.getEliteSpawnChance());
+        out.writeDouble(config.getItemDropChance());
+        out.writeDouble(config.getTreasureRoomChance());
+        out.writeDouble(config.getShopRoomChance());
+        out.writeDouble(config.getRestSiteChance());
+        out.writeInt(config.getBossFloorInterval());
+        out.writeDouble(config.getDifficultyScalePerFloor());
+    }
+
+    /**
+     * A new, unstarted session for the run written by {@link #writeRun}.
+     */
+    static GameSession readRun(DataInput in) throws IOException {
+        String runId = in.readUTF();
+        Instant startTime = Instant.ofEpochMilli(in.readLong());
+        String playerName = in.readUTF();
+        PlayerClass playerClass = PlayerClass.values()[in.readByte()];
+        long seed = in.readLong();
+        Difficulty difficulty = Difficulty.values()[in.readByte()];
+        DungeonConfig config = DungeonConfig.builder()
+            .maxFloors(in.readInt())
+            .minRoomsPerFloor(in.readInt())
+            .maxRoomsPerFloor(in.readInt())
+            .minEnemiesPerRoom(in.readInt())
+            .maxEnemiesPerRoom(in.readInt())
+            .eliteSpawnChance(in.readDouble())
+            .itemDropChance(in.readDouble())
+            .treasureRoomChance(in.readDouble())
+            .shopRoomChance(in.readDouble())
+            .restSiteChance(in.readDouble())
+            .bossFloorInterval(in.readInt())
+            .difficultyScalePerFloor(in.readDouble())
+            .build();
+        return new GameSession(runId, startTime, playerName, playerClass, seed, difficulty, config);
+    }
+
+    // === PLAYER ===
+
+    private static void writePlayer(Player player, DataOutput out) throws IOException {
+        out.writeInt(player.getLevel());
+        out.writeInt(player.getExperience());
+        out.writeInt(player.getEnemiesKilled());
+        out.writeInt(player.getCurrentFloor());
+        out.writeInt(player.getPosition().x());
+        out.writeInt(player.getPosition().y());
+        out.writeInt(player.getHealth().getMaximum());
+        out.writeInt(player.getHealth().getCurrent());
+        Combat combat = player.getCombat();
+        out.writeInt(combat.getTotalAttack() - combat.getBaseAttack());
+        out.writeInt(combat.getTotalDefense() - combat.getBaseDefense());
+        StatusData.write(out, StatusData.of(player.getStatuses()));
+
+        Inventory inventory = player.getInventory();
+        out.writeInt(inventory.getGold());
+        List<Item> items = inventory.getItems();
+        out.writeShort(items.size());
+        for (Item item : items) {
+            writeItem(item, out);
+            out.writeBoolean(inventory.getEquipped().get(item.getType()) == item);
+        }
+    }
+
+    private static void readPlayer(Player player, DataInput in) throws IOException {
+        player.restoreProgress(in.readInt(), in.readInt(), in.readInt());
+        player.setCurrentFloor(in.readInt());
+        player.setPosition(new Position(in.readInt(), in.readInt()));
+        Health health = player.getHealth();
+        int maximum = in.readInt();
+        if (maximum < health.getMaximum()) {
+            throw new IOException("Snapshot maximum health " + maximum + " is below the starting value");
+        }
+        health.increaseMaximum(maximum - health.getMaximum());
+        health.setCurrent(in.readInt());
+        Combat combat = player.getCombat();
+        combat.clearBonuses();
+        combat.addBonusAttack(in.readInt());
+        combat.addBonusDefense(in.readInt());
+        StatusData.restore(player.getStatuses(), StatusData.read(in));
+
+        Inventory inventory = player.getInventory();
+        inventory.spendGold(inventory.getGold());
+        inventory.addGold(in.readInt());
+        for (Item item : List.copyOf(inventory.getItems())) {
+            inventory.removeItem(item);
+        }
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            Item item = readItem(in);
+            inventory.addItem(item);
+            if (in.readBoolean()) {
+                inventory.equip(item);
+            }
+        }
+    }
+
+    // === DUNGEON ===
+
+    static void writeFloor(Floor floor, DataOutput out) throws IOException {
+        out.writeByte(floor.getCurrentRoomIndex());
+        out.writeBoolean(floor.isCompleted());
+        out.writeByte(floor.getRoomCount());
+        for (Room room : floor.getRooms()) {
+            writeRoom(room, out);
+        }
+    }
+
+    private static void readDungeon(Dungeon dungeon, DataInput in) throws IOException {
+        int current = in.readUnsignedByte();
+        int deepest = in.readUnsignedByte();
+        dungeon.restoreTo(current, deepest);
+        for (int n = 1; n <= deepest; n++) {
+            Floor floor = dungeon.getFloor(n).orElseThrow();
+            floor.restoreProgress(in.readUnsignedByte(), in.readBoolean());
+            int rooms = in.readUnsignedByte();
+            if (rooms != floor.getRoomCount()) {
+                throw new IOException("Snapshot has " + rooms + " rooms on floor " + n
+                    + " but the generator produced " + floor.getRoomCount());
+            }
+            for (Room room : floor.getRooms()) {
+                readRoom(room, in);
+            }
+        }
+    }
+
+    private static void writeRoom(Room room, DataOutput out) throws IOException {
+        out.writeBoolean(room.isVisited());
+        out.writeBoolean(room.isCleared());
+        List<Enemy> enemies = room.getEnemies();
+        out.writeByte(enemies.size());
+        for (Enemy enemy : enemies) {
+            out.writeInt(enemy.getHealth().getCurrent());
+            StatusData.write(out, StatusData.of(enemy.getStatuses()));
+        }
+        List<Item> items = room.getItems();
+        out.writeByte(items.size());
+        for (Item item : items) {
+            writeItem(item, out);
+        }
+    }
+
+    private static void readRoom(Room room, DataInput in) throws IOException {
+        if (in.readBoolean()) {
+            room.visit();
+        }
+        if (in.readBoolean()) {
+            room.markCleared();
+        }
+        List<Enemy> enemies = room.getEnemies();
+        int count = in.readUnsignedByte();
+        if (count != enemies.size()) {
+            throw new IOException("Snapshot has " + count + " enemies in " + room.getId().value()
+                + " but the generator produced " + enemies.size());
+        }
+        for (Enemy enemy : enemies) {
+            enemy.getHealth().setCurrent(in.readInt());
+            StatusData.restore(enemy.getStatuses(), StatusData.read(in));
+        }
+        for (Item item : List.copyOf(room.getItems())) {
+            room.removeItem(item);
+        }
+        int items = in.readUnsignedByte();
+        for (int i = 0; i < items; i++) {
+            room.addItem(readItem(in));
+        }
+    }
+
+    // === ITEMS ===
+
+    private static void writeItem(Item item, DataOutput out) throws IOException {
+        out.writeUTF(item.getId().value());
+        out.writeUTF(item.getName());
+        out.writeByte(item.getType().ordinal());
+        out.writeByte(item.getRarity().ordinal());
+        out.writeInt(item.getValue());
+        out.writeInt(item.getAttackBonus());
+        out.writeInt(item.getDefenseBonus());
+        out.writeInt(item.getHealthBonus());
+    }
+
+    private static Item readItem(DataInput in) throws IOException {
+        return Item.builder()
+            .id(EntityId.of(in.readUTF()))
+            .name(in.readUTF())
+            .type(ItemType.values()[in.readByte()])
+            .rarity(Rarity.values()[in.readByte()])
+            .value(in.readInt())
+            .attackBonus(in.readInt())
+            .defenseBonus(in.readInt())
+            .healthBonus(in.readInt())
+            .build();
+    }
+}
@@ -1,26 +1,74 @@
 package com.roguelab.gdx;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 /**
  * Daggerfall-style procedural assets with expanded enemy sprites.
+ *
+ * Each sprite sheet is painted into a {@link Pixmap} by CPU code with a
+ * fixed seed, so the sheets are painted in parallel on worker threads and
+ * only uploaded as textures on the GL thread. Painted sheets are cached as
+ * PNGs under {@value #CACHE_DIR}; later launches decode the cache instead.
+ * Bump {@link #CACHE_VERSION} whenever a generator changes.
+ *
+ * The sheets, the font glyph page and the white pixel are packed into a
+ * single atlas texture, so the sprite batch never has to flush for a
+ * texture switch between tiles, sprites, text and UI fills.
  */
 public class Assets {
 
-    // Textures
-    private Texture tilesetTexture;
-    private Texture uiTexture;
-    private Texture portraitTexture;
-    private Texture enemyTexture;
+    private static final int TILE_SIZE = 64;
+    private static final int SPRITE_SIZE = 64;
+
+    // Atlas packing
+    private static final int ATLAS_PAGE_SIZE = 1024;
+    private static final int ATLAS_PADDING = 2;
+    private static final String DEFAULT_FONT = "com/badlogic/gdx/utils/lsans-15";
+
+    // Sheet cache
+    private static final String CACHE_DIR = "cache/assets";
+    private static final int CACHE_VERSION = 1;
+
+    /**
+     * A sprite sheet and the generator that paints it. Sheets are painted
+     * independently; generators within a sheet share its seeded random.
+     */
+    private record Sheet(String name, int width, int height, Supplier<Pixmap> painter) {}
+
+    // Atlas and the sheet regions packed into it
+    private TextureAtlas atlas;
+    private TextureRegion tilesetSheet;
+    private TextureRegion uiSheet;
+    private TextureRegion portraitSheet;
+    private TextureRegion enemySheet;
+    private TextureRegion characterSheet;
     
     private Map<String, TextureRegion> tiles;
     private Map<String, TextureRegion> uiElements;
@@ -57,29 +105,203 @@ public class Assets {
     public static final Color TORCH_AMBIENT = new Color(0.3f, 0.2f, 0.1f, 1f);
 
     public void load() {
+        Gdx.app.log("Assets", "Loading sprite sheets...");
+        long startTime = System.currentTimeMillis();
+
         tiles = new HashMap<>();
         uiElements = new HashMap<>();
         playerSprites = new HashMap<>();
         enemySprites = new HashMap<>();
         portraits = new HashMap<>();
 
-        generateTileset();
-        generateUIElements();
-        generateCharacterSprites();
-        generateEnemySprites();
-        generatePortraits();
+        Sheet tileset = new Sheet("tileset", TILE_SIZE * 8, TILE_SIZE * 4, this::paintTileset);
+        Sheet ui = new Sheet("ui", 256, 256, this::paintUIElements);
+        Sheet characters = new Sheet("characters", SPRITE_SIZE * 3, SPRITE_SIZE, this::paintCharacterSprites);
+        Sheet enemies = new Sheet("enemies", SPRITE_SIZE * 8, SPRITE_SIZE * 5, this::paintEnemySprites);
+        Sheet portraitSet = new Sheet("portraits", SPRITE_SIZE * 3, SPRITE_SIZE, this::paintPortraits);
+        List<Sheet> sheets = List.of(tileset, ui, characters, enemies, portraitSet);
+
+        ExecutorService workers = Executors.newFixedThreadPool(
+            Math.min(sheets.size(), Runtime.getRuntime().availableProcessors()),
+            r -> {
+                Thread thread = new Thread(r, "roguelab-assets");
+                thread.setDaemon(true);
+                return thread;
+            });
+        try {
+            Set<Sheet> repainted = ConcurrentHashMap.newKeySet();
+            Map<Sheet, Pixmap> painted = paintSheets(sheets, workers, repainted);
+
+            // Texture upload needs the GL thread
+            atlas = packAtlas(sheets, painted);
+            tilesetSheet = atlas.findRegion(tileset.name());
+            uiSheet = atlas.findRegion(ui.name());
+            characterSheet = atlas.findRegion(characters.name());
+            enemySheet = atlas.findRegion(enemies.name());
+            portraitSheet = atlas.findRegion(portraitSet.name());
+
+            cacheSheets(painted, repainted, workers);
+        } finally {
+            workers.shutdown();
+        }
+
+        mapTiles();
+        mapUIElements();
+        mapCharacterSprites();
+        mapEnemySprites();
+        mapPortraits();
         generateFonts();
-        
-        // White pixel for drawing
-        Pixmap px = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
-        px.setColor(Color.WHITE);
-        px.fill();
-        whitePixel = new TextureRegion(new Texture(px));
-        px.dispose();
+
+        // White pixel for drawing, from the middle of a 3x3 block so
+        // stretched fills never sample the padding around it
+        whitePixel = new TextureRegion(atlas.findRegion("white"), 1, 1, 1, 1);
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        Gdx.app.log("Assets", "Loaded " + sheets.size() + " sprite sheets into "
+            + atlas.getTextures().size + " atlas page(s) in " + elapsed + "ms");
     }
 
-    private void generateTileset() {
-        int tileSize = 64;
+    // === ATLAS ===
+
+    /**
+     * Pack the painted sheets, the default font's glyph page and a white
+     * block into atlas pages, largest first. Everything normally fits on
+     * one page; anything that does not spills onto a second.
+     */
+    private static TextureAtlas packAtlas(List<Sheet> sheets, Map<Sheet, Pixmap> painted) {
+        PixmapPacker packer = new PixmapPacker(ATLAS_PAGE_SIZE, ATLAS_PAGE_SIZE,
+            Pixmap.Format.RGBA8888, ATLAS_PADDING, false);
+        Pixmap glyphs = new Pixmap(Gdx.files.classpath(DEFAULT_FONT + ".png"));
+        Pixmap white = new Pixmap(3, 3, Pixmap.Format.RGBA8888);
+        white.setColor(Color.WHITE);
+        white.fill();
+        try {
+            Map<String, Pixmap> entries = new HashMap<>();
+            for (Sheet sheet : sheets) {
+                entries.put(sheet.name(), painted.get(sheet));
+            }
+            entries.put("font", glyphs);
+            entries.put("white", white);
+
+            List<Map.Entry<String, Pixmap>> bySize = new ArrayList<>(entries.entrySet());
+            bySize.sort((a, b) -> Integer.compare(
+                b.getValue().getWidth() * b.getValue().getHeight(),
+                a.getValue().getWidth() * a.getValue().getHeight()));
+            for (Map.Entry<String, Pixmap> entry : bySize) {
+                packer.pack(entry.getKey(), entry.getValue());
+            }
+            return packer.generateTextureAtlas(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false);
+        } finally {
+            glyphs.dispose();
+            white.dispose();
+            packer.dispose();
+        }
+    }
+
+    // === SHEET CACHE ===
+
+    private static FileHandle cacheFile(Sheet sheet) {
+        return Gdx.files.local(CACHE_DIR + "/v" + CACHE_VERSION + "/" + sheet.name() + ".png");
+    }
+
+    /**
+     * Decode each sheet from the cache, or paint it if it is missing or
+     * unreadable, one worker per sheet.
+     * @param repainted receives the sheets that had to be painted
+     */
+    private static Map<Sheet, Pixmap> paintSheets(List<Sheet> sheets, ExecutorService workers,
+                                                  Set<Sheet> repainted) {
+        List<Future<Pixmap>> futures = new ArrayList<>(sheets.size());
+        for (Sheet sheet : sheets) {
+            futures.add(workers.submit(() -> {
+                Pixmap cached = readCached(sheet);
+                if (cached != null) {
+                    return cached;
+                }
+                repainted.add(sheet);
+                return sheet.painter().get();
+            }));
+        }
+
+        Map<Sheet, Pixmap> painted = new HashMap<>();
+        for (int i = 0; i < sheets.size(); i++) {
+            try {
+                painted.put(sheets.get(i), futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while painting sprite sheets", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to paint sprite sheet " + sheets.get(i).name(), e.getCause());
+            }
+        }
+        return painted;
+    }
+
+    private static Pixmap readCached(Sheet sheet) {
+        FileHandle file = cacheFile(sheet);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            Pixmap pixmap = new Pixmap(file);
+            if (pixmap.getWidth() == sheet.width() && pixmap.getHeight() == sheet.height()) {
+                return pixmap;
+            }
+            pixmap.dispose();
+        } catch (Exception e) {
+            Gdx.app.error("Assets", "Ignoring unreadable cached sheet " + file.path() + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Write sheets that were painted this launch to the cache in the
+     * background, replacing any unusable file there, then free every
+     * pixmap. Textures already hold the pixels.
+     */
+    private static void cacheSheets(Map<Sheet, Pixmap> painted, Set<Sheet> repainted,
+                                    ExecutorService workers) {
+        for (Map.Entry<Sheet, Pixmap> entry : painted.entrySet()) {
+            Pixmap pixmap = entry.getValue();
+            if (!repainted.contains(entry.getKey())) {
+                pixmap.dispose();
+                continue;
+            }
+            FileHandle file = cacheFile(entry.getKey());
+            workers.execute(() -> {
+                try {
+                    writeCached(file, pixmap);
+                } catch (Exception e) {
+                    Gdx.app.error("Assets", "Failed to cache sheet " + file.path() + ": " + e.getMessage());
+                } finally {
+                    pixmap.dispose();
+                }
+            });
+        }
+    }
+
+    /**
+     * Write a PNG next to the cache file and rename it into place, so a
+     * crash or a second launch never sees a half-written sheet.
+     */
+    private static void writeCached(FileHandle file, Pixmap pixmap) throws IOException {
+        Path target = file.file().toPath().toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), file.nameWithoutExtension(), ".tmp");
+        try {
+            PixmapIO.writePNG(Gdx.files.absolute(temp.toString()), pixmap);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Pixmap paintTileset() {
+        int tileSize = TILE_SIZE;
         int cols = 8;
         int rows = 4;
         
@@ -107,31 +329,32 @@ public class Assets {
         generateStairsIcon(pixmap, tileSize * 5, tileSize * 2, tileSize, rand);
         generateFogTile(pixmap, tileSize * 6, tileSize * 2, tileSize, rand);
 
-        tilesetTexture = new Texture(pixmap);
-        pixmap.dispose();
+        return pixmap;
+    }
 
-        // Map tile names
-        tiles.put("floor", new TextureRegion(tilesetTexture, 0, 0, tileSize, tileSize));
-        tiles.put("floor_dark", new TextureRegion(tilesetTexture, tileSize, 0, tileSize, tileSize));
-        tiles.put("floor_light", new TextureRegion(tilesetTexture, tileSize * 2, 0, tileSize, tileSize));
-        tiles.put("floor_mossy", new TextureRegion(tilesetTexture, tileSize * 3, 0, tileSize, tileSize));
-        
-        tiles.put("wall", new TextureRegion(tilesetTexture, 0, tileSize, tileSize, tileSize));
-        tiles.put("wall_light", new TextureRegion(tilesetTexture, tileSize, tileSize, tileSize, tileSize));
-        tiles.put("torch", new TextureRegion(tilesetTexture, tileSize * 2, tileSize, tileSize, tileSize));
-        tiles.put("door", new TextureRegion(tilesetTexture, tileSize * 3, tileSize, tileSize, tileSize));
-        
-        tiles.put("combat", new TextureRegion(tilesetTexture, 0, tileSize * 2, tileSize, tileSize));
-        tiles.put("boss", new TextureRegion(tilesetTexture, tileSize, tileSize * 2, tileSize, tileSize));
-        tiles.put("chest", new TextureRegion(tilesetTexture, tileSize * 2, tileSize * 2, tileSize, tileSize));
-        tiles.put("shop", new TextureRegion(tilesetTexture, tileSize * 3, tileSize * 2, tileSize, tileSize));
-        tiles.put("rest", new TextureRegion(tilesetTexture, tileSize * 4, tileSize * 2, tileSize, tileSize));
-        tiles.put("stairs_down", new TextureRegion(tilesetTexture, tileSize * 5, tileSize * 2, tileSize, tileSize));
-        tiles.put("fog", new TextureRegion(tilesetTexture, tileSize * 6, tileSize * 2, tileSize, tileSize));
+    private void mapTiles() {
+        int tileSize = TILE_SIZE;
+        tiles.put("floor", new TextureRegion(tilesetSheet, 0, 0, tileSize, tileSize));
+        tiles.put("floor_dark", new TextureRegion(tilesetSheet, tileSize, 0, tileSize, tileSize));
+        tiles.put("floor_light", new TextureRegion(tilesetSheet, tileSize * 2, 0, tileSize, tileSize));
+        tiles.put("floor_mossy", new TextureRegion(tilesetSheet, tileSize * 3, 0, tileSize, tileSize));
+        
+        tiles.put("wall", new TextureRegion(tilesetSheet, 0, tileSize, tileSize, tileSize));
+        tiles.put("wall_light", new TextureRegion(tilesetSheet, tileSize, tileSize, tileSize, tileSize));
+        tiles.put("torch", new TextureRegion(tilesetSheet, tileSize * 2, tileSize, tileSize, tileSize));
+        tiles.put("door", new TextureRegion(tilesetSheet, tileSize * 3, tileSize, tileSize, tileSize));
+        
+        tiles.put("combat", new TextureRegion(tilesetSheet, 0, tileSize * 2, tileSize, tileSize));
+        tiles.put("boss", new TextureRegion(tilesetSheet, tileSize, tileSize * 2, tileSize, tileSize));
+        tiles.put("chest", new TextureRegion(tilesetSheet, tileSize * 2, tileSize * 2, tileSize, tileSize));
+        tiles.put("shop", new TextureRegion(tilesetSheet, tileSize * 3, tileSize * 2, tileSize, tileSize));
+        tiles.put("rest", new TextureRegion(tilesetSheet, tileSize * 4, tileSize * 2, tileSize, tileSize));
+        tiles.put("stairs_down", new TextureRegion(tilesetSheet, tileSize * 5, tileSize * 2, tileSize, tileSize));
+        tiles.put("fog", new TextureRegion(tilesetSheet, tileSize * 6, tileSize * 2, tileSize, tileSize));
     }
 
-    private void generateEnemySprites() {
-        int spriteSize = 64;
+    private Pixmap paintEnemySprites() {
+        int spriteSize = SPRITE_SIZE;
         int cols = 8;
         int rows = 5; // Expanded for more enemies
         
@@ -170,37 +393,38 @@ public class Assets {
         generateGoblinKingSprite(pm, spriteSize * 5, spriteSize * 3, spriteSize, rand);
         generateNecromancerSprite(pm, spriteSize * 6, spriteSize * 3, spriteSize, rand);
 
-        enemyTexture = new Texture(pm);
-        pm.dispose();
-
-        // Map enemy types to sprites
-        enemySprites.put("RAT", new TextureRegion(enemyTexture, 0, 0, spriteSize, spriteSize));
-        enemySprites.put("BAT", new TextureRegion(enemyTexture, spriteSize * 4, 0, spriteSize, spriteSize));
-        enemySprites.put("SPIDER", new TextureRegion(enemyTexture, spriteSize, 0, spriteSize, spriteSize));
-        enemySprites.put("SKELETON", new TextureRegion(enemyTexture, spriteSize * 2, 0, spriteSize, spriteSize));
-        enemySprites.put("GOBLIN", new TextureRegion(enemyTexture, spriteSize * 3, 0, spriteSize, spriteSize));
-
-        enemySprites.put("ZOMBIE", new TextureRegion(enemyTexture, 0, spriteSize, spriteSize, spriteSize));
-        enemySprites.put("ORC", new TextureRegion(enemyTexture, spriteSize, spriteSize, spriteSize, spriteSize));
-        enemySprites.put("GHOST", new TextureRegion(enemyTexture, spriteSize * 2, spriteSize, spriteSize, spriteSize));
-        enemySprites.put("SLIME", new TextureRegion(enemyTexture, spriteSize * 3, spriteSize, spriteSize, spriteSize));
-        enemySprites.put("CULTIST", new TextureRegion(enemyTexture, spriteSize * 4, spriteSize, spriteSize, spriteSize));
-        enemySprites.put("TROLL", new TextureRegion(enemyTexture, spriteSize * 5, spriteSize, spriteSize, spriteSize));
-        enemySprites.put("ELEMENTAL", new TextureRegion(enemyTexture, spriteSize * 6, spriteSize, spriteSize, spriteSize));
-
-        enemySprites.put("DEMON", new TextureRegion(enemyTexture, 0, spriteSize * 2, spriteSize, spriteSize));
-        enemySprites.put("WRAITH", new TextureRegion(enemyTexture, spriteSize, spriteSize * 2, spriteSize, spriteSize));
-        enemySprites.put("GOLEM", new TextureRegion(enemyTexture, spriteSize * 2, spriteSize * 2, spriteSize, spriteSize));
-        enemySprites.put("VAMPIRE", new TextureRegion(enemyTexture, spriteSize * 3, spriteSize * 2, spriteSize, spriteSize));
-        enemySprites.put("MINOTAUR", new TextureRegion(enemyTexture, spriteSize * 4, spriteSize * 2, spriteSize, spriteSize));
-
-        enemySprites.put("SKELETON_LORD", new TextureRegion(enemyTexture, 0, spriteSize * 3, spriteSize, spriteSize));
-        enemySprites.put("ORC_CHIEFTAIN", new TextureRegion(enemyTexture, spriteSize, spriteSize * 3, spriteSize, spriteSize));
-        enemySprites.put("GOBLIN_KING", new TextureRegion(enemyTexture, spriteSize * 5, spriteSize * 3, spriteSize, spriteSize));
-        enemySprites.put("NECROMANCER", new TextureRegion(enemyTexture, spriteSize * 6, spriteSize * 3, spriteSize, spriteSize));
-        enemySprites.put("LICH", new TextureRegion(enemyTexture, spriteSize * 2, spriteSize * 3, spriteSize, spriteSize));
-        enemySprites.put("DRAGON", new TextureRegion(enemyTexture, spriteSize * 3, spriteSize * 3, spriteSize, spriteSize));
-        enemySprites.put("DEMON_LORD", new TextureRegion(enemyTexture, spriteSize * 4, spriteSize * 3, spriteSize, spriteSize));
+        return pm;
+    }
+
+    private void mapEnemySprites() {
+        int spriteSize = SPRITE_SIZE;
+        enemySprites.put("RAT", new TextureRegion(enemySheet, 0, 0, spriteSize, spriteSize));
+        enemySprites.put("BAT", new TextureRegion(enemySheet, spriteSize * 4, 0, spriteSize, spriteSize));
+        enemySprites.put("SPIDER", new TextureRegion(enemySheet, spriteSize, 0, spriteSize, spriteSize));
+        enemySprites.put("SKELETON", new TextureRegion(enemySheet, spriteSize * 2, 0, spriteSize, spriteSize));
+        enemySprites.put("GOBLIN", new TextureRegion(enemySheet, spriteSize * 3, 0, spriteSize, spriteSize));
+
+        enemySprites.put("ZOMBIE", new TextureRegion(enemySheet, 0, spriteSize, spriteSize, spriteSize));
+        enemySprites.put("ORC", new TextureRegion(enemySheet, spriteSize, spriteSize, spriteSize, spriteSize));
+        enemySprites.put("GHOST", new TextureRegion(enemySheet, spriteSize * 2, spriteSize, spriteSize, spriteSize));
+        enemySprites.put("SLIME", new TextureRegion(enemySheet, spriteSize * 3, spriteSize, spriteSize, spriteSize));
+        enemySprites.put("CULTIST", new TextureRegion(enemySheet, spriteSize * 4, spriteSize, spriteSize, spriteSize));
+        enemySprites.put("TROLL", new TextureRegion(enemySheet, spriteSize * 5, spriteSize, spriteSize, spriteSize));
+        enemySprites.put("ELEMENTAL", new TextureRegion(enemySheet, spriteSize * 6, spriteSize, spriteSize, spriteSize));
+
+        enemySprites.put("DEMON", new TextureRegion(enemySheet, 0, spriteSize * 2, spriteSize, spriteSize));
+        enemySprites.put("WRAITH", new TextureRegion(enemySheet, spriteSize, spriteSize * 2, spriteSize, spriteSize));
+        enemySprites.put("GOLEM", new TextureRegion(enemySheet, spriteSize * 2, spriteSize * 2, spriteSize, spriteSize));
+        enemySprites.put("VAMPIRE", new TextureRegion(enemySheet, spriteSize * 3, spriteSize * 2, spriteSize, spriteSize));
+        enemySprites.put("MINOTAUR", new TextureRegion(enemySheet, spriteSize * 4, spriteSize * 2, spriteSize, spriteSize));
+
+        enemySprites.put("SKELETON_LORD", new TextureRegion(enemySheet, 0, spriteSize * 3, spriteSize, spriteSize));
+        enemySprites.put("ORC_CHIEFTAIN", new TextureRegion(enemySheet, spriteSize, spriteSize * 3, spriteSize, spriteSize));
+        enemySprites.put("GOBLIN_KING", new TextureRegion(enemySheet, spriteSize * 5, spriteSize * 3, spriteSize, spriteSize));
+        enemySprites.put("NECROMANCER", new TextureRegion(enemySheet, spriteSize * 6, spriteSize * 3, spriteSize, spriteSize));
+        enemySprites.put("LICH", new TextureRegion(enemySheet, spriteSize * 2, spriteSize * 3, spriteSize, spriteSize));
+        enemySprites.put("DRAGON", new TextureRegion(enemySheet, spriteSize * 3, spriteSize * 3, spriteSize, spriteSize));
+        enemySprites.put("DEMON_LORD", new TextureRegion(enemySheet, spriteSize * 4, spriteSize * 3, spriteSize, spriteSize));
         
         // Fallback
         enemySprites.put("BOSS", enemySprites.get("DEMON_LORD"));
@@ -761,12 +985,13 @@ public class Assets {
         pm.fillCircle(x + size/2, y + size/3, 12);
     }
 
-    private void generateUIElements() {
+    private Pixmap paintUIElements() {
         // Simplified - just create basic UI texture
-        Pixmap pm = new Pixmap(256, 256, Pixmap.Format.RGBA8888);
-        uiTexture = new Texture(pm);
-        pm.dispose();
-        uiElements.put("corner", new TextureRegion(uiTexture, 0, 0, 32, 32));
+        return new Pixmap(256, 256, Pixmap.Format.RGBA8888);
+    }
+
+    private void mapUIElements() {
+        uiElements.put("corner", new TextureRegion(uiSheet, 0, 0, 32, 32));
     }
 
 
@@ -861,8 +1086,8 @@ public class Assets {
         pm.setColor(0.2f, 0.8f, 0.3f, 0.2f);
         pm.fillCircle(cx, cy, 20);
     }
-    private void generateCharacterSprites() {
-        int spriteSize = 64;
+    private Pixmap paintCharacterSprites() {
+        int spriteSize = SPRITE_SIZE;
         Pixmap pm = new Pixmap(spriteSize * 3, spriteSize, Pixmap.Format.RGBA8888);
         Random rand = new Random(456);
 
@@ -870,12 +1095,14 @@ public class Assets {
         generateRogueSprite(pm, spriteSize, 0, spriteSize, rand);
         generateMageSprite(pm, spriteSize * 2, 0, spriteSize, rand);
 
-        Texture spriteTex = new Texture(pm);
-        pm.dispose();
+        return pm;
+    }
 
-        playerSprites.put("WARRIOR", new TextureRegion(spriteTex, 0, 0, spriteSize, spriteSize));
-        playerSprites.put("ROGUE", new TextureRegion(spriteTex, spriteSize, 0, spriteSize, spriteSize));
-        playerSprites.put("MAGE", new TextureRegion(spriteTex, spriteSize * 2, 0, spriteSize, spriteSize));
+    private void mapCharacterSprites() {
+        int spriteSize = SPRITE_SIZE;
+        playerSprites.put("WARRIOR", new TextureRegion(characterSheet, 0, 0, spriteSize, spriteSize));
+        playerSprites.put("ROGUE", new TextureRegion(characterSheet, spriteSize, 0, spriteSize, spriteSize));
+        playerSprites.put("MAGE", new TextureRegion(characterSheet, spriteSize * 2, 0, spriteSize, spriteSize));
     }
 
     private void generateWarriorSprite(Pixmap pm, int x, int y, int size, Random rand) {
@@ -979,18 +1206,21 @@ public class Assets {
         pm.fillCircle(cx + 4, cy - 15, 3);
     }
 
-    private void generatePortraits() {
-        int portSize = 64;
+    private Pixmap paintPortraits() {
+        int portSize = SPRITE_SIZE;
         Pixmap pm = new Pixmap(portSize * 3, portSize, Pixmap.Format.RGBA8888);
         Random rand = new Random(789);
         generatePortrait(pm, 0, 0, portSize, new Color(0.3f, 0.4f, 0.8f, 1f), "W", rand);
         generatePortrait(pm, portSize, 0, portSize, new Color(0.3f, 0.6f, 0.3f, 1f), "R", rand);
         generatePortrait(pm, portSize * 2, 0, portSize, new Color(0.6f, 0.3f, 0.7f, 1f), "M", rand);
-        portraitTexture = new Texture(pm);
-        pm.dispose();
-        portraits.put("WARRIOR", new TextureRegion(portraitTexture, 0, 0, portSize, portSize));
-        portraits.put("ROGUE", new TextureRegion(portraitTexture, portSize, 0, portSize, portSize));
-        portraits.put("MAGE", new TextureRegion(portraitTexture, portSize * 2, 0, portSize, portSize));
+        return pm;
+    }
+
+    private void mapPortraits() {
+        int portSize = SPRITE_SIZE;
+        portraits.put("WARRIOR", new TextureRegion(portraitSheet, 0, 0, portSize, portSize));
+        portraits.put("ROGUE", new TextureRegion(portraitSheet, portSize, 0, portSize, portSize));
+        portraits.put("MAGE", new TextureRegion(portraitSheet, portSize * 2, 0, portSize, portSize));
     }
 
     private void generatePortrait(Pixmap pm, int x, int y, int size, Color frameColor, String initial, Random rand) {
@@ -1003,17 +1233,26 @@ public class Assets {
     }
 
     private void generateFonts() {
-        titleFont = new BitmapFont();
+        titleFont = atlasFont();
         titleFont.getData().setScale(3f);
         titleFont.setColor(GOLD_LIGHT);
-        normalFont = new BitmapFont();
+        normalFont = atlasFont();
         normalFont.getData().setScale(1.5f);
         normalFont.setColor(PARCHMENT_LIGHT);
-        smallFont = new BitmapFont();
+        smallFont = atlasFont();
         smallFont.getData().setScale(1.0f);
         smallFont.setColor(PARCHMENT_MID);
     }
 
+    /**
+     * The default font with its glyphs read from the atlas. Each font gets
+     * its own data, since scaling a font scales its data.
+     */
+    private BitmapFont atlasFont() {
+        BitmapFont.BitmapFontData data = new BitmapFont.BitmapFontData(Gdx.files.classpath(DEFAULT_FONT + ".fnt"), false);
+        return new BitmapFont(data, atlas.findRegion("font"), true);
+    }
+
     // === GETTERS ===
 
     public TextureRegion getTile(String name) {
@@ -1045,10 +1284,7 @@ public class Assets {
     public TextureRegion getHitEffect() { return whitePixel; }
 
     public void dispose() {
-        if (tilesetTexture != null) tilesetTexture.dispose();
-        if (uiTexture != null) uiTexture.dispose();
-        if (portraitTexture != null) portraitTexture.dispose();
-        if (enemyTexture != null) enemyTexture.dispose();
+        if (atlas != null) atlas.dispose();
         if (titleFont != null) titleFont.dispose();
         if (normalFont != null) normalFont.dispose();
         if (smallFont != null) smallFont.dispose();
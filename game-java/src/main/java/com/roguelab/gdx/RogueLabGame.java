@@ -2,14 +2,20 @@ package com.roguelab.gdx;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.roguelab.domain.PlayerClass;
+import com.roguelab.game.GameSession;
+import com.roguelab.game.SaveGame;
 import com.roguelab.gdx.audio.SoundManager;
+import com.roguelab.gdx.render.RenderStatsOverlay;
 import com.roguelab.gdx.screen.GameOverScreen;
 import com.roguelab.gdx.screen.IntegratedGameScreen;
 import com.roguelab.gdx.screen.MenuScreen;
 
+import java.io.IOException;
+
 /**
  * Main game class managing screens, assets, and audio.
  */
@@ -19,6 +25,7 @@ public class RogueLabGame extends Game {
     private ShapeRenderer shapeRenderer;
     private Assets assets;
     private SoundManager soundManager;
+    private RenderStatsOverlay renderStats;
 
     @Override
     public void create() {
@@ -35,17 +42,41 @@ public class RogueLabGame extends Game {
         soundManager = new SoundManager();
         soundManager.load();
 
+        renderStats = new RenderStatsOverlay();
+
         // Start at menu
         setScreen(new MenuScreen(this));
         
         Gdx.app.log("RogueLabGame", "Initialization complete");
     }
 
+    @Override
+    public void render() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            renderStats.toggle();
+        }
+        super.render();
+        renderStats.render(batch, assets.getSmallFont());
+    }
+
     public void startGame(PlayerClass playerClass) {
         Gdx.app.log("RogueLabGame", "Starting game with class: " + playerClass);
         setScreen(new IntegratedGameScreen(this, playerClass));
     }
 
+    /**
+     * Resume the run autosaved at {@link IntegratedGameScreen#SAVE_FILE}.
+     */
+    public void continueGame() {
+        try {
+            GameSession session = SaveGame.load(IntegratedGameScreen.SAVE_FILE);
+            Gdx.app.log("RogueLabGame", "Continuing run: " + session.getRunId());
+            setScreen(new IntegratedGameScreen(this, session));
+        } catch (IOException e) {
+            Gdx.app.error("RogueLabGame", "Failed to load save: " + e.getMessage());
+        }
+    }
+
     public void gameOver(boolean victory, int goldEarned, int floorsReached) {
         Gdx.app.log("RogueLabGame", "Game over - Victory: " + victory);
         setScreen(new GameOverScreen(this, victory, goldEarned, floorsReached));
@@ -75,6 +106,12 @@ public class RogueLabGame extends Game {
     public void dispose() {
         Gdx.app.log("RogueLabGame", "Disposing resources...");
         
+        // Hides the current screen, so a run in progress saves and closes its telemetry
+        super.dispose();
+        if (getScreen() instanceof IntegratedGameScreen run && !run.awaitRelease(5000)) {
+            Gdx.app.error("RogueLabGame", "Run did not finish saving before exit");
+        }
+        
         if (batch != null) batch.dispose();
         if (shapeRenderer != null) shapeRenderer.dispose();
         if (assets != null) assets.dispose();
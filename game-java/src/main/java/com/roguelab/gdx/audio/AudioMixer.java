@@ -0,0 +1,75 @@
+package com.roguelab.gdx.audio;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.AudioDevice;
+
+/**
+ * Feeds a {@link VoiceMixer} to an {@link AudioDevice} on its own daemon
+ * thread. Writing a block to the device blocks until the device has room,
+ * so the thread runs at the device's pace and mixes one block at a time.
+ */
+final class AudioMixer {
+
+    /** Samples per block; about 12ms at the generator's sample rate. */
+    static final int BLOCK_SIZE = 256;
+
+    private final VoiceMixer mixer;
+    private final AudioDevice device;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private AudioMixer(VoiceMixer mixer, AudioDevice device) {
+        this.mixer = mixer;
+        this.device = device;
+        this.thread = new Thread(this::run, "roguelab-audio");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Open a mono device at the generator's sample rate and start mixing.
+     * @return the running mixer, or null if no device could be opened
+     */
+    static AudioMixer start(VoiceMixer mixer) {
+        AudioDevice device;
+        try {
+            device = Gdx.audio.newAudioDevice(ProceduralSoundGenerator.SAMPLE_RATE, true);
+        } catch (Exception e) {
+            Gdx.app.error("AudioMixer", "Could not open an audio device: " + e.getMessage());
+            return null;
+        }
+        AudioMixer audio = new AudioMixer(mixer, device);
+        audio.thread.start();
+        return audio;
+    }
+
+    private void run() {
+        float[] block = new float[BLOCK_SIZE];
+        try {
+            while (running) {
+                mixer.mix(block, BLOCK_SIZE);
+                device.writeSamples(block, 0, BLOCK_SIZE);
+            }
+        } catch (Exception e) {
+            Gdx.app.error("AudioMixer", "Audio thread stopped: " + e.getMessage());
+        } finally {
+            mixer.stopAll();
+        }
+    }
+
+    VoiceMixer getMixer() {
+        return mixer;
+    }
+
+    /**
+     * Stop the thread, wait for its last block, and close the device.
+     */
+    void dispose() {
+        running = false;
+        try {
+            thread.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        device.dispose();
+    }
+}
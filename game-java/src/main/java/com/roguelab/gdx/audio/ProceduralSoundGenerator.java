@@ -1,23 +1,32 @@
 package com.roguelab.gdx.audio;
 
+import com.badlogic.gdx.Files;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.AudioDevice;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.files.FileHandle;
 
-import java.io.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Random;
 
 /**
  * Generates procedural 8-bit style sound effects.
  * Inspired by sfxr/bfxr retro sound generators.
+ *
+ * Synthesis is a pure function of the {@link SoundParams}: noise is seeded
+ * from {@link SoundParams#hash()}, so the same parameters always give the
+ * same samples and generation is safe on any thread. Bump
+ * {@link #GENERATOR_VERSION} whenever the synthesis changes, which
+ * changes every hash and so invalidates cached WAVs.
  */
 public class ProceduralSoundGenerator {
 
-    private static final int SAMPLE_RATE = 22050;
-    private static final Random rand = new Random();
+    public static final int SAMPLE_RATE = 22050;
+    public static final int GENERATOR_VERSION = 1;
+    private static final int WAV_HEADER = 44;
 
     /**
      * Sound parameters for generation.
@@ -59,6 +68,31 @@ public class ProceduralSoundGenerator {
             p.masterVolume = masterVolume;
             return p;
         }
+
+        /**
+         * Stable 64-bit hash of every parameter and the generator version.
+         */
+        public long hash() {
+            long h = 0xcbf29ce484222325L;
+            h = mix(h, GENERATOR_VERSION);
+            h = mix(h, waveType);
+            h = mix(h, Float.floatToIntBits(attackTime));
+            h = mix(h, Float.floatToIntBits(sustainTime));
+            h = mix(h, Float.floatToIntBits(decayTime));
+            h = mix(h, Float.floatToIntBits(sustainLevel));
+            h = mix(h, Float.floatToIntBits(startFrequency));
+            h = mix(h, Float.floatToIntBits(endFrequency));
+            h = mix(h, Float.floatToIntBits(frequencySlide));
+            h = mix(h, Float.floatToIntBits(vibratoDepth));
+            h = mix(h, Float.floatToIntBits(vibratoSpeed));
+            h = mix(h, Float.floatToIntBits(masterVolume));
+            return h;
+        }
+
+        private static long mix(long h, int value) {
+            h = (h ^ value) * 0x100000001b3L;
+            return h ^ (h >>> 29);
+        }
     }
 
     // === PRESET SOUNDS ===
@@ -313,47 +347,17 @@ public class ProceduralSoundGenerator {
      * Generate raw PCM samples for a sound.
      */
     public static short[] generateSamples(SoundParams params) {
-        float duration = params.attackTime + params.sustainTime + params.decayTime;
-        int numSamples = (int) (SAMPLE_RATE * duration);
-        short[] samples = new short[numSamples];
-
-        float phase = 0;
-        float frequency = params.startFrequency;
-        float freqDelta = (params.endFrequency - params.startFrequency) / numSamples;
-
-        for (int i = 0; i < numSamples; i++) {
-            float t = (float) i / SAMPLE_RATE;
-            
-            // Envelope
-            float envelope = calculateEnvelope(t, params);
-            
-            // Frequency with slide
-            frequency += freqDelta;
-            
-            // Vibrato
-            float vibrato = 1f;
-            if (params.vibratoDepth > 0) {
-                vibrato = 1f + params.vibratoDepth * (float) Math.sin(2 * Math.PI * params.vibratoSpeed * t);
-            }
-            
-            // Generate waveform
-            float sample = generateWave(params.waveType, phase);
-            
-            // Apply envelope and volume
-            sample *= envelope * params.masterVolume;
-            
+        Voice voice = new Voice();
+        voice.start(params, 1f, 1f, 0, params.hash(), 0);
+        short[] samples = new short[voice.getLength()];
+        for (int i = 0; i < samples.length; i++) {
             // Convert to 16-bit
-            samples[i] = (short) (sample * 32767);
-            
-            // Advance phase
-            phase += frequency * vibrato / SAMPLE_RATE;
-            while (phase >= 1) phase -= 1;
+            samples[i] = (short) (voice.next() * 32767);
         }
-
         return samples;
     }
 
-    private static float calculateEnvelope(float t, SoundParams params) {
+    static float calculateEnvelope(float t, SoundParams params) {
         if (t < params.attackTime) {
             // Attack
             return t / params.attackTime;
@@ -368,7 +372,7 @@ public class ProceduralSoundGenerator {
         }
     }
 
-    private static float generateWave(int waveType, float phase) {
+    static float generateWave(int waveType, float phase, Random noise) {
         return switch (waveType) {
             case 0 -> // Square
                 phase < 0.5f ? 1f : -1f;
@@ -377,88 +381,89 @@ public class ProceduralSoundGenerator {
             case 2 -> // Sine
                 (float) Math.sin(2 * Math.PI * phase);
             case 3 -> // Noise
-                rand.nextFloat() * 2f - 1f;
+                noise.nextFloat() * 2f - 1f;
             default -> 0f;
         };
     }
 
     /**
-     * Create a WAV file in memory and load as LibGDX Sound.
+     * Load WAV bytes as a LibGDX Sound without touching the disk. Call on
+     * the thread that owns the audio backend.
+     * @param name file name the backend sees, which must end in .wav
      */
-    public static Sound createSound(SoundParams params) {
-        short[] samples = generateSamples(params);
-        byte[] wavData = createWavBytes(samples);
-        
-        try {
-            // Write to temp file (LibGDX needs a file handle)
-            File tempFile = File.createTempFile("roguelab_sfx_", ".wav");
-            tempFile.deleteOnExit();
-            
-            try (FileOutputStream fos = new FileOutputStream(tempFile)) {
-                fos.write(wavData);
-            }
-            
-            FileHandle handle = Gdx.files.absolute(tempFile.getAbsolutePath());
-            return Gdx.audio.newSound(handle);
-            
-        } catch (IOException e) {
-            Gdx.app.error("Sound", "Failed to create sound: " + e.getMessage());
-            return null;
-        }
+    public static Sound createSound(String name, byte[] wav) {
+        return Gdx.audio.newSound(new MemoryFileHandle(name, wav));
     }
 
     /**
-     * Create WAV file bytes from samples.
+     * Encode samples as a mono 16-bit PCM WAV file.
      */
-    private static byte[] createWavBytes(short[] samples) {
+    public static byte[] toWav(short[] samples) {
         int dataSize = samples.length * 2;
-        int fileSize = 44 + dataSize;
-        
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        DataOutputStream dos = new DataOutputStream(baos);
-        
-        try {
-            // RIFF header
-            dos.writeBytes("RIFF");
-            writeIntLE(dos, fileSize - 8);
-            dos.writeBytes("WAVE");
-            
-            // Format chunk
-            dos.writeBytes("fmt ");
-            writeIntLE(dos, 16); // Chunk size
-            writeShortLE(dos, (short) 1); // PCM format
-            writeShortLE(dos, (short) 1); // Mono
-            writeIntLE(dos, SAMPLE_RATE);
-            writeIntLE(dos, SAMPLE_RATE * 2); // Byte rate
-            writeShortLE(dos, (short) 2); // Block align
-            writeShortLE(dos, (short) 16); // Bits per sample
-            
-            // Data chunk
-            dos.writeBytes("data");
-            writeIntLE(dos, dataSize);
-            
-            // Sample data
-            for (short sample : samples) {
-                writeShortLE(dos, sample);
-            }
-            
-            dos.flush();
-            return baos.toByteArray();
-            
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        ByteBuffer wav = ByteBuffer.allocate(WAV_HEADER + dataSize).order(ByteOrder.LITTLE_ENDIAN);
+
+        // RIFF header
+        wav.put((byte) 'R').put((byte) 'I').put((byte) 'F').put((byte) 'F');
+        wav.putInt(WAV_HEADER + dataSize - 8);
+        wav.put((byte) 'W').put((byte) 'A').put((byte) 'V').put((byte) 'E');
+
+        // Format chunk
+        wav.put((byte) 'f').put((byte) 'm').put((byte) 't').put((byte) ' ');
+        wav.putInt(16); // Chunk size
+        wav.putShort((short) 1); // PCM format
+        wav.putShort((short) 1); // Mono
+        wav.putInt(SAMPLE_RATE);
+        wav.putInt(SAMPLE_RATE * 2); // Byte rate
+        wav.putShort((short) 2); // Block align
+        wav.putShort((short) 16); // Bits per sample
+
+        // Data chunk
+        wav.put((byte) 'd').put((byte) 'a').put((byte) 't').put((byte) 'a');
+        wav.putInt(dataSize);
+        wav.asShortBuffer().put(samples);
+        return wav.array();
     }
 
-    private static void writeIntLE(DataOutputStream dos, int value) throws IOException {
-        dos.writeByte(value & 0xFF);
-        dos.writeByte((value >> 8) & 0xFF);
-        dos.writeByte((value >> 16) & 0xFF);
-        dos.writeByte((value >> 24) & 0xFF);
+    /**
+     * Whether bytes look like a complete file written by {@link #toWav}.
+     */
+    public static boolean isCompleteWav(byte[] wav) {
+        if (wav.length < WAV_HEADER || wav[0] != 'R' || wav[1] != 'I' || wav[2] != 'F' || wav[3] != 'F') {
+            return false;
+        }
+        int dataSize = ByteBuffer.wrap(wav).order(ByteOrder.LITTLE_ENDIAN).getInt(WAV_HEADER - 4);
+        return dataSize == wav.length - WAV_HEADER;
     }
 
-    private static void writeShortLE(DataOutputStream dos, short value) throws IOException {
-        dos.writeByte(value & 0xFF);
-        dos.writeByte((value >> 8) & 0xFF);
+    /**
+     * A read-only file whose contents are already in memory.
+     */
+    private static final class MemoryFileHandle extends FileHandle {
+        private final byte[] bytes;
+
+        MemoryFileHandle(String name, byte[] bytes) {
+            super(new File(name), Files.FileType.Absolute);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public InputStream read() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public byte[] readBytes() {
+            return bytes.clone();
+        }
+
+        @Override
+        public long length() {
+            return bytes.length;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
     }
 }
@@ -2,105 +2,232 @@ package com.roguelab.gdx.audio;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.roguelab.gdx.audio.ProceduralSoundGenerator.SoundParams;
 
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Manages all game sound effects.
- * Generates procedural 8-bit sounds at startup.
+ * Synthesizes procedural 8-bit sounds as they play.
+ *
+ * Sounds are mixed live by a {@link VoiceMixer} on the audio thread, so
+ * every play can vary a little in pitch and volume, and a fixed pool of
+ * voices caps how much mixing a busy fight costs. Each effect has a
+ * priority: when every voice is busy, a new sound takes over the voice of
+ * the least important, oldest one.
+ *
+ * If no audio device can be opened, effects fall back to baked
+ * {@link Sound}s. {@link #load()} then returns straight away: worker
+ * threads synthesize every effect in parallel, or read it back from the
+ * WAV cache under {@value #CACHE_DIR}, keyed by {@link SoundParams#hash()}.
+ * Finished effects are turned into {@link Sound}s on the game thread the
+ * next time anything is played; an effect played before it is ready is
+ * skipped.
  */
 public class SoundManager {
 
+    private static final String CACHE_DIR = "cache/sounds";
+    private static final int VOICES = 16;
+    private static final int COMMAND_CAPACITY = 64;
+    private static final int STARTS_PER_BLOCK = 8;
+
+    /**
+     * Every sound the game plays. Priority decides which voice is stolen
+     * when all are busy; variation is how far pitch and volume may stray
+     * on each play, as a fraction.
+     */
     public enum SoundEffect {
         // Combat
-        ATTACK_SWORD,
-        HIT_IMPACT,
-        PLAYER_HURT,
-        ENEMY_DEATH,
-        BOSS_APPEAR,
+        ATTACK_SWORD(1, 0.08f),
+        HIT_IMPACT(1, 0.1f),
+        PLAYER_HURT(2, 0.05f),
+        ENEMY_DEATH(2, 0.05f),
+        BOSS_APPEAR(3, 0f),
         
         // Pickups
-        GOLD_PICKUP,
-        ITEM_PICKUP,
-        LEVEL_UP,
-        HEAL,
+        GOLD_PICKUP(1, 0.05f),
+        ITEM_PICKUP(1, 0.03f),
+        LEVEL_UP(3, 0f),
+        HEAL(2, 0f),
         
         // Navigation
-        FOOTSTEP,
-        DOOR_OPEN,
-        STAIRS_DESCEND,
+        FOOTSTEP(0, 0.15f),
+        DOOR_OPEN(1, 0.05f),
+        STAIRS_DESCEND(2, 0f),
         
         // UI
-        MENU_SELECT,
-        MENU_CONFIRM,
-        SHOP_BUY,
-        ERROR,
+        MENU_SELECT(2, 0f),
+        MENU_CONFIRM(2, 0f),
+        SHOP_BUY(2, 0f),
+        ERROR(2, 0f),
         
         // Game state
-        VICTORY,
-        DEFEAT
+        VICTORY(3, 0f),
+        DEFEAT(3, 0f);
+
+        private final int priority;
+        private final float variation;
+
+        SoundEffect(int priority, float variation) {
+            this.priority = priority;
+            this.variation = variation;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public float getVariation() {
+            return variation;
+        }
     }
 
-    private final Map<SoundEffect, Sound> sounds = new HashMap<>();
+    private final Map<SoundEffect, Sound> sounds = new EnumMap<>(SoundEffect.class);
+    private final Map<SoundEffect, Future<byte[]>> pending = new EnumMap<>(SoundEffect.class);
+    private final Random jitter = new Random();
+    private AudioMixer audio;
     private boolean enabled = true;
     private float masterVolume = 0.7f;
+    private long loadStartTime;
 
     /**
-     * Load all sounds. Call during game initialization.
+     * Start the mixer, or start baking sounds if it cannot run. Call during
+     * game initialization.
      */
     public void load() {
+        Map<SoundEffect, SoundParams> presets = presets();
+        SoundParams[] byOrdinal = new SoundParams[SoundEffect.values().length];
+        for (Map.Entry<SoundEffect, SoundParams> entry : presets.entrySet()) {
+            byOrdinal[entry.getKey().ordinal()] = entry.getValue();
+        }
+        audio = AudioMixer.start(new VoiceMixer(byOrdinal, VOICES, COMMAND_CAPACITY, STARTS_PER_BLOCK));
+        if (audio != null) {
+            Gdx.app.log("SoundManager", "Mixing " + presets.size() + " procedural sounds live on " + VOICES + " voices");
+            return;
+        }
+
         Gdx.app.log("SoundManager", "Generating procedural sounds...");
-        long startTime = System.currentTimeMillis();
+        loadStartTime = System.currentTimeMillis();
+        ExecutorService workers = Executors.newFixedThreadPool(
+            Math.min(presets.size(), Runtime.getRuntime().availableProcessors()),
+            r -> {
+                Thread thread = new Thread(r, "roguelab-sounds");
+                thread.setDaemon(true);
+                return thread;
+            });
+        try {
+            for (Map.Entry<SoundEffect, SoundParams> entry : presets.entrySet()) {
+                SoundEffect effect = entry.getKey();
+                SoundParams params = entry.getValue();
+                pending.put(effect, workers.submit(() -> synthesize(effect, params)));
+            }
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    private static Map<SoundEffect, SoundParams> presets() {
+        Map<SoundEffect, SoundParams> presets = new EnumMap<>(SoundEffect.class);
 
         // Combat sounds
-        sounds.put(SoundEffect.ATTACK_SWORD, 
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.attackSword()));
-        sounds.put(SoundEffect.HIT_IMPACT,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.hitImpact()));
-        sounds.put(SoundEffect.PLAYER_HURT,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.playerHurt()));
-        sounds.put(SoundEffect.ENEMY_DEATH,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.enemyDeath()));
-        sounds.put(SoundEffect.BOSS_APPEAR,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.bossAppear()));
+        presets.put(SoundEffect.ATTACK_SWORD, ProceduralSoundGenerator.attackSword());
+        presets.put(SoundEffect.HIT_IMPACT, ProceduralSoundGenerator.hitImpact());
+        presets.put(SoundEffect.PLAYER_HURT, ProceduralSoundGenerator.playerHurt());
+        presets.put(SoundEffect.ENEMY_DEATH, ProceduralSoundGenerator.enemyDeath());
+        presets.put(SoundEffect.BOSS_APPEAR, ProceduralSoundGenerator.bossAppear());
 
         // Pickup sounds
-        sounds.put(SoundEffect.GOLD_PICKUP,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.goldPickup()));
-        sounds.put(SoundEffect.ITEM_PICKUP,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.itemPickup()));
-        sounds.put(SoundEffect.LEVEL_UP,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.levelUp()));
-        sounds.put(SoundEffect.HEAL,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.heal()));
+        presets.put(SoundEffect.GOLD_PICKUP, ProceduralSoundGenerator.goldPickup());
+        presets.put(SoundEffect.ITEM_PICKUP, ProceduralSoundGenerator.itemPickup());
+        presets.put(SoundEffect.LEVEL_UP, ProceduralSoundGenerator.levelUp());
+        presets.put(SoundEffect.HEAL, ProceduralSoundGenerator.heal());
 
         // Navigation sounds
-        sounds.put(SoundEffect.FOOTSTEP,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.footstep()));
-        sounds.put(SoundEffect.DOOR_OPEN,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.doorOpen()));
-        sounds.put(SoundEffect.STAIRS_DESCEND,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.stairsDescend()));
+        presets.put(SoundEffect.FOOTSTEP, ProceduralSoundGenerator.footstep());
+        presets.put(SoundEffect.DOOR_OPEN, ProceduralSoundGenerator.doorOpen());
+        presets.put(SoundEffect.STAIRS_DESCEND, ProceduralSoundGenerator.stairsDescend());
 
         // UI sounds
-        sounds.put(SoundEffect.MENU_SELECT,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.menuSelect()));
-        sounds.put(SoundEffect.MENU_CONFIRM,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.menuConfirm()));
-        sounds.put(SoundEffect.SHOP_BUY,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.shopBuy()));
-        sounds.put(SoundEffect.ERROR,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.error()));
+        presets.put(SoundEffect.MENU_SELECT, ProceduralSoundGenerator.menuSelect());
+        presets.put(SoundEffect.MENU_CONFIRM, ProceduralSoundGenerator.menuConfirm());
+        presets.put(SoundEffect.SHOP_BUY, ProceduralSoundGenerator.shopBuy());
+        presets.put(SoundEffect.ERROR, ProceduralSoundGenerator.error());
 
         // Game state sounds
-        sounds.put(SoundEffect.VICTORY,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.victory()));
-        sounds.put(SoundEffect.DEFEAT,
-            ProceduralSoundGenerator.createSound(ProceduralSoundGenerator.defeat()));
+        presets.put(SoundEffect.VICTORY, ProceduralSoundGenerator.victory());
+        presets.put(SoundEffect.DEFEAT, ProceduralSoundGenerator.defeat());
 
-        long elapsed = System.currentTimeMillis() - startTime;
-        Gdx.app.log("SoundManager", "Generated " + sounds.size() + " sounds in " + elapsed + "ms");
+        return presets;
+    }
+
+    // === WAV CACHE ===
+
+    private static FileHandle cacheFile(SoundEffect effect, SoundParams params) {
+        return Gdx.files.local(CACHE_DIR + "/" + effect.name().toLowerCase()
+            + "-" + Long.toHexString(params.hash()) + ".wav");
+    }
+
+    /**
+     * Read an effect's WAV from the cache, or synthesize it and write it
+     * to the cache if it is missing or incomplete. Runs on a worker.
+     */
+    private static byte[] synthesize(SoundEffect effect, SoundParams params) {
+        FileHandle file = cacheFile(effect, params);
+        if (file.exists()) {
+            try {
+                byte[] cached = file.readBytes();
+                if (ProceduralSoundGenerator.isCompleteWav(cached)) {
+                    return cached;
+                }
+            } catch (Exception e) {
+                Gdx.app.error("SoundManager", "Ignoring unreadable cached sound " + file.path() + ": " + e.getMessage());
+            }
+        }
+
+        byte[] wav = ProceduralSoundGenerator.toWav(ProceduralSoundGenerator.generateSamples(params));
+        try {
+            file.writeBytes(wav, false);
+        } catch (Exception e) {
+            Gdx.app.error("SoundManager", "Failed to cache sound " + file.path() + ": " + e.getMessage());
+        }
+        return wav;
+    }
+
+    /**
+     * Create sounds for every effect the workers have finished. Needs the
+     * game thread, as the audio backend is not thread-safe.
+     */
+    private void collectReady() {
+        Iterator<Map.Entry<SoundEffect, Future<byte[]>>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<SoundEffect, Future<byte[]>> entry = it.next();
+            if (!entry.getValue().isDone()) {
+                continue;
+            }
+            SoundEffect effect = entry.getKey();
+            it.remove();
+            try {
+                byte[] wav = entry.getValue().get();
+                sounds.put(effect, ProceduralSoundGenerator.createSound(effect.name().toLowerCase() + ".wav", wav));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                Gdx.app.error("SoundManager", "Failed to generate sound " + effect + ": " + e.getCause());
+            }
+            if (pending.isEmpty()) {
+                long elapsed = System.currentTimeMillis() - loadStartTime;
+                Gdx.app.log("SoundManager", "Generated " + sounds.size() + " sounds in " + elapsed + "ms");
+            }
+        }
     }
 
     /**
@@ -114,24 +241,27 @@ public class SoundManager {
      * Play a sound effect with volume modifier.
      */
     public void play(SoundEffect effect, float volumeModifier) {
-        if (!enabled) return;
-        
-        Sound sound = sounds.get(effect);
-        if (sound != null) {
-            sound.play(masterVolume * volumeModifier);
-        }
+        playWithVariation(effect, volumeModifier, effect.getVariation());
     }
 
     /**
-     * Play a sound with pitch variation (good for footsteps, hits).
+     * Play a sound with pitch variation (good for footsteps, hits). The
+     * volume varies by up to the same fraction, only ever downwards.
      */
     public void playWithVariation(SoundEffect effect, float volumeModifier, float pitchVariation) {
         if (!enabled) return;
         
+        float pitch = 1.0f + (jitter.nextFloat() * 2 - 1) * pitchVariation;
+        float volume = masterVolume * volumeModifier * (1.0f - jitter.nextFloat() * pitchVariation);
+        if (audio != null) {
+            audio.getMixer().play(effect.ordinal(), volume, pitch, effect.getPriority());
+            return;
+        }
+
+        if (!pending.isEmpty()) collectReady();
         Sound sound = sounds.get(effect);
         if (sound != null) {
-            float pitch = 1.0f + (float)(Math.random() * 2 - 1) * pitchVariation;
-            sound.play(masterVolume * volumeModifier, pitch, 0);
+            sound.play(volume, pitch, 0);
         }
     }
 
@@ -165,9 +295,17 @@ public class SoundManager {
     }
 
     /**
-     * Dispose all sounds.
+     * Dispose all sounds. Effects still being generated are abandoned.
      */
     public void dispose() {
+        if (audio != null) {
+            audio.dispose();
+            audio = null;
+        }
+        for (Future<byte[]> future : pending.values()) {
+            future.cancel(false);
+        }
+        pending.clear();
         for (Sound sound : sounds.values()) {
             if (sound != null) {
                 sound.dispose();
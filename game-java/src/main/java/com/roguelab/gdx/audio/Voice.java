@@ -0,0 +1,103 @@
+package com.roguelab.gdx.audio;
+
+import com.roguelab.gdx.audio.ProceduralSoundGenerator.SoundParams;
+
+import java.util.Random;
+
+/**
+ * One sound being synthesized sample by sample from its
+ * {@link SoundParams}, so it can be mixed as it plays instead of baked up
+ * front. A voice is reused for play after play and allocates nothing once
+ * constructed.
+ *
+ * Pitch scales the frequencies and the speed of the envelope together, as
+ * playing a recording faster would. At a pitch of 1 the samples match
+ * {@link ProceduralSoundGenerator#generateSamples} exactly.
+ */
+final class Voice {
+
+    private final Random noise = new Random();
+    private SoundParams params;
+    private int length;
+    private int position;
+    private float pitch;
+    private float gain;
+    private float phase;
+    private float frequency;
+    private float frequencyDelta;
+    private int priority;
+    private long startOrder;
+
+    /**
+     * Start playing, replacing whatever this voice was playing.
+     * @param seed seeds the noise of noise waves
+     * @param startOrder increases with each start, so older voices can be
+     *                   told apart when one has to be stolen
+     */
+    void start(SoundParams params, float pitch, float gain, int priority, long seed, long startOrder) {
+        float duration = params.attackTime + params.sustainTime + params.decayTime;
+        this.params = params;
+        this.length = (int) (ProceduralSoundGenerator.SAMPLE_RATE * duration / pitch);
+        this.position = 0;
+        this.pitch = pitch;
+        this.gain = gain;
+        this.phase = 0;
+        this.frequency = params.startFrequency * pitch;
+        this.frequencyDelta = (params.endFrequency - params.startFrequency) * pitch / length;
+        this.priority = priority;
+        this.startOrder = startOrder;
+        noise.setSeed(seed);
+        if (length <= 0) {
+            this.params = null;
+        }
+    }
+
+    boolean isActive() {
+        return params != null;
+    }
+
+    int getPriority() { return priority; }
+    long getStartOrder() { return startOrder; }
+    int getLength() { return length; }
+
+    void stop() {
+        params = null;
+    }
+
+    /**
+     * The next sample before this voice's gain, from -1 to 1. Stops the
+     * voice after its last sample.
+     */
+    float next() {
+        float t = (float) position * pitch / ProceduralSoundGenerator.SAMPLE_RATE;
+
+        float envelope = ProceduralSoundGenerator.calculateEnvelope(t, params);
+        frequency += frequencyDelta;
+
+        float vibrato = 1f;
+        if (params.vibratoDepth > 0) {
+            vibrato = 1f + params.vibratoDepth * (float) Math.sin(2 * Math.PI * params.vibratoSpeed * t);
+        }
+
+        float sample = ProceduralSoundGenerator.generateWave(params.waveType, phase, noise);
+        sample *= envelope * params.masterVolume;
+
+        phase += frequency * vibrato / ProceduralSoundGenerator.SAMPLE_RATE;
+        while (phase >= 1) phase -= 1;
+
+        if (++position >= length) {
+            params = null;
+        }
+        return sample;
+    }
+
+    /**
+     * Add up to {@code count} samples, scaled by the gain, into
+     * {@code out}. Stops early if the sound ends.
+     */
+    void mixInto(float[] out, int offset, int count) {
+        for (int i = 0; i < count && params != null; i++) {
+            out[offset + i] += next() * gain;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.roguelab.gdx.audio;
+
+import com.roguelab.gdx.audio.ProceduralSoundGenerator.SoundParams;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mixes procedural voices into blocks of samples, with a fixed cost per
+ * block however many sounds the game asks for.
+ *
+ * One thread, the game thread, calls {@link #play}; another, the audio
+ * thread, calls {@link #mix}. They share only a bounded single-producer,
+ * single-consumer ring of play commands, so neither ever waits for the
+ * other and nothing is allocated after construction. Three limits bound
+ * the work:
+ * <ul>
+ *   <li>a full command ring drops new plays;</li>
+ *   <li>at most {@code startsPerBlock} commands are taken per block and
+ *       the rest are dropped;</li>
+ *   <li>at most {@code voiceCount} voices play at once. With every voice
+ *       busy, a new sound steals the voice with the lowest priority, the
+ *       oldest among equals, unless that voice outranks it.</li>
+ * </ul>
+ *
+ * Holds no audio device, so it can be driven without one.
+ */
+public final class VoiceMixer {
+
+    private final SoundParams[] sounds;
+    private final long[] seeds;
+    private final Voice[] voices;
+    private final int startsPerBlock;
+
+    // Command ring, written by the producer between head and tail
+    private final int[] commandSound;
+    private final float[] commandPitch;
+    private final float[] commandGain;
+    private final int[] commandPriority;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private long startCount;
+    private volatile int activeVoices;
+    private volatile long started;
+    private volatile long stolen;
+    private volatile long dropped;
+    private volatile long rejected;
+
+    /**
+     * @param sounds what each sound id plays; must not change afterwards
+     * @param commandCapacity size of the command ring, rounded up to a
+     *                        power of two
+     */
+    public VoiceMixer(SoundParams[] sounds, int voiceCount, int commandCapacity, int startsPerBlock) {
+        if (voiceCount <= 0) {
+            throw new IllegalArgumentException("voiceCount must be positive");
+        }
+        if (commandCapacity <= 0) {
+            throw new IllegalArgumentException("commandCapacity must be positive");
+        }
+        if (startsPerBlock <= 0) {
+            throw new IllegalArgumentException("startsPerBlock must be positive");
+        }
+        this.sounds = sounds.clone();
+        this.seeds = new long[sounds.length];
+        for (int i = 0; i < sounds.length; i++) {
+            seeds[i] = sounds[i].hash();
+        }
+        this.voices = new Voice[voiceCount];
+        for (int i = 0; i < voiceCount; i++) {
+            voices[i] = new Voice();
+        }
+        this.startsPerBlock = startsPerBlock;
+
+        int capacity = Integer.highestOneBit(Math.max(1, commandCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.commandSound = new int[capacity];
+        this.commandPitch = new float[capacity];
+        this.commandGain = new float[capacity];
+        this.commandPriority = new int[capacity];
+    }
+
+    // === GAME THREAD ===
+
+    /**
+     * Queue a sound. Only one thread may call this.
+     * @param sound index into the sounds this mixer was built with
+     * @return false if the command ring was full and the sound dropped
+     */
+    public boolean play(int sound, float gain, float pitch, int priority) {
+        if (sound < 0 || sound >= sounds.length) {
+            throw new IllegalArgumentException("Unknown sound " + sound);
+        }
+        if (pitch <= 0) {
+            throw new IllegalArgumentException("pitch must be positive");
+        }
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            rejected++;
+            return false;
+        }
+        int slot = (int) (t & mask);
+        commandSound[slot] = sound;
+        commandGain[slot] = gain;
+        commandPitch[slot] = pitch;
+        commandPriority[slot] = priority;
+        tail.lazySet(t + 1); // Publishes the slot to the audio thread
+        return true;
+    }
+
+    // === AUDIO THREAD ===
+
+    /**
+     * Start queued sounds and replace the first {@code count} samples of
+     * {@code out} with the mix of every playing voice, clipped to -1..1.
+     * Only one thread may call this.
+     */
+    public void mix(float[] out, int count) {
+        startQueued();
+
+        for (int i = 0; i < count; i++) {
+            out[i] = 0f;
+        }
+        int active = 0;
+        for (Voice voice : voices) {
+            if (voice.isActive()) {
+                voice.mixInto(out, 0, count);
+                active++;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            out[i] = Math.max(-1f, Math.min(1f, out[i]));
+        }
+        activeVoices = active;
+    }
+
+    private void startQueued() {
+        long h = head.get();
+        long t = tail.get();
+        long taken = Math.min(t - h, startsPerBlock);
+        for (long i = h; i < h + taken; i++) {
+            int slot = (int) (i & mask);
+            start(commandSound[slot], commandGain[slot], commandPitch[slot], commandPriority[slot]);
+        }
+        if (t - h > taken) {
+            dropped += t - h - taken;
+        }
+        head.lazySet(t); // Frees the slots for the game thread
+    }
+
+    private void start(int sound, float gain, float pitch, int priority) {
+        Voice target = null;
+        for (Voice voice : voices) {
+            if (!voice.isActive()) {
+                target = voice;
+                break;
+            }
+            if (target == null || voice.getPriority() < target.getPriority()
+                || (voice.getPriority() == target.getPriority() && voice.getStartOrder() < target.getStartOrder())) {
+                target = voice;
+            }
+        }
+        if (target.isActive()) {
+            if (target.getPriority() > priority) {
+                dropped++;
+                return;
+            }
+            stolen++;
+        }
+        // Vary the noise of each play, not just of each sound
+        long order = startCount++;
+        target.start(sounds[sound], pitch, gain, priority, seeds[sound] + order * 0x9E3779B97F4A7C15L, order);
+        started++;
+    }
+
+    /**
+     * Silence every voice. Call on the audio thread, or once it has stopped.
+     */
+    public void stopAll() {
+        for (Voice voice : voices) {
+            voice.stop();
+        }
+        activeVoices = 0;
+    }
+
+    public int getVoiceCount() { return voices.length; }
+    public int getActiveVoices() { return activeVoices; }
+    public long getStarted() { return started; }
+    /** Voices cut off to make room for a sound of equal or higher priority. */
+    public long getStolen() { return stolen; }
+    /** Plays refused by a full ring, the per-block limit or priority. */
+    public long getDropped() { return dropped + rejected; }
+}
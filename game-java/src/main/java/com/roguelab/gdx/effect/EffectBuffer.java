@@ -0,0 +1,218 @@
+package com.roguelab.gdx.effect;
+
+/**
+ * Fixed-capacity storage for short-lived screen effects, one array per
+ * field. Live effects are packed at the front: an expired effect is
+ * replaced by the last live one, so updates walk a dense range and
+ * spawning or expiring an effect never allocates.
+ *
+ * Two limits keep effect-heavy moments from spiking frame time. At most
+ * {@code spawnsPerFrame} effects are accepted between calls to
+ * {@link #update}; the rest are dropped. Once all slots are live, a new
+ * effect takes over the slot of the one closest to expiring.
+ *
+ * Holds no GL resources, so it can be driven without a window.
+ */
+public final class EffectBuffer {
+
+    /**
+     * What an effect looks like and how long it lives, in seconds.
+     */
+    public enum Kind {
+        SLASH(0.3f),
+        HIT(0.2f),
+        DAMAGE_NUMBER(1.5f);
+
+        private final float lifetime;
+
+        Kind(float lifetime) {
+            this.lifetime = lifetime;
+        }
+
+        public float getLifetime() {
+            return lifetime;
+        }
+    }
+
+    private static final float NUMBER_RISE_SPEED = 80f;
+    private static final float SLASH_START_ROTATION = -45f;
+
+    private final int capacity;
+    private final int spawnsPerFrame;
+    private final Kind[] kind;
+    private final float[] x;
+    private final float[] y;
+    private final float[] life;
+    private final float[] maxLife;
+    private final float[] rotation;
+    private final float[] velocityY;
+    private final float[] red;
+    private final float[] green;
+    private final float[] blue;
+    private final String[] text;
+    private int size;
+    private int spawnedThisFrame;
+    private long spawned;
+    private long dropped;
+    private long recycled;
+
+    public EffectBuffer(int capacity, int spawnsPerFrame) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (spawnsPerFrame <= 0) {
+            throw new IllegalArgumentException("spawnsPerFrame must be positive");
+        }
+        this.capacity = capacity;
+        this.spawnsPerFrame = spawnsPerFrame;
+        this.kind = new Kind[capacity];
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.life = new float[capacity];
+        this.maxLife = new float[capacity];
+        this.rotation = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.red = new float[capacity];
+        this.green = new float[capacity];
+        this.blue = new float[capacity];
+        this.text = new String[capacity];
+    }
+
+    /**
+     * Add an effect, white and without text.
+     * @return its slot, or -1 if this frame's spawn budget is spent
+     */
+    public int spawn(Kind kind, float x, float y) {
+        if (spawnedThisFrame >= spawnsPerFrame) {
+            dropped++;
+            return -1;
+        }
+        spawnedThisFrame++;
+        spawned++;
+
+        int slot;
+        if (size < capacity) {
+            slot = size++;
+        } else {
+            slot = closestToExpiring();
+            recycled++;
+        }
+        this.kind[slot] = kind;
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.life[slot] = kind.lifetime;
+        this.maxLife[slot] = kind.lifetime;
+        this.rotation[slot] = kind == Kind.SLASH ? SLASH_START_ROTATION : 0f;
+        this.velocityY[slot] = kind == Kind.DAMAGE_NUMBER ? NUMBER_RISE_SPEED : 0f;
+        this.red[slot] = 1f;
+        this.green[slot] = 1f;
+        this.blue[slot] = 1f;
+        this.text[slot] = null;
+        return slot;
+    }
+
+    /**
+     * Add a rising, fading number.
+     * @return its slot, or -1 if this frame's spawn budget is spent
+     */
+    public int spawnText(float x, float y, String text, float r, float g, float b) {
+        int slot = spawn(Kind.DAMAGE_NUMBER, x, y);
+        if (slot >= 0) {
+            this.text[slot] = text;
+            this.red[slot] = r;
+            this.green[slot] = g;
+            this.blue[slot] = b;
+        }
+        return slot;
+    }
+
+    private int closestToExpiring() {
+        int oldest = 0;
+        for (int i = 1; i < size; i++) {
+            if (life[i] < life[oldest]) {
+                oldest = i;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Advance every effect, drop the expired ones and open the next
+     * frame's spawn budget.
+     */
+    public void update(float delta) {
+        spawnedThisFrame = 0;
+        int i = 0;
+        while (i < size) {
+            life[i] -= delta;
+            if (life[i] <= 0) {
+                remove(i);
+                continue; // The last effect moved into slot i
+            }
+            switch (kind[i]) {
+                case SLASH -> rotation[i] += delta * 180f;
+                case DAMAGE_NUMBER -> {
+                    // Rise with deceleration and drift sideways
+                    y[i] += velocityY[i] * delta;
+                    velocityY[i] *= 0.95f;
+                    x[i] += (float) Math.sin(life[i] * 5) * delta * 10;
+                }
+                case HIT -> { }
+            }
+            i++;
+        }
+    }
+
+    private void remove(int slot) {
+        int last = --size;
+        if (slot != last) {
+            kind[slot] = kind[last];
+            x[slot] = x[last];
+            y[slot] = y[last];
+            life[slot] = life[last];
+            maxLife[slot] = maxLife[last];
+            rotation[slot] = rotation[last];
+            velocityY[slot] = velocityY[last];
+            red[slot] = red[last];
+            green[slot] = green[last];
+            blue[slot] = blue[last];
+            text[slot] = text[last];
+        }
+        kind[last] = null;
+        text[last] = null;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            kind[i] = null;
+            text[i] = null;
+        }
+        size = 0;
+    }
+
+    public int size() { return size; }
+    public int getCapacity() { return capacity; }
+    public int getSpawnsPerFrame() { return spawnsPerFrame; }
+
+    public Kind getKind(int slot) { return kind[slot]; }
+    public float getX(int slot) { return x[slot]; }
+    public float getY(int slot) { return y[slot]; }
+    public float getRotation(int slot) { return rotation[slot]; }
+    public float getRed(int slot) { return red[slot]; }
+    public float getGreen(int slot) { return green[slot]; }
+    public float getBlue(int slot) { return blue[slot]; }
+    public String getText(int slot) { return text[slot]; }
+
+    /**
+     * Fraction of the effect's life already spent, from 0 to 1.
+     */
+    public float getProgress(int slot) {
+        return 1f - life[slot] / maxLife[slot];
+    }
+
+    public long getSpawned() { return spawned; }
+    /** Effects refused because a frame's spawn budget was spent. */
+    public long getDropped() { return dropped; }
+    /** Effects that replaced a live one because every slot was taken. */
+    public long getRecycled() { return recycled; }
+}
@@ -1,177 +1,148 @@
 package com.roguelab.gdx.effect;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.roguelab.gdx.RogueLabGame;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-
 /**
  * Manages all visual effects: damage numbers, slashes, hits, etc.
+ *
+ * Effects live in two {@link EffectBuffer}s, sprites and damage numbers,
+ * so adding, updating and expiring them allocates nothing. Each buffer
+ * caps how many effects it holds and how many it accepts per frame;
+ * beyond that, spawns are dropped or replace the effect closest to
+ * expiring, so a burst of hits costs a bounded amount of frame time.
  */
 public class EffectsManager {
-    
-    private final RogueLabGame game;
-    private final List<DamageNumber> damageNumbers;
-    private final List<Effect> effects;
-    
+
+    public static final int DEFAULT_SPRITE_CAPACITY = 256;
+    public static final int DEFAULT_NUMBER_CAPACITY = 64;
+    public static final int DEFAULT_SPAWNS_PER_FRAME = 32;
+
+    private final BitmapFont damageFont;
+    private final TextureRegion slashEffect;
+    private final TextureRegion hitEffect;
+    private final EffectBuffer sprites;
+    private final EffectBuffer numbers;
+    private final GlyphLayout layout = new GlyphLayout();
+
     public EffectsManager(RogueLabGame game) {
-        this.game = game;
-        this.damageNumbers = new ArrayList<>();
-        this.effects = new ArrayList<>();
+        this(game.getAssets().getDamageFont(), game.getAssets().getSlashEffect(), game.getAssets().getHitEffect(),
+            DEFAULT_SPRITE_CAPACITY, DEFAULT_NUMBER_CAPACITY, DEFAULT_SPAWNS_PER_FRAME);
     }
-    
+
+    public EffectsManager(BitmapFont damageFont, TextureRegion slashEffect, TextureRegion hitEffect,
+                          int spriteCapacity, int numberCapacity, int spawnsPerFrame) {
+        this.damageFont = damageFont;
+        this.slashEffect = slashEffect;
+        this.hitEffect = hitEffect;
+        this.sprites = new EffectBuffer(spriteCapacity, spawnsPerFrame);
+        this.numbers = new EffectBuffer(numberCapacity, spawnsPerFrame);
+    }
+
     public void update(float delta) {
-        // Update damage numbers
-        Iterator<DamageNumber> dnIter = damageNumbers.iterator();
-        while (dnIter.hasNext()) {
-            DamageNumber dn = dnIter.next();
-            dn.update(delta);
-            if (dn.isFinished()) {
-                dnIter.remove();
-            }
-        }
-        
-        // Update effects
-        Iterator<Effect> effectIter = effects.iterator();
-        while (effectIter.hasNext()) {
-            Effect effect = effectIter.next();
-            effect.update(delta);
-            if (effect.isFinished()) {
-                effectIter.remove();
-            }
-        }
+        sprites.update(delta);
+        numbers.update(delta);
     }
-    
-    public void render(SpriteBatch batch, float delta) {
+
+    public void render(Batch batch, float delta) {
+        if (sprites.size() == 0 && numbers.size() == 0) {
+            return;
+        }
         batch.begin();
-        
-        // Render effects
-        for (Effect effect : effects) {
-            effect.render(batch, game.getAssets());
+
+        for (int i = 0; i < sprites.size(); i++) {
+            renderSprite(batch, i);
         }
-        
-        // Render damage numbers
-        for (DamageNumber dn : damageNumbers) {
-            dn.render(batch, game.getAssets().getDamageFont());
+        batch.setColor(Color.WHITE);
+
+        for (int i = 0; i < numbers.size(); i++) {
+            renderNumber(batch, i);
         }
-        
+        damageFont.getData().setScale(2f);
+        damageFont.setColor(Color.WHITE);
+
         batch.end();
     }
-    
+
+    private void renderSprite(Batch batch, int i) {
+        float progress = sprites.getProgress(i);
+        batch.setColor(1f, 1f, 1f, 1f - progress);
+
+        if (sprites.getKind(i) == EffectBuffer.Kind.SLASH) {
+            TextureRegion texture = slashEffect;
+            float scale = 0.5f + progress * 0.5f;
+            float width = texture.getRegionWidth() * scale;
+            float height = texture.getRegionHeight() * scale;
+            batch.draw(texture,
+                sprites.getX(i) - width / 2f, sprites.getY(i) - height / 2f,
+                width / 2f, height / 2f,
+                width, height,
+                1f, 1f,
+                sprites.getRotation(i));
+        } else {
+            TextureRegion texture = hitEffect;
+            float scale = 1f + progress * 0.5f;
+            float width = texture.getRegionWidth() * scale;
+            float height = texture.getRegionHeight() * scale;
+            batch.draw(texture,
+                sprites.getX(i) - width / 2f, sprites.getY(i) - height / 2f,
+                width, height);
+        }
+    }
+
+    private void renderNumber(Batch batch, int i) {
+        float remaining = 1f - numbers.getProgress(i);
+
+        // Fade out more dramatically in last 30%
+        float alpha = remaining < 0.3f ? remaining / 0.3f * 0.3f : remaining;
+
+        // Grow from 0.5 to 1.0 at the start
+        float scale = remaining > 0.8f ? 0.5f + (1f - (remaining - 0.8f) / 0.2f) * 0.5f : 1f;
+
+        damageFont.setColor(numbers.getRed(i), numbers.getGreen(i), numbers.getBlue(i), alpha);
+        damageFont.getData().setScale(2f * scale);
+        layout.setText(damageFont, numbers.getText(i));
+        damageFont.draw(batch, layout, numbers.getX(i) - layout.width / 2f, numbers.getY(i));
+    }
+
     /**
      * Add a floating damage number.
      */
     public void addDamageNumber(float x, float y, String text, Color color) {
-        damageNumbers.add(new DamageNumber(x, y, text, color));
+        numbers.spawnText(x, y, text, color.r, color.g, color.b);
     }
-    
+
     /**
      * Add a slash effect at the given position.
      */
     public void addSlash(float x, float y) {
-        effects.add(new SlashEffect(x, y, game.getAssets().getSlashEffect()));
+        sprites.spawn(EffectBuffer.Kind.SLASH, x, y);
     }
-    
+
     /**
      * Add a hit effect at the given position.
      */
     public void addHit(float x, float y) {
-        effects.add(new HitEffect(x, y, game.getAssets().getHitEffect()));
+        sprites.spawn(EffectBuffer.Kind.HIT, x, y);
     }
-    
-    // === Inner Effect Classes ===
-    
-    private static abstract class Effect {
-        protected float x, y;
-        protected float lifetime;
-        protected float maxLifetime;
-        protected TextureRegion texture;
-        
-        public Effect(float x, float y, TextureRegion texture, float lifetime) {
-            this.x = x;
-            this.y = y;
-            this.texture = texture;
-            this.lifetime = lifetime;
-            this.maxLifetime = lifetime;
-        }
-        
-        public void update(float delta) {
-            lifetime -= delta;
-        }
-        
-        public boolean isFinished() {
-            return lifetime <= 0;
-        }
-        
-        public abstract void render(SpriteBatch batch, com.roguelab.gdx.Assets assets);
-        
-        protected float getProgress() {
-            return 1f - (lifetime / maxLifetime);
-        }
+
+    public void clear() {
+        sprites.clear();
+        numbers.clear();
     }
-    
-    private static class SlashEffect extends Effect {
-        private float rotation;
-        
-        public SlashEffect(float x, float y, TextureRegion texture) {
-            super(x, y, texture, 0.3f);
-            this.rotation = -45f;
-        }
-        
-        @Override
-        public void update(float delta) {
-            super.update(delta);
-            rotation += delta * 180f; // Rotate during animation
-        }
-        
-        @Override
-        public void render(SpriteBatch batch, com.roguelab.gdx.Assets assets) {
-            float progress = getProgress();
-            float alpha = 1f - progress;
-            float scale = 0.5f + progress * 0.5f;
-            
-            batch.setColor(1f, 1f, 1f, alpha);
-            
-            float width = texture.getRegionWidth() * scale;
-            float height = texture.getRegionHeight() * scale;
-            
-            batch.draw(texture,
-                x - width / 2f, y - height / 2f,
-                width / 2f, height / 2f,
-                width, height,
-                1f, 1f,
-                rotation);
-            
-            batch.setColor(Color.WHITE);
-        }
+
+    public int getActiveCount() {
+        return sprites.size() + numbers.size();
     }
-    
-    private static class HitEffect extends Effect {
-        
-        public HitEffect(float x, float y, TextureRegion texture) {
-            super(x, y, texture, 0.2f);
-        }
-        
-        @Override
-        public void render(SpriteBatch batch, com.roguelab.gdx.Assets assets) {
-            float progress = getProgress();
-            float alpha = 1f - progress;
-            float scale = 1f + progress * 0.5f;
-            
-            batch.setColor(1f, 1f, 1f, alpha);
-            
-            float width = texture.getRegionWidth() * scale;
-            float height = texture.getRegionHeight() * scale;
-            
-            batch.draw(texture,
-                x - width / 2f, y - height / 2f,
-                width, height);
-            
-            batch.setColor(Color.WHITE);
-        }
+
+    /**
+     * Effects refused or cut short by the capacity limits so far.
+     */
+    public long getDroppedCount() {
+        return sprites.getDropped() + numbers.getDropped() + sprites.getRecycled() + numbers.getRecycled();
     }
 }
@@ -19,10 +19,22 @@ public class DungeonRenderer {
     private final RogueLabGame game;
     private final GameState state;
     private final GlyphLayout layout;
+    private final TextLabel floorLabel = new TextLabel();
+    private final TextLabel roomNameLabel = new TextLabel();
     
     private static final int ROOM_SIZE = 80;
     private static final int ROOM_SPACING = 100;
     
+    private static final Color VISITED_TINT = new Color(0.7f, 0.7f, 0.7f, 1f);
+    private static final Color UNVISITED_TINT = new Color(0.3f, 0.3f, 0.3f, 1f);
+    private static final Color CLEARED_TINT = new Color(0.2f, 0.8f, 0.2f, 0.5f);
+    private static final Color COMBAT_COLOR = new Color(0.9f, 0.3f, 0.3f, 1f);
+    private static final Color BOSS_COLOR = new Color(1f, 0.5f, 0.1f, 1f);
+    private static final Color TREASURE_COLOR = new Color(1f, 0.85f, 0.2f, 1f);
+    private static final Color SHOP_COLOR = new Color(0.3f, 0.8f, 0.9f, 1f);
+    private static final Color REST_COLOR = new Color(0.3f, 0.9f, 0.4f, 1f);
+    private static final Color STAIRS_COLOR = new Color(0.7f, 0.7f, 0.9f, 1f);
+    
     public DungeonRenderer(RogueLabGame game, GameState state) {
         this.game = game;
         this.state = state;
@@ -65,15 +77,15 @@ public class DungeonRenderer {
             
             // Draw room tile
             if (visited || current) {
-                batch.setColor(current ? Color.WHITE : new Color(0.7f, 0.7f, 0.7f, 1f));
+                batch.setColor(current ? Color.WHITE : VISITED_TINT);
             } else {
-                batch.setColor(new Color(0.3f, 0.3f, 0.3f, 1f));
+                batch.setColor(UNVISITED_TINT);
             }
             batch.draw(tile, roomX, roomY, ROOM_SIZE, ROOM_SIZE);
             
             // Draw cleared marker
             if (cleared) {
-                batch.setColor(new Color(0.2f, 0.8f, 0.2f, 0.5f));
+                batch.setColor(CLEARED_TINT);
                 batch.draw(game.getAssets().getWhitePixel(), roomX, roomY, ROOM_SIZE, ROOM_SIZE);
             }
             
@@ -91,9 +103,10 @@ public class DungeonRenderer {
         // Draw floor indicator
         BitmapFont normalFont = game.getAssets().getNormalFont();
         normalFont.setColor(Color.WHITE);
-        String floorText = "FLOOR " + state.floor;
-        layout.setText(normalFont, floorText);
-        normalFont.draw(batch, floorText, centerX - layout.width / 2, mapY + ROOM_SIZE / 2f + 60);
+        if (floorLabel.update(normalFont, state.floor)) {
+            floorLabel.text().append("FLOOR ").append(state.floor);
+        }
+        floorLabel.drawCentered(batch, centerX, mapY + ROOM_SIZE / 2f + 60);
         
         // Draw room info for current room
         drawRoomInfo(batch, centerY - 120);
@@ -119,12 +132,13 @@ public class DungeonRenderer {
         
         // Room type name
         normalFont.setColor(getRoomColor(type));
-        String roomName = getRoomName(type);
-        if (cleared && type != RoomType.EMPTY) {
-            roomName += " (Cleared)";
+        if (roomNameLabel.update(normalFont, cleared ? 1 : 0, type)) {
+            roomNameLabel.text().append(getRoomName(type));
+            if (cleared && type != RoomType.EMPTY) {
+                roomNameLabel.text().append(" (Cleared)");
+            }
         }
-        layout.setText(normalFont, roomName);
-        normalFont.draw(batch, roomName, centerX - layout.width / 2, y);
+        roomNameLabel.drawCentered(batch, centerX, y);
         
         // Room description
         smallFont.setColor(Color.LIGHT_GRAY);
@@ -151,12 +165,12 @@ public class DungeonRenderer {
     
     private Color getRoomColor(RoomType type) {
         switch (type) {
-            case COMBAT: return new Color(0.9f, 0.3f, 0.3f, 1f);
-            case BOSS: return new Color(1f, 0.5f, 0.1f, 1f);
-            case TREASURE: return new Color(1f, 0.85f, 0.2f, 1f);
-            case SHOP: return new Color(0.3f, 0.8f, 0.9f, 1f);
-            case REST: return new Color(0.3f, 0.9f, 0.4f, 1f);
-            case STAIRS: return new Color(0.7f, 0.7f, 0.9f, 1f);
+            case COMBAT: return COMBAT_COLOR;
+            case BOSS: return BOSS_COLOR;
+            case TREASURE: return TREASURE_COLOR;
+            case SHOP: return SHOP_COLOR;
+            case REST: return REST_COLOR;
+            case STAIRS: return STAIRS_COLOR;
             default: return Color.LIGHT_GRAY;
         }
     }
@@ -0,0 +1,101 @@
+package com.roguelab.gdx.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.Matrix4;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Per-frame draw call counters drawn in the top-left corner, toggled with
+ * F3 or shown from startup with {@code -Droguelab.renderStats=true}.
+ *
+ * Shows GL draw calls, texture binds and shader switches from a
+ * {@link GLProfiler}, how many times the sprite batch flushed, and the
+ * bytes the render thread allocated during the frame, which should stay
+ * at zero while nothing on screen changes. The profiler wraps the GL
+ * context only while the overlay is shown.
+ */
+public class RenderStatsOverlay {
+
+    public static final String PROPERTY = "roguelab.renderStats";
+
+    private final GLProfiler profiler;
+    private final StringBuilder text = new StringBuilder(128);
+    private final Matrix4 projection = new Matrix4();
+    private final Color previousColor = new Color();
+    private final com.sun.management.ThreadMXBean threads;
+    private int lastBatchFlushes;
+    private long lastAllocatedBytes;
+
+    public RenderStatsOverlay() {
+        this.profiler = new GLProfiler(Gdx.graphics);
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocation = null;
+        if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+            sun.setThreadAllocatedMemoryEnabled(true);
+            allocation = sun;
+        }
+        this.threads = allocation;
+        if (Boolean.getBoolean(PROPERTY)) {
+            profiler.enable();
+        }
+    }
+
+    public void toggle() {
+        if (profiler.isEnabled()) {
+            profiler.disable();
+        } else {
+            profiler.enable();
+        }
+    }
+
+    public boolean isEnabled() {
+        return profiler.isEnabled();
+    }
+
+    /**
+     * Call once at the end of each frame, after the screen has rendered.
+     * The overlay's own draw calls are not counted.
+     */
+    public void render(SpriteBatch batch, BitmapFont font) {
+        int batchFlushes = batch.totalRenderCalls - lastBatchFlushes;
+        long allocated = allocatedBytes() - lastAllocatedBytes;
+        if (!profiler.isEnabled()) {
+            lastBatchFlushes = batch.totalRenderCalls;
+            lastAllocatedBytes = allocatedBytes();
+            return;
+        }
+
+        text.setLength(0);
+        text.append("FPS ").append(Gdx.graphics.getFramesPerSecond())
+            .append("  draw calls ").append(profiler.getDrawCalls())
+            .append("  texture binds ").append(profiler.getTextureBindings())
+            .append("  shader switches ").append(profiler.getShaderSwitches())
+            .append("  batch flushes ").append(batchFlushes);
+        if (threads != null) {
+            text.append("  allocated ").append(allocated).append(" B");
+        }
+
+        projection.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        batch.setProjectionMatrix(projection);
+        batch.begin();
+        previousColor.set(font.getColor());
+        font.setColor(Color.YELLOW);
+        font.draw(batch, text, 8, Gdx.graphics.getHeight() - 8);
+        font.setColor(previousColor);
+        batch.end();
+
+        lastBatchFlushes = batch.totalRenderCalls;
+        lastAllocatedBytes = allocatedBytes();
+        profiler.reset();
+    }
+
+    private long allocatedBytes() {
+        return threads != null ? threads.getCurrentThreadAllocatedBytes() : 0;
+    }
+}
@@ -0,0 +1,133 @@
+package com.roguelab.gdx.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Part of a screen that only changes on game events, rendered once into a
+ * {@link FrameBuffer} and composited each frame as a single textured quad.
+ *
+ * The buffer covers the whole virtual screen at the viewport's pixel size,
+ * so the composite maps texels to pixels one to one. Redraw it between
+ * {@link #begin} and {@link #end} whenever {@link #isValid()} is false:
+ * <pre>
+ * if (!layer.isValid()) {
+ *     Matrix4 projection = layer.begin(batch);
+ *     // draw with projection
+ *     layer.end(batch);
+ * }
+ * </pre>
+ * A layer cleared to an opaque colour is copied without blending. Any
+ * other layer is kept premultiplied, so translucent sprites and glyph
+ * edges composite the same as if they had been drawn directly.
+ */
+public final class StaticLayer implements Disposable {
+
+    private final float worldWidth;
+    private final float worldHeight;
+    private final Color clearColor;
+    private final boolean opaque;
+    private final Matrix4 projection = new Matrix4();
+    private FrameBuffer buffer;
+    private boolean valid;
+
+    public StaticLayer(float worldWidth, float worldHeight, Color clearColor) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.clearColor = new Color(clearColor);
+        this.opaque = clearColor.a >= 1f;
+        this.projection.setToOrtho2D(0, 0, worldWidth, worldHeight);
+    }
+
+    /**
+     * Match the buffer to the viewport's size in pixels. Always invalidates
+     * the layer; a zero size, as when the window is minimised, keeps the
+     * current buffer.
+     */
+    public void resize(int pixelWidth, int pixelHeight) {
+        valid = false;
+        if (pixelWidth <= 0 || pixelHeight <= 0) {
+            return;
+        }
+        if (buffer != null && buffer.getWidth() == pixelWidth && buffer.getHeight() == pixelHeight) {
+            return;
+        }
+        if (buffer != null) {
+            buffer.dispose();
+        }
+        buffer = new FrameBuffer(Pixmap.Format.RGBA8888, pixelWidth, pixelHeight, false);
+    }
+
+    public void invalidate() {
+        valid = false;
+    }
+
+    public boolean isValid() {
+        return valid && buffer != null;
+    }
+
+    /**
+     * Bind and clear the buffer. Returns the projection to draw the
+     * layer's world coordinates with. The batch must not be drawing.
+     */
+    public Matrix4 begin(Batch batch) {
+        if (buffer == null) {
+            throw new IllegalStateException("Layer has no buffer; call resize() first");
+        }
+        buffer.begin();
+        Gdx.gl.glClearColor(clearColor.r, clearColor.g, clearColor.b, clearColor.a);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA,
+            GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        return projection;
+    }
+
+    /**
+     * Unbind the buffer. The GL viewport is left covering the whole back
+     * buffer, so the caller must apply its own viewport again.
+     */
+    public void end(Batch batch) {
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        buffer.end();
+        valid = true;
+    }
+
+    /**
+     * Composite the part of the layer under a world rectangle at the same
+     * place. The batch must be drawing, with a white colour.
+     */
+    public void draw(Batch batch, float x, float y, float width, float height) {
+        if (buffer == null) {
+            return;
+        }
+        Texture texture = buffer.getColorBufferTexture();
+        if (opaque) {
+            batch.disableBlending();
+        } else {
+            batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        }
+        batch.draw(texture, x, y, width, height,
+            x / worldWidth, y / worldHeight, (x + width) / worldWidth, (y + height) / worldHeight);
+        if (opaque) {
+            batch.enableBlending();
+        } else {
+            batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (buffer != null) {
+            buffer.dispose();
+            buffer = null;
+        }
+        valid = false;
+    }
+}
@@ -0,0 +1,121 @@
+package com.roguelab.gdx.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Align;
+
+/**
+ * A line of text drawn every frame but laid out only when the value it
+ * shows or its font changes. The glyphs are kept in a
+ * {@link BitmapFontCache}, so moving or recolouring the label, for example
+ * to fade it, only rewrites vertex positions and colours.
+ *
+ * The caller passes the values the text is built from to {@link #update}
+ * and appends the new text only when it returns true:
+ * <pre>
+ * if (turnLabel.update(font, combatTurn)) {
+ *     turnLabel.text().append("Turn ").append(combatTurn);
+ * }
+ * turnLabel.drawCentered(batch, centerX, y);
+ * </pre>
+ * Labels are drawn in the font's current colour.
+ */
+public final class TextLabel {
+
+    private final StringBuilder text = new StringBuilder(32);
+    private final GlyphLayout layout = new GlyphLayout();
+    private BitmapFont font;
+    private BitmapFontCache cache;
+    private long key;
+    private Object keyObject;
+    private boolean initialized;
+    private boolean dirty;
+    private boolean colored;
+    private float color;
+
+    public boolean update(BitmapFont font, long key) {
+        return update(font, key, null);
+    }
+
+    public boolean update(BitmapFont font, Object key) {
+        return update(font, 0, key);
+    }
+
+    /**
+     * Check whether the text must be rebuilt. If so the text is cleared
+     * and true returned; the caller appends the new text to {@link #text()}.
+     * Object keys are compared by identity.
+     */
+    public boolean update(BitmapFont font, long key, Object keyObject) {
+        if (initialized && font == this.font && key == this.key && keyObject == this.keyObject) {
+            return false;
+        }
+        if (font != this.font) {
+            this.font = font;
+            this.cache = font.newFontCache();
+        }
+        this.key = key;
+        this.keyObject = keyObject;
+        this.initialized = true;
+        this.dirty = true;
+        text.setLength(0);
+        return true;
+    }
+
+    /**
+     * Show fixed text; it is laid out once.
+     */
+    public void set(BitmapFont font, String constant) {
+        if (update(font, constant)) {
+            text.append(constant);
+        }
+    }
+
+    public StringBuilder text() {
+        return text;
+    }
+
+    public float getWidth() {
+        return layout().width;
+    }
+
+    public float getHeight() {
+        return layout().height;
+    }
+
+    public void draw(Batch batch, float x, float y) {
+        layout();
+        float tint = font.getColor().toFloatBits();
+        if (!colored || tint != color) {
+            cache.setColors(tint);
+            color = tint;
+            colored = true;
+        }
+        cache.setPosition(x, y);
+        cache.draw(batch);
+    }
+
+    public void drawCentered(Batch batch, float centerX, float y) {
+        draw(batch, centerX - getWidth() / 2f, y);
+    }
+
+    private GlyphLayout layout() {
+        if (dirty) {
+            layout.setText(font, text, Color.WHITE, 0, Align.left, false);
+            cache.setText(layout, 0, 0);
+            colored = false;
+            dirty = false;
+        }
+        return layout;
+    }
+
+    /**
+     * Combine two ints into one key.
+     */
+    public static long key(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+}
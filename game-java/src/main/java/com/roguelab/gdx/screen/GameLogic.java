@@ -0,0 +1,513 @@
+package com.roguelab.gdx.screen;
+
+import com.badlogic.gdx.Gdx;
+import com.roguelab.combat.CombatResult;
+import com.roguelab.combat.CombatSimulation;
+import com.roguelab.domain.Enemy;
+import com.roguelab.domain.Item;
+import com.roguelab.domain.Room;
+import com.roguelab.domain.RoomType;
+import com.roguelab.dungeon.Dungeon;
+import com.roguelab.dungeon.Floor;
+import com.roguelab.game.GameSession;
+import com.roguelab.game.GameSessionListener;
+import com.roguelab.game.GameState;
+import com.roguelab.gdx.audio.SoundManager.SoundEffect;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Plays a {@link GameSession} on its own thread, so combat, floor
+ * generation, autosaves and telemetry never hold up a frame.
+ *
+ * Once {@link #start} is called the logic thread is the only one that
+ * touches the session. The screen turns key presses into {@link Command}s
+ * and {@link #post}s them; they run in order. After each command the
+ * logic thread publishes an immutable {@link SessionFrame} through an
+ * atomic reference and queues the {@link Cue}s the command caused:
+ * sounds, log messages, popups and shakes. The screen draws the latest
+ * frame and drains the cues once per render, without ever waiting for a
+ * command to finish.
+ *
+ * A fight plays out one {@link CombatSimulation} turn at a time, with a
+ * frame and cues published after each turn and a short pause between
+ * turns, so the screen animates it blow by blow. Commands other than
+ * {@link Command#ABANDON} posted while a fight plays are dropped rather
+ * than run once it is over. The fight counts as playing from the moment
+ * an ACT is posted in combat, so a second press made before the first
+ * has started is dropped too.
+ */
+final class GameLogic {
+
+    /**
+     * One player input. Only {@link Kind#BUY} carries an index, into the
+     * shop's item list.
+     */
+    record Command(Kind kind, int index) {
+
+        enum Kind {
+            /** Move to the next room */
+            FORWARD,
+            /** Move back to the previous room */
+            BACK,
+            /** Attack, rest, leave the shop or take the stairs, by state */
+            ACT,
+            /** Buy a shop item */
+            BUY,
+            /** Give up the run */
+            ABANDON
+        }
+
+        static final Command FORWARD = new Command(Kind.FORWARD, -1);
+        static final Command BACK = new Command(Kind.BACK, -1);
+        static final Command ACT = new Command(Kind.ACT, -1);
+        static final Command ABANDON = new Command(Kind.ABANDON, -1);
+
+        static Command buy(int index) {
+            return new Command(Kind.BUY, index);
+        }
+    }
+
+    /**
+     * Something a command caused that the screen presents once.
+     */
+    sealed interface Cue {
+        record Sound(SoundEffect effect, float volume, float variation) implements Cue {}
+        record Message(String text) implements Cue {}
+        record Popup(PopupKind kind, int amount) implements Cue {}
+        record Shake(float duration, float intensity) implements Cue {}
+    }
+
+    enum PopupKind {
+        DAMAGE_DEALT,
+        DAMAGE_TAKEN,
+        GOLD,
+        HEALED
+    }
+
+    /** Pause between combat turns, so each can be seen. */
+    static final long TURN_DELAY_MS = 300;
+
+    private final GameSession session;
+    private final boolean resumed;
+    private final long turnDelayMillis;
+    private final ExecutorService thread;
+    private final AtomicReference<SessionFrame> frame = new AtomicReference<>();
+    private final Queue<Cue> cues = new ConcurrentLinkedQueue<>();
+    private final GameSessionListener listener = new CueListener();
+    private final AtomicBoolean fighting = new AtomicBoolean();
+
+    // Owned by the logic thread
+    private Enemy currentEnemy;
+    private boolean awaitingCombatInput;
+    private int combatTurn;
+
+    /**
+     * Take over a session and listen to it. Nothing runs until
+     * {@link #start}, so the caller may still add listeners.
+     * @param resumed whether the session was loaded rather than new
+     */
+    GameLogic(GameSession session, boolean resumed) {
+        this(session, resumed, TURN_DELAY_MS);
+    }
+
+    GameLogic(GameSession session, boolean resumed, long turnDelayMillis) {
+        this.session = session;
+        this.resumed = resumed;
+        this.turnDelayMillis = turnDelayMillis;
+        this.thread = Executors.newSingleThreadExecutor(r -> {
+            Thread logic = new Thread(r, "roguelab-logic");
+            logic.setDaemon(true);
+            return logic;
+        });
+        session.setListener(listener);
+    }
+
+    /**
+     * Start or resume the run on the logic thread. The first frame is
+     * published once that is done.
+     */
+    void start() {
+        run(() -> {
+            if (resumed) {
+                message("You return to dungeon level " + session.getDungeon().getCurrentFloorNumber() + "...");
+            } else {
+                session.start();
+                message("You enter the dungeon...");
+            }
+            checkForCombat();
+            message("Seed: " + session.getSeed());
+        });
+    }
+
+    /**
+     * Queue a command for the logic thread. Commands posted after
+     * {@link #shutdown}, or during a fight other than abandoning, are
+     * ignored.
+     */
+    void post(Command command) {
+        if (command.kind() == Command.Kind.ACT && inCombat()) {
+            // Claim the fight now, not when the task starts, so presses
+            // queued behind it cannot run once it is over
+            if (!fighting.compareAndSet(false, true)) {
+                return;
+            }
+            run(() -> {
+                try {
+                    execute(command);
+                } finally {
+                    fighting.set(false);
+                }
+            });
+        } else if (!fighting.get() || command.kind() == Command.Kind.ABANDON) {
+            run(() -> execute(command));
+        }
+    }
+
+    /**
+     * Whether the latest published frame shows the player in combat.
+     */
+    private boolean inCombat() {
+        SessionFrame latest = frame.get();
+        return latest != null && latest.state() == GameState.IN_COMBAT;
+    }
+
+    private void run(Runnable task) {
+        if (thread.isShutdown()) {
+            return;
+        }
+        thread.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // No application when the logic runs headless, as in tests
+                if (Gdx.app != null) {
+                    Gdx.app.error("GameLogic", "Command failed: " + e.getMessage());
+                }
+            }
+            publish();
+        });
+    }
+
+    private void publish() {
+        frame.set(SessionFrame.capture(session, currentEnemy, combatTurn));
+    }
+
+    /**
+     * The latest published frame, or null before the first command has run.
+     */
+    SessionFrame getFrame() {
+        return frame.get();
+    }
+
+    /**
+     * The oldest cue not yet taken, or null.
+     */
+    Cue pollCue() {
+        return cues.poll();
+    }
+
+    /**
+     * Let queued commands finish, then stop the thread.
+     */
+    void shutdown() {
+        thread.shutdown();
+    }
+
+    /**
+     * Let queued commands finish, run {@code cleanup} on the logic thread
+     * and stop it. Nothing touches the session after {@code cleanup}, so it
+     * can close what the session writes to without waiting on this thread.
+     */
+    void shutdown(Runnable cleanup) {
+        if (!thread.isShutdown()) {
+            thread.execute(() -> {
+                try {
+                    cleanup.run();
+                } catch (RuntimeException e) {
+                    if (Gdx.app != null) {
+                        Gdx.app.error("GameLogic", "Shutdown failed: " + e.getMessage());
+                    }
+                }
+            });
+        }
+        thread.shutdown();
+    }
+
+    /**
+     * Wait up to {@code millis} for the thread to stop after
+     * {@link #shutdown}.
+     * @return whether it stopped
+     */
+    boolean awaitShutdown(long millis) {
+        try {
+            return thread.awaitTermination(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // === COMMANDS ===
+
+    private void execute(Command command) {
+        if (!session.isActive()) {
+            return;
+        }
+        switch (command.kind()) {
+            case FORWARD -> {
+                if (session.getState() == GameState.EXPLORING) moveForward();
+            }
+            case BACK -> {
+                if (session.getState() == GameState.EXPLORING) moveBack();
+            }
+            case ACT -> {
+                switch (session.getState()) {
+                    case EXPLORING -> explore();
+                    case IN_COMBAT -> attack();
+                    case IN_SHOP -> leaveShop();
+                    case AT_REST -> rest();
+                    default -> { }
+                }
+            }
+            case BUY -> {
+                if (session.getState() == GameState.IN_SHOP) buy(command.index());
+            }
+            case ABANDON -> session.endRun(GameSessionListener.RunEndReason.ABANDONED);
+        }
+    }
+
+    private void moveForward() {
+        if (session.getCurrentFloor().hasNextRoom()) {
+            cues.add(new Cue.Sound(SoundEffect.FOOTSTEP, 1.0f, 0.2f));
+            session.advanceRoom();
+            message("You move deeper into the dungeon...");
+            checkForCombat();
+        }
+    }
+
+    private void moveBack() {
+        if (session.getCurrentFloor().hasPreviousRoom()) {
+            cues.add(new Cue.Sound(SoundEffect.FOOTSTEP, 1.0f, 0.2f));
+            session.returnRoom();
+            message("You retrace your steps...");
+        }
+    }
+
+    private void explore() {
+        Dungeon dungeon = session.getDungeon();
+        Floor floor = dungeon.getCurrentFloor();
+        Room room = session.getCurrentRoom();
+
+        if (room.getType() == RoomType.REST && !room.isCleared()) {
+            int healed = session.rest();
+            sound(SoundEffect.HEAL);
+            message("You rest by the fire and recover " + healed + " health.");
+            cues.add(new Cue.Popup(PopupKind.HEALED, healed));
+            session.leaveRest();
+        } else if (floor.isAtExit()) {
+            if (dungeon.canDescend()) {
+                sound(SoundEffect.STAIRS_DESCEND);
+                session.descendFloor();
+                message("You descend to level " + dungeon.getCurrentFloorNumber() + "...");
+                cues.add(new Cue.Shake(0.4f, 6f));
+                checkForCombat();
+            } else if (dungeon.isOnFinalFloor() && floor.allCombatRoomsCleared()) {
+                message("VICTORY! You have conquered the dungeon!");
+                session.endRun(GameSessionListener.RunEndReason.VICTORY);
+            } else {
+                sound(SoundEffect.ERROR);
+                message("You must clear all rooms before descending.");
+            }
+        }
+    }
+
+    private void checkForCombat() {
+        Room room = session.getCurrentRoom();
+        if (room.hasAliveEnemies() && !room.isCleared()) {
+            for (Enemy enemy : room.getEnemies()) {
+                if (enemy.isAlive()) {
+                    currentEnemy = enemy;
+                    awaitingCombatInput = true;
+                    combatTurn = 1;
+
+                    sound(enemy.getType().isBoss() ? SoundEffect.BOSS_APPEAR : SoundEffect.DOOR_OPEN);
+                    message("A " + enemy.getName() + " blocks your path!");
+                    break;
+                }
+            }
+        }
+    }
+
+    private void attack() {
+        if (!awaitingCombatInput) {
+            return;
+        }
+        fighting.set(true);
+        try {
+            CombatSimulation simulation = session.beginCombat();
+            CombatResult result;
+            try {
+                while (!simulation.isFinished()) {
+                    playTurn(simulation.step());
+                    publish();
+                    if (!simulation.isFinished()) {
+                        pause();
+                    }
+                }
+                result = session.finishCombat(simulation);
+            } catch (RuntimeException e) {
+                // Never leave the session stuck in a fight nobody can finish
+                session.abortCombat();
+                message("The fight could not be resolved. The run is over.");
+                throw e;
+            }
+            endFight(result);
+        } finally {
+            fighting.set(false);
+        }
+    }
+
+    private void playTurn(CombatSimulation.Turn turn) {
+        combatTurn = turn.turn();
+        if (turn.targetId() != null) {
+            for (Enemy enemy : session.getCurrentRoom().getEnemies()) {
+                if (enemy.getId().value().equals(turn.targetId())) {
+                    currentEnemy = enemy;
+                }
+            }
+            sound(SoundEffect.ATTACK_SWORD);
+            sound(SoundEffect.HIT_IMPACT, turn.critical() ? 1.0f : 0.8f);
+            cues.add(new Cue.Popup(PopupKind.DAMAGE_DEALT, turn.damageDealt()));
+            cues.add(new Cue.Shake(0.2f, turn.critical() ? 12f : 8f));
+        }
+        if (turn.killed() && turn.enemiesAlive() > 0) {
+            sound(SoundEffect.ENEMY_DEATH);
+            message("The " + currentEnemy.getName() + " is slain!");
+        }
+        if (turn.healed() > 0) {
+            cues.add(new Cue.Popup(PopupKind.HEALED, turn.healed()));
+        }
+        if (turn.damageTaken() > 0) {
+            sound(SoundEffect.PLAYER_HURT);
+            cues.add(new Cue.Popup(PopupKind.DAMAGE_TAKEN, turn.damageTaken()));
+        }
+    }
+
+    private void endFight(CombatResult result) {
+        message("You deal " + result.totalDamageDealt() + " damage and take "
+            + result.totalDamageTaken() + " over " + result.turnsElapsed() + " turns.");
+        if (result.isVictory()) {
+            sound(SoundEffect.ENEMY_DEATH);
+            sound(SoundEffect.GOLD_PICKUP, 0.7f);
+            message("The " + currentEnemy.getName() + " is slain! You find " + result.goldEarned() + " gold.");
+            cues.add(new Cue.Popup(PopupKind.GOLD, result.goldEarned()));
+            awaitingCombatInput = false;
+            currentEnemy = null;
+        } else if (session.getPlayer().isDead()) {
+            message("You have been slain...");
+        }
+    }
+
+    /**
+     * Hold the logic thread between turns, unless it is shutting down, in
+     * which case the fight finishes at once.
+     */
+    private void pause() {
+        if (turnDelayMillis <= 0 || thread.isShutdown()) {
+            return;
+        }
+        try {
+            Thread.sleep(turnDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void buy(int index) {
+        List<Item> items = session.getCurrentRoom().getItems();
+        if (index < 0 || index >= items.size()) {
+            return;
+        }
+        Item item = items.get(index);
+        if (session.purchaseItem(item)) {
+            sound(SoundEffect.SHOP_BUY);
+            sound(SoundEffect.ITEM_PICKUP, 0.6f);
+            message("You purchase " + item.getName() + " for " + item.getValue() + " gold.");
+        } else {
+            sound(SoundEffect.ERROR);
+            message("You cannot afford that.");
+        }
+    }
+
+    private void leaveShop() {
+        sound(SoundEffect.DOOR_OPEN);
+        session.leaveShop();
+        message("You leave the merchant.");
+    }
+
+    private void rest() {
+        Room room = session.getCurrentRoom();
+        if (!room.isCleared()) {
+            int healed = session.rest();
+            sound(SoundEffect.HEAL);
+            message("You rest and recover " + healed + " health.");
+            cues.add(new Cue.Popup(PopupKind.HEALED, healed));
+        }
+        session.leaveRest();
+    }
+
+    private void sound(SoundEffect effect) {
+        sound(effect, 1.0f);
+    }
+
+    private void sound(SoundEffect effect, float volume) {
+        cues.add(new Cue.Sound(effect, volume, effect.getVariation()));
+    }
+
+    private void message(String text) {
+        cues.add(new Cue.Message(text));
+    }
+
+    // === LISTENER ===
+
+    /**
+     * The listener that turns session callbacks into cues. Callers adding
+     * listeners of their own must keep this one attached.
+     */
+    GameSessionListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Session callbacks arrive on the logic thread.
+     */
+    private class CueListener implements GameSessionListener {
+        @Override public void onRunStarted(GameSession session) {}
+        @Override public void onFloorEntered(GameSession session, Floor floor) {
+            message("You enter dungeon level " + floor.getFloorNumber() + "...");
+        }
+        @Override public void onRoomEntered(GameSession session, Room room) {}
+        @Override public void onRoomCleared(GameSession session, Room room) {}
+        @Override public void onCombatCompleted(GameSession session, CombatResult result) {}
+        @Override public void onItemPicked(GameSession session, Item item) {
+            sound(SoundEffect.ITEM_PICKUP);
+            message("You found: " + item.getName());
+        }
+        @Override public void onItemUsed(GameSession session, Item item) {}
+        @Override public void onShopPurchase(GameSession session, Item item, int cost) {}
+        @Override public void onPlayerRested(GameSession session, int healed) {}
+        @Override public void onPlayerLevelUp(GameSession session, int newLevel) {
+            sound(SoundEffect.LEVEL_UP);
+            message("You have reached level " + newLevel + "!");
+        }
+        @Override public void onRunEnded(GameSession session, RunEndReason reason) {}
+    }
+}
@@ -36,8 +36,8 @@ public class GameOverScreen implements Screen {
     private final Viewport viewport;
 
     private final boolean victory;
-    private final int goldEarned;
-    private final int floorsReached;
+    private final String goldText;
+    private final String floorsText;
 
     private float animTimer = 0;
     private boolean soundPlayed = false;
@@ -48,6 +48,8 @@ public class GameOverScreen implements Screen {
     private static final Color GOLD_LIGHT = Assets.GOLD_LIGHT;
     private static final Color BLOOD = Assets.BLOOD_RED;
     private static final Color PARCHMENT = Assets.PARCHMENT_MID;
+    private static final Color VICTORY_BACKGROUND = new Color(0.08f, 0.1f, 0.06f, 1f);
+    private static final Color DEFEAT_BACKGROUND = new Color(0.1f, 0.05f, 0.05f, 1f);
 
     public GameOverScreen(RogueLabGame game, boolean victory, int goldEarned, int floorsReached) {
         this.game = game;
@@ -56,8 +58,8 @@ public class GameOverScreen implements Screen {
         this.sound = game.getSoundManager();
         this.layout = new GlyphLayout();
         this.victory = victory;
-        this.goldEarned = goldEarned;
-        this.floorsReached = floorsReached;
+        this.goldText = String.valueOf(goldEarned);
+        this.floorsText = String.valueOf(floorsReached);
 
         this.camera = new OrthographicCamera();
         this.viewport = new FitViewport(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, camera);
@@ -82,7 +84,7 @@ public class GameOverScreen implements Screen {
 
         handleInput();
 
-        Color bgColor = victory ? new Color(0.08f, 0.1f, 0.06f, 1f) : new Color(0.1f, 0.05f, 0.05f, 1f);
+        Color bgColor = victory ? VICTORY_BACKGROUND : DEFEAT_BACKGROUND;
         Gdx.gl.glClearColor(bgColor.r, bgColor.g, bgColor.b, 1f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
@@ -129,13 +131,13 @@ public class GameOverScreen implements Screen {
         font.setColor(PARCHMENT);
         font.draw(batch, "Floors Reached:", panelX + 70, statsY);
         font.setColor(victory ? GOLD_LIGHT : Color.WHITE);
-        font.draw(batch, String.valueOf(floorsReached), panelX + panelW - 110, statsY);
+        font.draw(batch, floorsText, panelX + panelW - 110, statsY);
 
         statsY -= 40;
         font.setColor(PARCHMENT);
         font.draw(batch, "Gold Collected:", panelX + 70, statsY);
         font.setColor(GOLD);
-        font.draw(batch, String.valueOf(goldEarned), panelX + panelW - 110, statsY);
+        font.draw(batch, goldText, panelX + panelW - 110, statsY);
 
         float promptPulse = 0.5f + MathUtils.sin(animTimer * 4) * 0.5f;
         smallFont.setColor(PARCHMENT.r, PARCHMENT.g, PARCHMENT.b, promptPulse);
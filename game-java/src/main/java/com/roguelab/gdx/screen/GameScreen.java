@@ -13,7 +13,6 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.roguelab.gdx.RogueLabGame;
-import com.roguelab.gdx.effect.DamageNumber;
 import com.roguelab.gdx.effect.EffectsManager;
 import com.roguelab.gdx.render.CombatRenderer;
 import com.roguelab.gdx.render.DungeonRenderer;
@@ -7,35 +7,56 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.roguelab.combat.CombatResult;
+import com.roguelab.core.RogueLab;
 import com.roguelab.domain.*;
-import com.roguelab.dungeon.Dungeon;
 import com.roguelab.dungeon.DungeonConfig;
 import com.roguelab.dungeon.Floor;
 import com.roguelab.game.GameSession;
 import com.roguelab.game.GameSessionListener;
 import com.roguelab.game.GameState;
+import com.roguelab.game.SaveGame;
 import com.roguelab.gdx.Assets;
 import com.roguelab.gdx.RogueLabGame;
 import com.roguelab.gdx.audio.SoundManager;
 import com.roguelab.gdx.audio.SoundManager.SoundEffect;
 import com.roguelab.gdx.effect.EffectsManager;
+import com.roguelab.gdx.render.StaticLayer;
+import com.roguelab.gdx.render.TextLabel;
 import com.roguelab.telemetry.*;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Daggerfall-style game screen with proper viewport scaling.
+ *
+ * What only changes on game events is drawn into {@link StaticLayer}s: the
+ * stone frame and panels, the backdrop of the current view and the room
+ * labels and minimap over it. The view layers are redrawn when the
+ * session's state version moves or the fight turns to another enemy, the
+ * frame only on resize. Each frame
+ * composites the layers and draws just the animated parts on top: torch
+ * flicker, the minimap highlight, combat sprites, health bars and effects.
+ *
+ * The session itself runs on a {@link GameLogic} thread. This screen only
+ * posts commands for key presses, draws the latest {@link SessionFrame}
+ * and presents the cues the logic queued, so a slow combat, floor
+ * generation or telemetry flush never delays a frame.
  */
 public class IntegratedGameScreen implements Screen {
 
@@ -43,44 +64,53 @@ public class IntegratedGameScreen implements Screen {
     private static final float VIRTUAL_WIDTH = 1280;
     private static final float VIRTUAL_HEIGHT = 720;
 
+    // Autosave location, resumed from the menu
+    public static final Path SAVE_FILE = Path.of("saves", "autosave.sav");
+
     private final RogueLabGame game;
     private final SpriteBatch batch;
     private final ShapeRenderer shapeRenderer;
-    private final GlyphLayout layout;
     private final SoundManager sound;
 
     // Viewport for proper scaling
     private final OrthographicCamera camera;
     private final Viewport viewport;
 
-    // Game objects
+    // Game logic, which owns the session once started
     private final GameSession session;
-    private final Player player;
-    private final Dungeon dungeon;
+    private final GameLogic logic;
 
     // Effects
     private final EffectsManager effects;
 
+    // Static layers, redrawn only on game events and resize
+    private final StaticLayer frameLayer;
+    private final StaticLayer sceneLayer;
+    private final StaticLayer overlayLayer;
+    // What the view layers were drawn from. Frames are also published for
+    // each combat turn, which changes nothing the layers draw.
+    private long layerVersion = -1;
+    private EntityId layerEnemy;
+
     // Screen shake
     private float shakeTime = 0;
     private float shakeIntensity = 0;
     private final Vector2 shakeOffset = new Vector2();
 
-    // Message log
-    private final List<String> messages = new ArrayList<>();
+    // Message log, each line laid out once when it is added
+    private final List<LogLine> messages = new ArrayList<>();
 
     // Animation
     private float animTimer = 0;
-    private float displayedPlayerHealth;
+    private float displayedPlayerHealth = -1;
     private float displayedEnemyHealth;
-
-    // Combat state
-    private Enemy currentEnemy = null;
-    private boolean awaitingCombatInput = false;
-    private int combatTurn = 0;
+    private EntityId displayedEnemy;
 
     // Telemetry
-    private TelemetryWriter telemetryWriter;
+    private EventBus telemetryBus;
+
+    // Autosave
+    private SaveGame saveGame;
 
     // Daggerfall UI colors
     private static final Color STONE_DARK = Assets.STONE_DARK;
@@ -90,18 +120,66 @@ public class IntegratedGameScreen implements Screen {
     private static final Color GOLD = Assets.GOLD_MID;
     private static final Color BLOOD = Assets.BLOOD_RED;
     private static final Color TORCH = Assets.TORCH_ORANGE;
+    private static final Color BACKGROUND = new Color(0.05f, 0.04f, 0.03f, 1f);
+    private static final Color DIMMED = new Color(0.3f, 0.3f, 0.3f, 1f);
+    private static final Color AFFORDABLE = new Color(0.2f, 0.4f, 0.2f, 1f);
+    private static final Color HEALTH_FULL = new Color(0.2f, 0.6f, 0.2f, 1f);
+    private static final Color DEFENSE_BLUE = new Color(0.4f, 0.6f, 0.9f, 1f);
+    private static final Color WARRIOR_COLOR = new Color(0.4f, 0.5f, 0.9f, 1f);
+    private static final Color ROGUE_COLOR = new Color(0.4f, 0.7f, 0.4f, 1f);
+    private static final Color MAGE_COLOR = new Color(0.7f, 0.4f, 0.8f, 1f);
+    private static final Color MESSAGE_DAMAGE = new Color(0.9f, 0.4f, 0.3f, 1f);
+    private static final Color MESSAGE_HEAL = new Color(0.4f, 0.8f, 0.4f, 1f);
+    private static final Color MESSAGE_VICTORY = new Color(1f, 0.9f, 0.3f, 1f);
+
+    // Render scratch state, so drawing a frame allocates nothing. The
+    // side panels are refreshed only when a new frame is published.
+    private final Color messageColor = new Color();
+    private final Map<String, TextLabel> constantLabels = new IdentityHashMap<>();
+    private SessionFrame hudFrame;
+    private final TextLabel roomStatusLabel = new TextLabel();
+    private final TextLabel enemyNameLabel = new TextLabel();
+    private final TextLabel abilityLabel = new TextLabel();
+    private final TextLabel enemyHealthLabel = new TextLabel();
+    private final TextLabel turnLabel = new TextLabel();
+    private final TextLabel goldLabel = new TextLabel();
+    private final TextLabel healLabel = new TextLabel();
+    private final TextLabel floorLabel = new TextLabel();
+    private final TextLabel classLabel = new TextLabel();
+    private final TextLabel levelLabel = new TextLabel();
+    private final TextLabel hpLabel = new TextLabel();
+    private final TextLabel attackLabel = new TextLabel();
+    private final TextLabel defenseLabel = new TextLabel();
+    private final TextLabel goldStatLabel = new TextLabel();
+    private final TextLabel itemCountLabel = new TextLabel();
+    private TextLabel[] shopLabels = newLabels(0);
 
     // UI Layout constants
     private static final int FRAME_BORDER = 12;
     private static final int SIDE_PANEL_WIDTH = 100;
     private static final int TOP_BAR_HEIGHT = 50;
     private static final int BOTTOM_BAR_HEIGHT = 130;
+    private static final int MAX_MESSAGES = 5;
+    private static final int MINIMAP_ROOM_SIZE = 28;
+    private static final int MINIMAP_SPACING = 36;
 
     public IntegratedGameScreen(RogueLabGame game, PlayerClass playerClass) {
+        this(game, new GameSession(
+            playerClass.getDisplayName(),
+            playerClass,
+            System.currentTimeMillis(),
+            Difficulty.NORMAL,
+            DungeonConfig.standard()
+        ));
+    }
+
+    /**
+     * Play a session, either new or loaded from {@link #SAVE_FILE}.
+     */
+    public IntegratedGameScreen(RogueLabGame game, GameSession session) {
         this.game = game;
         this.batch = game.getBatch();
         this.shapeRenderer = game.getShapeRenderer();
-        this.layout = new GlyphLayout();
         this.effects = new EffectsManager(game);
         this.sound = game.getSoundManager();
 
@@ -109,56 +187,64 @@ public class IntegratedGameScreen implements Screen {
         this.camera = new OrthographicCamera();
         this.viewport = new FitViewport(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, camera);
         this.viewport.apply(true);
-
-        long seed = System.currentTimeMillis();
-        this.session = new GameSession(
-            playerClass.getDisplayName(),
-            playerClass,
-            seed,
-            Difficulty.NORMAL,
-            DungeonConfig.standard()
-        );
-
-        this.player = session.getPlayer();
-        this.dungeon = session.getDungeon();
-        this.displayedPlayerHealth = player.getHealth().getCurrent();
-
-        setupTelemetry();
-        session.setListener(new GameScreenListener());
-        session.start();
-        checkForCombat();
-
-        addMessage("You enter the dungeon...");
-        addMessage("Seed: " + seed);
+        this.frameLayer = new StaticLayer(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, BACKGROUND);
+        this.sceneLayer = new StaticLayer(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, BACKGROUND);
+        this.overlayLayer = new StaticLayer(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, Color.CLEAR);
+
+        this.session = session;
+        boolean resumed = session.getState() != GameState.INITIALIZING;
+        this.logic = new GameLogic(session, resumed);
+        setupTelemetry(resumed);
+        setupAutosave();
+        logic.start();
     }
 
-    private void setupTelemetry() {
+    private void setupTelemetry(boolean resumed) {
         try {
             java.nio.file.Files.createDirectories(Path.of("runs"));
-            Path outputFile = Path.of("runs", session.getRunId() + ".jsonl");
-            telemetryWriter = new TelemetryWriter(outputFile, session.getRunId(), true);
+            String fileName = session.getRunId() + (resumed ? "_resumed" : "") + ".jsonl";
+            Path outputFile = Path.of("runs", fileName);
+            TelemetryWriter writer = new TelemetryWriter(outputFile, session.getRunId(), true);
+            telemetryBus = new EventBus()
+                .addConsumer("jsonl", EventBus.forWriter(writer))
+                .start();
             
-            SimpleTelemetrySessionListener sessionListener = new SimpleTelemetrySessionListener(telemetryWriter);
-            SimpleTelemetryCombatListener combatListener = new SimpleTelemetryCombatListener(telemetryWriter);
-            
-            session.setListener(new CompositeSessionListener(sessionListener, new GameScreenListener()));
-            session.setCombatListener(combatListener);
+            EventBusListener telemetry = new EventBusListener(telemetryBus, session.getRunId(), RogueLab.VERSION);
+            session.setListener(new CompositeSessionListener(telemetry, logic.getListener()));
+            session.setCombatListener(telemetry);
         } catch (Exception e) {
             Gdx.app.error("Telemetry", "Failed to setup telemetry: " + e.getMessage());
         }
     }
 
+    /**
+     * Checkpoints are encoded on the logic thread and written on a
+     * background thread, so room transitions never wait for the disk.
+     */
+    private void setupAutosave() {
+        try {
+            saveGame = SaveGame.autosave(SAVE_FILE, session);
+        } catch (Exception e) {
+            Gdx.app.error("Autosave", "Failed to setup autosave: " + e.getMessage());
+        }
+    }
+
     @Override
     public void show() {}
 
     @Override
     public void render(float delta) {
-        update(delta);
-        updateShake(delta);
-        updateAnimatedHealth(delta);
+        SessionFrame frame = logic.getFrame();
+        update(delta, frame);
 
-        Gdx.gl.glClearColor(0.05f, 0.04f, 0.03f, 1f);
+        Gdx.gl.glClearColor(BACKGROUND.r, BACKGROUND.g, BACKGROUND.b, 1f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        if (game.getScreen() != this) {
+            return; // Left for another screen during update; the layers are gone
+        }
+
+        updateShake(delta);
+        updateAnimatedHealth(delta, frame);
 
         // Apply viewport
         viewport.apply();
@@ -170,58 +256,80 @@ public class IntegratedGameScreen implements Screen {
         batch.setProjectionMatrix(camera.combined);
         shapeRenderer.setProjectionMatrix(camera.combined);
 
-        GameState state = session.getState();
-        switch (state) {
-            case IN_COMBAT -> renderCombat(delta);
-            case IN_SHOP -> renderShop(delta);
-            case AT_REST -> renderRest(delta);
-            default -> renderExploration(delta);
+        long version = frame == null ? -1 : frame.version();
+        EntityId enemy = frame == null || frame.enemy() == null ? null : frame.enemy().id();
+        if (version != layerVersion || !Objects.equals(enemy, layerEnemy)) {
+            layerVersion = version;
+            layerEnemy = enemy;
+            sceneLayer.invalidate();
+            overlayLayer.invalidate();
+        }
+        if (!frameLayer.isValid()) {
+            beginLayer(frameLayer);
+            drawFrameLayer();
+            endLayer(frameLayer);
+        }
+        batch.begin();
+        frameLayer.draw(batch, 0, 0, VIRTUAL_WIDTH, VIRTUAL_HEIGHT);
+        batch.end();
+        if (frame == null) {
+            return; // The logic thread is still starting the run
+        }
+
+        switch (frame.state()) {
+            case IN_COMBAT -> renderCombat(frame);
+            case IN_SHOP -> renderShop(frame);
+            case AT_REST -> renderRest(frame);
+            default -> renderExploration(frame);
         }
 
-        renderDaggerfallUI(delta);
+        renderDaggerfallUI(frame);
         
         // Reset batch projection for effects (screen space)
         batch.setProjectionMatrix(camera.combined);
         effects.render(batch, delta);
     }
 
-    private void updateAnimatedHealth(float delta) {
-        float targetPlayerHealth = player.getHealth().getCurrent();
-        displayedPlayerHealth = MathUtils.lerp(displayedPlayerHealth, targetPlayerHealth, 5f * delta);
+    private void updateAnimatedHealth(float delta, SessionFrame frame) {
+        if (frame == null) {
+            return;
+        }
+        if (displayedPlayerHealth < 0) {
+            displayedPlayerHealth = frame.health();
+        }
+        displayedPlayerHealth = MathUtils.lerp(displayedPlayerHealth, frame.health(), 5f * delta);
         
-        if (currentEnemy != null) {
-            float targetEnemyHealth = currentEnemy.getHealth().getCurrent();
-            displayedEnemyHealth = MathUtils.lerp(displayedEnemyHealth, targetEnemyHealth, 5f * delta);
+        SessionFrame.EnemyView enemy = frame.enemy();
+        if (enemy != null) {
+            if (!enemy.id().equals(displayedEnemy)) {
+                displayedEnemy = enemy.id();
+                displayedEnemyHealth = enemy.health();
+            }
+            displayedEnemyHealth = MathUtils.lerp(displayedEnemyHealth, enemy.health(), 5f * delta);
         }
     }
 
-    private void update(float delta) {
+    private void update(float delta, SessionFrame frame) {
         animTimer += delta;
         effects.update(delta);
+        presentCues();
 
-        if (!session.isActive()) {
-            boolean victory = session.getState() == GameState.RUN_ENDED && 
-                              player.isAlive() && 
-                              dungeon.isOnFinalFloor();
-            if (victory) {
+        if (frame != null && !frame.active()) {
+            if (frame.victory()) {
                 sound.play(SoundEffect.VICTORY);
             } else {
                 sound.play(SoundEffect.DEFEAT);
             }
-            game.gameOver(victory, player.getInventory().getGold(), dungeon.getCurrentFloorNumber());
+            game.gameOver(frame.victory(), frame.gold(), frame.floorNumber());
             return;
         }
 
-        GameState state = session.getState();
-        switch (state) {
-            case EXPLORING -> handleExplorationInput();
-            case IN_COMBAT -> handleCombatInput();
-            case IN_SHOP -> handleShopInput();
-            case AT_REST -> handleRestInput();
+        if (frame != null) {
+            handleInput(frame);
         }
 
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-            session.endRun(GameSessionListener.RunEndReason.ABANDONED);
+            logic.post(GameLogic.Command.ABANDON);
             game.returnToMenu();
         }
         
@@ -231,172 +339,117 @@ public class IntegratedGameScreen implements Screen {
         }
     }
 
-    // === INPUT HANDLERS ===
-
-    private void handleExplorationInput() {
-        Floor floor = dungeon.getCurrentFloor();
-
-        if (Gdx.input.isKeyJustPressed(Input.Keys.D) || Gdx.input.isKeyJustPressed(Input.Keys.RIGHT)) {
-            if (floor.hasNextRoom()) {
-                sound.playWithVariation(SoundEffect.FOOTSTEP, 1.0f, 0.2f);
-                session.advanceRoom();
-                addMessage("You move deeper into the dungeon...");
-                checkForCombat();
-            }
-        }
-
-        if (Gdx.input.isKeyJustPressed(Input.Keys.A) || Gdx.input.isKeyJustPressed(Input.Keys.LEFT)) {
-            if (floor.hasPreviousRoom()) {
-                sound.playWithVariation(SoundEffect.FOOTSTEP, 1.0f, 0.2f);
-                session.returnRoom();
-                addMessage("You retrace your steps...");
-            }
-        }
-
-        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) || Gdx.input.isKeyJustPressed(Input.Keys.ENTER)) {
-            Room room = session.getCurrentRoom();
-            RoomType type = room.getType();
-            
-            if (type == RoomType.REST && !room.isCleared()) {
-                int healed = session.rest();
-                sound.play(SoundEffect.HEAL);
-                addMessage("You rest by the fire and recover " + healed + " health.");
-                effects.addDamageNumber(VIRTUAL_WIDTH / 2f, VIRTUAL_HEIGHT / 2f, "+" + healed, Color.GREEN);
-                session.leaveRest();
-                room.markCleared();
-            } else if (floor.isAtExit()) {
-                if (dungeon.canDescend()) {
-                    sound.play(SoundEffect.STAIRS_DESCEND);
-                    session.descendFloor();
-                    addMessage("You descend to level " + dungeon.getCurrentFloorNumber() + "...");
-                    triggerShake(0.4f, 6f);
-                    checkForCombat();
-                } else if (dungeon.isOnFinalFloor() && floor.allCombatRoomsCleared()) {
-                    addMessage("VICTORY! You have conquered the dungeon!");
-                    session.endRun(GameSessionListener.RunEndReason.VICTORY);
-                } else {
-                    sound.play(SoundEffect.ERROR);
-                    addMessage("You must clear all rooms before descending.");
+    // === INPUT ===
+
+    /**
+     * Post a command for each key pressed. The state the keys are read in
+     * may be a frame behind; the logic thread ignores commands that no
+     * longer apply.
+     */
+    private void handleInput(SessionFrame frame) {
+        boolean act = Gdx.input.isKeyJustPressed(Input.Keys.SPACE) || Gdx.input.isKeyJustPressed(Input.Keys.ENTER);
+        switch (frame.state()) {
+            case EXPLORING -> {
+                if (Gdx.input.isKeyJustPressed(Input.Keys.D) || Gdx.input.isKeyJustPressed(Input.Keys.RIGHT)) {
+                    logic.post(GameLogic.Command.FORWARD);
+                }
+                if (Gdx.input.isKeyJustPressed(Input.Keys.A) || Gdx.input.isKeyJustPressed(Input.Keys.LEFT)) {
+                    logic.post(GameLogic.Command.BACK);
                 }
+                if (act) logic.post(GameLogic.Command.ACT);
             }
-        }
-    }
-
-    private void checkForCombat() {
-        Room room = session.getCurrentRoom();
-        if (room.hasAliveEnemies() && !room.isCleared()) {
-            for (Enemy enemy : room.getEnemies()) {
-                if (enemy.isAlive()) {
-                    currentEnemy = enemy;
-                    displayedEnemyHealth = enemy.getHealth().getCurrent();
-                    awaitingCombatInput = true;
-                    combatTurn = 1;
-                    
-                    if (enemy.getType().isBoss()) {
-                        sound.play(SoundEffect.BOSS_APPEAR);
-                    } else {
-                        sound.play(SoundEffect.DOOR_OPEN);
+            case IN_SHOP -> {
+                for (int i = 0; i < Math.min(frame.roomItems().size(), 9); i++) {
+                    if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_1 + i)) {
+                        logic.post(GameLogic.Command.buy(i));
                     }
-                    
-                    addMessage("A " + enemy.getName() + " blocks your path!");
-                    break;
                 }
+                if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) logic.post(GameLogic.Command.ACT);
             }
-        }
-    }
-
-    private void handleCombatInput() {
-        if (awaitingCombatInput) {
-            if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) || Gdx.input.isKeyJustPressed(Input.Keys.ENTER)) {
-                sound.play(SoundEffect.ATTACK_SWORD);
-                
-                CombatResult result = session.executeCombat();
-
-                float enemyX = VIRTUAL_WIDTH / 2f;
-                float enemyY = VIRTUAL_HEIGHT / 2f;
-
-                sound.play(SoundEffect.HIT_IMPACT, 0.8f);
-                
-                effects.addDamageNumber(enemyX + 50, enemyY, "-" + result.totalDamageDealt(), Color.WHITE);
-                effects.addSlash(enemyX, enemyY);
-
-                if (result.totalDamageTaken() > 0) {
-                    sound.play(SoundEffect.PLAYER_HURT);
-                    effects.addDamageNumber(enemyX - 50, enemyY - 50, "-" + result.totalDamageTaken(), Color.RED);
-                    addMessage("The " + currentEnemy.getName() + " strikes you for " + result.totalDamageTaken() + " damage!");
-                }
-
-                triggerShake(0.2f, 8f);
-                combatTurn++;
-
-                if (result.isVictory()) {
-                    sound.play(SoundEffect.ENEMY_DEATH);
-                    sound.play(SoundEffect.GOLD_PICKUP, 0.7f);
-                    addMessage("The " + currentEnemy.getName() + " is slain! You find " + result.goldEarned() + " gold.");
-                    effects.addDamageNumber(enemyX, enemyY + 50, "+" + result.goldEarned() + " GOLD", GOLD);
-                    awaitingCombatInput = false;
-                    currentEnemy = null;
-                } else if (player.isDead()) {
-                    addMessage("You have been slain...");
-                }
+            case IN_COMBAT, AT_REST -> {
+                if (act) logic.post(GameLogic.Command.ACT);
             }
+            default -> { }
         }
     }
 
-    private void handleShopInput() {
-        Room room = session.getCurrentRoom();
-        List<Item> items = room.getItems();
-
-        for (int i = 0; i < Math.min(items.size(), 9); i++) {
-            if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_1 + i)) {
-                Item item = items.get(i);
-                if (session.purchaseItem(item)) {
-                    sound.play(SoundEffect.SHOP_BUY);
-                    sound.play(SoundEffect.ITEM_PICKUP, 0.6f);
-                    addMessage("You purchase " + item.getName() + " for " + item.getValue() + " gold.");
-                } else {
-                    sound.play(SoundEffect.ERROR);
-                    addMessage("You cannot afford that.");
-                }
+    /**
+     * Play the sounds and show the messages, popups and shakes the logic
+     * thread queued since the last frame.
+     */
+    private void presentCues() {
+        for (GameLogic.Cue cue = logic.pollCue(); cue != null; cue = logic.pollCue()) {
+            switch (cue) {
+                case GameLogic.Cue.Sound s -> sound.playWithVariation(s.effect(), s.volume(), s.variation());
+                case GameLogic.Cue.Message m -> addMessage(m.text());
+                case GameLogic.Cue.Popup p -> showPopup(p.kind(), p.amount());
+                case GameLogic.Cue.Shake s -> triggerShake(s.duration(), s.intensity());
             }
         }
-
-        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE) || Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            sound.play(SoundEffect.DOOR_OPEN);
-            session.leaveShop();
-            addMessage("You leave the merchant.");
-        }
     }
 
-    private void handleRestInput() {
-        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) || Gdx.input.isKeyJustPressed(Input.Keys.ENTER)) {
-            Room room = session.getCurrentRoom();
-            if (!room.isCleared()) {
-                int healed = session.rest();
-                sound.play(SoundEffect.HEAL);
-                addMessage("You rest and recover " + healed + " health.");
-                effects.addDamageNumber(VIRTUAL_WIDTH / 2f, VIRTUAL_HEIGHT / 2f, "+" + healed, Color.GREEN);
-                room.markCleared();
+    private void showPopup(GameLogic.PopupKind kind, int amount) {
+        float centerX = VIRTUAL_WIDTH / 2f;
+        float centerY = VIRTUAL_HEIGHT / 2f;
+        switch (kind) {
+            case DAMAGE_DEALT -> {
+                effects.addDamageNumber(centerX + 50, centerY, "-" + amount, Color.WHITE);
+                effects.addSlash(centerX, centerY);
             }
-            session.leaveRest();
+            case DAMAGE_TAKEN -> effects.addDamageNumber(centerX - 50, centerY - 50, "-" + amount, Color.RED);
+            case GOLD -> effects.addDamageNumber(centerX, centerY + 50, "+" + amount + " GOLD", GOLD);
+            case HEALED -> effects.addDamageNumber(centerX, centerY, "+" + amount, Color.GREEN);
         }
     }
 
     // === RENDERING ===
 
-    private void renderExploration(float delta) {
+    private void renderExploration(SessionFrame frame) {
         float viewX = SIDE_PANEL_WIDTH + FRAME_BORDER;
         float viewY = BOTTOM_BAR_HEIGHT;
         float viewW = VIRTUAL_WIDTH - (SIDE_PANEL_WIDTH * 2) - (FRAME_BORDER * 2);
         float viewH = VIRTUAL_HEIGHT - TOP_BAR_HEIGHT - BOTTOM_BAR_HEIGHT;
+        float mapY = viewY + 40;
+
+        if (!sceneLayer.isValid()) {
+            beginLayer(sceneLayer);
+            drawDungeonCorridor(frame, viewX, viewY, viewW, viewH);
+            endLayer(sceneLayer);
+        }
+        if (!overlayLayer.isValid()) {
+            beginLayer(overlayLayer);
+            drawCorridorLabels(frame, viewX, viewY, viewW, viewH);
+            drawRoomMinimap(frame, VIRTUAL_WIDTH / 2f, mapY);
+            endLayer(overlayLayer);
+        }
+
+        batch.begin();
+        sceneLayer.draw(batch, viewX, viewY, viewW, viewH);
+
+        // Torchlight effect
+        float flicker = 0.9f + MathUtils.sin(animTimer * 8) * 0.1f;
+        batch.setColor(TORCH.r * flicker, TORCH.g * flicker, TORCH.b * 0.5f, 0.12f);
+        batch.draw(game.getAssets().getWhitePixel(), viewX, viewY, viewW, viewH);
+        batch.setColor(Color.WHITE);
+        batch.end();
 
-        renderDungeonCorridor(viewX, viewY, viewW, viewH, delta);
-        renderRoomMinimap(VIRTUAL_WIDTH / 2f, viewY + 40, delta);
+        // Highlight current room, under its minimap tile
+        float rx = minimapRoomX(VIRTUAL_WIDTH / 2f, frame.rooms().size(), frame.roomIndex())
+            - MINIMAP_ROOM_SIZE / 2f;
+        float ry = mapY - MINIMAP_ROOM_SIZE / 2f;
+        float pulse = 0.4f + MathUtils.sin(animTimer * 4) * 0.2f;
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(GOLD.r, GOLD.g, GOLD.b, pulse);
+        shapeRenderer.rect(rx - 4, ry - 4, MINIMAP_ROOM_SIZE + 8, MINIMAP_ROOM_SIZE + 8);
+        shapeRenderer.end();
+
+        batch.begin();
+        overlayLayer.draw(batch, viewX, viewY, viewW, viewH);
+        batch.end();
     }
 
-    private void renderDungeonCorridor(float x, float y, float w, float h, float delta) {
-        Room room = session.getCurrentRoom();
-        Floor floor = dungeon.getCurrentFloor();
+    private void drawDungeonCorridor(SessionFrame frame, float x, float y, float w, float h) {
+        SessionFrame.RoomView room = frame.room();
         
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
         
@@ -437,83 +490,74 @@ public class IntegratedGameScreen implements Screen {
         float centerY = y + h / 2f;
         
         // Room icon
-        TextureRegion roomTile = game.getAssets().getTile(getRoomTileKey(room.getType()));
+        TextureRegion roomTile = game.getAssets().getTile(getRoomTileKey(room.type()));
         float iconSize = Math.min(backW, backH) * 0.5f;
         batch.draw(roomTile, centerX - iconSize / 2f, centerY - iconSize / 2f, iconSize, iconSize);
 
-        // Torchlight effect
-        float flicker = 0.9f + MathUtils.sin(animTimer * 8) * 0.1f;
-        batch.setColor(TORCH.r * flicker, TORCH.g * flicker, TORCH.b * 0.5f, 0.12f);
-        batch.draw(game.getAssets().getWhitePixel(), x, y, w, h);
-        batch.setColor(Color.WHITE);
+        batch.end();
+    }
+
+    private void drawCorridorLabels(SessionFrame frame, float x, float y, float w, float h) {
+        SessionFrame.RoomView room = frame.room();
+        float centerX = x + w / 2f;
+
+        batch.begin();
 
         BitmapFont font = game.getAssets().getNormalFont();
         BitmapFont smallFont = game.getAssets().getSmallFont();
         
         // Room name
         font.setColor(PARCHMENT);
-        String roomName = getRoomDisplayName(room.getType());
-        layout.setText(font, roomName);
-        font.draw(batch, roomName, centerX - layout.width / 2f, y + h - 30);
+        constant(font, getRoomDisplayName(room.type())).drawCentered(batch, centerX, y + h - 30);
         
         // Room status
-        smallFont.setColor(room.isCleared() ? Color.GREEN : Color.LIGHT_GRAY);
-        String status = room.isCleared() ? "[CLEARED]" : getRoomStatus(room, floor);
-        layout.setText(smallFont, status);
-        smallFont.draw(batch, status, centerX - layout.width / 2f, y + 50);
+        smallFont.setColor(room.cleared() ? Color.GREEN : Color.LIGHT_GRAY);
+        int statusKey = (room.cleared() ? 1 : 0) | (frame.atExit() ? 2 : 0) | (frame.finalFloor() ? 4 : 0)
+            | room.enemyCount() << 3;
+        if (roomStatusLabel.update(smallFont, TextLabel.key(statusKey, room.itemCount()), room.type())) {
+            if (room.cleared()) {
+                roomStatusLabel.text().append("[CLEARED]");
+            } else {
+                appendRoomStatus(roomStatusLabel.text(), room, frame);
+            }
+        }
+        roomStatusLabel.drawCentered(batch, centerX, y + 50);
 
         batch.end();
     }
 
-    private void renderRoomMinimap(float centerX, float y, float delta) {
-        Floor floor = dungeon.getCurrentFloor();
-        List<Room> rooms = floor.getRooms();
-        int currentIdx = floor.getCurrentRoomIndex();
-        
-        int roomSize = 28;
-        int spacing = 36;
-        float mapWidth = rooms.size() * spacing;
-        float startX = centerX - mapWidth / 2f + spacing / 2f;
+    private void drawRoomMinimap(SessionFrame frame, float centerX, float y) {
+        int roomCount = frame.rooms().size();
+        int currentIdx = frame.roomIndex();
         
         // Connection lines
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
         shapeRenderer.setColor(STONE_MID);
-        for (int i = 0; i < rooms.size() - 1; i++) {
-            float x1 = startX + i * spacing;
-            float x2 = startX + (i + 1) * spacing;
+        for (int i = 0; i < roomCount - 1; i++) {
+            float x1 = minimapRoomX(centerX, roomCount, i);
+            float x2 = minimapRoomX(centerX, roomCount, i + 1);
             shapeRenderer.rectLine(x1, y, x2, y, 3);
         }
         shapeRenderer.end();
         
         batch.begin();
-        for (int i = 0; i < rooms.size(); i++) {
-            Room room = rooms.get(i);
-            float rx = startX + i * spacing - roomSize / 2f;
-            float ry = y - roomSize / 2f;
+        for (int i = 0; i < roomCount; i++) {
+            SessionFrame.RoomView room = frame.rooms().get(i);
+            float rx = minimapRoomX(centerX, roomCount, i) - MINIMAP_ROOM_SIZE / 2f;
+            float ry = y - MINIMAP_ROOM_SIZE / 2f;
             
             boolean current = (i == currentIdx);
-            boolean visited = room.isVisited();
-            
-            TextureRegion tile = game.getAssets().getTile(visited ? getRoomTileKey(room.getType()) : "fog");
+            boolean visited = room.visited();
             
-            // Highlight current room
-            if (current) {
-                batch.end();
-                float pulse = 0.4f + MathUtils.sin(animTimer * 4) * 0.2f;
-                shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-                shapeRenderer.setColor(GOLD.r, GOLD.g, GOLD.b, pulse);
-                shapeRenderer.rect(rx - 4, ry - 4, roomSize + 8, roomSize + 8);
-                shapeRenderer.end();
-                batch.begin();
-            }
+            TextureRegion tile = game.getAssets().getTile(visited ? getRoomTileKey(room.type()) : "fog");
             
-            batch.setColor(visited || current ? Color.WHITE : new Color(0.3f, 0.3f, 0.3f, 1f));
-            batch.draw(tile, rx, ry, roomSize, roomSize);
+            batch.setColor(visited || current ? Color.WHITE : DIMMED);
+            batch.draw(tile, rx, ry, MINIMAP_ROOM_SIZE, MINIMAP_ROOM_SIZE);
             
             // Cleared overlay
-            if (room.isCleared()) {
+            if (room.cleared()) {
                 batch.setColor(0.3f, 0.8f, 0.3f, 0.5f);
-                batch.draw(game.getAssets().getWhitePixel(), rx, ry, roomSize, roomSize);
+                batch.draw(game.getAssets().getWhitePixel(), rx, ry, MINIMAP_ROOM_SIZE, MINIMAP_ROOM_SIZE);
             }
             
             batch.setColor(Color.WHITE);
@@ -521,41 +565,39 @@ public class IntegratedGameScreen implements Screen {
         batch.end();
     }
 
-    private void renderCombat(float delta) {
-        if (currentEnemy == null) return;
+    private static float minimapRoomX(float centerX, int roomCount, int index) {
+        float startX = centerX - roomCount * MINIMAP_SPACING / 2f + MINIMAP_SPACING / 2f;
+        return startX + index * MINIMAP_SPACING;
+    }
+
+    private void renderCombat(SessionFrame frame) {
+        SessionFrame.EnemyView enemy = frame.enemy();
+        if (enemy == null) return;
 
         float viewX = SIDE_PANEL_WIDTH + FRAME_BORDER;
         float viewY = BOTTOM_BAR_HEIGHT;
         float viewW = VIRTUAL_WIDTH - (SIDE_PANEL_WIDTH * 2) - (FRAME_BORDER * 2);
         float viewH = VIRTUAL_HEIGHT - TOP_BAR_HEIGHT - BOTTOM_BAR_HEIGHT;
         
-        // Combat background
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(0.08f, 0.05f, 0.03f, 1f);
-        shapeRenderer.rect(viewX, viewY, viewW, viewH);
-        
-        // Boss aura
-        if (currentEnemy.getType().isBoss()) {
-            for (int i = 0; i < 5; i++) {
-                float alpha = 0.1f - i * 0.02f;
-                shapeRenderer.setColor(0.5f, 0.1f, 0.05f, alpha);
-                shapeRenderer.rect(viewX + i * 20, viewY + i * 20, viewW - i * 40, viewH - i * 40);
-            }
+        if (!sceneLayer.isValid()) {
+            beginLayer(sceneLayer);
+            drawCombatBackground(enemy, viewX, viewY, viewW, viewH);
+            endLayer(sceneLayer);
         }
-        shapeRenderer.end();
 
         batch.begin();
+        sceneLayer.draw(batch, viewX, viewY, viewW, viewH);
         
         float centerX = viewX + viewW / 2f;
         float centerY = viewY + viewH / 2f;
         
         // Enemy sprite with bob animation
         float bob = MathUtils.sin(animTimer * 2) * 8;
-        TextureRegion enemySprite = game.getAssets().getEnemySprite(currentEnemy.getType().name());
-        int spriteSize = currentEnemy.getType().isBoss() ? 180 : 140;
+        TextureRegion enemySprite = game.getAssets().getEnemySprite(enemy.type().name());
+        int spriteSize = enemy.type().isBoss() ? 180 : 140;
         
         // Flash when low health
-        float healthPct = (float) currentEnemy.getHealth().getCurrent() / currentEnemy.getHealth().getMaximum();
+        float healthPct = (float) enemy.health() / enemy.maxHealth();
         if (healthPct < 0.3f) {
             float flash = MathUtils.sin(animTimer * 10) * 0.4f + 0.6f;
             batch.setColor(1f, flash, flash, 1f);
@@ -566,54 +608,86 @@ public class IntegratedGameScreen implements Screen {
         
         // Enemy name
         BitmapFont font = game.getAssets().getNormalFont();
-        font.setColor(currentEnemy.getType().isBoss() ? TORCH : PARCHMENT);
-        String enemyName = currentEnemy.getName().toUpperCase();
-        layout.setText(font, enemyName);
-        font.draw(batch, enemyName, centerX - layout.width / 2f, viewY + viewH - 25);
+        font.setColor(enemy.type().isBoss() ? TORCH : PARCHMENT);
+        if (enemyNameLabel.update(font, enemy.type())) {
+            enemyNameLabel.text().append(enemy.name().toUpperCase());
+        }
+        enemyNameLabel.drawCentered(batch, centerX, viewY + viewH - 25);
         
         // Special ability indicator
-        SpecialAbility ability = currentEnemy.getType().getSpecialAbility();
+        SpecialAbility ability = enemy.type().getSpecialAbility();
         if (ability != SpecialAbility.NONE) {
             BitmapFont smallFont = game.getAssets().getSmallFont();
             Color abilityColor = ability.getIndicatorColor();
             smallFont.setColor(abilityColor != null ? abilityColor : GOLD);
-            String abilityText = "[" + ability.getDisplayName() + "]";
-            layout.setText(smallFont, abilityText);
-            smallFont.draw(batch, abilityText, centerX - layout.width / 2f, viewY + viewH - 50);
+            if (abilityLabel.update(smallFont, ability)) {
+                abilityLabel.text().append('[').append(ability.getDisplayName()).append(']');
+            }
+            abilityLabel.drawCentered(batch, centerX, viewY + viewH - 50);
         }
         
         batch.end();
         
         // Enemy health bar
         drawHealthBar(centerX - 120, viewY + viewH - 80, 240, 20, 
-            displayedEnemyHealth, currentEnemy.getHealth().getMaximum(),
-            currentEnemy.getType().isBoss() ? TORCH : BLOOD);
+            displayedEnemyHealth, enemy.maxHealth(),
+            enemy.type().isBoss() ? TORCH : BLOOD, enemyHealthLabel);
         
         batch.begin();
         
         // Turn counter
         BitmapFont smallFont = game.getAssets().getSmallFont();
         smallFont.setColor(STONE_LIGHT);
-        String turnText = "Turn " + combatTurn;
-        layout.setText(smallFont, turnText);
-        smallFont.draw(batch, turnText, centerX - layout.width / 2f, viewY + 40);
+        if (turnLabel.update(smallFont, frame.combatTurn())) {
+            turnLabel.text().append("Turn ").append(frame.combatTurn());
+        }
+        turnLabel.drawCentered(batch, centerX, viewY + 40);
         
         // Attack prompt
         float pulse = 0.6f + MathUtils.sin(animTimer * 5) * 0.4f;
         font.setColor(GOLD.r, GOLD.g, GOLD.b, pulse);
-        String prompt = "[ PRESS SPACE TO ATTACK ]";
-        layout.setText(font, prompt);
-        font.draw(batch, prompt, centerX - layout.width / 2f, viewY + 70);
+        constant(font, "[ PRESS SPACE TO ATTACK ]").drawCentered(batch, centerX, viewY + 70);
         
         batch.end();
     }
 
-    private void renderShop(float delta) {
+    private void drawCombatBackground(SessionFrame.EnemyView enemy, float viewX, float viewY, float viewW, float viewH) {
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(0.08f, 0.05f, 0.03f, 1f);
+        shapeRenderer.rect(viewX, viewY, viewW, viewH);
+        
+        // Boss aura
+        if (enemy.type().isBoss()) {
+            for (int i = 0; i < 5; i++) {
+                float alpha = 0.1f - i * 0.02f;
+                shapeRenderer.setColor(0.5f, 0.1f, 0.05f, alpha);
+                shapeRenderer.rect(viewX + i * 20, viewY + i * 20, viewW - i * 40, viewH - i * 40);
+            }
+        }
+        shapeRenderer.end();
+    }
+
+    /**
+     * Nothing in the shop animates, so all of it lives in the scene layer.
+     */
+    private void renderShop(SessionFrame frame) {
         float viewX = SIDE_PANEL_WIDTH + FRAME_BORDER;
         float viewY = BOTTOM_BAR_HEIGHT;
         float viewW = VIRTUAL_WIDTH - (SIDE_PANEL_WIDTH * 2) - (FRAME_BORDER * 2);
         float viewH = VIRTUAL_HEIGHT - TOP_BAR_HEIGHT - BOTTOM_BAR_HEIGHT;
 
+        if (!sceneLayer.isValid()) {
+            beginLayer(sceneLayer);
+            drawShop(frame, viewX, viewY, viewW, viewH);
+            endLayer(sceneLayer);
+        }
+
+        batch.begin();
+        sceneLayer.draw(batch, viewX, viewY, viewW, viewH);
+        batch.end();
+    }
+
+    private void drawShop(SessionFrame frame, float viewX, float viewY, float viewW, float viewH) {
         // Parchment background
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
         shapeRenderer.setColor(PARCHMENT.r * 0.7f, PARCHMENT.g * 0.7f, PARCHMENT.b * 0.7f, 1f);
@@ -636,52 +710,63 @@ public class IntegratedGameScreen implements Screen {
         // Title
         titleFont.setColor(STONE_DARK);
         titleFont.getData().setScale(2f);
-        layout.setText(titleFont, "MERCHANT");
-        titleFont.draw(batch, "MERCHANT", centerX - layout.width / 2f, viewY + viewH - 25);
+        constant(titleFont, "MERCHANT").drawCentered(batch, centerX, viewY + viewH - 25);
         titleFont.getData().setScale(3f);
 
         // Items
-        Room room = session.getCurrentRoom();
-        List<Item> items = room.getItems();
+        List<Item> items = frame.roomItems();
         
+        if (shopLabels.length < items.size() * 4) {
+            shopLabels = newLabels(items.size() * 4);
+        }
         float itemY = viewY + viewH - 90;
         for (int i = 0; i < items.size(); i++) {
             Item item = items.get(i);
-            boolean canAfford = player.getInventory().getGold() >= item.getValue();
+            boolean canAfford = frame.gold() >= item.getValue();
+            TextLabel indexLabel = shopLabels[i * 4];
+            TextLabel nameLabel = shopLabels[i * 4 + 1];
+            TextLabel statsLabel = shopLabels[i * 4 + 2];
+            TextLabel priceLabel = shopLabels[i * 4 + 3];
             
             font.setColor(canAfford ? STONE_DARK : STONE_LIGHT);
-            font.draw(batch, "[" + (i + 1) + "]", viewX + 40, itemY);
-            font.draw(batch, item.getName(), viewX + 90, itemY);
+            if (indexLabel.update(font, i)) {
+                indexLabel.text().append('[').append(i + 1).append(']');
+            }
+            indexLabel.draw(batch, viewX + 40, itemY);
+            nameLabel.set(font, item.getName());
+            nameLabel.draw(batch, viewX + 90, itemY);
             
-            smallFont.setColor(canAfford ? new Color(0.2f, 0.4f, 0.2f, 1f) : STONE_LIGHT);
-            String stats = "";
-            if (item.getAttackBonus() > 0) stats += "+" + item.getAttackBonus() + " ATK ";
-            if (item.getDefenseBonus() > 0) stats += "+" + item.getDefenseBonus() + " DEF ";
-            if (item.getHealthBonus() > 0) stats += "+" + item.getHealthBonus() + " HP";
-            smallFont.draw(batch, stats, viewX + 300, itemY);
+            smallFont.setColor(canAfford ? AFFORDABLE : STONE_LIGHT);
+            if (statsLabel.update(smallFont, item)) {
+                appendItemStats(statsLabel.text(), item);
+            }
+            statsLabel.draw(batch, viewX + 300, itemY);
             
             font.setColor(canAfford ? GOLD : BLOOD);
-            layout.setText(font, item.getValue() + " gold");
-            font.draw(batch, item.getValue() + " gold", viewX + viewW - layout.width - 50, itemY);
+            if (priceLabel.update(font, item)) {
+                priceLabel.text().append(item.getValue()).append(" gold");
+            }
+            priceLabel.draw(batch, viewX + viewW - priceLabel.getWidth() - 50, itemY);
             
             itemY -= 45;
         }
 
         // Player gold
         font.setColor(GOLD);
-        String goldText = "Your Gold: " + player.getInventory().getGold();
-        layout.setText(font, goldText);
-        font.draw(batch, goldText, centerX - layout.width / 2f, viewY + 55);
+        int gold = frame.gold();
+        if (goldLabel.update(font, gold)) {
+            goldLabel.text().append("Your Gold: ").append(gold);
+        }
+        goldLabel.drawCentered(batch, centerX, viewY + 55);
 
         // Controls
         smallFont.setColor(STONE_MID);
-        layout.setText(smallFont, "[1-9] Purchase   [SPACE] Leave");
-        smallFont.draw(batch, "[1-9] Purchase   [SPACE] Leave", centerX - layout.width / 2f, viewY + 30);
+        constant(smallFont, "[1-9] Purchase   [SPACE] Leave").drawCentered(batch, centerX, viewY + 30);
 
         batch.end();
     }
 
-    private void renderRest(float delta) {
+    private void renderRest(SessionFrame frame) {
         float viewX = SIDE_PANEL_WIDTH + FRAME_BORDER;
         float viewY = BOTTOM_BAR_HEIGHT;
         float viewW = VIRTUAL_WIDTH - (SIDE_PANEL_WIDTH * 2) - (FRAME_BORDER * 2);
@@ -715,30 +800,32 @@ public class IntegratedGameScreen implements Screen {
 
         // Title
         font.setColor(PARCHMENT);
-        layout.setText(font, "REST SITE");
-        font.draw(batch, "REST SITE", centerX - layout.width / 2f, viewY + viewH - 35);
+        constant(font, "REST SITE").drawCentered(batch, centerX, viewY + viewH - 35);
 
         // Heal amount
-        int maxHeal = (int)(player.getHealth().getMaximum() * 0.30);
-        int actualHeal = Math.min(maxHeal, player.getHealth().getMaximum() - player.getHealth().getCurrent());
+        int maxHeal = (int)(frame.maxHealth() * 0.30);
+        int actualHeal = Math.min(maxHeal, frame.maxHealth() - frame.health());
         
         smallFont.setColor(Color.GREEN);
-        String healText = "Recover " + actualHeal + " health (30%)";
-        layout.setText(smallFont, healText);
-        smallFont.draw(batch, healText, centerX - layout.width / 2f, centerY + 90);
+        if (healLabel.update(smallFont, actualHeal)) {
+            healLabel.text().append("Recover ").append(actualHeal).append(" health (30%)");
+        }
+        healLabel.drawCentered(batch, centerX, centerY + 90);
 
         // Prompt
         float pulse = 0.6f + MathUtils.sin(animTimer * 4) * 0.4f;
         font.setColor(GOLD.r, GOLD.g, GOLD.b, pulse);
-        layout.setText(font, "[ PRESS SPACE TO REST ]");
-        font.draw(batch, "[ PRESS SPACE TO REST ]", centerX - layout.width / 2f, viewY + 50);
+        constant(font, "[ PRESS SPACE TO REST ]").drawCentered(batch, centerX, viewY + 50);
 
         batch.end();
     }
 
     // === DAGGERFALL UI FRAME ===
 
-    private void renderDaggerfallUI(float delta) {
+    /**
+     * The stone frame and panels, drawn into the frame layer.
+     */
+    private void drawFrameLayer() {
         // Main stone frame
         drawStoneFrame(0, 0, VIRTUAL_WIDTH, VIRTUAL_HEIGHT, FRAME_BORDER);
         
@@ -753,82 +840,103 @@ public class IntegratedGameScreen implements Screen {
         
         // Right stats panel
         drawStonePanel(VIRTUAL_WIDTH - SIDE_PANEL_WIDTH, BOTTOM_BAR_HEIGHT, SIDE_PANEL_WIDTH - FRAME_BORDER, VIRTUAL_HEIGHT - TOP_BAR_HEIGHT - BOTTOM_BAR_HEIGHT);
+    }
+
+    private void beginLayer(StaticLayer layer) {
+        Matrix4 projection = layer.begin(batch);
+        batch.setProjectionMatrix(projection);
+        shapeRenderer.setProjectionMatrix(projection);
+    }
 
+    private void endLayer(StaticLayer layer) {
+        layer.end(batch);
+        viewport.apply();
+        batch.setProjectionMatrix(camera.combined);
+        shapeRenderer.setProjectionMatrix(camera.combined);
+    }
+
+    /**
+     * Draw the HUD over the frame layer.
+     */
+    private void renderDaggerfallUI(SessionFrame frame) {
         batch.begin();
 
         BitmapFont font = game.getAssets().getNormalFont();
         BitmapFont smallFont = game.getAssets().getSmallFont();
 
+        if (frame != hudFrame) {
+            hudFrame = frame;
+            refreshHud(frame, font, smallFont);
+        }
+
         // === TOP BAR ===
         float topY = VIRTUAL_HEIGHT - 15;
         
         font.setColor(PARCHMENT);
-        String dungeonInfo = "FLOOR " + dungeon.getCurrentFloorNumber() + " OF " + dungeon.getMaxFloors();
-        layout.setText(font, dungeonInfo);
-        font.draw(batch, dungeonInfo, VIRTUAL_WIDTH / 2f - layout.width / 2f, topY);
+        floorLabel.drawCentered(batch, VIRTUAL_WIDTH / 2f, topY);
         
         // Sound indicator
         smallFont.setColor(sound.isEnabled() ? GOLD : STONE_MID);
-        String soundText = sound.isEnabled() ? "[M] Sound ON" : "[M] Sound OFF";
-        layout.setText(smallFont, soundText);
-        smallFont.draw(batch, soundText, VIRTUAL_WIDTH - layout.width - 25, topY - 5);
+        TextLabel soundLabel = constant(smallFont, sound.isEnabled() ? "[M] Sound ON" : "[M] Sound OFF");
+        soundLabel.draw(batch, VIRTUAL_WIDTH - soundLabel.getWidth() - 25, topY - 5);
 
         // === LEFT PANEL (Character) ===
         float leftX = 22;
         float leftY = VIRTUAL_HEIGHT - TOP_BAR_HEIGHT - 20;
 
         // Portrait
-        TextureRegion portrait = game.getAssets().getPortrait(player.getPlayerClass().name());
+        TextureRegion portrait = game.getAssets().getPortrait(frame.playerClass().name());
         batch.draw(portrait, leftX, leftY - 60, 56, 56);
 
         // Class abbreviation
-        smallFont.setColor(getClassColor(player.getPlayerClass()));
-        String classAbbr = player.getPlayerClass().name().substring(0, 3);
-        layout.setText(smallFont, classAbbr);
-        smallFont.draw(batch, classAbbr, leftX + 28 - layout.width / 2f, leftY - 68);
+        smallFont.setColor(getClassColor(frame.playerClass()));
+        classLabel.drawCentered(batch, leftX + 28, leftY - 68);
 
         // Level
         smallFont.setColor(GOLD);
-        smallFont.draw(batch, "Lv" + player.getLevel(), leftX + 8, leftY - 85);
+        levelLabel.draw(batch, leftX + 8, leftY - 85);
 
         batch.end();
 
         // Vertical HP bar
         drawVerticalBar(leftX + 8, BOTTOM_BAR_HEIGHT + 20, 24, 120, 
-            displayedPlayerHealth, player.getHealth().getMaximum(), 
-            new Color(0.2f, 0.6f, 0.2f, 1f), BLOOD);
+            displayedPlayerHealth, frame.maxHealth(), 
+            HEALTH_FULL, BLOOD);
 
         batch.begin();
 
         smallFont.setColor(PARCHMENT);
-        smallFont.draw(batch, "HP", leftX + 40, BOTTOM_BAR_HEIGHT + 145);
-        smallFont.draw(batch, (int)displayedPlayerHealth + "/" + player.getHealth().getMaximum(), leftX + 40, BOTTOM_BAR_HEIGHT + 125);
+        constant(smallFont, "HP").draw(batch, leftX + 40, BOTTOM_BAR_HEIGHT + 145);
+        int shownHealth = (int) displayedPlayerHealth;
+        if (hpLabel.update(smallFont, TextLabel.key(shownHealth, frame.maxHealth()))) {
+            hpLabel.text().append(shownHealth).append('/').append(frame.maxHealth());
+        }
+        hpLabel.draw(batch, leftX + 40, BOTTOM_BAR_HEIGHT + 125);
 
         // === RIGHT PANEL (Stats) ===
         float rightX = VIRTUAL_WIDTH - SIDE_PANEL_WIDTH + 15;
         float rightY = VIRTUAL_HEIGHT - TOP_BAR_HEIGHT - 25;
 
         smallFont.setColor(PARCHMENT);
-        smallFont.draw(batch, "ATK", rightX, rightY);
+        constant(smallFont, "ATK").draw(batch, rightX, rightY);
         font.setColor(TORCH);
-        font.draw(batch, "" + player.getEffectiveAttack(), rightX, rightY - 22);
+        attackLabel.draw(batch, rightX, rightY - 22);
 
         smallFont.setColor(PARCHMENT);
-        smallFont.draw(batch, "DEF", rightX, rightY - 55);
-        font.setColor(new Color(0.4f, 0.6f, 0.9f, 1f));
-        font.draw(batch, "" + player.getEffectiveDefense(), rightX, rightY - 77);
+        constant(smallFont, "DEF").draw(batch, rightX, rightY - 55);
+        font.setColor(DEFENSE_BLUE);
+        defenseLabel.draw(batch, rightX, rightY - 77);
 
         smallFont.setColor(PARCHMENT);
-        smallFont.draw(batch, "GOLD", rightX, rightY - 110);
+        constant(smallFont, "GOLD").draw(batch, rightX, rightY - 110);
         font.setColor(GOLD);
-        font.draw(batch, "" + player.getInventory().getGold(), rightX, rightY - 132);
+        goldStatLabel.draw(batch, rightX, rightY - 132);
 
-        int itemCount = player.getInventory().getItems().size();
-        if (itemCount > 0) {
+        if (frame.itemCount() > 0) {
             smallFont.setColor(PARCHMENT);
-            smallFont.draw(batch, "ITEMS", rightX, rightY - 165);
+            constant(smallFont, "ITEMS").draw(batch, rightX, rightY - 165);
             font.setColor(PARCHMENT);
-            font.draw(batch, "" + itemCount, rightX, rightY - 187);
+            itemCountLabel.draw(batch, rightX, rightY - 187);
         }
 
         // === BOTTOM MESSAGE LOG ===
@@ -836,24 +944,45 @@ public class IntegratedGameScreen implements Screen {
         float msgY = BOTTOM_BAR_HEIGHT - 20;
         
         for (int i = messages.size() - 1; i >= 0 && msgY > 20; i--) {
-            String msg = messages.get(i);
+            LogLine line = messages.get(i);
             float alpha = 1f - (messages.size() - 1 - i) * 0.18f;
             alpha = Math.max(0.3f, alpha);
 
-            smallFont.setColor(getMessageColor(msg, alpha));
-            smallFont.draw(batch, "> " + msg, msgX, msgY);
+            Color base = line.color();
+            smallFont.setColor(messageColor.set(base.r, base.g, base.b, alpha));
+            line.label().draw(batch, msgX, msgY);
             msgY -= 20;
         }
 
         // Controls hint
         smallFont.setColor(STONE_LIGHT);
-        String controls = "[A/D] Move   [SPACE] Action   [M] Sound   [ESC] Quit";
-        layout.setText(smallFont, controls);
-        smallFont.draw(batch, controls, VIRTUAL_WIDTH / 2f - layout.width / 2f, 18);
+        constant(smallFont, "[A/D] Move   [SPACE] Action   [M] Sound   [ESC] Quit")
+            .drawCentered(batch, VIRTUAL_WIDTH / 2f, 18);
 
         batch.end();
     }
 
+    /**
+     * Re-key the panel labels for a new frame. Only labels whose value
+     * changed are laid out again.
+     */
+    private void refreshHud(SessionFrame frame, BitmapFont font, BitmapFont smallFont) {
+        if (floorLabel.update(font, TextLabel.key(frame.floorNumber(), frame.maxFloors()))) {
+            floorLabel.text().append("FLOOR ").append(frame.floorNumber())
+                .append(" OF ").append(frame.maxFloors());
+        }
+        if (classLabel.update(smallFont, frame.playerClass())) {
+            classLabel.text().append(frame.playerClass().name(), 0, 3);
+        }
+        if (levelLabel.update(smallFont, frame.level())) {
+            levelLabel.text().append("Lv").append(frame.level());
+        }
+        setNumber(attackLabel, font, frame.attack());
+        setNumber(defenseLabel, font, frame.defense());
+        setNumber(goldStatLabel, font, frame.gold());
+        setNumber(itemCountLabel, font, frame.itemCount());
+    }
+
     private void drawStoneFrame(float x, float y, float w, float h, float thickness) {
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
         
@@ -900,7 +1029,7 @@ public class IntegratedGameScreen implements Screen {
         shapeRenderer.end();
     }
 
-    private void drawHealthBar(float x, float y, float w, float h, float current, float max, Color color) {
+    private void drawHealthBar(float x, float y, float w, float h, float current, float max, Color color, TextLabel label) {
         float pct = Math.max(0, current / max);
         
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
@@ -928,12 +1057,34 @@ public class IntegratedGameScreen implements Screen {
         batch.begin();
         BitmapFont smallFont = game.getAssets().getSmallFont();
         smallFont.setColor(Color.WHITE);
-        String text = (int) current + "/" + (int) max;
-        layout.setText(smallFont, text);
-        smallFont.draw(batch, text, x + w / 2f - layout.width / 2f, y + h / 2f + layout.height / 2f);
+        if (label.update(smallFont, TextLabel.key((int) current, (int) max))) {
+            label.text().append((int) current).append('/').append((int) max);
+        }
+        label.drawCentered(batch, x + w / 2f, y + h / 2f + label.getHeight() / 2f);
         batch.end();
     }
 
+    private static void setNumber(TextLabel label, BitmapFont font, int value) {
+        if (label.update(font, value)) {
+            label.text().append(value);
+        }
+    }
+
+    /**
+     * The label for a string constant, laid out the first time it is drawn.
+     */
+    private TextLabel constant(BitmapFont font, String text) {
+        TextLabel label = constantLabels.computeIfAbsent(text, key -> new TextLabel());
+        label.set(font, text);
+        return label;
+    }
+
+    private static TextLabel[] newLabels(int count) {
+        TextLabel[] labels = new TextLabel[count];
+        Arrays.setAll(labels, i -> new TextLabel());
+        return labels;
+    }
+
     private void drawVerticalBar(float x, float y, float w, float h, float current, float max, Color fullColor, Color emptyColor) {
         float pct = Math.max(0, current / max);
         
@@ -982,39 +1133,46 @@ public class IntegratedGameScreen implements Screen {
         };
     }
 
-    private String getRoomStatus(Room room, Floor floor) {
-        if (floor.isAtExit()) {
-            return dungeon.isOnFinalFloor() ? "Exit to Victory" : "Stairs Down";
+    private void appendRoomStatus(StringBuilder out, SessionFrame.RoomView room, SessionFrame frame) {
+        if (frame.atExit()) {
+            out.append(frame.finalFloor() ? "Exit to Victory" : "Stairs Down");
+            return;
+        }
+        switch (room.type()) {
+            case COMBAT -> out.append(room.enemyCount()).append(" enemies");
+            case BOSS -> out.append("Powerful foe ahead");
+            case TREASURE -> out.append("Loot awaits");
+            case SHOP -> out.append(room.itemCount()).append(" items");
+            case REST -> out.append("Rest here");
+            default -> { }
         }
-        return switch (room.getType()) {
-            case COMBAT -> room.getEnemies().size() + " enemies";
-            case BOSS -> "Powerful foe ahead";
-            case TREASURE -> "Loot awaits";
-            case SHOP -> room.getItems().size() + " items";
-            case REST -> "Rest here";
-            default -> "";
-        };
+    }
+
+    private void appendItemStats(StringBuilder out, Item item) {
+        if (item.getAttackBonus() > 0) out.append('+').append(item.getAttackBonus()).append(" ATK ");
+        if (item.getDefenseBonus() > 0) out.append('+').append(item.getDefenseBonus()).append(" DEF ");
+        if (item.getHealthBonus() > 0) out.append('+').append(item.getHealthBonus()).append(" HP");
     }
 
     private Color getClassColor(PlayerClass pc) {
         return switch (pc) {
-            case WARRIOR -> new Color(0.4f, 0.5f, 0.9f, 1f);
-            case ROGUE -> new Color(0.4f, 0.7f, 0.4f, 1f);
-            case MAGE -> new Color(0.7f, 0.4f, 0.8f, 1f);
+            case WARRIOR -> WARRIOR_COLOR;
+            case ROGUE -> ROGUE_COLOR;
+            case MAGE -> MAGE_COLOR;
         };
     }
 
-    private Color getMessageColor(String msg, float alpha) {
+    private Color getMessageColor(String msg) {
         if (msg.contains("slain") || msg.contains("damage") || msg.contains("struck")) {
-            return new Color(0.9f, 0.4f, 0.3f, alpha);
+            return MESSAGE_DAMAGE;
         } else if (msg.contains("gold") || msg.contains("purchase")) {
-            return new Color(GOLD.r, GOLD.g, GOLD.b, alpha);
+            return GOLD;
         } else if (msg.contains("recover") || msg.contains("health")) {
-            return new Color(0.4f, 0.8f, 0.4f, alpha);
+            return MESSAGE_HEAL;
         } else if (msg.contains("VICTORY")) {
-            return new Color(1f, 0.9f, 0.3f, alpha);
+            return MESSAGE_VICTORY;
         } else {
-            return new Color(PARCHMENT.r, PARCHMENT.g, PARCHMENT.b, alpha);
+            return PARCHMENT;
         }
     }
 
@@ -1034,50 +1192,87 @@ public class IntegratedGameScreen implements Screen {
     }
 
     private void addMessage(String msg) {
-        messages.add(msg);
-        if (messages.size() > 5) messages.remove(0);
+        TextLabel label = new TextLabel();
+        label.update(game.getAssets().getSmallFont(), msg);
+        label.text().append("> ").append(msg);
+        messages.add(new LogLine(label, getMessageColor(msg)));
+        if (messages.size() > MAX_MESSAGES) messages.remove(0);
     }
 
+    private record LogLine(TextLabel label, Color color) {}
+
     @Override
     public void resize(int width, int height) {
         viewport.update(width, height, true);
+        frameLayer.resize(viewport.getScreenWidth(), viewport.getScreenHeight());
+        sceneLayer.resize(viewport.getScreenWidth(), viewport.getScreenHeight());
+        overlayLayer.resize(viewport.getScreenWidth(), viewport.getScreenHeight());
     }
 
     @Override public void pause() {}
     @Override public void resume() {}
-    @Override public void hide() {}
+
+    /**
+     * The game never shows a screen again once it has left it, and
+     * {@link com.badlogic.gdx.Game#setScreen} never disposes it, so
+     * everything the run holds is released here. The logic thread finishes
+     * any queued commands, such as abandoning the run, then drains
+     * telemetry and writes pending checkpoints as its last task, so the
+     * render thread never waits for either.
+     */
+    @Override
+    public void hide() {
+        release();
+    }
 
     @Override
     public void dispose() {
-        if (telemetryWriter != null) {
-            try { telemetryWriter.close(); } catch (Exception e) { /* ignore */ }
-        }
+        release();
     }
 
-    // === LISTENERS ===
+    private void release() {
+        disposeLayers();
+        EventBus bus = telemetryBus;
+        SaveGame save = saveGame;
+        telemetryBus = null;
+        saveGame = null;
+        logic.shutdown(() -> closeRun(bus, save));
+    }
 
-    private class GameScreenListener implements GameSessionListener {
-        @Override public void onRunStarted(GameSession session) {}
-        @Override public void onFloorEntered(GameSession session, Floor floor) { 
-            addMessage("You enter dungeon level " + floor.getFloorNumber() + "..."); 
+    /**
+     * Runs on the logic thread once it has taken its last command.
+     */
+    private static void closeRun(EventBus bus, SaveGame save) {
+        if (bus != null) {
+            bus.close();
         }
-        @Override public void onRoomEntered(GameSession session, Room room) {}
-        @Override public void onRoomCleared(GameSession session, Room room) {}
-        @Override public void onCombatCompleted(GameSession session, CombatResult result) {}
-        @Override public void onItemPicked(GameSession session, Item item) { 
-            sound.play(SoundEffect.ITEM_PICKUP);
-            addMessage("You found: " + item.getName()); 
-        }
-        @Override public void onItemUsed(GameSession session, Item item) {}
-        @Override public void onShopPurchase(GameSession session, Item item, int cost) {}
-        @Override public void onPlayerRested(GameSession session, int healed) {}
-        @Override public void onPlayerLevelUp(GameSession session, int newLevel) { 
-            sound.play(SoundEffect.LEVEL_UP);
-            addMessage("You have reached level " + newLevel + "!"); 
+        if (save != null) {
+            try {
+                save.close();
+            } catch (IOException e) {
+                Gdx.app.error("Autosave", "Failed to write final save: " + e.getMessage());
+            }
         }
-        @Override public void onRunEnded(GameSession session, RunEndReason reason) {}
     }
 
+    /**
+     * Wait up to {@code millis} for the run released by {@link #hide} to
+     * finish saving. Only for exiting: the logic thread is a daemon and
+     * would otherwise be cut off mid-write.
+     * @return whether it finished
+     */
+    public boolean awaitRelease(long millis) {
+        return logic.awaitShutdown(millis);
+    }
+
+    private void disposeLayers() {
+        frameLayer.dispose();
+        sceneLayer.dispose();
+        overlayLayer.dispose();
+    }
+
+    // === LISTENERS ===
+
     private static class CompositeSessionListener implements GameSessionListener {
         private final GameSessionListener[] listeners;
         public CompositeSessionListener(GameSessionListener... listeners) { this.listeners = listeners; }
@@ -20,6 +20,8 @@ import com.roguelab.gdx.RogueLabGame;
 import com.roguelab.gdx.audio.SoundManager;
 import com.roguelab.gdx.audio.SoundManager.SoundEffect;
 
+import java.nio.file.Files;
+
 /**
  * Main menu with proper viewport scaling.
  */
@@ -42,6 +44,9 @@ public class MenuScreen implements Screen {
     private float animTimer = 0;
     private final GlyphLayout layout;
 
+    // An autosaved run can be resumed
+    private final boolean canContinue;
+
     // Daggerfall colors
     private static final Color STONE_DARK = Assets.STONE_DARK;
     private static final Color STONE_MID = Assets.STONE_MID;
@@ -58,6 +63,7 @@ public class MenuScreen implements Screen {
         this.shapeRenderer = game.getShapeRenderer();
         this.sound = game.getSoundManager();
         this.layout = new GlyphLayout();
+        this.canContinue = Files.exists(IntegratedGameScreen.SAVE_FILE);
 
         this.camera = new OrthographicCamera();
         this.viewport = new FitViewport(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, camera);
@@ -180,7 +186,7 @@ public class MenuScreen implements Screen {
         smallFont.draw(batch, enter, centerX - layout.width / 2f, instructY - 20);
         
         smallFont.setColor(STONE_MID);
-        String esc = "[ ESC ] Quit";
+        String esc = canContinue ? "[ C ] Continue Run   [ ESC ] Quit" : "[ ESC ] Quit";
         layout.setText(smallFont, esc);
         smallFont.draw(batch, esc, centerX - layout.width / 2f, instructY - 40);
 
@@ -292,6 +298,11 @@ public class MenuScreen implements Screen {
             game.startGame(classes[selectedIndex]);
         }
 
+        if (canContinue && Gdx.input.isKeyJustPressed(Input.Keys.C)) {
+            sound.play(SoundEffect.MENU_CONFIRM);
+            game.continueGame();
+        }
+
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
             Gdx.app.exit();
         }
@@ -0,0 +1,103 @@
+package com.roguelab.gdx.screen;
+
+import com.roguelab.domain.Enemy;
+import com.roguelab.domain.EnemyType;
+import com.roguelab.domain.EntityId;
+import com.roguelab.domain.Item;
+import com.roguelab.domain.Player;
+import com.roguelab.domain.PlayerClass;
+import com.roguelab.domain.Room;
+import com.roguelab.domain.RoomType;
+import com.roguelab.dungeon.Dungeon;
+import com.roguelab.dungeon.Floor;
+import com.roguelab.game.GameSession;
+import com.roguelab.game.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable copy of everything the game screen draws, captured by the
+ * logic thread after each command. The renderer reads only frames, never
+ * the live session, so it can draw while the next command runs.
+ *
+ * Items are shared rather than copied, as {@link Item} is immutable.
+ */
+record SessionFrame(
+    long version,
+    GameState state,
+    boolean active,
+    boolean victory,
+    int floorNumber,
+    int maxFloors,
+    boolean finalFloor,
+    PlayerClass playerClass,
+    int level,
+    int health,
+    int maxHealth,
+    int attack,
+    int defense,
+    int gold,
+    int itemCount,
+    List<RoomView> rooms,
+    int roomIndex,
+    boolean atExit,
+    List<Item> roomItems,
+    EnemyView enemy,
+    int combatTurn
+) {
+
+    record RoomView(RoomType type, boolean visited, boolean cleared, int enemyCount, int itemCount) {}
+
+    record EnemyView(EntityId id, EnemyType type, String name, int health, int maxHealth) {}
+
+    /**
+     * Copy the session's current state. Call on the thread that owns it.
+     * @param enemy the enemy being fought, or null
+     */
+    static SessionFrame capture(GameSession session, Enemy enemy, int combatTurn) {
+        Player player = session.getPlayer();
+        Dungeon dungeon = session.getDungeon();
+        Floor floor = dungeon.getCurrentFloor();
+        Room current = floor.getCurrentRoom();
+
+        List<RoomView> rooms = new ArrayList<>(floor.getRoomCount());
+        for (Room room : floor.getRooms()) {
+            rooms.add(new RoomView(room.getType(), room.isVisited(), room.isCleared(),
+                room.getEnemies().size(), room.getItemCount()));
+        }
+        EnemyView enemyView = enemy == null ? null : new EnemyView(enemy.getId(), enemy.getType(),
+            enemy.getName(), enemy.getHealth().getCurrent(), enemy.getHealth().getMaximum());
+        boolean victory = session.getState() == GameState.RUN_ENDED
+            && player.isAlive()
+            && dungeon.isOnFinalFloor();
+
+        return new SessionFrame(
+            session.getStateVersion(),
+            session.getState(),
+            session.isActive(),
+            victory,
+            dungeon.getCurrentFloorNumber(),
+            dungeon.getMaxFloors(),
+            dungeon.isOnFinalFloor(),
+            player.getPlayerClass(),
+            player.getLevel(),
+            player.getHealth().getCurrent(),
+            player.getHealth().getMaximum(),
+            player.getEffectiveAttack(),
+            player.getEffectiveDefense(),
+            player.getInventory().getGold(),
+            player.getInventory().getItemCount(),
+            List.copyOf(rooms),
+            floor.getCurrentRoomIndex(),
+            floor.isAtExit(),
+            List.copyOf(current.getItems()),
+            enemyView,
+            combatTurn
+        );
+    }
+
+    RoomView room() {
+        return rooms.get(roomIndex);
+    }
+}
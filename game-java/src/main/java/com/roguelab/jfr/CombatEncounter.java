@@ -0,0 +1,40 @@
+package com.roguelab.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One combat encounter, from first turn to rewards, committed by
+ * {@code CombatEngine} when a {@code CombatSimulation} ends.
+ */
+@Name("com.roguelab.CombatEncounter")
+@Label("Combat Encounter")
+@Category({"RogueLab", "Combat"})
+@Description("A complete combat encounter in one room")
+@StackTrace(false)
+public final class CombatEncounter extends jdk.jfr.Event {
+
+    @Label("Run Id")
+    public String runId;
+
+    @Label("Room Id")
+    public String roomId;
+
+    @Label("Room Type")
+    public String roomType;
+
+    @Label("Floor")
+    public int floor;
+
+    @Label("Enemy Count")
+    public int enemyCount;
+
+    @Label("Turns")
+    public int turns;
+
+    @Label("Outcome")
+    public String outcome;
+}
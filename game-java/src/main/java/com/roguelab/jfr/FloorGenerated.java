@@ -0,0 +1,28 @@
+package com.roguelab.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Generation of one floor by {@code FloorGenerator.generateFloor}; the
+ * event duration is the generation time.
+ */
+@Name("com.roguelab.FloorGenerated")
+@Label("Floor Generated")
+@Category({"RogueLab", "Dungeon"})
+@Description("Procedural generation of a dungeon floor")
+@StackTrace(false)
+public final class FloorGenerated extends jdk.jfr.Event {
+
+    @Label("Floor Number")
+    public int floorNumber;
+
+    @Label("Room Count")
+    public int roomCount;
+
+    @Label("Boss Floor")
+    public boolean bossFloor;
+}
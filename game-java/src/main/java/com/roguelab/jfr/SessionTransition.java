@@ -0,0 +1,30 @@
+package com.roguelab.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A {@code GameSession} state change, e.g. EXPLORING to IN_COMBAT.
+ */
+@Name("com.roguelab.SessionTransition")
+@Label("Session Transition")
+@Category({"RogueLab", "Session"})
+@Description("Game session state change")
+@StackTrace(false)
+public final class SessionTransition extends jdk.jfr.Event {
+
+    @Label("Run Id")
+    public String runId;
+
+    @Label("Tick")
+    public int tick;
+
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+}
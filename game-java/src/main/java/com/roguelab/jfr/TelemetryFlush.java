@@ -0,0 +1,29 @@
+package com.roguelab.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flush of a telemetry writer or file emitter; the event duration is
+ * the flush time.
+ */
+@Name("com.roguelab.TelemetryFlush")
+@Label("Telemetry Flush")
+@Category({"RogueLab", "Telemetry"})
+@Description("Buffered telemetry written through to the output file")
+@StackTrace(false)
+public final class TelemetryFlush extends jdk.jfr.Event {
+
+    @Label("Sink")
+    @Description("Output file name")
+    public String sink;
+
+    @Label("Bytes")
+    @Description("Bytes reaching the file since the previous flush")
+    @DataAmount
+    public long bytes;
+}
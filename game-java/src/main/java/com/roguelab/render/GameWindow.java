@@ -1,6 +1,7 @@
 package com.roguelab.render;
 
 import com.roguelab.combat.*;
+import com.roguelab.core.RogueLab;
 import com.roguelab.domain.*;
 import com.roguelab.dungeon.*;
 import com.roguelab.game.*;
@@ -23,7 +24,7 @@ public class GameWindow extends JFrame {
     
     private final GameRenderer renderer;
     private GameSession session;
-    private TelemetryWriter telemetry;
+    private EventBus telemetry;
     private boolean gameStarted = false;
     
     public GameWindow() {
@@ -224,7 +225,10 @@ public class GameWindow extends JFrame {
             Path runsDir = Paths.get("runs");
             Files.createDirectories(runsDir);
             Path telemetryFile = runsDir.resolve(runId + ".jsonl");
-            telemetry = new TelemetryWriter(telemetryFile, runId, false);
+            TelemetryWriter writer = new TelemetryWriter(telemetryFile, runId, false);
+            telemetry = new EventBus()
+                .addConsumer("jsonl", EventBus.forWriter(writer))
+                .start();
         } catch (IOException e) {
             renderer.addMessage("Warning: Could not create telemetry file.");
         }
@@ -241,9 +245,9 @@ public class GameWindow extends JFrame {
         // Setup listeners
         GameSessionListener sessionListener = new RenderingSessionListener();
         if (telemetry != null) {
-            GameSessionListener telemetryListener = new SimpleTelemetrySessionListener(telemetry);
+            EventBusListener telemetryListener = new EventBusListener(telemetry, runId, RogueLab.VERSION);
             session.setListener(new CompositeListener(sessionListener, telemetryListener));
-            session.setCombatListener(new SimpleTelemetryCombatListener(telemetry));
+            session.setCombatListener(telemetryListener);
         } else {
             session.setListener(sessionListener);
         }
@@ -265,11 +269,7 @@ public class GameWindow extends JFrame {
     
     private void closeTelemetry() {
         if (telemetry != null) {
-            try {
-                telemetry.close();
-            } catch (IOException e) {
-                // Ignore
-            }
+            telemetry.close();
             telemetry = null;
         }
     }
@@ -2,26 +2,33 @@ package com.roguelab.telemetry;
 
 import com.roguelab.event.GameEvent;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Emits events to multiple underlying emitters.
  * Useful for writing to both file and console, or multiple files.
+ * 
+ * Emitters are called synchronously in order, so a slow emitter stalls
+ * the caller. Use {@link FanOutEmitter} when emitting from the game loop.
  */
 public final class CompositeEmitter implements TelemetryEmitter {
     
     private final List<TelemetryEmitter> emitters;
     
     public CompositeEmitter(TelemetryEmitter... emitters) {
-        this.emitters = new ArrayList<>(Arrays.asList(emitters));
+        this.emitters = new CopyOnWriteArrayList<>(Arrays.asList(emitters));
     }
     
     public void addEmitter(TelemetryEmitter emitter) {
         emitters.add(emitter);
     }
     
+    public boolean removeEmitter(TelemetryEmitter emitter) {
+        return emitters.remove(emitter);
+    }
+    
     @Override
     public void emit(GameEvent event) {
         for (TelemetryEmitter emitter : emitters) {
@@ -0,0 +1,44 @@
+package com.roguelab.telemetry;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Reports bytes passed to the underlying stream to {@link TelemetryMetrics},
+ * and keeps its own total for {@link com.roguelab.jfr.TelemetryFlush} events.
+ */
+final class CountingOutputStream extends FilterOutputStream {
+
+    private final TelemetryMetrics metrics;
+    private long count;
+    private long flushedCount;
+
+    CountingOutputStream(OutputStream out, TelemetryMetrics metrics) {
+        super(out);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        metrics.recordBytes(1);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        metrics.recordBytes(len);
+        count += len;
+    }
+
+    /**
+     * Bytes written since the previous call.
+     */
+    long takeFlushedBytes() {
+        long bytes = count - flushedCount;
+        flushedCount = count;
+        return bytes;
+    }
+}
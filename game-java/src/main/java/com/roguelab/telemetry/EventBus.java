@@ -0,0 +1,358 @@
+package com.roguelab.telemetry;
+
+import com.roguelab.event.GameEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process event bus: game code publishes each typed event once and
+ * every attached consumer (e.g. a camelCase and a snake_case serializer)
+ * reads the same instance.
+ *
+ * Events are passed through a pre-allocated ring of slots in the style of
+ * the LMAX Disruptor. Publishing claims a sequence, stores the event in
+ * its slot and advances the cursor; nothing else is allocated per event.
+ * Each consumer runs on its own thread, tracks its own sequence and
+ * processes everything published since it last looked as one batch.
+ *
+ * The ring applies backpressure: when it is full the publisher waits for
+ * the slowest consumer, up to the publish timeout, and then drops the
+ * event. Size the ring so that this only happens when a consumer has
+ * genuinely stalled. A slot's event is released once every consumer has
+ * passed it, so the ring does not keep old events alive. The backlog is
+ * reported as a queue depth and drops as dropped events in
+ * {@link TelemetryMetrics#global()}.
+ */
+public final class EventBus implements AutoCloseable {
+
+    public static final int DEFAULT_RING_SIZE = 8192;
+    public static final Duration DEFAULT_PUBLISH_TIMEOUT = Duration.ofMillis(50);
+    public static final Duration DEFAULT_CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final long IDLE_PARK_NANOS = 50_000;
+
+    /**
+     * Receives events from the bus on a dedicated thread.
+     */
+    public interface Consumer {
+
+        /**
+         * Handle one event.
+         * @param endOfBatch true for the last event currently available,
+         *                   a good point to flush buffered output
+         */
+        void onEvent(GameEvent event, long sequence, boolean endOfBatch);
+
+        /**
+         * Called on the consumer thread after the last event, when the bus closes.
+         */
+        default void onShutdown() {}
+    }
+
+    /**
+     * Adapt an emitter as a consumer: flushes at the end of each batch
+     * and closes the emitter on shutdown.
+     */
+    public static Consumer forEmitter(TelemetryEmitter emitter) {
+        return new Consumer() {
+            @Override
+            public void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+                emitter.emit(event);
+                if (endOfBatch) {
+                    emitter.flush();
+                }
+            }
+
+            @Override
+            public void onShutdown() {
+                emitter.close();
+            }
+        };
+    }
+
+    /**
+     * Adapt a telemetry writer as a consumer that writes the snake_case
+     * schema. Every published event is written; sample with the
+     * publishing {@link EventBusListener}. Closes the writer on shutdown.
+     */
+    public static Consumer forWriter(TelemetryWriter writer) {
+        return new WriterConsumer(writer);
+    }
+
+    /**
+     * Pre-allocated ring entry.
+     */
+    private static final class Slot {
+        GameEvent event;
+        // Consumers that have not passed this slot yet
+        final AtomicInteger pending = new AtomicInteger();
+    }
+
+    private final Slot[] ring;
+    private final int mask;
+    private final Duration publishTimeout;
+    private final Duration closeTimeout;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicLong dropped = new AtomicLong();
+    // Publishers between their running check and advancing the cursor
+    private final AtomicInteger publishing = new AtomicInteger();
+    private final List<Worker> workers = new ArrayList<>();
+    private volatile boolean running;
+    // Set once no publisher can advance the cursor any more
+    private volatile boolean closed;
+    private boolean started;
+    private String queueName;
+
+    public EventBus() {
+        this(DEFAULT_RING_SIZE);
+    }
+
+    /**
+     * @param ringSize Number of slots; must be a power of two
+     */
+    public EventBus(int ringSize) {
+        this(ringSize, DEFAULT_PUBLISH_TIMEOUT, DEFAULT_CLOSE_TIMEOUT);
+    }
+
+    /**
+     * @param ringSize Number of slots; must be a power of two
+     * @param publishTimeout Maximum time {@link #publish} waits for a free slot
+     *                       before dropping the event
+     * @param closeTimeout Maximum time {@link #close()} waits for publishers
+     *                     to finish and consumers to drain
+     */
+    public EventBus(int ringSize, Duration publishTimeout, Duration closeTimeout) {
+        if (ringSize < 2 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("ringSize must be a power of two: " + ringSize);
+        }
+        this.ring = new Slot[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = ringSize - 1;
+        this.publishTimeout = publishTimeout;
+        this.closeTimeout = closeTimeout;
+    }
+
+    /**
+     * Attach a consumer. Consumers must be attached before {@link #start()}.
+     */
+    public EventBus addConsumer(String name, Consumer consumer) {
+        if (started) {
+            throw new IllegalStateException("Consumers must be added before the bus starts");
+        }
+        workers.add(new Worker(name, consumer));
+        return this;
+    }
+
+    /**
+     * Start the consumer threads.
+     */
+    public EventBus start() {
+        if (started) {
+            throw new IllegalStateException("Event bus already started");
+        }
+        started = true;
+        running = true;
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+        queueName = TelemetryMetrics.global().registerQueue("event-bus", this::getBacklog);
+        return this;
+    }
+
+    /**
+     * Publish an event to every consumer. Safe to call from multiple threads.
+     * Never throws into game code: events that cannot be delivered are
+     * dropped and counted.
+     *
+     * @return false if the bus is not running, or the ring stayed full for
+     *         the publish timeout, and the event was dropped
+     */
+    public boolean publish(GameEvent event) {
+        // Registered before the running check, so close() waits for us
+        publishing.incrementAndGet();
+        try {
+            if (!running) {
+                drop();
+                return false;
+            }
+
+            long sequence = claim();
+            if (sequence < 0) {
+                drop();
+                return false;
+            }
+
+            Slot slot = ring[(int) (sequence & mask)];
+            slot.pending.set(workers.size());
+            slot.event = event;
+
+            // Publish in claim order so consumers never see a gap
+            while (cursor.get() != sequence - 1) {
+                Thread.onSpinWait();
+            }
+            cursor.set(sequence);
+            return true;
+        } finally {
+            publishing.decrementAndGet();
+        }
+    }
+
+    private void drop() {
+        dropped.incrementAndGet();
+        TelemetryMetrics.global().recordDropped(1);
+    }
+
+    /**
+     * Claim the next sequence once its slot is free, or return -1 if it
+     * is not free within the publish timeout. Nothing is claimed before
+     * the slot is free, so a dropped event never leaves a gap.
+     */
+    private long claim() {
+        long deadline = 0;
+        boolean waiting = false;
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+            if (next - ring.length > minimumConsumerSequence()) {
+                if (!waiting) {
+                    waiting = true;
+                    deadline = System.nanoTime() + publishTimeout.toNanos();
+                } else if (System.nanoTime() - deadline >= 0) {
+                    return -1;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } else if (claimed.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Number of events published so far.
+     */
+    public long getPublishedCount() {
+        return cursor.get() + 1;
+    }
+
+    /**
+     * Events dropped because the bus was not running or the ring stayed
+     * full for the publish timeout.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Events published but not yet processed by the slowest consumer.
+     */
+    public long getBacklog() {
+        return cursor.get() - minimumConsumerSequence();
+    }
+
+    /**
+     * Stop accepting events, let every consumer drain the ring, then
+     * call each consumer's {@link Consumer#onShutdown()}.
+     *
+     * Publishes already under way are waited for, so an event accepted
+     * by {@link #publish} is never lost. The whole close waits at most the
+     * close timeout; a consumer still busy at the deadline is left to
+     * finish on its own daemon thread.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.nanoTime() + closeTimeout.toNanos();
+        while (publishing.get() > 0 && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        closed = true;
+        TelemetryMetrics.global().unregisterQueue(queueName);
+
+        for (Worker worker : workers) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                if (remaining > 0) {
+                    worker.thread.join(TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (worker.thread.isAlive()) {
+                System.err.println("Event bus consumer " + worker.thread.getName()
+                    + " did not finish within " + closeTimeout.toMillis() + " ms");
+            }
+        }
+    }
+
+    private long minimumConsumerSequence() {
+        long min = cursor.get();
+        for (Worker worker : workers) {
+            min = Math.min(min, worker.sequence.get());
+        }
+        return min;
+    }
+
+    /**
+     * Consumer thread with its own read sequence.
+     */
+    private final class Worker implements Runnable {
+
+        private final Consumer consumer;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final Thread thread;
+
+        Worker(String name, Consumer consumer) {
+            this.consumer = consumer;
+            this.thread = new Thread(this, "roguelab-bus-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            while (true) {
+                long available = cursor.get();
+                if (available < next) {
+                    if (closed && cursor.get() < next) {
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+
+                for (long seq = next; seq <= available; seq++) {
+                    Slot slot = ring[(int) (seq & mask)];
+                    try {
+                        consumer.onEvent(slot.event, seq, seq == available);
+                    } catch (RuntimeException e) {
+                        System.err.println("Event bus consumer " + thread.getName() + " failed: " + e.getMessage());
+                    }
+                    if (slot.pending.decrementAndGet() == 0) {
+                        slot.event = null;
+                    }
+                }
+                sequence.set(available);
+                next = available + 1;
+            }
+
+            try {
+                consumer.onShutdown();
+            } catch (RuntimeException e) {
+                System.err.println("Event bus consumer " + thread.getName() + " shutdown failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package com.roguelab.telemetry;
+
+import com.roguelab.combat.*;
+import com.roguelab.domain.*;
+import com.roguelab.dungeon.Floor;
+import com.roguelab.event.*;
+import com.roguelab.game.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Session and combat listener that publishes typed {@link GameEvent}s to an
+ * {@link EventBus}. Each event is built once, however many consumers
+ * (serializers, emitters) are attached to the bus.
+ *
+ * This is the game's telemetry listener: attach it as both the session
+ * listener and the combat listener, and attach {@link EventBus#forWriter}
+ * to write the snake_case files the analytics pipeline reads.
+ *
+ * The {@link TelemetrySampler} is checked before an event is built, so
+ * events it drops are never allocated or published. In summary-only mode
+ * hits are counted here and published as the COMBAT_ENDED event's
+ * {@link CombatEndedEvent.DamageSummary}.
+ */
+public final class EventBusListener implements GameSessionListener, CombatEventListener {
+
+    private final EventBus bus;
+    private final UUID runId;
+    private final String gameVersion;
+    private final TelemetrySampler sampler;
+    private final boolean runSampled;
+    private final long runKey;
+    private long sequence;
+
+    // Enemy ID -> type, rebuilt for each combat
+    private final Map<String, EnemyType> enemyTypes = new HashMap<>();
+
+    // Per-combat hit aggregates for summary-only mode
+    private int playerHits;
+    private int playerCrits;
+    private int maxPlayerHit;
+    private int enemyHits;
+    private int enemyCrits;
+    private int maxEnemyHit;
+
+    public EventBusListener(EventBus bus, UUID runId, String gameVersion) {
+        this(bus, runId, gameVersion, TelemetrySampler.ALL);
+    }
+
+    public EventBusListener(EventBus bus, UUID runId, String gameVersion, TelemetrySampler sampler) {
+        this(bus, runId, runId.toString(), gameVersion, sampler);
+    }
+
+    /**
+     * Listener for a session's run ID. Run IDs that are not UUIDs (such as
+     * {@code run_<millis>}) are mapped to a name-based UUID.
+     */
+    public EventBusListener(EventBus bus, String runId, String gameVersion) {
+        this(bus, runId, gameVersion, TelemetrySampler.ALL);
+    }
+
+    /**
+     * Listener for a session's run ID that publishes only the events
+     * {@code sampler} keeps. Runs are sampled by the run ID as given.
+     */
+    public EventBusListener(EventBus bus, String runId, String gameVersion, TelemetrySampler sampler) {
+        this(bus, toUuid(runId), runId, gameVersion, sampler);
+    }
+
+    private EventBusListener(EventBus bus, UUID runId, String sampledId, String gameVersion,
+                             TelemetrySampler sampler) {
+        this.bus = bus;
+        this.runId = runId;
+        this.gameVersion = gameVersion;
+        this.sampler = sampler;
+        this.runSampled = sampler.keepsRun(sampledId);
+        this.runKey = TelemetrySampler.runKey(sampledId);
+    }
+
+    public UUID getRunId() {
+        return runId;
+    }
+
+    // === SESSION EVENTS ===
+
+    @Override
+    public void onRunStarted(GameSession session) {
+        if (!isEnabled(EventType.RUN_STARTED)) return;
+
+        Player player = session.getPlayer();
+        bus.publish(new RunStartedEvent(
+            runId, session.getSeed(), gameVersion,
+            player.getPlayerClass(), session.getDifficulty(), player.getName(),
+            player.getHealth().getMaximum()
+        ));
+    }
+
+    @Override
+    public void onFloorEntered(GameSession session, Floor floor) {
+        if (!isEnabled(EventType.FLOOR_ENTERED)) return;
+
+        List<RoomType> roomTypes = new ArrayList<>(floor.getRoomCount());
+        for (Room room : floor.getRooms()) {
+            roomTypes.add(room.getType());
+        }
+        bus.publish(new FloorEnteredEvent(
+            runId, session.getCurrentTick(), floor.getFloorNumber(), floor.getRoomCount(),
+            floor.hasBoss(), roomTypes
+        ));
+    }
+
+    @Override
+    public void onRoomEntered(GameSession session, Room room) {
+        if (!isEnabled(EventType.ROOM_ENTERED)) return;
+
+        List<EnemyInfo> enemies = new ArrayList<>(room.getEnemies().size());
+        for (Enemy enemy : room.getEnemies()) {
+            enemies.add(EnemyInfo.from(enemy));
+        }
+        List<ItemInfo> items = new ArrayList<>(room.getItems().size());
+        for (Item item : room.getItems()) {
+            items.add(ItemInfo.from(item));
+        }
+
+        bus.publish(new RoomEnteredEvent(
+            runId, session.getCurrentTick(), session.getCurrentFloorNumber(),
+            room.getId().value(), room.getType(), room.getEnemies().size(),
+            room.getType() == RoomType.TREASURE, session.getPlayer().getHealth().getPercent(),
+            session.getCurrentFloor().getCurrentRoomIndex(), room.getItems().size(), enemies, items
+        ));
+    }
+
+    @Override
+    public void onRoomCleared(GameSession session, Room room) {
+        if (!isEnabled(EventType.ROOM_CLEARED)) return;
+
+        bus.publish(new RoomClearedEvent(
+            runId, session.getCurrentTick(), room.getId().value(), room.getType(),
+            session.getCurrentFloorNumber(), room.getEnemies().size()
+        ));
+    }
+
+    @Override
+    public void onCombatCompleted(GameSession session, CombatResult result) {
+        // Combat events are published by the combat callbacks
+    }
+
+    @Override
+    public void onItemPicked(GameSession session, Item item) {
+        if (!isEnabled(EventType.ITEM_PICKED)) return;
+
+        bus.publish(new ItemPickedEvent(
+            runId, session.getCurrentTick(), item.getId().value(), item.getType(),
+            item.getName(), item.getRarity(), session.getCurrentFloorNumber(),
+            ItemPickedEvent.ItemSource.GROUND, item.getStats(),
+            item.getValue(), session.getCurrentRoom().getId().value()
+        ));
+    }
+
+    @Override
+    public void onItemUsed(GameSession session, Item item) {
+        if (!isEnabled(EventType.ITEM_USED)) return;
+
+        bus.publish(new ItemUsedEvent(
+            runId, session.getCurrentTick(), item.getId().value(), item.getName(), item.getType()
+        ));
+    }
+
+    @Override
+    public void onShopPurchase(GameSession session, Item item, int cost) {
+        if (!isEnabled(EventType.SHOP_PURCHASED)) return;
+
+        int goldAfter = session.getPlayer().getInventory().getGold();
+        bus.publish(new ShopPurchasedEvent(
+            runId, session.getCurrentTick(), item.getId().value(), item.getName(),
+            item.getType(), cost, goldAfter + cost, goldAfter, session.getCurrentFloorNumber(),
+            item.getRarity()
+        ));
+    }
+
+    @Override
+    public void onPlayerRested(GameSession session, int healAmount) {
+        if (!isEnabled(EventType.PLAYER_HEALED)) return;
+
+        Player player = session.getPlayer();
+        int after = player.getHealth().getCurrent();
+        bus.publish(new PlayerHealedEvent(
+            runId, session.getCurrentTick(), PlayerHealedEvent.HealSource.REST_SITE,
+            session.getCurrentRoom().getId().value(), healAmount, after - healAmount, after,
+            player.getHealth().getMaximum(), 0
+        ));
+    }
+
+    @Override
+    public void onPlayerLevelUp(GameSession session, int newLevel) {
+        if (!isEnabled(EventType.PLAYER_LEVEL_UP)) return;
+
+        Player player = session.getPlayer();
+        bus.publish(new PlayerLevelUpEvent(
+            runId, session.getCurrentTick(), newLevel - 1, newLevel, player.getExperience(),
+            player.getHealth().getMaximum(), player.getCombat().getTotalAttack(),
+            player.getCombat().getTotalDefense()
+        ));
+    }
+
+    @Override
+    public void onRunEnded(GameSession session, RunEndReason reason) {
+        if (!isEnabled(EventType.RUN_ENDED)) return;
+
+        Player player = session.getPlayer();
+        RunStatistics stats = session.getStatistics();
+        long seconds = session.getEndTime()
+            .map(end -> Duration.between(session.getStartTime(), end).toSeconds())
+            .orElse(0L);
+
+        bus.publish(new RunEndedEvent(
+            runId, session.getCurrentTick(), toOutcome(reason), session.getCurrentFloorNumber(),
+            0, // no scoring system yet
+            player.getInventory().getGold(), stats.getItemsCollected(),
+            stats.getEnemiesKilled(), seconds, reason.name(), stats.getBossesKilled(),
+            stats.getGoldEarned(), stats.getGoldSpent(), stats.getTotalDamageDealt(),
+            stats.getTotalDamageTaken(), stats.getRoomsVisited(), stats.getRoomsCleared(),
+            player.getLevel(), player.isAlive()
+        ));
+    }
+
+    // === COMBAT EVENTS ===
+
+    @Override
+    public void onCombatStarted(CombatContext ctx) {
+        playerHits = playerCrits = maxPlayerHit = 0;
+        enemyHits = enemyCrits = maxEnemyHit = 0;
+        enemyTypes.clear();
+        if (!runSampled) return;
+
+        // Filled even when COMBAT_STARTED is sampled out, as hits look enemies up here
+        List<Enemy> roomEnemies = ctx.getRoom().getEnemies();
+        for (int i = 0; i < roomEnemies.size(); i++) {
+            Enemy enemy = roomEnemies.get(i);
+            enemyTypes.put(enemy.getId().value(), enemy.getType());
+        }
+        if (!isEnabled(EventType.COMBAT_STARTED)) return;
+
+        List<EnemyInfo> enemies = new ArrayList<>(roomEnemies.size());
+        for (int i = 0; i < roomEnemies.size(); i++) {
+            enemies.add(EnemyInfo.from(roomEnemies.get(i)));
+        }
+        Player player = ctx.getPlayer();
+        bus.publish(new CombatStartedEvent(
+            runId, ctx.getCurrentTick(), ctx.getRoom().getId().value(), enemies,
+            player.getHealth().getCurrent(), player.getHealth().getMaximum()
+        ));
+    }
+
+    @Override
+    public void onDamageDealt(CombatContext ctx, AttackResult result, boolean playerAttack) {
+        if (sampler.isSummaryOnly()) {
+            recordHit(result, playerAttack);
+        }
+        if (!isEnabled(EventType.DAMAGE_DEALT)) return;
+
+        DamageDealtEvent.EntityType player = DamageDealtEvent.EntityType.PLAYER;
+        DamageDealtEvent.EntityType enemy = DamageDealtEvent.EntityType.ENEMY;
+        String enemyId = playerAttack ? result.defenderId() : result.attackerId();
+        bus.publish(new DamageDealtEvent(
+            runId, ctx.getCurrentTick(),
+            playerAttack ? "player" : result.attackerId(), playerAttack ? player : enemy,
+            playerAttack ? result.defenderId() : "player", playerAttack ? enemy : player,
+            result.baseDamage(), result.finalDamage(), result.damageType(), result.critical(),
+            result.healthBefore(), result.healthAfter(), result.killed(),
+            getEnemyType(ctx, enemyId)
+        ));
+    }
+
+    @Override
+    public void onCombatEnded(CombatContext ctx, CombatResult result) {
+        Room room = ctx.getRoom();
+        Player player = ctx.getPlayer();
+        int playerHealth = player.getHealth().getCurrent();
+
+        if (isEnabled(EventType.COMBAT_ENDED)) {
+            CombatEndedEvent.DamageSummary summary = sampler.isSummaryOnly()
+                ? new CombatEndedEvent.DamageSummary(
+                    playerHits, playerCrits, maxPlayerHit, enemyHits, enemyCrits, maxEnemyHit)
+                : null;
+            bus.publish(new CombatEndedEvent(
+                runId, ctx.getCurrentTick(), room.getId().value(), toOutcome(result.outcome()),
+                result.turnsElapsed(), result.totalDamageDealt(), result.totalDamageTaken(),
+                playerHealth, result.goldEarned(), result.experienceGained(),
+                result.enemiesKilled(), player.getHealth().getMaximum(), summary
+            ));
+        }
+
+        if (result.isVictory() && room.getType() == RoomType.BOSS && isEnabled(EventType.BOSS_DEFEATED)) {
+            Enemy boss = room.getEnemies().stream()
+                .filter(Enemy::isBoss)
+                .findFirst()
+                .orElse(null);
+            if (boss != null) {
+                bus.publish(new BossDefeatedEvent(
+                    runId, ctx.getCurrentTick(), boss.getId().value(), boss.getType().name(),
+                    player.getCurrentFloor(), result.turnsElapsed(),
+                    result.totalDamageDealt(), result.totalDamageTaken(), playerHealth,
+                    result.goldEarned(), null
+                ));
+            }
+        }
+    }
+
+    @Override
+    public void onPlayerDied(CombatContext ctx) {
+        if (!isEnabled(EventType.PLAYER_DIED)) return;
+
+        Player player = ctx.getPlayer();
+        Enemy killer = ctx.getLastDamageSource();
+
+        List<String> items = new ArrayList<>();
+        for (Item item : player.getInventory().getItems()) {
+            items.add(item.getId().value());
+        }
+
+        bus.publish(new PlayerDiedEvent(
+            runId, ctx.getCurrentTick(),
+            killer != null ? PlayerDiedEvent.CauseType.ENEMY : PlayerDiedEvent.CauseType.UNKNOWN,
+            killer != null ? killer.getId().value() : "unknown",
+            killer != null ? killer.getType().name() : "Unknown",
+            killer != null ? killer.getType().getDamageType() : DamageType.PHYSICAL,
+            killer != null ? ctx.getLastDamageAmount() : 0, player.getCurrentFloor(), items,
+            player.getInventory().getGold(), player.getEnemiesKilled(), ctx.getTotalDamageTaken()
+        ));
+    }
+
+    /**
+     * Check if the next event of this type should be published.
+     * Each call consumes one sampling decision.
+     */
+    private boolean isEnabled(EventType type) {
+        return runSampled && sampler.sample(type.name(), runKey, sequence++);
+    }
+
+    private void recordHit(AttackResult result, boolean playerAttack) {
+        if (playerAttack) {
+            playerHits++;
+            if (result.critical()) playerCrits++;
+            maxPlayerHit = Math.max(maxPlayerHit, result.finalDamage());
+        } else {
+            enemyHits++;
+            if (result.critical()) enemyCrits++;
+            maxEnemyHit = Math.max(maxEnemyHit, result.finalDamage());
+        }
+    }
+
+    /**
+     * Type of an enemy in this combat. Enemies that joined after combat
+     * started are looked up in the room once and remembered.
+     */
+    private EnemyType getEnemyType(CombatContext ctx, String enemyId) {
+        EnemyType type = enemyTypes.get(enemyId);
+        if (type == null) {
+            List<Enemy> enemies = ctx.getRoom().getEnemies();
+            for (int i = 0; i < enemies.size(); i++) {
+                Enemy enemy = enemies.get(i);
+                if (enemy.getId().value().equals(enemyId)) {
+                    type = enemy.getType();
+                    enemyTypes.put(enemyId, type);
+                    break;
+                }
+            }
+        }
+        return type;
+    }
+
+    private static UUID toUuid(String runId) {
+        try {
+            return UUID.fromString(runId);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(runId.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static RunEndedEvent.Outcome toOutcome(RunEndReason reason) {
+        return switch (reason) {
+            case VICTORY -> RunEndedEvent.Outcome.VICTORY;
+            case PLAYER_DEATH -> RunEndedEvent.Outcome.DEFEAT;
+            default -> RunEndedEvent.Outcome.ABANDONED;
+        };
+    }
+
+    private static CombatEndedEvent.CombatOutcome toOutcome(CombatResult.Outcome outcome) {
+        return switch (outcome) {
+            case VICTORY -> CombatEndedEvent.CombatOutcome.VICTORY;
+            case DEFEAT -> CombatEndedEvent.CombatOutcome.DEFEAT;
+            case FLED -> CombatEndedEvent.CombatOutcome.FLED;
+            case INTERRUPTED -> CombatEndedEvent.CombatOutcome.INTERRUPTED;
+        };
+    }
+}
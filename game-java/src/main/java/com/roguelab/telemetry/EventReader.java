@@ -0,0 +1,356 @@
+package com.roguelab.telemetry;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.roguelab.event.EventType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming reader for telemetry JSONL files, in either key style.
+ *
+ * Only the envelope (type, version, timestamp, run ID, tick) is decoded;
+ * the payload is kept as raw bytes in a {@link RawEvent} and decoded
+ * field by field on demand. When a type filter is set, other events are
+ * dropped as soon as their type has been read, before their payload is
+ * scanned or copied.
+ *
+ * Events written with an older schema version are upcast to the newest
+ * version reachable through the registered {@link EventUpcaster}s.
+ *
+ * Blank lines are ignored; lines that are truncated (e.g. the last line
+ * after a crash) or not JSON objects are skipped and counted.
+ *
+ * Usage:
+ * <pre>
+ * try (EventReader reader = EventReader.builder()
+ *         .types(EventType.DAMAGE_DEALT)
+ *         .open(file)) {
+ *     RawEvent event;
+ *     while ((event = reader.next()) != null) {
+ *         total += event.getInt("finalDamage", 0);
+ *     }
+ * }
+ * </pre>
+ */
+public final class EventReader implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final Map<String, EventType> KNOWN_TYPES = new HashMap<>();
+
+    static {
+        for (EventType type : EventType.values()) {
+            KNOWN_TYPES.put(type.name(), type);
+        }
+    }
+
+    private record Step(String toVersion, EventUpcaster upcaster) {}
+
+    /**
+     * The upcasters that take one (type, version) to its newest reachable version.
+     */
+    private record Chain(List<EventUpcaster> upcasters, String version) {}
+
+    private final InputStream in;
+    private final Set<String> types;
+    private final Map<String, Map<String, Step>> steps;
+    private final Map<String, Chain> chains = new HashMap<>();
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private long eventsRead;
+    private long eventsFiltered;
+    private long linesSkipped;
+
+    private EventReader(Builder builder, InputStream in) {
+        this.in = in;
+        this.types = builder.types.isEmpty() ? null : Set.copyOf(builder.types);
+        this.steps = new HashMap<>();
+        builder.steps.forEach((type, typeSteps) -> steps.put(type, Map.copyOf(typeSteps)));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Open a file for reading every event, without upcasting.
+     */
+    public static EventReader open(Path file) throws IOException {
+        return builder().open(file);
+    }
+
+    /**
+     * Read the next event that passes the type filter.
+     *
+     * @return The event, or null at end of input
+     * @throws TelemetryException if the input cannot be read
+     */
+    public RawEvent next() {
+        try {
+            while (true) {
+                int newline = indexOf('\n');
+                if (newline < 0) {
+                    if (!endOfInput) {
+                        fill();
+                        continue;
+                    }
+                    if (position == limit) {
+                        return null;
+                    }
+                    newline = limit;
+                }
+                int start = position;
+                position = Math.min(newline + 1, limit);
+                int end = newline;
+                if (end > start && buffer[end - 1] == '\r') {
+                    end--;
+                }
+                if (end > start) {
+                    RawEvent event = decode(start, end - start);
+                    if (event != null) {
+                        eventsRead++;
+                        return event;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new TelemetryException("Failed to read telemetry", e);
+        }
+    }
+
+    /**
+     * The remaining events as a sequential stream. Closing the stream does not
+     * close the reader.
+     */
+    public Stream<RawEvent> stream() {
+        Spliterator<RawEvent> spliterator = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super RawEvent> action) {
+                RawEvent event = next();
+                if (event == null) {
+                    return false;
+                }
+                action.accept(event);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Events returned so far.
+     */
+    public long getEventsRead() {
+        return eventsRead;
+    }
+
+    /**
+     * Events dropped by the type filter so far.
+     */
+    public long getEventsFiltered() {
+        return eventsFiltered;
+    }
+
+    /**
+     * Malformed lines skipped so far.
+     */
+    public long getLinesSkipped() {
+        return linesSkipped;
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new TelemetryException("Failed to close telemetry input", e);
+        }
+    }
+
+    // === BUFFERING ===
+
+    private int indexOf(int b) {
+        for (int i = position; i < limit; i++) {
+            if (buffer[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read more input, keeping the unfinished line at the start of the buffer.
+     */
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    // === DECODING ===
+
+    /**
+     * Decode one line's envelope.
+     *
+     * @return The event, or null if it was filtered out or malformed
+     */
+    private RawEvent decode(int offset, int length) throws IOException {
+        String eventType = null;
+        String version = null;
+        String timestamp = null;
+        String runId = null;
+        long tick = 0;
+        EventSerializer.KeyStyle keyStyle = EventSerializer.KeyStyle.CAMEL_CASE;
+        int payloadStart = -1;
+        int payloadEnd = -1;
+
+        try (JsonParser parser = FACTORY.createParser(buffer, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                linesSkipped++;
+                return null;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                token = parser.nextToken();
+                switch (name) {
+                    case "eventType", "event_type" -> {
+                        eventType = parser.getText();
+                        if (name.equals("event_type")) {
+                            keyStyle = EventSerializer.KeyStyle.SNAKE_CASE;
+                        }
+                        if (types != null && !types.contains(eventType)) {
+                            eventsFiltered++;
+                            return null;
+                        }
+                    }
+                    case "eventVersion", "event_version" -> version = parser.getText();
+                    case "timestamp" -> timestamp = parser.getText();
+                    case "runId", "run_id" -> runId = parser.getText();
+                    case "tick" -> tick = parser.getValueAsLong();
+                    case "payload" -> {
+                        if (token == JsonToken.START_OBJECT) {
+                            payloadStart = offset + (int) parser.currentTokenLocation().getByteOffset();
+                            parser.skipChildren();
+                            payloadEnd = offset + (int) parser.currentTokenLocation().getByteOffset() + 1;
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (token != JsonToken.END_OBJECT || eventType == null) {
+                linesSkipped++;
+                return null;
+            }
+        } catch (JsonProcessingException e) {
+            // Truncated or corrupt line, e.g. from a crash mid-write
+            linesSkipped++;
+            return null;
+        }
+
+        byte[] payload = payloadStart < 0
+            ? new byte[] {'{', '}'}
+            : Arrays.copyOfRange(buffer, payloadStart, payloadEnd);
+        Chain chain = chain(eventType, version);
+        return new RawEvent(eventType, KNOWN_TYPES.get(eventType), version, chain.version(),
+            timestamp, runId, tick, keyStyle, payload, chain.upcasters());
+    }
+
+    private Chain chain(String eventType, String version) {
+        Map<String, Step> typeSteps = steps.get(eventType);
+        if (typeSteps == null || version == null) {
+            return new Chain(List.of(), version);
+        }
+        return chains.computeIfAbsent(eventType + ':' + version, k -> {
+            List<EventUpcaster> upcasters = new ArrayList<>();
+            String current = version;
+            Step step;
+            while ((step = typeSteps.get(current)) != null) {
+                if (upcasters.size() == typeSteps.size()) {
+                    throw new TelemetryException("Upcasters for " + eventType + " form a cycle at " + current);
+                }
+                upcasters.add(step.upcaster());
+                current = step.toVersion();
+            }
+            return new Chain(List.copyOf(upcasters), current);
+        });
+    }
+
+    public static final class Builder {
+        private final Set<String> types = new HashSet<>();
+        private final Map<String, Map<String, Step>> steps = new HashMap<>();
+
+        private Builder() {}
+
+        /**
+         * Only return events of these types. Without a filter every event is returned.
+         */
+        public Builder types(EventType... types) {
+            for (EventType type : types) {
+                this.types.add(type.name());
+            }
+            return this;
+        }
+
+        /**
+         * Only return events of these types, including ones outside {@link EventType}.
+         */
+        public Builder types(String... types) {
+            this.types.addAll(List.of(types));
+            return this;
+        }
+
+        /**
+         * Register an upcaster from one schema version of a type to the next.
+         */
+        public Builder upcaster(EventType type, String fromVersion, String toVersion, EventUpcaster upcaster) {
+            Objects.requireNonNull(upcaster, "upcaster cannot be null");
+            if (fromVersion.equals(toVersion)) {
+                throw new IllegalArgumentException("Upcaster must change the version: " + fromVersion);
+            }
+            Map<String, Step> typeSteps = steps.computeIfAbsent(type.name(), k -> new HashMap<>());
+            if (typeSteps.putIfAbsent(fromVersion, new Step(toVersion, upcaster)) != null) {
+                throw new IllegalArgumentException("Duplicate upcaster for " + type + " " + fromVersion);
+            }
+            return this;
+        }
+
+        public EventReader open(Path file) throws IOException {
+            return open(Files.newInputStream(file));
+        }
+
+        /**
+         * Read from a stream, which is closed with the reader.
+         */
+        public EventReader open(InputStream in) {
+            return new EventReader(this, in);
+        }
+    }
+}
@@ -3,12 +3,18 @@ package com.roguelab.telemetry;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.roguelab.domain.EnemyType;
 import com.roguelab.event.*;
 
-import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Serializes GameEvent objects to JSON format matching the event schema.
@@ -22,16 +28,70 @@ import java.time.format.DateTimeFormatter;
  *   "tick": 42,
  *   "payload": { ... event-specific fields ... }
  * }
+ * 
+ * With {@link KeyStyle#SNAKE_CASE} the same structure is written with
+ * snake_case keys ("event_type", "run_id", ...). This is the schema the
+ * game's telemetry files use and the analytics pipeline reads, so a few
+ * payload keys keep their established names rather than a plain
+ * conversion (COMBAT_ENDED "damageDealt" is "total_damage_dealt"), and
+ * DAMAGE_DEALT names the enemy's type in "source_type"/"target_type".
  */
 public final class EventSerializer {
     
+    /**
+     * snake_case payload keys that are not a plain conversion of the
+     * camelCase key, by event type.
+     */
+    private static final Map<EventType, Map<String, String>> RENAMED_KEYS = renamedKeys();
+    
+    /**
+     * Naming convention for JSON keys.
+     */
+    public enum KeyStyle {
+        CAMEL_CASE,
+        SNAKE_CASE;
+        
+        /**
+         * Map a camelCase envelope key to this style.
+         */
+        public String key(String camelCase) {
+            return this == CAMEL_CASE ? camelCase : toSnakeCase(camelCase);
+        }
+        
+        /**
+         * Map a camelCase payload key of an event type to this style.
+         * @param type The event type, or null for a plain conversion
+         */
+        public String key(EventType type, String camelCase) {
+            if (this == CAMEL_CASE) {
+                return camelCase;
+            }
+            String renamed = renamed(type, camelCase);
+            return renamed != null ? renamed : toSnakeCase(camelCase);
+        }
+    }
+    
     private final ObjectMapper mapper;
+    private final KeyStyle keyStyle;
+    private final Map<String, String> snakeKeys = new ConcurrentHashMap<>();
     
     public EventSerializer() {
+        this(KeyStyle.CAMEL_CASE);
+    }
+    
+    public EventSerializer(KeyStyle keyStyle) {
+        this.keyStyle = keyStyle;
         this.mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        if (keyStyle == KeyStyle.SNAKE_CASE) {
+            mapper.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        }
+    }
+    
+    public KeyStyle getKeyStyle() {
+        return keyStyle;
     }
     
     /**
@@ -43,15 +103,15 @@ public final class EventSerializer {
             ObjectNode root = mapper.createObjectNode();
             
             // Base event fields
-            root.put("eventType", event.getEventType());
-            root.put("eventVersion", event.getEventVersion());
-            root.put("timestamp", event.getTimestamp().toString());
-            root.put("runId", event.getRunId().toString());
-            root.put("tick", event.getTick());
+            root.put(key("eventType"), event.getEventType());
+            root.put(key("eventVersion"), event.getEventVersion());
+            root.put(key("timestamp"), event.getTimestamp().toString());
+            root.put(key("runId"), event.getRunId().toString());
+            root.put(key("tick"), event.getTick());
             
             // Payload - event-specific fields
             ObjectNode payload = serializePayload(event);
-            root.set("payload", payload);
+            root.set(key("payload"), payload);
             
             return mapper.writeValueAsString(root);
         } catch (JsonProcessingException e) {
@@ -60,124 +120,187 @@ public final class EventSerializer {
     }
     
     /**
-     * Serialize the event-specific payload fields.
+     * Serialize the event-specific payload fields, for writers that
+     * provide their own envelope (see {@link TelemetryWriter#write(GameEvent, ObjectNode)}).
+     * @throws TelemetryException if the event type is unknown
      */
-    private ObjectNode serializePayload(GameEvent event) {
+    public ObjectNode serializePayload(GameEvent event) {
         ObjectNode payload = mapper.createObjectNode();
+        EventType type = event instanceof AbstractGameEvent e ? e.getEventTypeEnum() : null;
+        boolean snake = keyStyle == KeyStyle.SNAKE_CASE;
         
         switch (event) {
             case RunStartedEvent e -> {
-                payload.put("seed", e.getSeed());
-                payload.put("gameVersion", e.getGameVersion());
-                payload.put("playerClass", e.getPlayerClass().name());
-                payload.put("difficulty", e.getDifficulty().name());
-                payload.put("playerName", e.getPlayerName());
+                payload.put(key(type, "seed"), e.getSeed());
+                payload.put(key(type, "gameVersion"), e.getGameVersion());
+                payload.put(key(type, "playerClass"), e.getPlayerClass().name());
+                payload.put(key(type, "difficulty"), e.getDifficulty().name());
+                payload.put(key(type, "playerName"), e.getPlayerName());
+                payload.put(key(type, "startingHealth"), e.getStartingHealth());
             }
             case RunEndedEvent e -> {
-                payload.put("outcome", e.getOutcome().name());
-                payload.put("finalFloor", e.getFinalFloor());
-                payload.put("finalScore", e.getFinalScore());
-                payload.put("totalGold", e.getTotalGold());
-                payload.put("itemsCollected", e.getItemsCollected());
-                payload.put("enemiesDefeated", e.getEnemiesDefeated());
-                payload.put("durationSeconds", e.getDurationSeconds());
+                payload.put(key(type, "outcome"), e.getOutcome().name());
+                if (e.getEndReason() != null) {
+                    payload.put(key(type, "endReason"), e.getEndReason());
+                }
+                payload.put(key(type, "finalFloor"), e.getFinalFloor());
+                payload.put(key(type, "finalScore"), e.getFinalScore());
+                payload.put(key(type, "totalGold"), e.getTotalGold());
+                payload.put(key(type, "itemsCollected"), e.getItemsCollected());
+                payload.put(key(type, "enemiesDefeated"), e.getEnemiesDefeated());
+                payload.put(key(type, "bossesKilled"), e.getBossesKilled());
+                payload.put(key(type, "goldEarned"), e.getGoldEarned());
+                payload.put(key(type, "goldSpent"), e.getGoldSpent());
+                payload.put(key(type, "damageDealt"), e.getDamageDealt());
+                payload.put(key(type, "damageTaken"), e.getDamageTaken());
+                payload.put(key(type, "roomsVisited"), e.getRoomsVisited());
+                payload.put(key(type, "roomsCleared"), e.getRoomsCleared());
+                payload.put(key(type, "playerLevel"), e.getPlayerLevel());
+                payload.put(key(type, "playerAlive"), e.isPlayerAlive());
+                payload.put(key(type, "durationSeconds"), e.getDurationSeconds());
+            }
+            case FloorEnteredEvent e -> {
+                payload.put(key(type, "floorNumber"), e.getFloorNumber());
+                payload.put(key(type, "roomCount"), e.getRoomCount());
+                payload.put(key(type, "isBossFloor"), e.isBossFloor());
+                ArrayNode roomTypes = payload.putArray(key(type, "roomTypes"));
+                e.getRoomTypes().forEach(roomType -> roomTypes.add(roomType.name()));
             }
             case RoomEnteredEvent e -> {
-                payload.put("floor", e.getFloor());
-                payload.put("roomId", e.getRoomId());
-                payload.put("roomType", e.getRoomType().name());
-                payload.put("enemyCount", e.getEnemyCount());
-                payload.put("hasChest", e.isHasChest());
-                payload.put("playerHealthPercent", e.getPlayerHealthPercent());
+                payload.put(key(type, "floor"), e.getFloor());
+                payload.put(key(type, "roomId"), e.getRoomId());
+                payload.put(key(type, "roomType"), e.getRoomType().name());
+                payload.put(key(type, "roomIndex"), e.getRoomIndex());
+                payload.put(key(type, "enemyCount"), e.getEnemyCount());
+                payload.put(key(type, "itemCount"), e.getItemCount());
+                payload.put(key(type, "hasChest"), e.isHasChest());
+                payload.put(key(type, "playerHealthPercent"), e.getPlayerHealthPercent());
+                payload.set(key(type, "enemies"), enemies(e.getEnemies()));
+                payload.set(key(type, "items"), items(e.getItems()));
+            }
+            case RoomClearedEvent e -> {
+                payload.put(key(type, "roomId"), e.getRoomId());
+                payload.put(key(type, "roomType"), e.getRoomType().name());
+                payload.put(key(type, "floorNumber"), e.getFloorNumber());
+                payload.put(key(type, "enemiesDefeated"), e.getEnemiesDefeated());
             }
             case CombatStartedEvent e -> {
-                payload.put("roomId", e.getRoomId());
-                payload.set("enemies", mapper.valueToTree(e.getEnemies()));
-                payload.put("playerHealth", e.getPlayerHealth());
-                payload.put("playerMaxHealth", e.getPlayerMaxHealth());
+                payload.put(key(type, "roomId"), e.getRoomId());
+                payload.set(key(type, "enemies"), enemies(e.getEnemies()));
+                payload.put(key(type, "playerHealth"), e.getPlayerHealth());
+                payload.put(key(type, "playerMaxHealth"), e.getPlayerMaxHealth());
             }
             case CombatEndedEvent e -> {
-                payload.put("roomId", e.getRoomId());
-                payload.put("outcome", e.getOutcome().name());
-                payload.put("turnsElapsed", e.getTurnsElapsed());
-                payload.put("damageDealt", e.getDamageDealt());
-                payload.put("damageTaken", e.getDamageTaken());
-                payload.put("playerHealthRemaining", e.getPlayerHealthRemaining());
-                payload.put("goldDropped", e.getGoldDropped());
-                payload.put("experienceGained", e.getExperienceGained());
+                payload.put(key(type, "roomId"), e.getRoomId());
+                payload.put(key(type, "outcome"), e.getOutcome().name());
+                payload.put(key(type, "turnsElapsed"), e.getTurnsElapsed());
+                payload.put(key(type, "damageDealt"), e.getDamageDealt());
+                payload.put(key(type, "damageTaken"), e.getDamageTaken());
+                payload.put(key(type, "enemiesKilled"), e.getEnemiesKilled());
+                payload.put(key(type, "playerHealthRemaining"), e.getPlayerHealthRemaining());
+                payload.put(key(type, "playerMaxHealth"), e.getPlayerMaxHealth());
+                payload.put(key(type, "goldDropped"), e.getGoldDropped());
+                payload.put(key(type, "experienceGained"), e.getExperienceGained());
+                if (e.getDamageSummary() != null) {
+                    payload.set(key(type, "damageSummary"), mapper.valueToTree(e.getDamageSummary()));
+                }
             }
             case DamageDealtEvent e -> {
-                payload.put("sourceId", e.getSourceId());
-                payload.put("sourceType", e.getSourceType().name());
-                payload.put("targetId", e.getTargetId());
-                payload.put("targetType", e.getTargetType().name());
-                payload.put("baseDamage", e.getBaseDamage());
-                payload.put("finalDamage", e.getFinalDamage());
-                payload.put("damageType", e.getDamageType().name());
-                payload.put("isCritical", e.isCritical());
-                payload.put("targetHealthBefore", e.getTargetHealthBefore());
-                payload.put("targetHealthAfter", e.getTargetHealthAfter());
-                payload.put("targetKilled", e.isTargetKilled());
+                payload.put(key(type, "sourceId"), e.getSourceId());
+                payload.put(key(type, "sourceType"), entityType(e.getSourceType(), e.getEnemyType()));
+                payload.put(key(type, "targetId"), e.getTargetId());
+                payload.put(key(type, "targetType"), entityType(e.getTargetType(), e.getEnemyType()));
+                if (!snake && e.getEnemyType() != null) {
+                    payload.put(key(type, "enemyType"), e.getEnemyType().name());
+                }
+                payload.put(key(type, "baseDamage"), e.getBaseDamage());
+                payload.put(key(type, "finalDamage"), e.getFinalDamage());
+                payload.put(key(type, "damageType"), e.getDamageType().name());
+                payload.put(key(type, "isCritical"), e.isCritical());
+                payload.put(key(type, "targetHealthBefore"), e.getTargetHealthBefore());
+                payload.put(key(type, "targetHealthAfter"), e.getTargetHealthAfter());
+                payload.put(key(type, "targetKilled"), e.isTargetKilled());
             }
             case StatusAppliedEvent e -> {
-                payload.put("targetId", e.getTargetId());
-                payload.put("targetType", e.getTargetType().name());
-                payload.put("statusType", e.getStatusType().name());
-                payload.put("duration", e.getDuration());
-                payload.put("stacks", e.getStacks());
-                payload.put("sourceId", e.getSourceId());
-                payload.put("sourceType", e.getSourceType().name());
+                payload.put(key(type, "targetId"), e.getTargetId());
+                payload.put(key(type, "targetType"), e.getTargetType().name());
+                payload.put(key(type, "statusType"), e.getStatusType().name());
+                payload.put(key(type, "duration"), e.getDuration());
+                payload.put(key(type, "stacks"), e.getStacks());
+                payload.put(key(type, "sourceId"), e.getSourceId());
+                payload.put(key(type, "sourceType"), e.getSourceType().name());
             }
             case ItemPickedEvent e -> {
-                payload.put("itemId", e.getItemId());
-                payload.put("itemType", e.getItemType().name());
-                payload.put("itemName", e.getItemName());
-                payload.put("rarity", e.getRarity().name());
-                payload.put("floor", e.getFloor());
-                payload.put("source", e.getSource().name());
-                payload.set("stats", mapper.valueToTree(e.getStats()));
+                payload.put(key(type, "itemId"), e.getItemId());
+                payload.put(key(type, "itemType"), e.getItemType().name());
+                payload.put(key(type, "itemName"), e.getItemName());
+                payload.put(key(type, "rarity"), e.getRarity().name());
+                payload.put(key(type, "value"), e.getValue());
+                payload.put(key(type, "floor"), e.getFloor());
+                if (e.getRoomId() != null) {
+                    payload.put(key(type, "roomId"), e.getRoomId());
+                }
+                payload.put(key(type, "source"), e.getSource().name());
+                payload.set(key(type, "stats"), mapper.valueToTree(e.getStats()));
+            }
+            case ItemUsedEvent e -> {
+                payload.put(key(type, "itemId"), e.getItemId());
+                payload.put(key(type, "itemName"), e.getItemName());
+                payload.put(key(type, "itemType"), e.getItemType().name());
             }
             case ShopPurchasedEvent e -> {
-                payload.put("itemId", e.getItemId());
-                payload.put("itemName", e.getItemName());
-                payload.put("itemType", e.getItemType().name());
-                payload.put("price", e.getPrice());
-                payload.put("playerGoldBefore", e.getPlayerGoldBefore());
-                payload.put("playerGoldAfter", e.getPlayerGoldAfter());
-                payload.put("floor", e.getFloor());
+                payload.put(key(type, "itemId"), e.getItemId());
+                payload.put(key(type, "itemName"), e.getItemName());
+                payload.put(key(type, "itemType"), e.getItemType().name());
+                if (e.getRarity() != null) {
+                    payload.put(key(type, "rarity"), e.getRarity().name());
+                }
+                payload.put(key(type, "price"), e.getPrice());
+                payload.put(key(type, "playerGoldBefore"), e.getPlayerGoldBefore());
+                payload.put(key(type, "playerGoldAfter"), e.getPlayerGoldAfter());
+                payload.put(key(type, "floor"), e.getFloor());
             }
             case BossDefeatedEvent e -> {
-                payload.put("bossId", e.getBossId());
-                payload.put("bossName", e.getBossName());
-                payload.put("floor", e.getFloor());
-                payload.put("combatTurns", e.getCombatTurns());
-                payload.put("damageDealt", e.getDamageDealt());
-                payload.put("damageTaken", e.getDamageTaken());
-                payload.put("playerHealthRemaining", e.getPlayerHealthRemaining());
-                payload.put("rewardGold", e.getRewardGold());
+                payload.put(key(type, "bossId"), e.getBossId());
+                payload.put(key(type, "bossName"), e.getBossName());
+                payload.put(key(type, "floor"), e.getFloor());
+                payload.put(key(type, "combatTurns"), e.getCombatTurns());
+                payload.put(key(type, "damageDealt"), e.getDamageDealt());
+                payload.put(key(type, "damageTaken"), e.getDamageTaken());
+                payload.put(key(type, "playerHealthRemaining"), e.getPlayerHealthRemaining());
+                payload.put(key(type, "rewardGold"), e.getRewardGold());
                 if (e.getRewardItem() != null) {
-                    payload.set("rewardItem", mapper.valueToTree(e.getRewardItem()));
+                    payload.set(key(type, "rewardItem"), mapper.valueToTree(e.getRewardItem()));
                 }
             }
             case PlayerDiedEvent e -> {
-                payload.put("causeType", e.getCauseType().name());
-                payload.put("causeId", e.getCauseId());
-                payload.put("causeName", e.getCauseName());
-                payload.put("damageType", e.getDamageType().name());
-                payload.put("finalBlow", e.getFinalBlow());
-                payload.put("floor", e.getFloor());
-                payload.set("itemsHeld", mapper.valueToTree(e.getItemsHeld()));
-                payload.put("gold", e.getGold());
-                payload.put("enemiesKilledThisRun", e.getEnemiesKilledThisRun());
+                payload.put(key(type, "causeType"), e.getCauseType().name());
+                payload.put(key(type, "causeId"), e.getCauseId());
+                payload.put(key(type, "causeName"), e.getCauseName());
+                payload.put(key(type, "damageType"), e.getDamageType().name());
+                payload.put(key(type, "finalBlow"), e.getFinalBlow());
+                payload.put(key(type, "totalDamageTaken"), e.getTotalDamageTaken());
+                payload.put(key(type, "floor"), e.getFloor());
+                payload.set(key(type, "itemsHeld"), mapper.valueToTree(e.getItemsHeld()));
+                payload.put(key(type, "gold"), e.getGold());
+                payload.put(key(type, "enemiesKilledThisRun"), e.getEnemiesKilledThisRun());
             }
             case PlayerHealedEvent e -> {
-                payload.put("source", e.getSource().name());
-                payload.put("sourceId", e.getSourceId());
-                payload.put("amount", e.getAmount());
-                payload.put("healthBefore", e.getHealthBefore());
-                payload.put("healthAfter", e.getHealthAfter());
-                payload.put("maxHealth", e.getMaxHealth());
-                payload.put("overheal", e.getOverheal());
+                payload.put(key(type, "source"), e.getSource().name());
+                payload.put(key(type, "sourceId"), e.getSourceId());
+                payload.put(key(type, "amount"), e.getAmount());
+                payload.put(key(type, "healthBefore"), e.getHealthBefore());
+                payload.put(key(type, "healthAfter"), e.getHealthAfter());
+                payload.put(key(type, "maxHealth"), e.getMaxHealth());
+                payload.put(key(type, "overheal"), e.getOverheal());
+            }
+            case PlayerLevelUpEvent e -> {
+                payload.put(key(type, "previousLevel"), e.getPreviousLevel());
+                payload.put(key(type, "newLevel"), e.getNewLevel());
+                payload.put(key(type, "totalExperience"), e.getTotalExperience());
+                payload.put(key(type, "maxHealth"), e.getMaxHealth());
+                payload.put(key(type, "attack"), e.getAttack());
+                payload.put(key(type, "defense"), e.getDefense());
             }
             default -> throw new TelemetryException("Unknown event type: " + event.getClass().getName());
         }
@@ -185,6 +308,122 @@ public final class EventSerializer {
         return payload;
     }
     
+    /**
+     * Enemy snapshots. snake_case files use the short keys analytics reads
+     * ("id", "type", "max_health", ...).
+     */
+    private ArrayNode enemies(List<EnemyInfo> enemies) {
+        if (keyStyle == KeyStyle.CAMEL_CASE) {
+            return mapper.valueToTree(enemies);
+        }
+        ArrayNode array = mapper.createArrayNode();
+        for (EnemyInfo enemy : enemies) {
+            array.addObject()
+                .put("id", enemy.enemyId())
+                .put("type", enemy.enemyType().name())
+                .put("health", enemy.health())
+                .put("max_health", enemy.maxHealth())
+                .put("attack", enemy.attack())
+                .put("defense", enemy.defense());
+        }
+        return array;
+    }
+    
+    /**
+     * Item snapshots, with short keys in snake_case files like {@link #enemies}.
+     */
+    private ArrayNode items(List<ItemInfo> items) {
+        if (keyStyle == KeyStyle.CAMEL_CASE) {
+            return mapper.valueToTree(items);
+        }
+        ArrayNode array = mapper.createArrayNode();
+        for (ItemInfo item : items) {
+            array.addObject()
+                .put("id", item.itemId())
+                .put("name", item.itemName())
+                .put("type", item.itemType().name())
+                .put("rarity", item.rarity().name());
+        }
+        return array;
+    }
+    
+    /**
+     * Entity type of a damage source or target. snake_case files name the
+     * enemy's type instead of ENEMY, as analytics groups damage by it.
+     */
+    private String entityType(DamageDealtEvent.EntityType entityType, EnemyType enemyType) {
+        if (keyStyle == KeyStyle.CAMEL_CASE || entityType == DamageDealtEvent.EntityType.PLAYER) {
+            return entityType.name();
+        }
+        return enemyType != null ? enemyType.name() : "UNKNOWN";
+    }
+    
+    /**
+     * Map a camelCase envelope key to the configured style.
+     */
+    private String key(String camelCase) {
+        if (keyStyle == KeyStyle.CAMEL_CASE) {
+            return camelCase;
+        }
+        return snakeKeys.computeIfAbsent(camelCase, EventSerializer::toSnakeCase);
+    }
+    
+    /**
+     * Map a camelCase payload key of an event type to the configured style.
+     */
+    private String key(EventType type, String camelCase) {
+        if (keyStyle == KeyStyle.CAMEL_CASE) {
+            return camelCase;
+        }
+        String renamed = renamed(type, camelCase);
+        return renamed != null ? renamed : key(camelCase);
+    }
+    
+    private static String renamed(EventType type, String camelCase) {
+        Map<String, String> renamed = type == null ? null : RENAMED_KEYS.get(type);
+        return renamed == null ? null : renamed.get(camelCase);
+    }
+    
+    private static Map<EventType, Map<String, String>> renamedKeys() {
+        Map<EventType, Map<String, String>> keys = new EnumMap<>(EventType.class);
+        keys.put(EventType.RUN_STARTED, Map.of("gameVersion", "version"));
+        keys.put(EventType.RUN_ENDED, Map.of("enemiesDefeated", "enemies_killed"));
+        keys.put(EventType.ROOM_ENTERED, Map.of("floor", "floor_number"));
+        keys.put(EventType.COMBAT_ENDED, Map.of(
+            "damageDealt", "total_damage_dealt",
+            "damageTaken", "total_damage_taken",
+            "playerHealthRemaining", "player_health_after",
+            "goldDropped", "gold_earned"));
+        keys.put(EventType.DAMAGE_DEALT, Map.of(
+            "isCritical", "critical",
+            "targetHealthBefore", "health_before",
+            "targetHealthAfter", "health_after",
+            "targetKilled", "killed"));
+        keys.put(EventType.ITEM_PICKED, Map.of("floor", "floor_number"));
+        keys.put(EventType.SHOP_PURCHASED, Map.of(
+            "price", "cost",
+            "playerGoldBefore", "gold_before",
+            "playerGoldAfter", "gold_after",
+            "floor", "floor_number"));
+        keys.put(EventType.PLAYER_DIED, Map.of(
+            "itemsHeld", "items",
+            "enemiesKilledThisRun", "enemies_killed"));
+        return keys;
+    }
+    
+    static String toSnakeCase(String camelCase) {
+        StringBuilder sb = new StringBuilder(camelCase.length() + 4);
+        for (int i = 0; i < camelCase.length(); i++) {
+            char c = camelCase.charAt(i);
+            if (Character.isUpperCase(c)) {
+                sb.append('_').append(Character.toLowerCase(c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+    
     /**
      * Get the underlying ObjectMapper for advanced usage.
      */
@@ -0,0 +1,29 @@
+package com.roguelab.telemetry;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Rewrites an event payload from one schema version to the next.
+ *
+ * Registered with {@link EventReader.Builder#upcaster}; the reader chains
+ * upcasters until an event reaches the newest version it knows, so old
+ * telemetry can be read by code written against the current schema.
+ *
+ * Example, for a field renamed in 1.1.0:
+ * <pre>
+ * (payload, keys) -> payload.set(keys.key("finalDamage"), payload.remove(keys.key("damage")))
+ * </pre>
+ */
+@FunctionalInterface
+public interface EventUpcaster {
+
+    /**
+     * Rewrite {@code payload} in place.
+     *
+     * @param payload The payload as written, or as left by the previous upcaster
+     * @param keyStyle The file's key style; use {@link EventSerializer.KeyStyle#key(String)}
+     *                 or {@link EventSerializer.KeyStyle#key(com.roguelab.event.EventType, String)}
+     *                 to name fields
+     */
+    void upcast(ObjectNode payload, EventSerializer.KeyStyle keyStyle);
+}
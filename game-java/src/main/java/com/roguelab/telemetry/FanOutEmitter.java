@@ -0,0 +1,333 @@
+package com.roguelab.telemetry;
+
+import com.roguelab.event.GameEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emits events to multiple sinks without waiting on any of them.
+ *
+ * Each sink gets its own bounded queue and worker thread. An event is
+ * published once and the same immutable instance is handed to every
+ * queue, so a slow sink (e.g. a console) only delays itself. When a
+ * sink's queue is full the event is dropped for that sink and counted;
+ * {@link #emit} never waits for space. The queues are
+ * {@link ArrayBlockingQueue}s, so each offer still takes that queue's
+ * lock for a moment.
+ *
+ * A sink is only ever written, flushed and closed by its own worker, as
+ * sinks such as {@link FileEmitter} are not thread-safe. Sinks can be
+ * added and removed at any time from any thread; removing one returns
+ * at once and the worker drains and closes it in the background.
+ * {@link #close()} is the only call that waits, once for all sinks.
+ *
+ * Per-sink delivery, drop and failure counts are available from
+ * {@link #getMetrics()}; drops and queue depths are also reported to
+ * {@link TelemetryMetrics#global()}.
+ */
+public final class FanOutEmitter implements TelemetryEmitter {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+    public static final Duration DEFAULT_CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final int BATCH_SIZE = 256;
+    private static final long POLL_MILLIS = 100;
+
+    private final int queueCapacity;
+    private final Duration closeTimeout;
+    private final List<Sink> sinks = new CopyOnWriteArrayList<>();
+    private final Set<Sink> retiring = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    public FanOutEmitter(TelemetryEmitter... emitters) {
+        this(DEFAULT_QUEUE_CAPACITY, DEFAULT_CLOSE_TIMEOUT, emitters);
+    }
+
+    /**
+     * @param queueCapacity Events buffered per sink before dropping
+     * @param closeTimeout Maximum time {@link #close()} waits for all sinks to drain
+     */
+    public FanOutEmitter(int queueCapacity, Duration closeTimeout, TelemetryEmitter... emitters) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1");
+        }
+        this.queueCapacity = queueCapacity;
+        this.closeTimeout = closeTimeout;
+        for (TelemetryEmitter emitter : emitters) {
+            addEmitter(emitter);
+        }
+    }
+
+    /**
+     * Start delivering events to a new sink. Only events emitted after
+     * this call are delivered to it.
+     */
+    public void addEmitter(TelemetryEmitter emitter) {
+        if (closed) {
+            throw new TelemetryException("Cannot add emitter to closed fan-out");
+        }
+        Sink sink = new Sink(emitter, queueCapacity, retiring);
+        sinks.add(sink);
+        sink.start();
+    }
+
+    /**
+     * Stop delivering events to a sink. Does not wait: the sink's worker
+     * delivers its pending events, then flushes and closes it.
+     * {@link #close()} still waits for a sink removed this way.
+     * @return true if the emitter was attached
+     */
+    public boolean removeEmitter(TelemetryEmitter emitter) {
+        for (Sink sink : sinks) {
+            if (sink.emitter == emitter) {
+                sinks.remove(sink);
+                retiring.add(sink);
+                sink.stop();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void emit(GameEvent event) {
+        if (closed) {
+            throw new TelemetryException("Cannot emit to closed emitter");
+        }
+        for (Sink sink : sinks) {
+            sink.offer(event);
+        }
+    }
+
+    /**
+     * Ask every sink to flush once its queue is drained. Does not wait.
+     */
+    @Override
+    public void flush() {
+        for (Sink sink : sinks) {
+            sink.flushRequested.set(true);
+        }
+    }
+
+    /**
+     * Drain and close every sink, waiting up to the close timeout in all.
+     * A sink still busy at the deadline is abandoned: its remaining events
+     * are counted as dropped and it is left open, as its worker may still
+     * be writing to it. Should that write ever return, the worker closes
+     * the sink itself.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        List<Sink> stopping = new ArrayList<>(sinks);
+        stopping.addAll(retiring);
+        for (Sink sink : stopping) {
+            sink.stop();
+        }
+        long deadline = System.nanoTime() + closeTimeout.toNanos();
+        for (Sink sink : stopping) {
+            if (!sink.awaitExit(deadline)) {
+                sink.abandon();
+            }
+        }
+    }
+
+    /**
+     * Snapshot of per-sink delivery metrics, in attachment order.
+     * Remains available after close with the final counts.
+     */
+    public List<SinkMetrics> getMetrics() {
+        List<SinkMetrics> metrics = new ArrayList<>();
+        for (Sink sink : sinks) {
+            metrics.add(sink.metrics());
+        }
+        return metrics;
+    }
+
+    public int getSinkCount() {
+        return sinks.size();
+    }
+
+    /**
+     * Delivery counts for one sink.
+     * @param name Sink class name
+     * @param published Events offered to the sink
+     * @param delivered Events the sink accepted
+     * @param dropped Events discarded because the queue was full
+     * @param failed Events the sink threw on
+     * @param lag Events queued but not yet delivered
+     */
+    public record SinkMetrics(String name, long published, long delivered,
+                              long dropped, long failed, int lag) {}
+
+    /**
+     * A sink with its own queue and worker thread. Only the worker calls
+     * the sink's emitter.
+     */
+    private static final class Sink implements Runnable {
+
+        private final TelemetryEmitter emitter;
+        private final String name;
+        private final BlockingQueue<GameEvent> queue;
+        private final Set<Sink> retiring;
+        private final Thread worker;
+        private final AtomicBoolean flushRequested = new AtomicBoolean();
+        private final AtomicLong published = new AtomicLong();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final TelemetryMetrics globalMetrics = TelemetryMetrics.global();
+        private final String queueName;
+        private volatile boolean running = true;
+        private volatile boolean abandoned;
+
+        Sink(TelemetryEmitter emitter, int capacity, Set<Sink> retiring) {
+            this.emitter = emitter;
+            String simpleName = emitter.getClass().getSimpleName();
+            this.name = simpleName.isEmpty() ? emitter.getClass().getName() : simpleName;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.retiring = retiring;
+            this.worker = new Thread(this, "roguelab-telemetry-" + name);
+            this.worker.setDaemon(true);
+            this.queueName = globalMetrics.registerQueue("fan-out/" + name, queue::size);
+        }
+
+        void start() {
+            worker.start();
+        }
+
+        void offer(GameEvent event) {
+            published.incrementAndGet();
+            if (!running || !queue.offer(event)) {
+                drop(1);
+            } else if (!running && queue.remove(event)) {
+                // Stopped while we offered; the worker may already have seen
+                // an empty queue and exited. Take the event back unless the
+                // worker got to it, so it is counted exactly once.
+                drop(1);
+            }
+        }
+
+        private void drop(int count) {
+            dropped.addAndGet(count);
+            globalMetrics.recordDropped(count);
+        }
+
+        @Override
+        public void run() {
+            List<GameEvent> batch = new ArrayList<>(BATCH_SIZE);
+            try {
+                while ((running || !queue.isEmpty()) && !abandoned) {
+                    GameEvent first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first != null) {
+                        batch.add(first);
+                        queue.drainTo(batch, BATCH_SIZE - 1);
+                        deliver(batch);
+                        batch.clear();
+                    }
+                    if (queue.isEmpty() && flushRequested.compareAndSet(true, false)) {
+                        flushSink();
+                    }
+                }
+                if (!abandoned) {
+                    flushSink();
+                }
+            } catch (InterruptedException e) {
+                // Only abandon() interrupts; close the sink below and exit
+            } finally {
+                Thread.interrupted(); // Let the sink close cleanly after abandon()
+                closeSink();
+                globalMetrics.unregisterQueue(queueName);
+                retiring.remove(this);
+            }
+        }
+
+        private void deliver(List<GameEvent> batch) {
+            for (int i = 0; i < batch.size(); i++) {
+                if (abandoned) {
+                    drop(batch.size() - i);
+                    return;
+                }
+                try {
+                    emitter.emit(batch.get(i));
+                    delivered.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                }
+            }
+        }
+
+        private void flushSink() {
+            try {
+                emitter.flush();
+            } catch (RuntimeException e) {
+                System.err.println("Telemetry sink flush failed: " + e.getMessage());
+            }
+        }
+
+        private void closeSink() {
+            try {
+                emitter.close();
+            } catch (RuntimeException e) {
+                System.err.println("Telemetry sink close failed: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Stop accepting events. The worker delivers what is queued, then
+         * flushes and closes the sink.
+         */
+        void stop() {
+            running = false;
+        }
+
+        /**
+         * Wait until the worker has exited or the deadline passes.
+         * @param deadline a {@link System#nanoTime()} value
+         * @return true if the worker has exited
+         */
+        boolean awaitExit(long deadline) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                if (remaining > 0) {
+                    TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return !worker.isAlive();
+        }
+
+        /**
+         * Give up on a worker that is stuck in the sink. Queued events are
+         * dropped; the sink is left for the worker to close if it returns.
+         */
+        void abandon() {
+            abandoned = true;
+            worker.interrupt();
+            List<GameEvent> discarded = new ArrayList<>();
+            int count = queue.drainTo(discarded);
+            if (count > 0) {
+                drop(count);
+            }
+        }
+
+        SinkMetrics metrics() {
+            return new SinkMetrics(name,
+                published.get(), delivered.get(), dropped.get(), failed.get(), queue.size());
+        }
+    }
+}
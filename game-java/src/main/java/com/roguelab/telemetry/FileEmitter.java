@@ -1,9 +1,13 @@
 package com.roguelab.telemetry;
 
 import com.roguelab.event.GameEvent;
+import com.roguelab.jfr.TelemetryFlush;
+import com.roguelab.util.PhaseProfiler;
+import com.roguelab.util.PhaseProfiler.Phase;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -17,17 +21,26 @@ import java.util.UUID;
  * Emits telemetry events to JSON Lines (.jsonl) files.
  * 
  * File naming convention: run_{runId}_{timestamp}.jsonl
+ * (run_{runId}_{timestamp}_snake.jsonl for snake_case keys).
  * Each line contains one complete JSON event.
+ * 
+ * Events, bytes, flushes, serialization latency and errors are recorded
+ * in {@link TelemetryMetrics#global()}, and emits are profiled as
+ * {@link Phase#TELEMETRY}. Flushes are committed as {@link TelemetryFlush}
+ * JFR events.
  */
 public final class FileEmitter implements TelemetryEmitter {
     
     private static final DateTimeFormatter FILE_TIMESTAMP_FORMAT = 
         DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss").withZone(ZoneOffset.UTC);
+    private static final PhaseProfiler PROFILER = PhaseProfiler.global();
     
     private final EventSerializer serializer;
+    private final TelemetryMetrics metrics = TelemetryMetrics.global();
     private final Path outputDirectory;
     private final UUID runId;
     private final Path outputFile;
+    private CountingOutputStream counter;
     private BufferedWriter writer;
     private boolean closed;
     
@@ -37,7 +50,14 @@ public final class FileEmitter implements TelemetryEmitter {
      * @param runId The unique identifier for this run
      */
     public FileEmitter(Path outputDirectory, UUID runId) {
-        this.serializer = new EventSerializer();
+        this(outputDirectory, runId, EventSerializer.KeyStyle.CAMEL_CASE);
+    }
+    
+    /**
+     * Create a file emitter that writes keys in the given style.
+     */
+    public FileEmitter(Path outputDirectory, UUID runId, EventSerializer.KeyStyle keyStyle) {
+        this.serializer = new EventSerializer(keyStyle);
         this.outputDirectory = outputDirectory;
         this.runId = runId;
         this.outputFile = generateOutputPath();
@@ -55,7 +75,8 @@ public final class FileEmitter implements TelemetryEmitter {
     
     private Path generateOutputPath() {
         String timestamp = FILE_TIMESTAMP_FORMAT.format(Instant.now());
-        String filename = String.format("run_%s_%s.jsonl", runId, timestamp);
+        String suffix = serializer.getKeyStyle() == EventSerializer.KeyStyle.SNAKE_CASE ? "_snake" : "";
+        String filename = String.format("run_%s_%s%s.jsonl", runId, timestamp, suffix);
         return outputDirectory.resolve(filename);
     }
     
@@ -65,12 +86,12 @@ public final class FileEmitter implements TelemetryEmitter {
             Files.createDirectories(outputDirectory);
             
             // Open file for writing (append mode for safety)
-            writer = Files.newBufferedWriter(
+            counter = new CountingOutputStream(Files.newOutputStream(
                 outputFile,
-                StandardCharsets.UTF_8,
                 StandardOpenOption.CREATE,
                 StandardOpenOption.APPEND
-            );
+            ), metrics);
+            writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8));
         } catch (IOException e) {
             throw new TelemetryException("Failed to initialize telemetry file: " + outputFile, e);
         }
@@ -82,12 +103,20 @@ public final class FileEmitter implements TelemetryEmitter {
             throw new TelemetryException("Cannot emit to closed emitter");
         }
         
+        PROFILER.begin(Phase.TELEMETRY);
+        long start = System.nanoTime();
         try {
             String json = serializer.serialize(event);
             writer.write(json);
             writer.newLine();
+            metrics.recordEvent(event.getEventType(), System.nanoTime() - start);
+            PROFILER.end(Phase.TELEMETRY);
         } catch (IOException e) {
+            metrics.recordError();
             throw new TelemetryException("Failed to write event: " + event.getEventType(), e);
+        } catch (TelemetryException e) {
+            metrics.recordError();
+            throw e;
         }
     }
     
@@ -97,11 +126,22 @@ public final class FileEmitter implements TelemetryEmitter {
             return;
         }
         
+        TelemetryFlush event = new TelemetryFlush();
+        event.begin();
         try {
             writer.flush();
+            metrics.recordFlush();
         } catch (IOException e) {
+            metrics.recordError();
             throw new TelemetryException("Failed to flush telemetry file", e);
         }
+        // Taken on every flush, so a committed event covers only its own flush
+        long bytes = counter.takeFlushedBytes();
+        if (event.shouldCommit()) {
+            event.sink = outputFile.getFileName().toString();
+            event.bytes = bytes;
+            event.commit();
+        }
     }
     
     @Override
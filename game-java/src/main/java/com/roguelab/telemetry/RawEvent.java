@@ -0,0 +1,240 @@
+package com.roguelab.telemetry;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.roguelab.event.EventType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An event read by {@link EventReader}: the envelope is decoded, the
+ * payload is kept as raw JSON and fields are decoded when asked for.
+ *
+ * Each field lookup scans the payload with a streaming parser and stops
+ * at the field, so reading a couple of fields costs far less than
+ * building the payload tree. Callers that need most fields should call
+ * {@link #getPayload()} once instead.
+ *
+ * Field names are given as in the schema (camelCase) and matched in the
+ * file's key style, including the snake_case keys that are renamed for
+ * this event type (see {@link EventSerializer}); names that are already
+ * snake_case work for snake_case files.
+ *
+ * If the event was written with an older schema version, the payload is
+ * upcast on first access and every lookup sees the upcast payload.
+ */
+public final class RawEvent {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @FunctionalInterface
+    private interface ValueReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    private final String eventType;
+    private final EventType knownType;
+    private final String writtenVersion;
+    private final String eventVersion;
+    private final String timestamp;
+    private final String runId;
+    private final long tick;
+    private final EventSerializer.KeyStyle keyStyle;
+    private final byte[] payload;
+    private final List<EventUpcaster> upcasters;
+    private ObjectNode payloadTree;
+
+    RawEvent(String eventType, EventType knownType, String writtenVersion, String eventVersion,
+             String timestamp, String runId, long tick, EventSerializer.KeyStyle keyStyle,
+             byte[] payload, List<EventUpcaster> upcasters) {
+        this.eventType = eventType;
+        this.knownType = knownType;
+        this.writtenVersion = writtenVersion;
+        this.eventVersion = eventVersion;
+        this.timestamp = timestamp;
+        this.runId = runId;
+        this.tick = tick;
+        this.keyStyle = keyStyle;
+        this.payload = payload;
+        this.upcasters = upcasters;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * The registered event type, or null for types outside {@link EventType}.
+     */
+    public EventType getEventTypeEnum() {
+        return knownType;
+    }
+
+    /**
+     * Schema version of the payload as returned, after upcasting.
+     */
+    public String getEventVersion() {
+        return eventVersion;
+    }
+
+    /**
+     * Schema version the event was written with.
+     */
+    public String getWrittenVersion() {
+        return writtenVersion;
+    }
+
+    public boolean isUpcast() {
+        return !upcasters.isEmpty();
+    }
+
+    /**
+     * When the event occurred, or null if the envelope had no timestamp.
+     */
+    public Instant getTimestamp() {
+        return timestamp == null ? null : Instant.parse(timestamp);
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public EventSerializer.KeyStyle getKeyStyle() {
+        return keyStyle;
+    }
+
+    /**
+     * The payload JSON as written (before upcasting), read-only.
+     */
+    public ByteBuffer getPayloadBytes() {
+        return ByteBuffer.wrap(payload).asReadOnlyBuffer();
+    }
+
+    // === FIELD ACCESS ===
+
+    public boolean has(String field) {
+        if (useTree()) {
+            return getPayload().has(keyStyle.key(knownType, field));
+        }
+        return read(field, parser -> Boolean.TRUE, Boolean.FALSE);
+    }
+
+    /**
+     * A scalar field as text, or null if absent or not a scalar.
+     */
+    public String getString(String field) {
+        if (useTree()) {
+            JsonNode node = getPayload().get(keyStyle.key(knownType, field));
+            return node == null || !node.isValueNode() || node.isNull() ? null : node.asText();
+        }
+        return read(field, parser -> scalar(parser) ? parser.getText() : null, null);
+    }
+
+    public long getLong(String field, long defaultValue) {
+        if (useTree()) {
+            JsonNode node = getPayload().get(keyStyle.key(knownType, field));
+            return node == null || !node.isValueNode() || node.isNull() ? defaultValue : node.asLong(defaultValue);
+        }
+        return read(field, parser -> scalar(parser) ? parser.getValueAsLong(defaultValue) : defaultValue,
+            defaultValue);
+    }
+
+    public int getInt(String field, int defaultValue) {
+        return (int) getLong(field, defaultValue);
+    }
+
+    public double getDouble(String field, double defaultValue) {
+        if (useTree()) {
+            JsonNode node = getPayload().get(keyStyle.key(knownType, field));
+            return node == null || !node.isValueNode() || node.isNull() ? defaultValue : node.asDouble(defaultValue);
+        }
+        return read(field, parser -> scalar(parser) ? parser.getValueAsDouble(defaultValue) : defaultValue,
+            defaultValue);
+    }
+
+    public boolean getBoolean(String field, boolean defaultValue) {
+        if (useTree()) {
+            JsonNode node = getPayload().get(keyStyle.key(knownType, field));
+            return node == null || !node.isValueNode() || node.isNull() ? defaultValue : node.asBoolean(defaultValue);
+        }
+        return read(field, parser -> scalar(parser) ? parser.getValueAsBoolean(defaultValue) : defaultValue,
+            defaultValue);
+    }
+
+    /**
+     * A field of any shape (e.g. the {@code enemies} array), or null if absent.
+     */
+    public JsonNode getNode(String field) {
+        if (useTree()) {
+            return getPayload().get(keyStyle.key(knownType, field));
+        }
+        return read(field, parser -> parser.readValueAsTree(), null);
+    }
+
+    /**
+     * The whole payload, upcast to {@link #getEventVersion()}. Decoded once and cached;
+     * changes to the returned node are visible to later lookups.
+     */
+    public ObjectNode getPayload() {
+        if (payloadTree == null) {
+            try {
+                payloadTree = (ObjectNode) MAPPER.readTree(payload);
+            } catch (IOException e) {
+                throw new TelemetryException("Failed to decode " + eventType + " payload", e);
+            }
+            for (EventUpcaster upcaster : upcasters) {
+                upcaster.upcast(payloadTree, keyStyle);
+            }
+        }
+        return payloadTree;
+    }
+
+    /**
+     * Whether lookups must go through the payload tree: it is already
+     * decoded, or the raw bytes are not in the version being returned.
+     */
+    private boolean useTree() {
+        return payloadTree != null || isUpcast();
+    }
+
+    /**
+     * Scan the payload for one top-level field and read its value.
+     */
+    private <T> T read(String field, ValueReader<T> reader, T missing) {
+        String key = keyStyle.key(knownType, field);
+        try (JsonParser parser = MAPPER.createParser(payload)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean match = key.equals(parser.currentName());
+                parser.nextToken();
+                if (match) {
+                    return reader.read(parser);
+                }
+                parser.skipChildren();
+            }
+            return missing;
+        } catch (IOException e) {
+            throw new TelemetryException("Failed to decode " + eventType + " payload", e);
+        }
+    }
+
+    private static boolean scalar(JsonParser parser) {
+        JsonToken token = parser.currentToken();
+        return token.isScalarValue() && token != JsonToken.VALUE_NULL;
+    }
+
+    @Override
+    public String toString() {
+        return "RawEvent[" + eventType + " v" + eventVersion + " run=" + runId + " tick=" + tick + "]";
+    }
+}
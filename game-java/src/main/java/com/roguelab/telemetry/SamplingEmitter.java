@@ -0,0 +1,54 @@
+package com.roguelab.telemetry;
+
+import com.roguelab.event.GameEvent;
+
+import java.util.UUID;
+
+/**
+ * Emitter decorator that forwards only events chosen by a {@link TelemetrySampler}.
+ *
+ * In summary-only mode DAMAGE_DEALT events are dropped; the
+ * COMBAT_ENDED event already carries the combat's damage totals.
+ * The run decision is cached per run ID, so checking an event is a
+ * hash and a map lookup.
+ */
+public final class SamplingEmitter implements TelemetryEmitter {
+
+    private final TelemetryEmitter delegate;
+    private final TelemetrySampler sampler;
+
+    private UUID currentRun;
+    private boolean runSampled;
+    private long runKey;
+    private long sequence;
+
+    public SamplingEmitter(TelemetryEmitter delegate, TelemetrySampler sampler) {
+        this.delegate = delegate;
+        this.sampler = sampler;
+    }
+
+    @Override
+    public void emit(GameEvent event) {
+        UUID runId = event.getRunId();
+        if (!runId.equals(currentRun)) {
+            String id = runId.toString();
+            currentRun = runId;
+            runSampled = sampler.keepsRun(id);
+            runKey = TelemetrySampler.runKey(id);
+            sequence = 0;
+        }
+        if (runSampled && sampler.sample(event.getEventType(), runKey, sequence++)) {
+            delegate.emit(event);
+        }
+    }
+
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
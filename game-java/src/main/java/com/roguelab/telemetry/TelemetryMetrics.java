@@ -0,0 +1,330 @@
+package com.roguelab.telemetry;
+
+import com.roguelab.util.Histogram;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * What telemetry itself costs: events and bytes written, flushes,
+ * serialization latency, dropped events, errors and queue depths.
+ *
+ * Writers and emitters record into {@link #global()} by default, so one
+ * view covers every sink in the process. Counters are {@link LongAdder}s
+ * and cheap to update from many threads. An event written by two sinks
+ * (e.g. camelCase and snake_case files) counts once per sink.
+ *
+ * The metrics are exposed as an MXBean ({@link #registerMBean()}) and
+ * optionally as a periodic log line ({@link #startReporter}).
+ * {@link #install()} does both, reading the log interval in seconds from
+ * the {@value #INTERVAL_PROPERTY} system property.
+ */
+public final class TelemetryMetrics implements TelemetryMetricsMXBean {
+
+    public static final String OBJECT_NAME = "com.roguelab:type=TelemetryMetrics";
+    public static final String INTERVAL_PROPERTY = "roguelab.telemetry.metricsInterval";
+
+    private static final TelemetryMetrics GLOBAL = new TelemetryMetrics();
+    private static final AtomicInteger QUEUE_IDS = new AtomicInteger();
+
+    /**
+     * Counter values at one moment.
+     * @param serializationNanos Total time spent serializing the events
+     */
+    public record Snapshot(long nanoTime, long events, long bytes, long flushes,
+                           long dropped, long errors, long serializationNanos) {}
+
+    private final Map<String, LongAdder> eventsByType = new ConcurrentHashMap<>();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram serialization = new LatencyHistogram();
+    private final Map<String, LongSupplier> queues = new ConcurrentHashMap<>();
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * The process-wide instance that writers and emitters record into.
+     */
+    public static TelemetryMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Register the global MXBean and, if {@value #INTERVAL_PROPERTY} is set,
+     * start logging a metrics line at that interval.
+     */
+    public static void install() {
+        GLOBAL.registerMBean();
+        long seconds = Long.getLong(INTERVAL_PROPERTY, 0);
+        if (seconds > 0) {
+            GLOBAL.startReporter(Duration.ofSeconds(seconds));
+        }
+    }
+
+    // === RECORDING ===
+
+    /**
+     * Record one written event and the time taken to serialize and write it.
+     */
+    public void recordEvent(String eventType, long serializationNanos) {
+        events.increment();
+        eventsByType.computeIfAbsent(eventType, t -> new LongAdder()).increment();
+        serialization.record(serializationNanos);
+    }
+
+    public void recordBytes(long count) {
+        bytes.add(count);
+    }
+
+    public void recordFlush() {
+        flushes.increment();
+    }
+
+    /**
+     * Record events discarded without being written, e.g. by a full queue.
+     */
+    public void recordDropped(long count) {
+        dropped.add(count);
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Report a queue's depth until {@link #unregisterQueue} is called.
+     * @return The registered name, made unique with a numeric suffix
+     */
+    public String registerQueue(String name, LongSupplier depth) {
+        String unique = name + "#" + QUEUE_IDS.incrementAndGet();
+        queues.put(unique, depth);
+        return unique;
+    }
+
+    public void unregisterQueue(String registeredName) {
+        queues.remove(registeredName);
+    }
+
+    // === READING ===
+
+    public Snapshot snapshot() {
+        return new Snapshot(System.nanoTime(), events.sum(), bytes.sum(), flushes.sum(),
+            dropped.sum(), errors.sum(), serialization.totalNanos());
+    }
+
+    @Override
+    public long getEventsWritten() {
+        return events.sum();
+    }
+
+    @Override
+    public Map<String, Long> getEventsWrittenByType() {
+        Map<String, Long> counts = new TreeMap<>();
+        eventsByType.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public double getEventsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds <= 0 ? 0 : events.sum() / seconds;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytes.sum();
+    }
+
+    @Override
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    @Override
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getSerializationMeanNanos() {
+        return serialization.mean();
+    }
+
+    @Override
+    public long getSerializationP50Nanos() {
+        return serialization.percentile(0.50);
+    }
+
+    @Override
+    public long getSerializationP99Nanos() {
+        return serialization.percentile(0.99);
+    }
+
+    @Override
+    public long getSerializationMaxNanos() {
+        return serialization.max();
+    }
+
+    @Override
+    public Map<String, Long> getQueueDepths() {
+        Map<String, Long> depths = new TreeMap<>();
+        queues.forEach((name, depth) -> depths.put(name, depth.getAsLong()));
+        return depths;
+    }
+
+    /**
+     * Zero every counter. Registered queues are kept.
+     */
+    @Override
+    public void reset() {
+        eventsByType.clear();
+        events.reset();
+        bytes.reset();
+        flushes.reset();
+        dropped.reset();
+        errors.reset();
+        serialization.reset();
+        startNanos = System.nanoTime();
+    }
+
+    // === EXPORT ===
+
+    /**
+     * Register this instance with the platform MBean server. Does nothing
+     * if an instance is already registered.
+     */
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered
+        } catch (JMException e) {
+            System.err.println("Failed to register telemetry metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Log a metrics line to stdout at a fixed interval, with rates over
+     * the interval, until the returned reporter is closed.
+     */
+    public Reporter startReporter(Duration interval) {
+        return new Reporter(interval);
+    }
+
+    /**
+     * One log line describing activity between two snapshots. Counts and
+     * the mean are for the interval; the p99 covers everything since the
+     * last reset.
+     */
+    public String formatLine(Snapshot from, Snapshot to) {
+        double seconds = Math.max(to.nanoTime() - from.nanoTime(), 1) / 1e9;
+        long events = to.events() - from.events();
+        double meanNanos = events == 0 ? 0 : (double) (to.serializationNanos() - from.serializationNanos()) / events;
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+            "[TELEMETRY] %d events (%.0f/s), %.2f MB written, %d flushes, serialize %.0f ns/event (p99 %d ns), "
+                + "%d dropped, %d errors",
+            events, events / seconds, (to.bytes() - from.bytes()) / 1e6, to.flushes() - from.flushes(),
+            meanNanos, getSerializationP99Nanos(), to.dropped() - from.dropped(), to.errors() - from.errors()));
+        Map<String, Long> depths = getQueueDepths();
+        if (!depths.isEmpty()) {
+            sb.append(", queues");
+            depths.forEach((name, depth) -> sb.append(' ').append(name).append('=').append(depth));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Periodic metrics log line on a daemon thread.
+     */
+    public final class Reporter implements AutoCloseable {
+
+        private final ScheduledExecutorService executor;
+        private Snapshot last = snapshot();
+
+        private Reporter(Duration interval) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "roguelab-telemetry-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = interval.toMillis();
+            executor.scheduleAtFixedRate(this::report, millis, millis, TimeUnit.MILLISECONDS);
+        }
+
+        private void report() {
+            Snapshot now = snapshot();
+            System.out.println(formatLine(last, now));
+            last = now;
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Thread-safe wrapper around a {@link Histogram} of latencies. Events
+     * are recorded by a handful of writer and consumer threads, so a lock
+     * costs little here. The mean and total are kept exactly.
+     */
+    static final class LatencyHistogram {
+
+        private final Histogram histogram = new Histogram();
+        private long totalNanos;
+
+        synchronized void record(long nanos) {
+            long clamped = Math.max(nanos, 0);
+            histogram.record(clamped);
+            totalNanos += clamped;
+        }
+
+        synchronized long totalNanos() {
+            return totalNanos;
+        }
+
+        synchronized double mean() {
+            long n = histogram.getTotalCount();
+            return n == 0 ? 0 : (double) totalNanos / n;
+        }
+
+        synchronized long max() {
+            return histogram.getMax();
+        }
+
+        /**
+         * See {@link Histogram#valueAtPercentile}.
+         * @param quantile in [0, 1]
+         */
+        synchronized long percentile(double quantile) {
+            return histogram.valueAtPercentile(quantile * 100);
+        }
+
+        synchronized void reset() {
+            histogram.reset();
+            totalNanos = 0;
+        }
+    }
+}
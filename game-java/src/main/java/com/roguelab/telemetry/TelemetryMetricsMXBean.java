@@ -0,0 +1,45 @@
+package com.roguelab.telemetry;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link TelemetryMetrics}, registered as
+ * {@value TelemetryMetrics#OBJECT_NAME}.
+ */
+public interface TelemetryMetricsMXBean {
+
+    long getEventsWritten();
+
+    Map<String, Long> getEventsWrittenByType();
+
+    /**
+     * Events written per second since the metrics were created or reset.
+     */
+    double getEventsPerSecond();
+
+    long getBytesWritten();
+
+    long getFlushCount();
+
+    long getDroppedEvents();
+
+    /**
+     * Failed writes and flushes in writers and emitters.
+     */
+    long getErrorCount();
+
+    double getSerializationMeanNanos();
+
+    long getSerializationP50Nanos();
+
+    long getSerializationP99Nanos();
+
+    long getSerializationMaxNanos();
+
+    /**
+     * Current depth of every registered queue, e.g. fan-out sinks and the event bus ring.
+     */
+    Map<String, Long> getQueueDepths();
+
+    void reset();
+}
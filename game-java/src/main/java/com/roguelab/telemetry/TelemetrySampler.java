@@ -0,0 +1,131 @@
+package com.roguelab.telemetry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Decides which telemetry events are recorded.
+ *
+ * Three independent controls:
+ * - run sampling: a deterministic hash of the run ID keeps or drops a
+ *   whole run, so sampled runs are always complete
+ * - per-event-type rates: e.g. keep 10% of DAMAGE_DEALT events
+ * - summary-only mode: per-hit DAMAGE_DEALT events are not written and
+ *   are folded into aggregates on COMBAT_ENDED instead
+ *
+ * Sampling decisions are pure functions of the run ID, event type and a
+ * per-run sequence number, so re-running a seed samples the same events.
+ * Callers check the decision before building a payload, so skipped
+ * events cost nothing.
+ */
+public final class TelemetrySampler {
+
+    public static final String DAMAGE_DEALT = "DAMAGE_DEALT";
+
+    /** Records everything. */
+    public static final TelemetrySampler ALL = builder().build();
+
+    private final double runRate;
+    private final double defaultRate;
+    private final Map<String, Double> typeRates;
+    private final boolean summaryOnly;
+
+    private TelemetrySampler(Builder builder) {
+        this.runRate = builder.runRate;
+        this.defaultRate = builder.defaultRate;
+        this.typeRates = Map.copyOf(builder.typeRates);
+        this.summaryOnly = builder.summaryOnly;
+    }
+
+    public boolean isSummaryOnly() {
+        return summaryOnly;
+    }
+
+    /**
+     * Check if a run is kept by run sampling.
+     */
+    public boolean keepsRun(String runId) {
+        return runRate >= 1.0 || (runRate > 0 && fraction(runKey(runId)) < runRate);
+    }
+
+    public boolean keepsRun(UUID runId) {
+        return keepsRun(runId.toString());
+    }
+
+    /**
+     * Rate at which events of this type are kept, in [0, 1].
+     */
+    public double rateFor(String eventType) {
+        if (summaryOnly && DAMAGE_DEALT.equals(eventType)) {
+            return 0;
+        }
+        return typeRates.getOrDefault(eventType, defaultRate);
+    }
+
+    /**
+     * Decide whether to keep one event of a run that is already kept.
+     * @param runKey Key from {@link #runKey(String)}
+     * @param sequence Per-run event counter, so repeated events of a type differ
+     */
+    public boolean sample(String eventType, long runKey, long sequence) {
+        double rate = rateFor(eventType);
+        if (rate >= 1.0) return true;
+        if (rate <= 0) return false;
+        return fraction(runKey ^ mix(eventType.hashCode() * 0x9E3779B97F4A7C15L + sequence)) < rate;
+    }
+
+    /**
+     * Stable 64-bit key for a run ID (FNV-1a over UTF-8 bytes).
+     */
+    public static long runKey(String runId) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : runId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double fraction(long hash) {
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private double runRate = 1.0;
+        private double defaultRate = 1.0;
+        private final Map<String, Double> typeRates = new HashMap<>();
+        private boolean summaryOnly = false;
+
+        /** Fraction of runs to keep, chosen by run ID hash */
+        public Builder runRate(double value) { this.runRate = checkRate(value); return this; }
+        /** Rate for event types without an explicit rate */
+        public Builder defaultRate(double value) { this.defaultRate = checkRate(value); return this; }
+        /** Rate for one event type */
+        public Builder rate(String eventType, double value) { typeRates.put(eventType, checkRate(value)); return this; }
+        /** Fold per-hit events into combat summaries */
+        public Builder summaryOnly(boolean value) { this.summaryOnly = value; return this; }
+
+        public TelemetrySampler build() {
+            return new TelemetrySampler(this);
+        }
+
+        private static double checkRate(double value) {
+            if (value < 0 || value > 1) {
+                throw new IllegalArgumentException("Sampling rate must be in [0, 1]: " + value);
+            }
+            return value;
+        }
+    }
+}
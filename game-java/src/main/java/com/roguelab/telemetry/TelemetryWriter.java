@@ -1,57 +1,268 @@
 package com.roguelab.telemetry;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.roguelab.event.GameEvent;
+import com.roguelab.jfr.TelemetryFlush;
+import com.roguelab.util.PhaseProfiler;
+import com.roguelab.util.PhaseProfiler.Phase;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.Instant;
+import java.util.function.Consumer;
 
 /**
- * Simple telemetry writer that outputs JSON Lines directly.
- * Avoids complex event system dependencies.
+ * Telemetry writer that outputs JSON Lines in the snake_case schema.
+ * The game feeds it typed events through an {@link EventBus} (see
+ * {@link EventBus#forWriter}); tools can also write payloads directly.
+ * 
+ * The writer does no sampling: everything given to it is written.
+ * Game events are sampled where they are built, by
+ * {@link EventBusListener}, or by a {@link SamplingEmitter} on the
+ * emitter path.
+ * 
+ * Payloads can be given as a tree, or streamed with a {@link PayloadWriter}
+ * and pre-encoded keys, which avoids building a tree per event on hot paths.
+ * 
+ * Each event is flushed as it is written unless auto-flush is turned
+ * off, as the {@link EventBus} consumer does to flush once per batch
+ * instead; then the owner calls {@link #flush()}.
+ * 
+ * Events, bytes, flushes, write latency and errors are recorded in
+ * {@link TelemetryMetrics#global()}, and writes are profiled as
+ * {@link Phase#TELEMETRY}. Each flush is committed as a
+ * {@link TelemetryFlush} JFR event.
  */
 public final class TelemetryWriter implements AutoCloseable {
     
+    /**
+     * Writes the fields of a payload; the payload object is already open.
+     */
+    @FunctionalInterface
+    public interface PayloadWriter {
+        void writeFields(JsonGenerator gen) throws IOException;
+    }
+    
+    private static final SerializedString EVENT_TYPE = new SerializedString("event_type");
+    private static final SerializedString EVENT_VERSION = new SerializedString("event_version");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString RUN_ID = new SerializedString("run_id");
+    private static final SerializedString TICK = new SerializedString("tick");
+    private static final SerializedString PAYLOAD = new SerializedString("payload");
+    private static final SerializedString VERSION = new SerializedString("1");
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    
     private final ObjectMapper mapper;
-    private final BufferedWriter writer;
+    private final TelemetryMetrics metrics = TelemetryMetrics.global();
+    private final PhaseProfiler profiler;
+    private final JsonGenerator generator;
+    private final CountingOutputStream counter;
+    private final String fileName;
     private final String runId;
+    private final SerializedString encodedRunId;
     private final boolean consoleOutput;
+    private boolean autoFlush = true;
+    private Consumer<? super ObjectNode> tap;
     
     public TelemetryWriter(Path outputFile, String runId, boolean consoleOutput) throws IOException {
+        this(outputFile, runId, consoleOutput, PhaseProfiler.global());
+    }
+    
+    /**
+     * @param profiler Receives one {@link Phase#TELEMETRY} sample per write;
+     *                 tests pass their own to check that
+     */
+    TelemetryWriter(Path outputFile, String runId, boolean consoleOutput,
+                    PhaseProfiler profiler) throws IOException {
+        this.profiler = profiler;
         this.mapper = new ObjectMapper();
-        this.writer = Files.newBufferedWriter(outputFile, 
+        OutputStream out = Files.newOutputStream(outputFile,
             StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.counter = new CountingOutputStream(out, metrics);
+        this.fileName = String.valueOf(outputFile.getFileName());
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8));
+        this.generator = mapper.getFactory().createGenerator(writer);
+        // Events are separated by newlines, not the default root separator
+        generator.setRootValueSeparator(null);
         this.runId = runId;
+        this.encodedRunId = new SerializedString(runId);
         this.consoleOutput = consoleOutput;
     }
     
+    /**
+     * Also pass every written event to {@code tap}, e.g. a
+     * {@link com.roguelab.telemetry.arrow.TelemetryArrowExporter}.
+     */
+    public void setTap(Consumer<? super ObjectNode> tap) {
+        this.tap = tap;
+    }
+    
+    /**
+     * Whether every write is flushed to the file; on by default. With it
+     * off, output is buffered until {@link #flush()} or {@link #close()}.
+     */
+    public void setAutoFlush(boolean autoFlush) {
+        this.autoFlush = autoFlush;
+    }
+    
     /**
      * Write an event to the telemetry file.
      */
     public void write(String eventType, int tick, ObjectNode payload) {
+        profiler.begin(Phase.TELEMETRY);
+        writeTree(eventType, VERSION.getValue(), Instant.now(), tick, payload);
+        profiler.end(Phase.TELEMETRY);
+    }
+    
+    /**
+     * Write a typed event, e.g. from an {@link EventBus} consumer, with a
+     * payload from {@link EventSerializer#serializePayload}. The envelope
+     * keeps the event's version and timestamp; the run ID is this writer's.
+     */
+    public void write(GameEvent event, ObjectNode payload) {
+        profiler.begin(Phase.TELEMETRY);
+        writeTree(event.getEventType(), event.getEventVersion(), event.getTimestamp(), event.getTick(), payload);
+        profiler.end(Phase.TELEMETRY);
+    }
+    
+    /**
+     * Write one event tree. Not profiled: every caller is already inside
+     * {@link Phase#TELEMETRY}, and beginning it again would restart the
+     * phase's clock and drop the time spent before this call.
+     */
+    private void writeTree(String eventType, String version, Instant timestamp, int tick, ObjectNode payload) {
+        long start = System.nanoTime();
         try {
             ObjectNode event = mapper.createObjectNode();
             event.put("event_type", eventType);
-            event.put("event_version", "1");
-            event.put("timestamp", Instant.now().toString());
+            event.put("event_version", version);
+            event.put("timestamp", timestamp.toString());
             event.put("run_id", runId);
             event.put("tick", tick);
             event.set("payload", payload);
             
-            String json = mapper.writeValueAsString(event);
-            writer.write(json);
-            writer.newLine();
-            writer.flush();
+            mapper.writeTree(generator, event);
+            endLine(eventType, start);
+            
+            if (tap != null) {
+                tap.accept(event);
+            }
             
             if (consoleOutput) {
                 System.out.println("[TELEMETRY] " + eventType);
             }
         } catch (IOException e) {
+            metrics.recordError();
             System.err.println("Telemetry write error: " + e.getMessage());
         }
     }
     
+    /**
+     * Write an event whose payload is streamed by {@code payload}, using
+     * pre-encoded keys and values where the caller has them.
+     * Produces the same output as {@link #write(String, int, ObjectNode)}.
+     */
+    public void write(SerializableString eventType, int tick, PayloadWriter payload) {
+        profiler.begin(Phase.TELEMETRY);
+        writeStreamed(eventType, VERSION.getValue(), Instant.now(), tick, payload);
+        profiler.end(Phase.TELEMETRY);
+    }
+    
+    /**
+     * Write a typed event whose payload is streamed by {@code payload}.
+     * Like {@link #write(GameEvent, ObjectNode)}, the envelope keeps the
+     * event's version and timestamp.
+     * @param eventType The event's type, pre-encoded by the caller
+     */
+    public void write(GameEvent event, SerializableString eventType, PayloadWriter payload) {
+        profiler.begin(Phase.TELEMETRY);
+        writeStreamed(eventType, event.getEventVersion(), event.getTimestamp(), event.getTick(), payload);
+        profiler.end(Phase.TELEMETRY);
+    }
+    
+    private void writeStreamed(SerializableString eventType, String version, Instant timestamp,
+                               int tick, PayloadWriter payload) {
+        long start = System.nanoTime();
+        try {
+            if (tap != null) {
+                // Taps take trees, so build one and write it the usual way.
+                // writeTree, not write: this is already inside the phase.
+                TokenBuffer buffer = new TokenBuffer(mapper, false);
+                buffer.writeStartObject();
+                payload.writeFields(buffer);
+                buffer.writeEndObject();
+                writeTree(eventType.getValue(), version, timestamp, tick,
+                    (ObjectNode) mapper.readTree(buffer.asParser()));
+                return;
+            }
+            
+            generator.writeStartObject();
+            generator.writeFieldName(EVENT_TYPE);
+            generator.writeString(eventType);
+            generator.writeFieldName(EVENT_VERSION);
+            generator.writeString(version);
+            generator.writeFieldName(TIMESTAMP);
+            generator.writeString(timestamp.toString());
+            generator.writeFieldName(RUN_ID);
+            generator.writeString(encodedRunId);
+            generator.writeFieldName(TICK);
+            generator.writeNumber(tick);
+            generator.writeFieldName(PAYLOAD);
+            generator.writeStartObject();
+            payload.writeFields(generator);
+            generator.writeEndObject();
+            generator.writeEndObject();
+            endLine(eventType.getValue(), start);
+            
+            if (consoleOutput) {
+                System.out.println("[TELEMETRY] " + eventType.getValue());
+            }
+        } catch (IOException e) {
+            metrics.recordError();
+            System.err.println("Telemetry write error: " + e.getMessage());
+        }
+    }
+    
+    private void endLine(String eventType, long start) throws IOException {
+        generator.writeRaw(LINE_SEPARATOR);
+        metrics.recordEvent(eventType, System.nanoTime() - start);
+        if (autoFlush) {
+            flushGenerator();
+        }
+    }
+    
+    /**
+     * Flush buffered events to the file.
+     */
+    public void flush() {
+        try {
+            flushGenerator();
+        } catch (IOException e) {
+            metrics.recordError();
+            System.err.println("Telemetry flush error: " + e.getMessage());
+        }
+    }
+    
+    private void flushGenerator() throws IOException {
+        TelemetryFlush event = new TelemetryFlush();
+        event.begin();
+        generator.flush();
+        metrics.recordFlush();
+        // Taken on every flush, so a committed event covers only its own flush
+        long bytes = counter.takeFlushedBytes();
+        if (event.shouldCommit()) {
+            event.sink = fileName;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+    
     /**
      * Create a payload builder.
      */
@@ -65,6 +276,6 @@ public final class TelemetryWriter implements AutoCloseable {
     
     @Override
     public void close() throws IOException {
-        writer.close();
+        generator.close();
     }
 }
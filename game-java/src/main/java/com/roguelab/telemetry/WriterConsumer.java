@@ -0,0 +1,237 @@
+package com.roguelab.telemetry;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.roguelab.domain.DamageType;
+import com.roguelab.domain.EnemyType;
+import com.roguelab.event.*;
+
+import java.io.IOException;
+
+/**
+ * Bus consumer that writes events to a {@link TelemetryWriter} in the
+ * snake_case schema. Created by {@link EventBus#forWriter}.
+ *
+ * Every event on the bus is written: sampling happens before events are
+ * published (see {@link EventBusListener}).
+ *
+ * Combat events are streamed with pre-encoded keys and enum names, so a
+ * DAMAGE_DEALT event costs a handful of primitive writes and no payload
+ * tree. Other events are rare and are written from
+ * {@link EventSerializer#serializePayload}; both produce the same payload.
+ *
+ * The writer's auto-flush is turned off and output is flushed once at
+ * the end of each batch, so a burst of hits costs one flush, not one per
+ * event.
+ */
+final class WriterConsumer implements EventBus.Consumer {
+
+    private static final SerializedString COMBAT_STARTED = new SerializedString("COMBAT_STARTED");
+    private static final SerializedString DAMAGE_DEALT = new SerializedString("DAMAGE_DEALT");
+    private static final SerializedString COMBAT_ENDED = new SerializedString("COMBAT_ENDED");
+    private static final SerializedString PLAYER_DIED = new SerializedString("PLAYER_DIED");
+
+    // Payload keys
+    private static final SerializedString ROOM_ID = new SerializedString("room_id");
+    private static final SerializedString ENEMIES = new SerializedString("enemies");
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString HEALTH = new SerializedString("health");
+    private static final SerializedString MAX_HEALTH = new SerializedString("max_health");
+    private static final SerializedString ATTACK = new SerializedString("attack");
+    private static final SerializedString DEFENSE = new SerializedString("defense");
+    private static final SerializedString PLAYER_HEALTH = new SerializedString("player_health");
+    private static final SerializedString PLAYER_MAX_HEALTH = new SerializedString("player_max_health");
+    private static final SerializedString SOURCE_ID = new SerializedString("source_id");
+    private static final SerializedString SOURCE_TYPE = new SerializedString("source_type");
+    private static final SerializedString TARGET_ID = new SerializedString("target_id");
+    private static final SerializedString TARGET_TYPE = new SerializedString("target_type");
+    private static final SerializedString BASE_DAMAGE = new SerializedString("base_damage");
+    private static final SerializedString FINAL_DAMAGE = new SerializedString("final_damage");
+    private static final SerializedString DAMAGE_TYPE = new SerializedString("damage_type");
+    private static final SerializedString CRITICAL = new SerializedString("critical");
+    private static final SerializedString HEALTH_BEFORE = new SerializedString("health_before");
+    private static final SerializedString HEALTH_AFTER = new SerializedString("health_after");
+    private static final SerializedString KILLED = new SerializedString("killed");
+    private static final SerializedString OUTCOME = new SerializedString("outcome");
+    private static final SerializedString TURNS_ELAPSED = new SerializedString("turns_elapsed");
+    private static final SerializedString TOTAL_DAMAGE_DEALT = new SerializedString("total_damage_dealt");
+    private static final SerializedString TOTAL_DAMAGE_TAKEN = new SerializedString("total_damage_taken");
+    private static final SerializedString ENEMIES_KILLED = new SerializedString("enemies_killed");
+    private static final SerializedString PLAYER_HEALTH_AFTER = new SerializedString("player_health_after");
+    private static final SerializedString GOLD_EARNED = new SerializedString("gold_earned");
+    private static final SerializedString EXPERIENCE_GAINED = new SerializedString("experience_gained");
+    private static final SerializedString DAMAGE_SUMMARY = new SerializedString("damage_summary");
+    private static final SerializedString PLAYER_HITS = new SerializedString("player_hits");
+    private static final SerializedString PLAYER_CRITS = new SerializedString("player_crits");
+    private static final SerializedString MAX_PLAYER_HIT = new SerializedString("max_player_hit");
+    private static final SerializedString ENEMY_HITS = new SerializedString("enemy_hits");
+    private static final SerializedString ENEMY_CRITS = new SerializedString("enemy_crits");
+    private static final SerializedString MAX_ENEMY_HIT = new SerializedString("max_enemy_hit");
+    private static final SerializedString CAUSE_TYPE = new SerializedString("cause_type");
+    private static final SerializedString CAUSE_ID = new SerializedString("cause_id");
+    private static final SerializedString CAUSE_NAME = new SerializedString("cause_name");
+    private static final SerializedString FINAL_BLOW = new SerializedString("final_blow");
+    private static final SerializedString FLOOR = new SerializedString("floor");
+    private static final SerializedString ITEMS = new SerializedString("items");
+    private static final SerializedString GOLD = new SerializedString("gold");
+
+    // Payload values
+    private static final SerializedString UNKNOWN_TYPE = new SerializedString("UNKNOWN");
+    private static final SerializedString[] ENEMY_TYPES = encode(EnemyType.values());
+    private static final SerializedString[] DAMAGE_TYPES = encode(DamageType.values());
+    private static final SerializedString[] ENTITY_TYPES = encode(DamageDealtEvent.EntityType.values());
+    private static final SerializedString[] OUTCOMES = encode(CombatEndedEvent.CombatOutcome.values());
+    private static final SerializedString[] CAUSE_TYPES = encode(PlayerDiedEvent.CauseType.values());
+
+    private final TelemetryWriter writer;
+    private final EventSerializer serializer = new EventSerializer(EventSerializer.KeyStyle.SNAKE_CASE);
+
+    WriterConsumer(TelemetryWriter writer) {
+        this.writer = writer;
+        writer.setAutoFlush(false);
+    }
+
+    @Override
+    public void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+        switch (event) {
+            case DamageDealtEvent e -> writer.write(e, DAMAGE_DEALT, gen -> writeDamageDealt(gen, e));
+            case CombatStartedEvent e -> writer.write(e, COMBAT_STARTED, gen -> writeCombatStarted(gen, e));
+            case CombatEndedEvent e -> writer.write(e, COMBAT_ENDED, gen -> writeCombatEnded(gen, e));
+            case PlayerDiedEvent e -> writer.write(e, PLAYER_DIED, gen -> writePlayerDied(gen, e));
+            default -> writer.write(event, serializer.serializePayload(event));
+        }
+        if (endOfBatch) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void onShutdown() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Telemetry close error: " + e.getMessage());
+        }
+    }
+
+    private static void writeCombatStarted(JsonGenerator gen, CombatStartedEvent e) throws IOException {
+        gen.writeFieldName(ROOM_ID);
+        gen.writeString(e.getRoomId());
+        gen.writeFieldName(ENEMIES);
+        gen.writeStartArray();
+        for (EnemyInfo enemy : e.getEnemies()) {
+            gen.writeStartObject();
+            gen.writeFieldName(ID);
+            gen.writeString(enemy.enemyId());
+            gen.writeFieldName(TYPE);
+            gen.writeString(ENEMY_TYPES[enemy.enemyType().ordinal()]);
+            writeNumber(gen, HEALTH, enemy.health());
+            writeNumber(gen, MAX_HEALTH, enemy.maxHealth());
+            writeNumber(gen, ATTACK, enemy.attack());
+            writeNumber(gen, DEFENSE, enemy.defense());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        writeNumber(gen, PLAYER_HEALTH, e.getPlayerHealth());
+        writeNumber(gen, PLAYER_MAX_HEALTH, e.getPlayerMaxHealth());
+    }
+
+    private static void writeDamageDealt(JsonGenerator gen, DamageDealtEvent e) throws IOException {
+        gen.writeFieldName(SOURCE_ID);
+        gen.writeString(e.getSourceId());
+        gen.writeFieldName(SOURCE_TYPE);
+        gen.writeString(entityType(e.getSourceType(), e.getEnemyType()));
+        gen.writeFieldName(TARGET_ID);
+        gen.writeString(e.getTargetId());
+        gen.writeFieldName(TARGET_TYPE);
+        gen.writeString(entityType(e.getTargetType(), e.getEnemyType()));
+        writeNumber(gen, BASE_DAMAGE, e.getBaseDamage());
+        writeNumber(gen, FINAL_DAMAGE, e.getFinalDamage());
+        gen.writeFieldName(DAMAGE_TYPE);
+        gen.writeString(DAMAGE_TYPES[e.getDamageType().ordinal()]);
+        writeBoolean(gen, CRITICAL, e.isCritical());
+        writeNumber(gen, HEALTH_BEFORE, e.getTargetHealthBefore());
+        writeNumber(gen, HEALTH_AFTER, e.getTargetHealthAfter());
+        writeBoolean(gen, KILLED, e.isTargetKilled());
+    }
+
+    private static void writeCombatEnded(JsonGenerator gen, CombatEndedEvent e) throws IOException {
+        gen.writeFieldName(ROOM_ID);
+        gen.writeString(e.getRoomId());
+        gen.writeFieldName(OUTCOME);
+        gen.writeString(OUTCOMES[e.getOutcome().ordinal()]);
+        writeNumber(gen, TURNS_ELAPSED, e.getTurnsElapsed());
+        writeNumber(gen, TOTAL_DAMAGE_DEALT, e.getDamageDealt());
+        writeNumber(gen, TOTAL_DAMAGE_TAKEN, e.getDamageTaken());
+        writeNumber(gen, ENEMIES_KILLED, e.getEnemiesKilled());
+        writeNumber(gen, PLAYER_HEALTH_AFTER, e.getPlayerHealthRemaining());
+        writeNumber(gen, PLAYER_MAX_HEALTH, e.getPlayerMaxHealth());
+        writeNumber(gen, GOLD_EARNED, e.getGoldDropped());
+        writeNumber(gen, EXPERIENCE_GAINED, e.getExperienceGained());
+
+        CombatEndedEvent.DamageSummary summary = e.getDamageSummary();
+        if (summary != null) {
+            gen.writeFieldName(DAMAGE_SUMMARY);
+            gen.writeStartObject();
+            writeNumber(gen, PLAYER_HITS, summary.playerHits());
+            writeNumber(gen, PLAYER_CRITS, summary.playerCrits());
+            writeNumber(gen, MAX_PLAYER_HIT, summary.maxPlayerHit());
+            writeNumber(gen, ENEMY_HITS, summary.enemyHits());
+            writeNumber(gen, ENEMY_CRITS, summary.enemyCrits());
+            writeNumber(gen, MAX_ENEMY_HIT, summary.maxEnemyHit());
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writePlayerDied(JsonGenerator gen, PlayerDiedEvent e) throws IOException {
+        gen.writeFieldName(CAUSE_TYPE);
+        gen.writeString(CAUSE_TYPES[e.getCauseType().ordinal()]);
+        gen.writeFieldName(CAUSE_ID);
+        gen.writeString(e.getCauseId());
+        gen.writeFieldName(CAUSE_NAME);
+        gen.writeString(e.getCauseName());
+        gen.writeFieldName(DAMAGE_TYPE);
+        gen.writeString(DAMAGE_TYPES[e.getDamageType().ordinal()]);
+        writeNumber(gen, FINAL_BLOW, e.getFinalBlow());
+        writeNumber(gen, TOTAL_DAMAGE_TAKEN, e.getTotalDamageTaken());
+        writeNumber(gen, FLOOR, e.getFloor());
+        gen.writeFieldName(ITEMS);
+        gen.writeStartArray();
+        for (String item : e.getItemsHeld()) {
+            gen.writeString(item);
+        }
+        gen.writeEndArray();
+        writeNumber(gen, GOLD, e.getGold());
+        writeNumber(gen, ENEMIES_KILLED, e.getEnemiesKilledThisRun());
+    }
+
+    /**
+     * Entity type of a damage source or target, naming the enemy's type
+     * instead of ENEMY as {@link EventSerializer} does for snake_case.
+     */
+    private static SerializedString entityType(DamageDealtEvent.EntityType entityType, EnemyType enemyType) {
+        if (entityType == DamageDealtEvent.EntityType.PLAYER) {
+            return ENTITY_TYPES[entityType.ordinal()];
+        }
+        return enemyType != null ? ENEMY_TYPES[enemyType.ordinal()] : UNKNOWN_TYPE;
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializedString key, int value) throws IOException {
+        gen.writeFieldName(key);
+        gen.writeNumber(value);
+    }
+
+    private static void writeBoolean(JsonGenerator gen, SerializedString key, boolean value) throws IOException {
+        gen.writeFieldName(key);
+        gen.writeBoolean(value);
+    }
+
+    private static SerializedString[] encode(Enum<?>[] values) {
+        SerializedString[] names = new SerializedString[values.length];
+        for (Enum<?> value : values) {
+            names[value.ordinal()] = new SerializedString(value.name());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,639 @@
+package com.roguelab.telemetry.arrow;
+
+import com.roguelab.telemetry.TelemetryException;
+import com.roguelab.telemetry.arrow.FlatBufferWriter.StructVector;
+import com.roguelab.telemetry.arrow.FlatBufferWriter.Table;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.roguelab.telemetry.arrow.FlatBufferWriter.table;
+import static com.roguelab.telemetry.arrow.FlatBufferWriter.vector;
+
+/**
+ * Writes one table to a local Arrow IPC file (the ".arrow"/Feather v2
+ * format), readable with {@code pyarrow.feather.read_table},
+ * {@code pandas.read_feather} or {@code polars.read_ipc}.
+ *
+ * Columns are typed (int32, int64, bool, utf8). Enum columns are
+ * dictionary-encoded: the dictionary is the enum's constant names,
+ * written once up front, and each row stores only the ordinal, so they
+ * load as categoricals. Every column is nullable; a value not set before
+ * {@link #endRow()} is null.
+ *
+ * Rows are buffered and written as a record batch every
+ * {@code batchSize} rows, so memory use does not grow with the table.
+ *
+ * Usage:
+ * <pre>
+ * ArrowTableWriter damage = ArrowTableWriter.builder(path)
+ *     .utf8("run_id")
+ *     .int32("final_damage")
+ *     .dictionary("damage_type", DamageType.class)
+ *     .build();
+ * damage.setString(0, runId).setInt(1, 12).setEnum(2, DamageType.FIRE).endRow();
+ * damage.close();
+ * </pre>
+ */
+public final class ArrowTableWriter implements AutoCloseable {
+
+    public static final int DEFAULT_BATCH_SIZE = 64 * 1024;
+
+    private static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+    private static final int CONTINUATION = 0xFFFFFFFF;
+
+    // Schema.fbs / Message.fbs constants
+    private static final short METADATA_V5 = 4;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_UTF8 = 5;
+    private static final byte TYPE_BOOL = 6;
+    private static final byte HEADER_SCHEMA = 1;
+    private static final byte HEADER_DICTIONARY_BATCH = 2;
+    private static final byte HEADER_RECORD_BATCH = 3;
+
+    /**
+     * Location of one message in the file, recorded in the footer.
+     */
+    private record Block(long offset, int metadataLength, long bodyLength) {}
+
+    private final Path path;
+    private final OutputStream out;
+    private final List<Column> columns;
+    private final int batchSize;
+    private final List<Block> dictionaryBlocks = new ArrayList<>();
+    private final List<Block> batchBlocks = new ArrayList<>();
+    private long position;
+    private int rows;
+    private long totalRows;
+    private boolean closed;
+
+    private ArrowTableWriter(Builder builder) {
+        this.path = builder.path;
+        this.columns = List.copyOf(builder.columns);
+        this.batchSize = builder.batchSize;
+        try {
+            this.out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16);
+            writeBytes(MAGIC);
+            writeBytes(new byte[2]);
+            writeMessage(HEADER_SCHEMA, schema(), 0);
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i) instanceof DictionaryColumn dict) {
+                    dictionaryBlocks.add(writeDictionary(i, dict));
+                }
+            }
+        } catch (IOException e) {
+            throw new TelemetryException("Failed to create Arrow file: " + path, e);
+        }
+    }
+
+    public static Builder builder(Path path) {
+        return new Builder(path);
+    }
+
+    // === ROW API ===
+
+    public ArrowTableWriter setInt(int column, int value) {
+        ((IntColumn) columns.get(column)).set(rows, value);
+        return this;
+    }
+
+    public ArrowTableWriter setLong(int column, long value) {
+        ((LongColumn) columns.get(column)).set(rows, value);
+        return this;
+    }
+
+    public ArrowTableWriter setBool(int column, boolean value) {
+        ((BoolColumn) columns.get(column)).set(rows, value);
+        return this;
+    }
+
+    public ArrowTableWriter setString(int column, String value) {
+        if (value != null) {
+            ((Utf8Column) columns.get(column)).set(rows, value);
+        }
+        return this;
+    }
+
+    public ArrowTableWriter setEnum(int column, Enum<?> value) {
+        if (value != null) {
+            ((DictionaryColumn) columns.get(column)).set(rows, value.ordinal());
+        }
+        return this;
+    }
+
+    /**
+     * Finish the current row. Columns not set since the last row are null.
+     */
+    public void endRow() {
+        if (closed) {
+            throw new IllegalStateException("Arrow table already closed: " + path);
+        }
+        for (Column column : columns) {
+            column.endRow(rows);
+        }
+        rows++;
+        totalRows++;
+        if (rows == batchSize) {
+            flushBatch();
+        }
+    }
+
+    public long getRowCount() {
+        return totalRows;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Write any buffered rows, the footer and close the file.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flushBatch();
+        closed = true;
+        try {
+            // End-of-stream marker, then the footer for random access
+            writeInt(CONTINUATION);
+            writeInt(0);
+            byte[] footer = FlatBufferWriter.serialize(table()
+                .addShort(0, METADATA_V5)
+                .add(1, schema())
+                .add(2, blocks(dictionaryBlocks))
+                .add(3, blocks(batchBlocks)));
+            writeBytes(footer);
+            writeInt(footer.length);
+            writeBytes(MAGIC);
+            out.close();
+        } catch (IOException e) {
+            throw new TelemetryException("Failed to finish Arrow file: " + path, e);
+        }
+    }
+
+    private void flushBatch() {
+        if (rows == 0 || closed) {
+            return;
+        }
+        List<byte[]> buffers = new ArrayList<>();
+        List<long[]> nodes = new ArrayList<>();
+        for (Column column : columns) {
+            nodes.add(new long[] {rows, column.nullCount});
+            buffers.add(column.validity(rows));
+            column.addBuffers(rows, buffers);
+        }
+        try {
+            batchBlocks.add(writeBody(HEADER_RECORD_BATCH, null, rows, nodes, buffers));
+        } catch (IOException e) {
+            throw new TelemetryException("Failed to write Arrow record batch: " + path, e);
+        }
+        for (Column column : columns) {
+            column.reset();
+        }
+        rows = 0;
+    }
+
+    // === METADATA ===
+
+    private Table schema() {
+        List<Table> fields = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            Column column = columns.get(i);
+            Table field = table()
+                .add(0, new FlatBufferWriter.Str(column.name))
+                .addBool(1, true)
+                .add(5, vector(List.of()));
+            if (column instanceof DictionaryColumn dict) {
+                field.addByte(2, TYPE_UTF8).add(3, table())
+                    .add(4, table()
+                        .addLong(0, i)
+                        .add(1, intType(dict.indexBits())));
+            } else {
+                field.addByte(2, column.typeId()).add(3, column.typeTable());
+            }
+            fields.add(field);
+        }
+        return table().add(1, vector(fields));
+    }
+
+    private static Table intType(int bitWidth) {
+        return table().addInt(0, bitWidth).addBool(1, true);
+    }
+
+    private static StructVector blocks(List<Block> blocks) {
+        ByteBuffer data = ByteBuffer.allocate(24 * blocks.size()).order(ByteOrder.LITTLE_ENDIAN);
+        for (Block block : blocks) {
+            data.putLong(block.offset()).putInt(block.metadataLength()).putInt(0).putLong(block.bodyLength());
+        }
+        return new StructVector(blocks.size(), 8, data.array());
+    }
+
+    private Block writeDictionary(int id, DictionaryColumn column) throws IOException {
+        Utf8Column values = new Utf8Column("values");
+        for (int i = 0; i < column.names.length; i++) {
+            values.set(i, column.names[i]);
+            values.endRow(i);
+        }
+        List<byte[]> buffers = new ArrayList<>();
+        buffers.add(new byte[0]);
+        values.addBuffers(column.names.length, buffers);
+        List<long[]> nodes = List.<long[]>of(new long[] {column.names.length, 0});
+        return writeBody(HEADER_DICTIONARY_BATCH, (long) id, column.names.length, nodes, buffers);
+    }
+
+    /**
+     * Write a record batch message (wrapped in a DictionaryBatch when
+     * {@code dictionaryId} is set) followed by its body.
+     */
+    private Block writeBody(byte headerType, Long dictionaryId, int length,
+                            List<long[]> nodes, List<byte[]> buffers) throws IOException {
+        ByteBuffer nodeData = ByteBuffer.allocate(16 * nodes.size()).order(ByteOrder.LITTLE_ENDIAN);
+        for (long[] node : nodes) {
+            nodeData.putLong(node[0]).putLong(node[1]);
+        }
+        ByteBuffer bufferData = ByteBuffer.allocate(16 * buffers.size()).order(ByteOrder.LITTLE_ENDIAN);
+        long bodyLength = 0;
+        for (byte[] buffer : buffers) {
+            bufferData.putLong(bodyLength).putLong(buffer.length);
+            bodyLength += padded(buffer.length);
+        }
+
+        Table batch = table()
+            .addLong(0, length)
+            .add(1, new StructVector(nodes.size(), 8, nodeData.array()))
+            .add(2, new StructVector(buffers.size(), 8, bufferData.array()));
+        Table header = dictionaryId == null ? batch : table().addLong(0, dictionaryId).add(1, batch);
+
+        Block block = writeMessage(headerType, header, bodyLength);
+        for (byte[] buffer : buffers) {
+            writeBytes(buffer);
+            writeBytes(new byte[padded(buffer.length) - buffer.length]);
+        }
+        return block;
+    }
+
+    private Block writeMessage(byte headerType, Table header, long bodyLength) throws IOException {
+        byte[] metadata = FlatBufferWriter.serialize(table()
+            .addShort(0, METADATA_V5)
+            .addByte(1, headerType)
+            .add(2, header)
+            .addLong(3, bodyLength));
+        long offset = position;
+        writeInt(CONTINUATION);
+        writeInt(metadata.length);
+        writeBytes(metadata);
+        return new Block(offset, 8 + metadata.length, bodyLength);
+    }
+
+    private static int padded(int length) {
+        return (length + 7) & ~7;
+    }
+
+    private void writeInt(int value) throws IOException {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+        position += 4;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    // === COLUMNS ===
+
+    /**
+     * Column buffer with a validity bitmap; subclasses hold the values.
+     */
+    private abstract static class Column {
+        final String name;
+        long[] valid = new long[16];
+        boolean set;
+        int nullCount;
+
+        Column(String name) {
+            this.name = name;
+        }
+
+        byte typeId() {
+            return TYPE_INT;
+        }
+
+        Table typeTable() {
+            return table();
+        }
+
+        void markSet(int row) {
+            int word = row >>> 6;
+            if (word >= valid.length) {
+                valid = Arrays.copyOf(valid, Math.max(valid.length * 2, word + 1));
+            }
+            valid[word] |= 1L << row;
+            set = true;
+        }
+
+        void endRow(int row) {
+            if (!set) {
+                nullCount++;
+                fillNull(row);
+            }
+            set = false;
+        }
+
+        /** Keep value buffers aligned with the row index for a null row. */
+        abstract void fillNull(int row);
+
+        abstract void addBuffers(int rows, List<byte[]> out);
+
+        byte[] validity(int rows) {
+            return nullCount == 0 ? new byte[0] : bits(valid, rows);
+        }
+
+        void reset() {
+            Arrays.fill(valid, 0);
+            nullCount = 0;
+        }
+    }
+
+    private static final class IntColumn extends Column {
+        int[] values = new int[1024];
+
+        IntColumn(String name) {
+            super(name);
+        }
+
+        @Override
+        Table typeTable() {
+            return intType(32);
+        }
+
+        void set(int row, int value) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[row] = value;
+            markSet(row);
+        }
+
+        @Override
+        void fillNull(int row) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[row] = 0;
+        }
+
+        @Override
+        void addBuffers(int rows, List<byte[]> out) {
+            ByteBuffer data = ByteBuffer.allocate(4 * rows).order(ByteOrder.LITTLE_ENDIAN);
+            data.asIntBuffer().put(values, 0, rows);
+            out.add(data.array());
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        long[] values = new long[1024];
+
+        LongColumn(String name) {
+            super(name);
+        }
+
+        @Override
+        Table typeTable() {
+            return intType(64);
+        }
+
+        void set(int row, long value) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[row] = value;
+            markSet(row);
+        }
+
+        @Override
+        void fillNull(int row) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[row] = 0;
+        }
+
+        @Override
+        void addBuffers(int rows, List<byte[]> out) {
+            ByteBuffer data = ByteBuffer.allocate(8 * rows).order(ByteOrder.LITTLE_ENDIAN);
+            data.asLongBuffer().put(values, 0, rows);
+            out.add(data.array());
+        }
+    }
+
+    private static final class BoolColumn extends Column {
+        long[] values = new long[16];
+
+        BoolColumn(String name) {
+            super(name);
+        }
+
+        @Override
+        byte typeId() {
+            return TYPE_BOOL;
+        }
+
+        void set(int row, boolean value) {
+            int word = row >>> 6;
+            if (word >= values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, word + 1));
+            }
+            if (value) {
+                values[word] |= 1L << row;
+            }
+            markSet(row);
+        }
+
+        @Override
+        void fillNull(int row) {}
+
+        @Override
+        void addBuffers(int rows, List<byte[]> out) {
+            out.add(bits(values, rows));
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            Arrays.fill(values, 0);
+        }
+    }
+
+    private static final class Utf8Column extends Column {
+        int[] offsets = new int[1025];
+        byte[] data = new byte[16 * 1024];
+        int end;
+
+        Utf8Column(String name) {
+            super(name);
+        }
+
+        @Override
+        byte typeId() {
+            return TYPE_UTF8;
+        }
+
+        void set(int row, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (end + bytes.length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, end + bytes.length));
+            }
+            System.arraycopy(bytes, 0, data, end, bytes.length);
+            end += bytes.length;
+            markSet(row);
+        }
+
+        @Override
+        void endRow(int row) {
+            super.endRow(row);
+            if (row + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[row + 1] = end;
+        }
+
+        @Override
+        void fillNull(int row) {}
+
+        @Override
+        void addBuffers(int rows, List<byte[]> out) {
+            ByteBuffer offsetData = ByteBuffer.allocate(4 * (rows + 1)).order(ByteOrder.LITTLE_ENDIAN);
+            offsetData.asIntBuffer().put(offsets, 0, rows + 1);
+            out.add(offsetData.array());
+            out.add(Arrays.copyOf(data, end));
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            end = 0;
+        }
+    }
+
+    private static final class DictionaryColumn extends Column {
+        final String[] names;
+        byte[] indices = new byte[1024];
+
+        DictionaryColumn(String name, Class<? extends Enum<?>> type) {
+            super(name);
+            Enum<?>[] constants = type.getEnumConstants();
+            this.names = new String[constants.length];
+            for (int i = 0; i < constants.length; i++) {
+                names[i] = constants[i].name();
+            }
+            if (names.length > Byte.MAX_VALUE + 1) {
+                throw new IllegalArgumentException("Too many constants for a dictionary column: " + type);
+            }
+        }
+
+        int indexBits() {
+            return 8;
+        }
+
+        void set(int row, int ordinal) {
+            fillNull(row);
+            indices[row] = (byte) ordinal;
+            markSet(row);
+        }
+
+        @Override
+        void fillNull(int row) {
+            if (row >= indices.length) {
+                indices = Arrays.copyOf(indices, indices.length * 2);
+            }
+            indices[row] = 0;
+        }
+
+        @Override
+        void addBuffers(int rows, List<byte[]> out) {
+            out.add(Arrays.copyOf(indices, rows));
+        }
+    }
+
+    /**
+     * LSB-first bitmap bytes for the first {@code rows} bits.
+     */
+    private static byte[] bits(long[] words, int rows) {
+        byte[] bytes = new byte[(rows + 7) / 8];
+        for (int i = 0; i < bytes.length; i++) {
+            int word = i >>> 3;
+            bytes[i] = word < words.length ? (byte) (words[word] >>> ((i & 7) * 8)) : 0;
+        }
+        return bytes;
+    }
+
+    // === BUILDER ===
+
+    public static final class Builder {
+        private final Path path;
+        private final List<Column> columns = new ArrayList<>();
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        private Builder(Path path) {
+            this.path = path;
+        }
+
+        public Builder int32(String name) {
+            columns.add(new IntColumn(name));
+            return this;
+        }
+
+        public Builder int64(String name) {
+            columns.add(new LongColumn(name));
+            return this;
+        }
+
+        public Builder bool(String name) {
+            columns.add(new BoolColumn(name));
+            return this;
+        }
+
+        public Builder utf8(String name) {
+            columns.add(new Utf8Column(name));
+            return this;
+        }
+
+        /**
+         * Dictionary-encoded column whose values are the enum's constant names.
+         */
+        public Builder dictionary(String name, Class<? extends Enum<?>> type) {
+            columns.add(new DictionaryColumn(name, type));
+            return this;
+        }
+
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public ArrowTableWriter build() {
+            if (columns.isEmpty()) {
+                throw new IllegalStateException("An Arrow table needs at least one column");
+            }
+            return new ArrowTableWriter(this);
+        }
+    }
+}
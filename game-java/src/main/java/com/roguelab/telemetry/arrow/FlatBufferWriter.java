@@ -0,0 +1,215 @@
+package com.roguelab.telemetry.arrow;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Minimal FlatBuffers serializer for the Arrow IPC metadata messages.
+ *
+ * Callers describe the buffer as a tree of {@link Table}s, strings and
+ * vectors; {@link #serialize(Node)} lays it out front to back, each
+ * parent before its children, so every offset points forward as the
+ * format requires. Only the features Arrow's Schema, Message and Footer
+ * tables need are supported.
+ */
+final class FlatBufferWriter {
+
+    sealed interface Node permits Table, Str, TableVector, StructVector {}
+
+    /**
+     * A table with scalar and reference fields addressed by vtable slot.
+     */
+    static final class Table implements Node {
+
+        private record Field(int slot, int size, long bits, Node child) {}
+
+        private final List<Field> fields = new ArrayList<>();
+
+        Table addBool(int slot, boolean value) {
+            return scalar(slot, 1, value ? 1 : 0);
+        }
+
+        Table addByte(int slot, int value) {
+            return scalar(slot, 1, value);
+        }
+
+        Table addShort(int slot, int value) {
+            return scalar(slot, 2, value);
+        }
+
+        Table addInt(int slot, int value) {
+            return scalar(slot, 4, value);
+        }
+
+        Table addLong(int slot, long value) {
+            return scalar(slot, 8, value);
+        }
+
+        Table add(int slot, Node child) {
+            fields.add(new Field(slot, 4, 0, child));
+            return this;
+        }
+
+        private Table scalar(int slot, int size, long bits) {
+            fields.add(new Field(slot, size, bits, null));
+            return this;
+        }
+    }
+
+    record Str(String value) implements Node {}
+
+    record TableVector(List<? extends Node> items) implements Node {}
+
+    /**
+     * Vector of fixed-size structs, already encoded little-endian.
+     */
+    record StructVector(int count, int alignment, byte[] data) implements Node {}
+
+    static Table table() {
+        return new Table();
+    }
+
+    static TableVector vector(List<? extends Node> items) {
+        return new TableVector(items);
+    }
+
+    private ByteBuffer buf = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+    private int pos;
+
+    private FlatBufferWriter() {}
+
+    /**
+     * Serialize a root table, padded to a multiple of 8 bytes.
+     */
+    static byte[] serialize(Node root) {
+        FlatBufferWriter w = new FlatBufferWriter();
+        w.reserve(4);
+        int rootPos = w.write(root);
+        w.buf.putInt(0, rootPos);
+        w.align(8);
+        return Arrays.copyOf(w.buf.array(), w.pos);
+    }
+
+    private int write(Node node) {
+        return switch (node) {
+            case Table t -> writeTable(t);
+            case Str s -> writeString(s.value());
+            case TableVector v -> writeTableVector(v);
+            case StructVector v -> writeStructVector(v);
+        };
+    }
+
+    private int writeTable(Table table) {
+        int slots = 0;
+        boolean hasLong = false;
+        for (Table.Field f : table.fields) {
+            slots = Math.max(slots, f.slot() + 1);
+            hasLong |= f.size() == 8;
+        }
+
+        // vtable directly precedes the table
+        align(2);
+        int vtable = pos;
+        int vtableSize = 4 + 2 * slots;
+        reserve(vtableSize);
+
+        // Longs must land on 8-byte boundaries after the 4-byte vtable offset
+        while (pos % 4 != 0 || (hasLong && pos % 8 != 4)) {
+            reserve(1);
+        }
+        int start = pos;
+        reserve(4);
+        buf.putInt(start, start - vtable);
+
+        List<Table.Field> bySize = new ArrayList<>(table.fields);
+        bySize.sort(Comparator.comparingInt(Table.Field::size).reversed());
+        int[] fieldPos = new int[slots];
+        for (Table.Field f : bySize) {
+            align(f.size());
+            fieldPos[f.slot()] = pos;
+            reserve(f.size());
+            switch (f.size()) {
+                case 1 -> buf.put(fieldPos[f.slot()], (byte) f.bits());
+                case 2 -> buf.putShort(fieldPos[f.slot()], (short) f.bits());
+                case 4 -> buf.putInt(fieldPos[f.slot()], (int) f.bits());
+                default -> buf.putLong(fieldPos[f.slot()], f.bits());
+            }
+        }
+
+        buf.putShort(vtable, (short) vtableSize);
+        buf.putShort(vtable + 2, (short) (pos - start));
+        for (int slot = 0; slot < slots; slot++) {
+            int offset = fieldPos[slot] == 0 ? 0 : fieldPos[slot] - start;
+            buf.putShort(vtable + 4 + 2 * slot, (short) offset);
+        }
+
+        for (Table.Field f : table.fields) {
+            if (f.child() != null) {
+                // write() may grow buf, so resolve the child before patching
+                int at = fieldPos[f.slot()];
+                int child = write(f.child());
+                buf.putInt(at, child - at);
+            }
+        }
+        return start;
+    }
+
+    private int writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        align(4);
+        int start = pos;
+        reserve(4 + bytes.length + 1);
+        buf.putInt(start, bytes.length);
+        buf.put(start + 4, bytes);
+        return start;
+    }
+
+    private int writeTableVector(TableVector vector) {
+        align(4);
+        int start = pos;
+        reserve(4 + 4 * vector.items().size());
+        buf.putInt(start, vector.items().size());
+        for (int i = 0; i < vector.items().size(); i++) {
+            int at = start + 4 + 4 * i;
+            int child = write(vector.items().get(i));
+            buf.putInt(at, child - at);
+        }
+        return start;
+    }
+
+    private int writeStructVector(StructVector vector) {
+        // Elements follow the 4-byte length and need their own alignment
+        while (pos % 4 != 0 || (pos + 4) % vector.alignment() != 0) {
+            reserve(1);
+        }
+        int start = pos;
+        reserve(4 + vector.data().length);
+        buf.putInt(start, vector.count());
+        buf.put(start + 4, vector.data());
+        return start;
+    }
+
+    private void align(int alignment) {
+        while (pos % alignment != 0) {
+            reserve(1);
+        }
+    }
+
+    /**
+     * Advance past {@code bytes} zeroed bytes, growing the buffer as needed.
+     */
+    private void reserve(int bytes) {
+        if (pos + bytes > buf.capacity()) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(buf.capacity() * 2, pos + bytes))
+                .order(ByteOrder.LITTLE_ENDIAN);
+            bigger.put(0, buf, 0, pos);
+            buf = bigger;
+        }
+        pos += bytes;
+    }
+}
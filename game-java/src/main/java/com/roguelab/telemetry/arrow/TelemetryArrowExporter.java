@@ -0,0 +1,372 @@
+package com.roguelab.telemetry.arrow;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roguelab.combat.CombatResult;
+import com.roguelab.domain.*;
+import com.roguelab.game.GameSessionListener.RunEndReason;
+import com.roguelab.telemetry.TelemetryException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Converts telemetry in the JSONL schema written by
+ * {@link com.roguelab.telemetry.TelemetryWriter} into one Arrow IPC file
+ * per table, so a whole sweep loads into pandas or polars in one call
+ * instead of parsing every line in Python:
+ *
+ * <ul>
+ *   <li>{@code runs.arrow} - one row per run (RUN_STARTED joined with RUN_ENDED)</li>
+ *   <li>{@code combats.arrow} - one row per COMBAT_ENDED</li>
+ *   <li>{@code damage.arrow} - one row per DAMAGE_DEALT</li>
+ *   <li>{@code items.arrow} - ITEM_PICKED, ITEM_USED and SHOP_PURCHASED</li>
+ *   <li>{@code deaths.arrow} - one row per PLAYER_DIED</li>
+ * </ul>
+ *
+ * Events can be fed live (attach with {@code TelemetryWriter.setTap})
+ * or from existing files with {@link #exportFile(Path)}. Combat, damage
+ * and item rows carry the floor and room type of the room the run last
+ * entered. Safe to share between concurrently running sessions.
+ */
+public final class TelemetryArrowExporter implements Consumer<JsonNode>, AutoCloseable {
+
+    /**
+     * How an item row entered the telemetry.
+     */
+    public enum ItemAction { PICKED, USED, PURCHASED }
+
+    /**
+     * Per-run context carried between events.
+     */
+    private static final class RunState {
+        long seed;
+        Difficulty difficulty;
+        PlayerClass playerClass;
+        Integer startingHealth;
+        int floor;
+        String roomId;
+        RoomType roomType;
+        int enemyCount;
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, RunState> runs = new HashMap<>();
+    private final ArrowTableWriter runTable;
+    private final ArrowTableWriter combatTable;
+    private final ArrowTableWriter damageTable;
+    private final ArrowTableWriter itemTable;
+    private final ArrowTableWriter deathTable;
+
+    public TelemetryArrowExporter(Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        this.runTable = ArrowTableWriter.builder(outputDir.resolve("runs.arrow"))
+            .utf8("run_id")
+            .int64("seed")
+            .dictionary("difficulty", Difficulty.class)
+            .dictionary("player_class", PlayerClass.class)
+            .int32("starting_health")
+            .dictionary("end_reason", RunEndReason.class)
+            .int32("final_floor")
+            .int32("player_level")
+            .bool("player_alive")
+            .int32("enemies_killed")
+            .int32("bosses_killed")
+            .int32("gold_earned")
+            .int32("gold_spent")
+            .int32("items_collected")
+            .int32("damage_dealt")
+            .int32("damage_taken")
+            .int32("rooms_visited")
+            .int32("rooms_cleared")
+            .int32("ticks")
+            .build();
+        this.combatTable = ArrowTableWriter.builder(outputDir.resolve("combats.arrow"))
+            .utf8("run_id")
+            .int32("tick")
+            .int32("floor_number")
+            .utf8("room_id")
+            .dictionary("room_type", RoomType.class)
+            .int32("enemy_count")
+            .dictionary("outcome", CombatResult.Outcome.class)
+            .int32("turns_elapsed")
+            .int32("damage_dealt")
+            .int32("damage_taken")
+            .int32("enemies_killed")
+            .int32("gold_earned")
+            .int32("experience_gained")
+            .int32("player_health_after")
+            .int32("player_max_health")
+            .build();
+        this.damageTable = ArrowTableWriter.builder(outputDir.resolve("damage.arrow"))
+            .utf8("run_id")
+            .int32("tick")
+            .int32("floor_number")
+            .dictionary("room_type", RoomType.class)
+            .bool("player_attack")
+            .utf8("enemy_id")
+            .dictionary("enemy_type", EnemyType.class)
+            .int32("base_damage")
+            .int32("final_damage")
+            .dictionary("damage_type", DamageType.class)
+            .bool("critical")
+            .int32("health_before")
+            .int32("health_after")
+            .bool("killed")
+            .build();
+        this.itemTable = ArrowTableWriter.builder(outputDir.resolve("items.arrow"))
+            .utf8("run_id")
+            .int32("tick")
+            .int32("floor_number")
+            .dictionary("action", ItemAction.class)
+            .utf8("item_id")
+            .utf8("item_name")
+            .dictionary("item_type", ItemType.class)
+            .dictionary("rarity", Rarity.class)
+            .int32("value")
+            .int32("cost")
+            .build();
+        this.deathTable = ArrowTableWriter.builder(outputDir.resolve("deaths.arrow"))
+            .utf8("run_id")
+            .int32("tick")
+            .int32("floor_number")
+            .dictionary("room_type", RoomType.class)
+            .utf8("killer_id")
+            .dictionary("killer_type", EnemyType.class)
+            .int32("total_damage_taken")
+            .int32("gold")
+            .int32("enemies_killed")
+            .build();
+    }
+
+    /**
+     * Export every event in a JSONL telemetry file.
+     * @return Number of events read
+     */
+    public long exportFile(Path file) throws IOException {
+        long count = 0;
+        try (MappingIterator<JsonNode> events = mapper.readerFor(JsonNode.class).readValues(file.toFile())) {
+            while (events.hasNext()) {
+                accept(events.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Export a JSONL file, or every {@code .jsonl} file below a directory.
+     * @return Number of events read
+     */
+    public long exportAll(Path input) throws IOException {
+        if (!Files.isDirectory(input)) {
+            return exportFile(input);
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(input)) {
+            files = walk.filter(p -> p.toString().endsWith(".jsonl")).sorted().toList();
+        }
+        long count = 0;
+        for (Path file : files) {
+            count += exportFile(file);
+        }
+        return count;
+    }
+
+    /**
+     * Add one event (the full envelope, not just its payload).
+     */
+    @Override
+    public synchronized void accept(JsonNode event) {
+        String runId = event.path("run_id").asText();
+        int tick = event.path("tick").asInt();
+        JsonNode payload = event.path("payload");
+        RunState run = runs.computeIfAbsent(runId, id -> new RunState());
+
+        switch (event.path("event_type").asText()) {
+            case "RUN_STARTED" -> {
+                run.seed = payload.path("seed").asLong();
+                run.difficulty = parse(Difficulty.class, payload.path("difficulty"));
+                run.playerClass = parse(PlayerClass.class, payload.path("player_class"));
+                run.startingHealth = intOrNull(payload.path("starting_health"));
+            }
+            case "ROOM_ENTERED" -> {
+                run.floor = payload.path("floor_number").asInt();
+                run.roomId = payload.path("room_id").asText(null);
+                run.roomType = parse(RoomType.class, payload.path("room_type"));
+                run.enemyCount = payload.path("enemy_count").asInt();
+            }
+            case "COMBAT_ENDED" -> writeCombat(runId, tick, run, payload);
+            case "DAMAGE_DEALT" -> writeDamage(runId, tick, run, payload);
+            case "ITEM_PICKED" -> writeItem(runId, tick, run, ItemAction.PICKED, payload);
+            case "ITEM_USED" -> writeItem(runId, tick, run, ItemAction.USED, payload);
+            case "SHOP_PURCHASED" -> writeItem(runId, tick, run, ItemAction.PURCHASED, payload);
+            case "PLAYER_DIED" -> writeDeath(runId, tick, run, payload);
+            case "RUN_ENDED" -> {
+                writeRun(runId, tick, run, payload);
+                runs.remove(runId);
+            }
+            default -> {}
+        }
+    }
+
+    /**
+     * Rows written so far per table, keyed by file name.
+     */
+    public synchronized Map<String, Long> getRowCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ArrowTableWriter table : tables()) {
+            counts.put(table.getPath().getFileName().toString(), table.getRowCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Finish every table file. Runs that never ended are not written.
+     */
+    @Override
+    public synchronized void close() {
+        TelemetryException failure = null;
+        for (ArrowTableWriter table : tables()) {
+            try {
+                table.close();
+            } catch (TelemetryException e) {
+                failure = e;
+            }
+        }
+        runs.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private List<ArrowTableWriter> tables() {
+        return List.of(runTable, combatTable, damageTable, itemTable, deathTable);
+    }
+
+    // === ROWS ===
+
+    private void writeRun(String runId, int tick, RunState run, JsonNode payload) {
+        runTable.setString(0, runId)
+            .setLong(1, run.seed)
+            .setEnum(2, run.difficulty)
+            .setEnum(3, run.playerClass)
+            .setEnum(5, parse(RunEndReason.class, payload.path("end_reason")))
+            .setInt(6, payload.path("final_floor").asInt())
+            .setInt(7, payload.path("player_level").asInt())
+            .setBool(8, payload.path("player_alive").asBoolean())
+            .setInt(9, payload.path("enemies_killed").asInt())
+            .setInt(10, payload.path("bosses_killed").asInt())
+            .setInt(11, payload.path("gold_earned").asInt())
+            .setInt(12, payload.path("gold_spent").asInt())
+            .setInt(13, payload.path("items_collected").asInt())
+            .setInt(14, payload.path("damage_dealt").asInt())
+            .setInt(15, payload.path("damage_taken").asInt())
+            .setInt(16, payload.path("rooms_visited").asInt())
+            .setInt(17, payload.path("rooms_cleared").asInt())
+            .setInt(18, tick);
+        if (run.startingHealth != null) {
+            runTable.setInt(4, run.startingHealth);
+        }
+        runTable.endRow();
+    }
+
+    private void writeCombat(String runId, int tick, RunState run, JsonNode payload) {
+        combatTable.setString(0, runId)
+            .setInt(1, tick)
+            .setInt(2, run.floor)
+            .setString(3, payload.path("room_id").asText(run.roomId))
+            .setEnum(4, run.roomType)
+            .setInt(5, run.enemyCount)
+            .setEnum(6, parse(CombatResult.Outcome.class, payload.path("outcome")))
+            .setInt(7, payload.path("turns_elapsed").asInt())
+            .setInt(8, payload.path("total_damage_dealt").asInt())
+            .setInt(9, payload.path("total_damage_taken").asInt())
+            .setInt(10, payload.path("enemies_killed").asInt())
+            .setInt(11, payload.path("gold_earned").asInt())
+            .setInt(12, payload.path("experience_gained").asInt())
+            .setInt(13, payload.path("player_health_after").asInt())
+            .setInt(14, payload.path("player_max_health").asInt())
+            .endRow();
+    }
+
+    private void writeDamage(String runId, int tick, RunState run, JsonNode payload) {
+        boolean playerAttack = "PLAYER".equals(payload.path("source_type").asText());
+        String enemy = playerAttack ? "target" : "source";
+        damageTable.setString(0, runId)
+            .setInt(1, tick)
+            .setInt(2, run.floor)
+            .setEnum(3, run.roomType)
+            .setBool(4, playerAttack)
+            .setString(5, payload.path(enemy + "_id").asText(null))
+            .setEnum(6, parse(EnemyType.class, payload.path(enemy + "_type")))
+            .setInt(7, payload.path("base_damage").asInt())
+            .setInt(8, payload.path("final_damage").asInt())
+            .setEnum(9, parse(DamageType.class, payload.path("damage_type")))
+            .setBool(10, payload.path("critical").asBoolean())
+            .setInt(11, payload.path("health_before").asInt())
+            .setInt(12, payload.path("health_after").asInt())
+            .setBool(13, payload.path("killed").asBoolean())
+            .endRow();
+    }
+
+    private void writeItem(String runId, int tick, RunState run, ItemAction action, JsonNode payload) {
+        itemTable.setString(0, runId)
+            .setInt(1, tick)
+            .setInt(2, payload.path("floor_number").asInt(run.floor))
+            .setEnum(3, action)
+            .setString(4, payload.path("item_id").asText(null))
+            .setString(5, payload.path("item_name").asText(null))
+            .setEnum(6, parse(ItemType.class, payload.path("item_type")))
+            .setEnum(7, parse(Rarity.class, payload.path("rarity")));
+        Integer value = intOrNull(payload.path("value"));
+        if (value != null) {
+            itemTable.setInt(8, value);
+        }
+        Integer cost = intOrNull(payload.path("cost"));
+        if (cost != null) {
+            itemTable.setInt(9, cost);
+        }
+        itemTable.endRow();
+    }
+
+    private void writeDeath(String runId, int tick, RunState run, JsonNode payload) {
+        deathTable.setString(0, runId)
+            .setInt(1, tick)
+            .setInt(2, payload.path("floor").asInt(run.floor))
+            .setEnum(3, run.roomType)
+            .setString(4, payload.path("cause_id").asText(null))
+            .setEnum(5, parse(EnemyType.class, payload.path("cause_name")))
+            .setInt(6, payload.path("total_damage_taken").asInt())
+            .setInt(7, payload.path("gold").asInt())
+            .setInt(8, payload.path("enemies_killed").asInt())
+            .endRow();
+    }
+
+    /**
+     * Enum constant for a JSON name, or null if missing or unknown
+     * (e.g. "PLAYER" or "Unknown" in an enemy column).
+     */
+    private static <E extends Enum<E>> E parse(Class<E> type, JsonNode node) {
+        if (!node.isTextual()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, node.asText());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Integer intOrNull(JsonNode node) {
+        return node.isNumber() ? node.asInt() : null;
+    }
+}
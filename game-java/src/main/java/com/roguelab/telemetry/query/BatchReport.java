@@ -0,0 +1,175 @@
+package com.roguelab.telemetry.query;
+
+import com.roguelab.telemetry.query.TelemetryQuery.Aggregate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The core tables of analytics-py's {@code batch_report.md} (overview,
+ * combat statistics, enemy lethality, death causes and run statistics),
+ * computed in-process with one scan of the telemetry.
+ *
+ * Definitions follow {@code roguelab_analytics.analyzers}: an enemy
+ * type's encounters are the runs that fought it, player deaths are
+ * killing blows it dealt to the player, and the most dangerous enemy is
+ * the one that dealt the player the most damage in total.
+ */
+public final class BatchReport {
+
+    private static final TelemetryQuery RUNS = TelemetryQuery.from("RUN_ENDED")
+        .groupBy("end_reason")
+        .aggregate(Aggregate.count())
+        .build();
+
+    private static final TelemetryQuery RUN_STATS = TelemetryQuery.from("RUN_ENDED")
+        .aggregate(
+            Aggregate.avg("final_floor"), Aggregate.min("final_floor"), Aggregate.max("final_floor"),
+            Aggregate.avg("enemies_killed"), Aggregate.min("enemies_killed"), Aggregate.max("enemies_killed"),
+            Aggregate.avg("damage_dealt"), Aggregate.min("damage_dealt"), Aggregate.max("damage_dealt"),
+            Aggregate.avg("gold_earned"), Aggregate.min("gold_earned"), Aggregate.max("gold_earned"))
+        .build();
+
+    private static final TelemetryQuery COMBATS = TelemetryQuery.from("COMBAT_ENDED")
+        .groupBy("outcome")
+        .aggregate(Aggregate.count(), Aggregate.sum("turns_elapsed"),
+            Aggregate.sum("total_damage_dealt"), Aggregate.sum("total_damage_taken"))
+        .build();
+
+    private static final TelemetryQuery PLAYER_ATTACKS = TelemetryQuery.from("DAMAGE_DEALT")
+        .where("source_type", "PLAYER")
+        .aggregate(Aggregate.count(), Aggregate.sum("critical"))
+        .build();
+
+    private static final TelemetryQuery ENEMY_ATTACKS = TelemetryQuery.from("DAMAGE_DEALT")
+        .where("target_type", "PLAYER")
+        .groupBy("source_type")
+        .aggregate(Aggregate.sum("final_damage"), Aggregate.sum("killed"))
+        .build();
+
+    private static final TelemetryQuery ENCOUNTERS = TelemetryQuery.from("COMBAT_STARTED")
+        .explode("enemies")
+        .groupBy("enemies.type")
+        .aggregate(Aggregate.countDistinct(TelemetryQuery.RUN_ID))
+        .build();
+
+    /** Queries answered by {@link #run}, in result order. */
+    static final List<TelemetryQuery> QUERIES =
+        List.of(RUNS, RUN_STATS, COMBATS, PLAYER_ATTACKS, ENEMY_ATTACKS, ENCOUNTERS);
+
+    private BatchReport() {}
+
+    /**
+     * Scan the telemetry once and render the report as Markdown.
+     */
+    public static String run(TelemetryQueryEngine engine) {
+        return render(engine.executeAll(QUERIES));
+    }
+
+    static String render(List<QueryResult> results) {
+        QueryResult runs = results.get(0);
+        QueryResult runStats = results.get(1);
+        QueryResult combats = results.get(2);
+        QueryResult playerAttacks = results.get(3);
+        QueryResult enemyAttacks = results.get(4);
+        QueryResult encounters = results.get(5);
+
+        long totalRuns = 0;
+        for (QueryResult.Row row : runs.getRows()) {
+            totalRuns += row.longValue(0);
+        }
+        long victories = Math.round(runs.valueFor("VICTORY", 0));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("# RogueLab Batch Analysis Report\n\n");
+        sb.append("## Overview\n\n");
+        sb.append("| Metric | Value |\n|--------|-------|\n");
+        sb.append("| Total Runs | ").append(totalRuns).append(" |\n");
+        sb.append("| Victories | ").append(victories).append(" (").append(percent(victories, totalRuns)).append(") |\n");
+        sb.append("| Defeats | ").append(totalRuns - victories).append(" (")
+            .append(percent(totalRuns - victories, totalRuns)).append(") |\n\n");
+
+        long totalCombats = 0;
+        double turns = 0;
+        double dealt = 0;
+        double taken = 0;
+        for (QueryResult.Row row : combats.getRows()) {
+            totalCombats += row.longValue(0);
+            turns += row.value(1);
+            dealt += row.value(2);
+            taken += row.value(3);
+        }
+        long combatWins = Math.round(combats.valueFor("VICTORY", 0));
+        String mostDangerous = enemyAttacks.sortedBy(0).stream()
+            .findFirst().map(r -> r.key(0)).orElse("N/A");
+
+        sb.append("## Combat Statistics\n\n");
+        sb.append("| Metric | Value |\n|--------|-------|\n");
+        sb.append("| Total Combats | ").append(totalCombats).append(" |\n");
+        sb.append("| Combat Win Rate | ").append(percent(combatWins, totalCombats)).append(" |\n");
+        sb.append("| Avg Turns/Combat | ").append(format("%.1f", ratio(turns, totalCombats))).append(" |\n");
+        sb.append("| Avg Damage Dealt | ").append(format("%.1f", ratio(dealt, totalCombats))).append(" |\n");
+        sb.append("| Avg Damage Taken | ").append(format("%.1f", ratio(taken, totalCombats))).append(" |\n");
+        sb.append("| Critical Hit Rate | ")
+            .append(percent(playerAttacks.scalar(1), playerAttacks.scalar(0))).append(" |\n");
+        sb.append("| Most Dangerous Enemy | ").append(mostDangerous).append(" |\n\n");
+
+        record Lethality(String enemy, long encounters, long deaths) {
+            double score() {
+                return encounters == 0 ? 0 : (double) deaths / encounters;
+            }
+        }
+        List<Lethality> lethality = new ArrayList<>();
+        for (QueryResult.Row row : encounters.getRows()) {
+            lethality.add(new Lethality(row.key(0), row.longValue(0),
+                Math.round(enemyAttacks.valueFor(row.key(0), 1))));
+        }
+        lethality.sort(Comparator.comparingDouble(Lethality::score).reversed()
+            .thenComparing(Comparator.comparingLong(Lethality::encounters).reversed()));
+
+        sb.append("## Enemy Lethality Ranking\n\n");
+        sb.append("| Enemy | Encounters | Player Deaths | Lethality |\n");
+        sb.append("|-------|------------|---------------|-----------|\n");
+        for (Lethality enemy : lethality.subList(0, Math.min(10, lethality.size()))) {
+            sb.append("| ").append(enemy.enemy()).append(" | ").append(enemy.encounters())
+                .append(" | ").append(enemy.deaths()).append(" | ")
+                .append(format("%.2f%%", enemy.score() * 100)).append(" |\n");
+        }
+
+        sb.append("\n## Death Causes\n\n");
+        sb.append("| Enemy | Deaths |\n|-------|--------|\n");
+        enemyAttacks.sortedBy(1).stream()
+            .filter(row -> row.longValue(1) > 0)
+            .limit(10)
+            .forEach(row -> sb.append("| ").append(row.key(0)).append(" | ")
+                .append(row.longValue(1)).append(" |\n"));
+
+        sb.append("\n## Run Statistics\n\n");
+        sb.append("| Metric | Mean | Min | Max |\n|--------|------|-----|-----|\n");
+        appendStat(sb, "Floors Reached", runStats, 0, "%.1f");
+        appendStat(sb, "Enemies Killed", runStats, 3, "%.1f");
+        appendStat(sb, "Damage Dealt", runStats, 6, "%.0f");
+        appendStat(sb, "Gold Earned", runStats, 9, "%.0f");
+        return sb.toString();
+    }
+
+    private static void appendStat(StringBuilder sb, String label, QueryResult stats, int first, String meanFormat) {
+        sb.append("| ").append(label).append(" | ").append(format(meanFormat, stats.scalar(first)))
+            .append(" | ").append(Math.round(stats.scalar(first + 1)))
+            .append(" | ").append(Math.round(stats.scalar(first + 2))).append(" |\n");
+    }
+
+    private static double ratio(double numerator, double denominator) {
+        return denominator == 0 ? 0 : numerator / denominator;
+    }
+
+    private static String percent(double numerator, double denominator) {
+        return format("%.1f%%", ratio(numerator, denominator) * 100);
+    }
+
+    private static String format(String pattern, double value) {
+        return String.format(Locale.ROOT, pattern, value);
+    }
+}
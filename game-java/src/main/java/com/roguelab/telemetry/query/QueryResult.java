@@ -0,0 +1,113 @@
+package com.roguelab.telemetry.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Result of a {@link TelemetryQuery}: one row per group, holding the
+ * group-by values followed by one value per aggregate.
+ */
+public final class QueryResult {
+
+    /**
+     * One group. {@code key} holds the group-by values (null where the
+     * column was missing) and {@code values} one entry per aggregate.
+     */
+    public record Row(List<String> key, double[] values) {
+
+        public String key(int index) {
+            return key.get(index);
+        }
+
+        public double value(int index) {
+            return values[index];
+        }
+
+        public long longValue(int index) {
+            return Math.round(values[index]);
+        }
+    }
+
+    private final TelemetryQuery query;
+    private final List<Row> rows;
+    private final long scannedEvents;
+
+    QueryResult(TelemetryQuery query, List<Row> rows, long scannedEvents) {
+        this.query = query;
+        this.rows = List.copyOf(rows);
+        this.scannedEvents = scannedEvents;
+    }
+
+    public TelemetryQuery getQuery() {
+        return query;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    /**
+     * Rows sorted by an aggregate, largest first.
+     */
+    public List<Row> sortedBy(int aggregate) {
+        List<Row> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingDouble((Row r) -> r.value(aggregate)).reversed());
+        return sorted;
+    }
+
+    /**
+     * Value of an aggregate for a query without group-by, or 0 if nothing matched.
+     */
+    public double scalar(int aggregate) {
+        return rows.isEmpty() ? 0 : rows.get(0).value(aggregate);
+    }
+
+    /**
+     * Value of an aggregate for the group with a single key value, or 0 if absent.
+     */
+    public double valueFor(String key, int aggregate) {
+        for (Row row : rows) {
+            if (key.equals(row.key(0))) {
+                return row.value(aggregate);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Events that matched the query's event types, before filtering.
+     */
+    public long getScannedEvents() {
+        return scannedEvents;
+    }
+
+    /**
+     * Render as a Markdown table, rows in result order.
+     */
+    public String toMarkdown() {
+        StringBuilder sb = new StringBuilder("|");
+        StringBuilder rule = new StringBuilder("|");
+        for (String column : query.getGroupBy()) {
+            sb.append(' ').append(column).append(" |");
+            rule.append("---|");
+        }
+        for (TelemetryQuery.Aggregate aggregate : query.getAggregates()) {
+            sb.append(' ').append(aggregate.label()).append(" |");
+            rule.append("---|");
+        }
+        sb.append('\n').append(rule).append('\n');
+        for (Row row : rows) {
+            sb.append('|');
+            for (String key : row.key()) {
+                sb.append(' ').append(key).append(" |");
+            }
+            for (double value : row.values()) {
+                sb.append(' ').append(value == Math.rint(value)
+                    ? String.valueOf((long) value) : String.format("%.2f", value)).append(" |");
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
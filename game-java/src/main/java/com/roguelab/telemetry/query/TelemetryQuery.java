@@ -0,0 +1,210 @@
+package com.roguelab.telemetry.query;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A group-by aggregation over telemetry events, run by {@link TelemetryQueryEngine}.
+ *
+ * Columns are named as follows:
+ * <ul>
+ *   <li>payload fields by their key, e.g. {@code "final_damage"}</li>
+ *   <li>the envelope's {@link #RUN_ID} and {@link #TICK}</li>
+ *   <li>fields of the exploded array as {@code "array.field"},
+ *       e.g. {@code "enemies.type"} after {@code explode("enemies")}</li>
+ *   <li>run context carried from earlier events of the same run:
+ *       {@link #RUN_PLAYER_CLASS}, {@link #RUN_DIFFICULTY} and {@link #RUN_FLOOR}</li>
+ * </ul>
+ *
+ * Only the referenced columns are extracted from each event, and events
+ * of other types are skipped before they are parsed.
+ *
+ * Usage:
+ * <pre>
+ * TelemetryQuery damageByFloor = TelemetryQuery.from("DAMAGE_DEALT")
+ *     .where("target_type", "PLAYER")
+ *     .groupBy("source_type", TelemetryQuery.RUN_FLOOR)
+ *     .aggregate(Aggregate.sum("final_damage"), Aggregate.count())
+ *     .build();
+ * </pre>
+ */
+public final class TelemetryQuery {
+
+    public static final String RUN_ID = "run_id";
+    public static final String TICK = "tick";
+    public static final String RUN_PLAYER_CLASS = "run.player_class";
+    public static final String RUN_DIFFICULTY = "run.difficulty";
+    public static final String RUN_FLOOR = "run.floor";
+
+    /**
+     * One aggregate column. {@code field} is null for a plain row count.
+     */
+    public record Aggregate(Kind kind, String field) {
+
+        public enum Kind { COUNT, SUM, AVG, MIN, MAX, COUNT_DISTINCT }
+
+        public static Aggregate count() {
+            return new Aggregate(Kind.COUNT, null);
+        }
+
+        /** Number of rows where {@code field} is present. */
+        public static Aggregate count(String field) {
+            return new Aggregate(Kind.COUNT, field);
+        }
+
+        /** Sum of a numeric field; booleans count as 0 or 1. */
+        public static Aggregate sum(String field) {
+            return new Aggregate(Kind.SUM, field);
+        }
+
+        public static Aggregate avg(String field) {
+            return new Aggregate(Kind.AVG, field);
+        }
+
+        public static Aggregate min(String field) {
+            return new Aggregate(Kind.MIN, field);
+        }
+
+        public static Aggregate max(String field) {
+            return new Aggregate(Kind.MAX, field);
+        }
+
+        public static Aggregate countDistinct(String field) {
+            return new Aggregate(Kind.COUNT_DISTINCT, field);
+        }
+
+        public String label() {
+            return field == null ? "count" : kind.name().toLowerCase() + "(" + field + ")";
+        }
+    }
+
+    /**
+     * Equality filter on a column's text value.
+     */
+    record Predicate(String field, String value) {}
+
+    private final Set<String> eventTypes;
+    private final List<Predicate> predicates;
+    private final List<String> groupBy;
+    private final List<Aggregate> aggregates;
+    private final String explode;
+
+    private TelemetryQuery(Builder builder) {
+        this.eventTypes = Set.copyOf(builder.eventTypes);
+        this.predicates = List.copyOf(builder.predicates);
+        this.groupBy = List.copyOf(builder.groupBy);
+        this.aggregates = List.copyOf(builder.aggregates);
+        this.explode = builder.explode;
+    }
+
+    /**
+     * Start a query over events of the given types.
+     */
+    public static Builder from(String... eventTypes) {
+        return new Builder(eventTypes);
+    }
+
+    public Set<String> getEventTypes() {
+        return eventTypes;
+    }
+
+    public List<String> getGroupBy() {
+        return groupBy;
+    }
+
+    public List<Aggregate> getAggregates() {
+        return aggregates;
+    }
+
+    List<Predicate> getPredicates() {
+        return predicates;
+    }
+
+    String getExplode() {
+        return explode;
+    }
+
+    /**
+     * Every column the query reads, in first-use order.
+     */
+    List<String> columns() {
+        Set<String> columns = new LinkedHashSet<>();
+        for (Predicate predicate : predicates) {
+            columns.add(predicate.field());
+        }
+        columns.addAll(groupBy);
+        for (Aggregate aggregate : aggregates) {
+            if (aggregate.field() != null) {
+                columns.add(aggregate.field());
+            }
+        }
+        return new ArrayList<>(columns);
+    }
+
+    /**
+     * Whether the query reads run context columns.
+     */
+    boolean needsRunContext() {
+        return columns().stream().anyMatch(c -> c.startsWith("run."));
+    }
+
+    public static final class Builder {
+        private final Set<String> eventTypes = new LinkedHashSet<>();
+        private final List<Predicate> predicates = new ArrayList<>();
+        private final List<String> groupBy = new ArrayList<>();
+        private final List<Aggregate> aggregates = new ArrayList<>();
+        private String explode;
+
+        private Builder(String... eventTypes) {
+            this.eventTypes.addAll(List.of(eventTypes));
+        }
+
+        /**
+         * Keep only rows where {@code field} equals {@code value}
+         * (compared as text, so {@code true} matches a JSON boolean).
+         */
+        public Builder where(String field, Object value) {
+            predicates.add(new Predicate(field, String.valueOf(value)));
+            return this;
+        }
+
+        public Builder groupBy(String... fields) {
+            groupBy.addAll(List.of(fields));
+            return this;
+        }
+
+        public Builder aggregate(Aggregate... aggregates) {
+            this.aggregates.addAll(List.of(aggregates));
+            return this;
+        }
+
+        /**
+         * Produce one row per element of a payload array of objects.
+         * Element fields are addressed as {@code "array.field"}.
+         */
+        public Builder explode(String arrayField) {
+            this.explode = arrayField;
+            return this;
+        }
+
+        public TelemetryQuery build() {
+            if (eventTypes.isEmpty()) {
+                throw new IllegalStateException("A query needs at least one event type");
+            }
+            if (aggregates.isEmpty()) {
+                throw new IllegalStateException("A query needs at least one aggregate");
+            }
+            TelemetryQuery query = new TelemetryQuery(this);
+            for (String column : query.columns()) {
+                if (column.contains(".") && !column.startsWith("run.")
+                        && (explode == null || !column.startsWith(explode + "."))) {
+                    throw new IllegalStateException("Column " + column + " needs explode(\""
+                        + column.substring(0, column.indexOf('.')) + "\")");
+                }
+            }
+            return query;
+        }
+    }
+}
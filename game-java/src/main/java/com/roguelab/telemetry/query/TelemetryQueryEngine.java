@@ -0,0 +1,688 @@
+package com.roguelab.telemetry.query;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roguelab.telemetry.TelemetryException;
+import com.roguelab.telemetry.TelemetrySampler;
+import com.roguelab.telemetry.query.TelemetryQuery.Aggregate;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Runs {@link TelemetryQuery} aggregations directly over JSONL telemetry
+ * files, so common balance questions don't need a Python export.
+ *
+ * Each file is a segment (large files are split at line boundaries) and
+ * segments are scanned in parallel. For each line:
+ * <ul>
+ *   <li>the event type is read from the line prefix, and lines no query
+ *       asks for are skipped without parsing;</li>
+ *   <li>matching lines are parsed with a streaming parser that extracts
+ *       only the columns some query references and skips everything else;</li>
+ *   <li>rows passing the filters are folded into per-thread hash tables,
+ *       which are merged at the end.</li>
+ * </ul>
+ * {@link #executeAll} answers several queries in a single pass.
+ *
+ * Segments are streamed through a fixed-size buffer, so memory does not
+ * depend on file size. Run context columns ({@code run.*}) are carried
+ * from earlier events of the same run within a file, so files are not
+ * split when they are used.
+ */
+public final class TelemetryQueryEngine {
+
+    /** Files larger than this are scanned as several segments. */
+    static final long SEGMENT_SIZE = 32L << 20;
+
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    private static final VarHandle LONGS =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+
+    /** {@link Plan#matchType} results for lines that are not a known wanted type. */
+    private static final int SKIP_LINE = -2;
+    private static final int PARSE_LINE = -1;
+
+    private static final byte[] TYPE_PREFIX = "{\"event_type\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int RUN_ID_SLOT = 0;
+    private static final int TICK_SLOT = 1;
+    private static final int CLASS_SLOT = 2;
+    private static final int DIFFICULTY_SLOT = 3;
+    private static final int FLOOR_SLOT = 4;
+    private static final int FIRST_PAYLOAD_SLOT = 5;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonFactory factory = mapper.getFactory();
+    private final List<Path> files;
+
+    /**
+     * @param input A JSONL file, or a directory scanned recursively for {@code .jsonl} files
+     */
+    public TelemetryQueryEngine(Path input) throws IOException {
+        if (Files.isDirectory(input)) {
+            try (Stream<Path> walk = Files.walk(input)) {
+                this.files = walk.filter(p -> p.toString().endsWith(".jsonl")).sorted().toList();
+            }
+        } else {
+            this.files = List.of(input);
+        }
+    }
+
+    public int getFileCount() {
+        return files.size();
+    }
+
+    public QueryResult execute(TelemetryQuery query) {
+        return executeAll(List.of(query)).get(0);
+    }
+
+    /**
+     * Answer several queries with one scan of the telemetry.
+     */
+    public List<QueryResult> executeAll(List<TelemetryQuery> queries) {
+        Plan plan = new Plan(queries);
+        List<Segment> segments = segments(!plan.needsContext);
+
+        Scan scan = segments.parallelStream().collect(
+            () -> new Scan(plan), Scan::scan, Scan::merge);
+
+        List<QueryResult> results = new ArrayList<>(queries.size());
+        for (int q = 0; q < queries.size(); q++) {
+            results.add(scan.result(q));
+        }
+        return results;
+    }
+
+    // === PLANNING ===
+
+    /**
+     * What to extract from events of one type: the union of the columns
+     * every query over that type references.
+     */
+    private static final class Projection {
+        final Map<String, Integer> fields = new HashMap<>();
+        final Map<String, Map<String, Integer>> arrays = new HashMap<>();
+        final List<Binding> bindings = new ArrayList<>();
+        int slots = FIRST_PAYLOAD_SLOT;
+
+        int slot(String column, String explode) {
+            switch (column) {
+                case TelemetryQuery.RUN_ID: return RUN_ID_SLOT;
+                case TelemetryQuery.TICK: return TICK_SLOT;
+                case TelemetryQuery.RUN_PLAYER_CLASS: return CLASS_SLOT;
+                case TelemetryQuery.RUN_DIFFICULTY: return DIFFICULTY_SLOT;
+                case TelemetryQuery.RUN_FLOOR: return FLOOR_SLOT;
+                default: break;
+            }
+            Map<String, Integer> target = fields;
+            String name = column;
+            if (explode != null && column.startsWith(explode + ".")) {
+                target = arrays.computeIfAbsent(explode, k -> new HashMap<>());
+                name = column.substring(explode.length() + 1);
+            }
+            Integer slot = target.get(name);
+            if (slot == null) {
+                slot = slots++;
+                target.put(name, slot);
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * One query's columns resolved to the slots of one projection.
+     * A slot of -1 in {@code aggregateSlots} means a plain row count.
+     */
+    private record Binding(int query, int[] predicateSlots, String[] predicateValues,
+                           int[] groupSlots, int[] aggregateSlots, String explode) {}
+
+    private static final class Plan {
+        final List<TelemetryQuery> queries;
+        final Map<String, Projection> projections = new HashMap<>();
+        final boolean needsContext;
+        final String[] types;
+        final byte[][] typeBytes;
+
+        Plan(List<TelemetryQuery> queries) {
+            this.queries = List.copyOf(queries);
+            this.needsContext = queries.stream().anyMatch(TelemetryQuery::needsRunContext);
+            if (needsContext) {
+                Projection started = projections.computeIfAbsent("RUN_STARTED", t -> new Projection());
+                started.slot("player_class", null);
+                started.slot("difficulty", null);
+                projections.computeIfAbsent("FLOOR_ENTERED", t -> new Projection()).slot("floor_number", null);
+            }
+
+            for (int q = 0; q < queries.size(); q++) {
+                TelemetryQuery query = queries.get(q);
+                for (String type : query.getEventTypes()) {
+                    Projection projection = projections.computeIfAbsent(type, t -> new Projection());
+                    projection.bindings.add(bind(q, query, projection));
+                }
+            }
+
+            this.types = projections.keySet().toArray(String[]::new);
+            this.typeBytes = new byte[types.length][];
+            for (int i = 0; i < types.length; i++) {
+                typeBytes[i] = types[i].getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+
+        /**
+         * Classify a line written as {@code {"event_type":"TYPE",...}}
+         * without parsing it: the index of a wanted type, SKIP_LINE for
+         * any other type, or PARSE_LINE if the line is formatted
+         * differently and must be parsed to tell.
+         */
+        int matchType(byte[] data, int offset, int length) {
+            if (length <= TYPE_PREFIX.length) {
+                return PARSE_LINE;
+            }
+            for (int i = 0; i < TYPE_PREFIX.length; i++) {
+                if (data[offset + i] != TYPE_PREFIX[i]) {
+                    return PARSE_LINE;
+                }
+            }
+            int start = offset + TYPE_PREFIX.length;
+            int end = offset + length;
+            candidates:
+            for (int t = 0; t < typeBytes.length; t++) {
+                byte[] name = typeBytes[t];
+                if (start + name.length >= end || data[start + name.length] != '"') {
+                    continue;
+                }
+                for (int i = 0; i < name.length; i++) {
+                    if (data[start + i] != name[i]) {
+                        continue candidates;
+                    }
+                }
+                return t;
+            }
+            for (int i = start; i < end; i++) {
+                if (data[i] == '"') {
+                    return SKIP_LINE;
+                }
+                if (data[i] == '\\') {
+                    return PARSE_LINE;
+                }
+            }
+            return PARSE_LINE;
+        }
+
+        private static Binding bind(int index, TelemetryQuery query, Projection projection) {
+            String explode = query.getExplode();
+            if (explode != null) {
+                // Elements are read even when no element field is referenced, e.g. to count them
+                projection.arrays.computeIfAbsent(explode, k -> new HashMap<>());
+            }
+            List<TelemetryQuery.Predicate> predicates = query.getPredicates();
+            int[] predicateSlots = new int[predicates.size()];
+            String[] predicateValues = new String[predicates.size()];
+            for (int i = 0; i < predicates.size(); i++) {
+                predicateSlots[i] = projection.slot(predicates.get(i).field(), explode);
+                predicateValues[i] = predicates.get(i).value();
+            }
+            int[] groupSlots = query.getGroupBy().stream()
+                .mapToInt(c -> projection.slot(c, explode)).toArray();
+            int[] aggregateSlots = query.getAggregates().stream()
+                .mapToInt(a -> a.field() == null ? -1 : projection.slot(a.field(), explode)).toArray();
+            return new Binding(index, predicateSlots, predicateValues, groupSlots, aggregateSlots, explode);
+        }
+    }
+
+    // === SEGMENTS ===
+
+    private record Segment(Path file, long start, long end) {}
+
+    /**
+     * Split files into segments, cutting large files just after a newline.
+     */
+    private List<Segment> segments(boolean splitLargeFiles) {
+        List<Segment> segments = new ArrayList<>();
+        for (Path file : files) {
+            try {
+                long size = Files.size(file);
+                if (!splitLargeFiles || size <= SEGMENT_SIZE) {
+                    segments.add(new Segment(file, 0, size));
+                    continue;
+                }
+                try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+                    long start = 0;
+                    while (start < size) {
+                        long end = Math.min(size, start + SEGMENT_SIZE);
+                        raf.seek(end);
+                        while (end < size && raf.read() != '\n') {
+                            end++;
+                        }
+                        end = Math.min(size, end + 1);
+                        segments.add(new Segment(file, start, end));
+                        start = end;
+                    }
+                }
+            } catch (IOException e) {
+                throw new TelemetryException("Failed to read telemetry file: " + file, e);
+            }
+        }
+        return segments;
+    }
+
+    // === SCANNING ===
+
+    /**
+     * Aggregation state for one column of one group.
+     */
+    private static final class Accumulator {
+        long count;
+        double sum;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        Set<Long> distinct;
+
+        void add(Aggregate.Kind kind, String text, double value) {
+            count++;
+            switch (kind) {
+                case SUM, AVG -> sum += value;
+                case MIN -> min = Math.min(min, value);
+                case MAX -> max = Math.max(max, value);
+                case COUNT_DISTINCT -> {
+                    if (distinct == null) {
+                        distinct = new HashSet<>();
+                    }
+                    distinct.add(TelemetrySampler.runKey(text));
+                }
+                case COUNT -> {}
+            }
+        }
+
+        void merge(Accumulator other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            if (other.distinct != null) {
+                if (distinct == null) {
+                    distinct = new HashSet<>();
+                }
+                distinct.addAll(other.distinct);
+            }
+        }
+
+        double result(Aggregate.Kind kind) {
+            return switch (kind) {
+                case COUNT -> count;
+                case SUM -> sum;
+                case AVG -> count == 0 ? 0 : sum / count;
+                case MIN -> count == 0 ? 0 : min;
+                case MAX -> count == 0 ? 0 : max;
+                case COUNT_DISTINCT -> distinct == null ? 0 : distinct.size();
+            };
+        }
+    }
+
+    /**
+     * Per-thread scan state: line buffers, run context and partial group tables.
+     */
+    private final class Scan {
+        final Plan plan;
+        final List<Map<List<String>, Accumulator[]>> groups = new ArrayList<>();
+        final long[] scanned;
+        final Map<String, String[]> runContext = new HashMap<>();
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        final Map<String, List<String[]>> elementText = new HashMap<>();
+        final Map<String, List<double[]>> elementValues = new HashMap<>();
+        String[] text = new String[FIRST_PAYLOAD_SLOT];
+        double[] values = new double[FIRST_PAYLOAD_SLOT];
+
+        Scan(Plan plan) {
+            this.plan = plan;
+            this.scanned = new long[plan.queries.size()];
+            for (int q = 0; q < plan.queries.size(); q++) {
+                groups.add(new HashMap<>());
+            }
+        }
+
+        void scan(Segment segment) {
+            runContext.clear();
+            try (RandomAccessFile raf = new RandomAccessFile(segment.file().toFile(), "r")) {
+                raf.seek(segment.start());
+                long remaining = segment.end() - segment.start();
+                int carried = 0;
+                while (remaining > 0 || carried > 0) {
+                    int read = (int) Math.min(remaining, buffer.length - carried);
+                    raf.readFully(buffer, carried, read);
+                    remaining -= read;
+                    int length = carried + read;
+
+                    int lineStart = 0;
+                    int newline;
+                    while ((newline = indexOfNewline(buffer, lineStart, length)) >= 0) {
+                        scanLine(buffer, lineStart, newline);
+                        lineStart = newline + 1;
+                    }
+                    if (remaining == 0) {
+                        scanLine(buffer, lineStart, length);
+                        break;
+                    }
+                    // Move the partial last line to the front, growing for very long lines
+                    carried = length - lineStart;
+                    if (carried == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    } else {
+                        System.arraycopy(buffer, lineStart, buffer, 0, carried);
+                    }
+                }
+            } catch (IOException e) {
+                throw new TelemetryException("Failed to read telemetry file: " + segment.file(), e);
+            }
+        }
+
+        private void scanLine(byte[] data, int offset, int end) {
+            if (end > offset && data[end - 1] == '\r') {
+                end--;
+            }
+            int length = end - offset;
+            if (length == 0) {
+                return;
+            }
+            int match = plan.matchType(data, offset, length);
+            if (match == SKIP_LINE) {
+                return;
+            }
+            String type = match >= 0 ? plan.types[match] : null;
+            try (JsonParser parser = factory.createParser(data, offset, length)) {
+                parseEvent(parser, type);
+            } catch (JsonProcessingException e) {
+                // Truncated or corrupt line, e.g. from a crash mid-write
+            } catch (IOException e) {
+                throw new TelemetryException("Failed to parse telemetry", e);
+            }
+        }
+
+        private void parseEvent(JsonParser parser, String type) throws IOException {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            Projection projection = type == null ? null : plan.projections.get(type);
+            String runId = null;
+            String tick = null;
+            JsonNode deferredPayload = null;
+            boolean payloadRead = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (name) {
+                    case "event_type" -> {
+                        type = parser.getText();
+                        projection = plan.projections.get(type);
+                        if (projection == null) {
+                            return;
+                        }
+                    }
+                    case "run_id" -> runId = parser.getText();
+                    case "tick" -> tick = parser.getText();
+                    case "payload" -> {
+                        if (projection != null) {
+                            prepare(projection);
+                            readPayload(parser, projection);
+                            payloadRead = true;
+                        } else {
+                            // Payload before event_type: buffer it and read it once the type is known
+                            deferredPayload = parser.readValueAsTree();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (projection == null) {
+                return;
+            }
+            if (!payloadRead) {
+                prepare(projection);
+                if (deferredPayload != null) {
+                    try (JsonParser payload = deferredPayload.traverse(mapper)) {
+                        payload.nextToken();
+                        readPayload(payload, projection);
+                    }
+                }
+            }
+
+            text[RUN_ID_SLOT] = runId;
+            text[TICK_SLOT] = tick;
+            values[TICK_SLOT] = tick == null ? 0 : Double.parseDouble(tick);
+            if (plan.needsContext) {
+                applyContext(type, runId, projection);
+            }
+
+            for (Binding binding : projection.bindings) {
+                scanned[binding.query()]++;
+                if (binding.explode() == null) {
+                    accept(binding);
+                } else {
+                    acceptElements(binding, projection);
+                }
+            }
+        }
+
+        private void prepare(Projection projection) {
+            if (text.length < projection.slots) {
+                text = new String[projection.slots];
+                values = new double[projection.slots];
+            }
+            Arrays.fill(text, null);
+            Arrays.fill(values, 0);
+            for (List<String[]> elements : elementText.values()) {
+                elements.clear();
+            }
+            for (List<double[]> elements : elementValues.values()) {
+                elements.clear();
+            }
+        }
+
+        /**
+         * Read the projected payload fields; the parser is on the payload's START_OBJECT.
+         */
+        private void readPayload(JsonParser parser, Projection projection) throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                Integer slot = projection.fields.get(name);
+                if (slot != null) {
+                    store(parser, token, slot, text, values);
+                    continue;
+                }
+                Map<String, Integer> elementFields = projection.arrays.get(name);
+                if (elementFields != null && token == JsonToken.START_ARRAY) {
+                    readElements(parser, name, elementFields, projection.slots);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        private void readElements(JsonParser parser, String array, Map<String, Integer> fields,
+                                  int slots) throws IOException {
+            List<String[]> texts = elementText.computeIfAbsent(array, k -> new ArrayList<>());
+            List<double[]> nums = elementValues.computeIfAbsent(array, k -> new ArrayList<>());
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                String[] elementText = new String[slots];
+                double[] elementNums = new double[slots];
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    Integer slot = fields.get(parser.currentName());
+                    JsonToken value = parser.nextToken();
+                    if (slot != null) {
+                        store(parser, value, slot, elementText, elementNums);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                texts.add(elementText);
+                nums.add(elementNums);
+            }
+        }
+
+        private void store(JsonParser parser, JsonToken token, int slot,
+                           String[] text, double[] values) throws IOException {
+            if (!token.isScalarValue() || token == JsonToken.VALUE_NULL) {
+                parser.skipChildren();
+                return;
+            }
+            text[slot] = parser.getText();
+            if (token == JsonToken.VALUE_TRUE) {
+                values[slot] = 1;
+            } else if (token.isNumeric()) {
+                values[slot] = parser.getDoubleValue();
+            }
+        }
+
+        /**
+         * Record context events and fill the run.* slots for this event's run.
+         */
+        private void applyContext(String type, String runId, Projection projection) {
+            String[] context = runContext.computeIfAbsent(String.valueOf(runId), k -> new String[3]);
+            if (type.equals("RUN_STARTED")) {
+                context[0] = text[projection.fields.get("player_class")];
+                context[1] = text[projection.fields.get("difficulty")];
+            } else if (type.equals("FLOOR_ENTERED")) {
+                context[2] = text[projection.fields.get("floor_number")];
+            }
+            text[CLASS_SLOT] = context[0];
+            text[DIFFICULTY_SLOT] = context[1];
+            text[FLOOR_SLOT] = context[2];
+            values[FLOOR_SLOT] = context[2] == null ? 0 : Double.parseDouble(context[2]);
+        }
+
+        private void acceptElements(Binding binding, Projection projection) {
+            List<String[]> texts = elementText.get(binding.explode());
+            if (texts == null) {
+                return;
+            }
+            List<double[]> nums = elementValues.get(binding.explode());
+            Collection<Integer> slots = projection.arrays.get(binding.explode()).values();
+            for (int e = 0; e < texts.size(); e++) {
+                for (int slot : slots) {
+                    text[slot] = texts.get(e)[slot];
+                    values[slot] = nums.get(e)[slot];
+                }
+                accept(binding);
+            }
+        }
+
+        private void accept(Binding binding) {
+            int[] predicateSlots = binding.predicateSlots();
+            for (int i = 0; i < predicateSlots.length; i++) {
+                if (!binding.predicateValues()[i].equals(text[predicateSlots[i]])) {
+                    return;
+                }
+            }
+
+            String[] key = new String[binding.groupSlots().length];
+            for (int i = 0; i < key.length; i++) {
+                key[i] = text[binding.groupSlots()[i]];
+            }
+            List<Aggregate> aggregates = plan.queries.get(binding.query()).getAggregates();
+            Accumulator[] accumulators = groups.get(binding.query())
+                .computeIfAbsent(Arrays.asList(key), k -> newAccumulators(aggregates.size()));
+
+            int[] aggregateSlots = binding.aggregateSlots();
+            for (int i = 0; i < aggregateSlots.length; i++) {
+                int slot = aggregateSlots[i];
+                if (slot < 0) {
+                    accumulators[i].add(Aggregate.Kind.COUNT, null, 0);
+                } else if (text[slot] != null) {
+                    accumulators[i].add(aggregates.get(i).kind(), text[slot], values[slot]);
+                }
+            }
+        }
+
+        void merge(Scan other) {
+            for (int q = 0; q < groups.size(); q++) {
+                scanned[q] += other.scanned[q];
+                Map<List<String>, Accumulator[]> mine = groups.get(q);
+                other.groups.get(q).forEach((key, theirs) -> {
+                    Accumulator[] accumulators = mine.putIfAbsent(key, theirs);
+                    if (accumulators != null) {
+                        for (int i = 0; i < accumulators.length; i++) {
+                            accumulators[i].merge(theirs[i]);
+                        }
+                    }
+                });
+            }
+        }
+
+        QueryResult result(int q) {
+            TelemetryQuery query = plan.queries.get(q);
+            List<QueryResult.Row> rows = new ArrayList<>();
+            groups.get(q).forEach((key, accumulators) -> {
+                double[] results = new double[accumulators.length];
+                for (int i = 0; i < accumulators.length; i++) {
+                    results[i] = accumulators[i].result(query.getAggregates().get(i).kind());
+                }
+                rows.add(new QueryResult.Row(Collections.unmodifiableList(key), results));
+            });
+            rows.sort(ROW_ORDER);
+            return new QueryResult(query, rows, scanned[q]);
+        }
+    }
+
+    private static final Comparator<String> KEY_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private static final Comparator<QueryResult.Row> ROW_ORDER = (a, b) -> {
+        for (int i = 0; i < a.key().size(); i++) {
+            int c = KEY_ORDER.compare(a.key(i), b.key(i));
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    };
+
+    private static Accumulator[] newAccumulators(int count) {
+        Accumulator[] accumulators = new Accumulator[count];
+        for (int i = 0; i < count; i++) {
+            accumulators[i] = new Accumulator();
+        }
+        return accumulators;
+    }
+
+    /**
+     * Index of the first '\n' in {@code data[from, to)}, or -1. Compares
+     * eight bytes at a time; finding line ends is a large share of the scan.
+     */
+    static int indexOfNewline(byte[] data, int from, int to) {
+        int i = from;
+        for (; i + 8 <= to; i += 8) {
+            long word = (long) LONGS.get(data, i) ^ NEWLINES;
+            long zeroBytes = (word - 0x0101010101010101L) & ~word & 0x8080808080808080L;
+            if (zeroBytes != 0) {
+                return i + (Long.numberOfTrailingZeros(zeroBytes) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (data[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -11,15 +11,17 @@ import java.util.Random;
  * 
  * Given the same seed, this will produce the same sequence of values,
  * allowing runs to be replayed exactly for debugging and testing.
+ * The generator state can be saved and restored with {@link #getState()}
+ * and {@link #setState(long)}, e.g. by the session journal.
  */
 public final class GameRandom {
     
     private final long seed;
-    private final Random random;
+    private final StatefulRandom random;
     
     public GameRandom(long seed) {
         this.seed = seed;
-        this.random = new Random(seed);
+        this.random = new StatefulRandom(seed);
     }
     
     /**
@@ -34,6 +36,18 @@ public final class GameRandom {
         return seed;
     }
     
+    /**
+     * The current generator state. Restoring it with {@link #setState}
+     * continues the sequence from this point.
+     */
+    public long getState() {
+        return random.state;
+    }
+    
+    public void setState(long state) {
+        random.state = state;
+    }
+    
     /**
      * Returns a random integer in [0, bound).
      */
@@ -89,4 +103,35 @@ public final class GameRandom {
             items.set(j, temp);
         }
     }
+    
+    /**
+     * {@link Random} with the same linear congruential generator, so
+     * sequences are unchanged, but with its 48-bit state readable.
+     */
+    private static final class StatefulRandom extends Random {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private static final long MULTIPLIER = 0x5DEECE66DL;
+        private static final long ADDEND = 0xBL;
+        private static final long MASK = (1L << 48) - 1;
+        
+        private long state;
+        
+        StatefulRandom(long seed) {
+            super(seed);
+        }
+        
+        @Override
+        public synchronized void setSeed(long seed) {
+            super.setSeed(seed);
+            state = (seed ^ MULTIPLIER) & MASK;
+        }
+        
+        @Override
+        protected int next(int bits) {
+            state = (state * MULTIPLIER + ADDEND) & MASK;
+            return (int) (state >>> (48 - bits));
+        }
+    }
 }
@@ -0,0 +1,152 @@
+package com.roguelab.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size histogram of non-negative longs with bounded relative error,
+ * in the style of HdrHistogram.
+ *
+ * Values below {@code 2^precisionBits} are counted exactly. Larger values
+ * fall into log-linear buckets: each power of two is split into
+ * {@code 2^(precisionBits-1)} equal sub-buckets, so the relative error is
+ * at most {@code 2^-(precisionBits-1)}. Memory is fixed at construction
+ * regardless of how many values are recorded.
+ *
+ * Not thread-safe; give each thread its own instance and merge them.
+ */
+public final class Histogram {
+
+    public static final int DEFAULT_PRECISION_BITS = 6;
+
+    private final int precisionBits;
+    private final int subBucketCount;
+    private final int halfCount;
+    private final long[] counts;
+
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public Histogram() {
+        this(DEFAULT_PRECISION_BITS);
+    }
+
+    public Histogram(int precisionBits) {
+        if (precisionBits < 1 || precisionBits > 16) {
+            throw new IllegalArgumentException("precisionBits must be in [1, 16]");
+        }
+        this.precisionBits = precisionBits;
+        this.subBucketCount = 1 << precisionBits;
+        this.halfCount = subBucketCount >> 1;
+        this.counts = new long[subBucketCount + (64 - precisionBits) * halfCount];
+    }
+
+    public void record(long value) {
+        record(value, 1);
+    }
+
+    public void record(long value, long count) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Histogram values must be non-negative: " + value);
+        }
+        counts[indexOf(value)] += count;
+        totalCount += count;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Fold another histogram into this one.
+     */
+    public void merge(Histogram other) {
+        if (other.precisionBits != precisionBits) {
+            throw new IllegalArgumentException("Cannot merge histograms with different precision");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getTotalCount() { return totalCount; }
+    public long getMin() { return totalCount == 0 ? 0 : min; }
+    public long getMax() { return max; }
+
+    /**
+     * Smallest recorded-equivalent value at or above the given percentile.
+     * @param percentile in [0, 100]
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double clamped = Math.max(0, Math.min(100, percentile));
+        long target = Math.max(1, (long) Math.ceil(clamped / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(max, highestEquivalentValue(i));
+            }
+        }
+        return max;
+    }
+
+    public double getMean() {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                long low = lowestEquivalentValue(i);
+                sum += counts[i] * (low + (highestEquivalentValue(i) - low) / 2.0);
+            }
+        }
+        return sum / totalCount;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    // === BUCKETING ===
+
+    private int indexOf(long value) {
+        if (value < subBucketCount) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - precisionBits;
+        int mantissa = (int) (value >>> shift);
+        return subBucketCount + (shift - 1) * halfCount + (mantissa - halfCount);
+    }
+
+    private long lowestEquivalentValue(int index) {
+        if (index < subBucketCount) {
+            return index;
+        }
+        int offset = index - subBucketCount;
+        int shift = offset / halfCount + 1;
+        long mantissa = offset % halfCount + halfCount;
+        return mantissa << shift;
+    }
+
+    private long highestEquivalentValue(int index) {
+        if (index < subBucketCount) {
+            return index;
+        }
+        int shift = (index - subBucketCount) / halfCount + 1;
+        return lowestEquivalentValue(index) + (1L << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Histogram[n=%d, p50=%d, p90=%d, p99=%d, max=%d]",
+            totalCount, valueAtPercentile(50), valueAtPercentile(90), valueAtPercentile(99), max);
+    }
+}
@@ -0,0 +1,257 @@
+package com.roguelab.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Opt-in timing and allocation profile of the game loop, one
+ * {@link Histogram} of nanoseconds and one of allocated bytes per
+ * {@link Phase}.
+ *
+ * Call sites bracket a phase with {@link #begin} and {@link #end} on the
+ * {@link #global()} profiler, held in a static final field. Unless the
+ * {@value #PROPERTY} system property is set at startup that profiler is
+ * {@link #NOOP}, whose empty methods the JIT inlines away, so the hooks
+ * can stay in production code.
+ *
+ * Phases may nest inside different phases (a combat turn contains damage
+ * calculation and listener dispatch) and their times are inclusive. A
+ * phase must not nest inside itself; the inner call wins. A phase that
+ * ends by exception is simply not recorded.
+ *
+ * Allocation is read from {@code com.sun.management.ThreadMXBean} and is
+ * recorded only where the JVM supports per-thread allocation counting.
+ */
+public abstract class PhaseProfiler {
+
+    public static final String PROPERTY = "roguelab.profile";
+
+    /**
+     * Profiled parts of the game loop.
+     */
+    public enum Phase {
+        FLOOR_GENERATION,
+        ROOM_ENTRY,
+        COMBAT_TURN,
+        STATUS_EFFECTS,
+        DAMAGE_CALCULATION,
+        LISTENER_DISPATCH,
+        TELEMETRY
+    }
+
+    /**
+     * Histograms for one phase, merged across threads.
+     * @param nanos Wall time per call
+     * @param bytes Bytes allocated per call, empty if unsupported
+     */
+    public record PhaseStats(Phase phase, Histogram nanos, Histogram bytes, long totalNanos, long totalBytes) {
+        public long count() { return nanos.getTotalCount(); }
+    }
+
+    /**
+     * Records nothing.
+     */
+    public static final PhaseProfiler NOOP = new PhaseProfiler() {
+        @Override public void begin(Phase phase) {}
+        @Override public void end(Phase phase) {}
+    };
+
+    private static final PhaseProfiler GLOBAL = Boolean.getBoolean(PROPERTY) ? new Recording() : NOOP;
+
+    /**
+     * The process-wide profiler, {@link #NOOP} unless {@value #PROPERTY} is set.
+     */
+    public static PhaseProfiler global() {
+        return GLOBAL;
+    }
+
+    /**
+     * A new recording profiler, independent of {@link #global()}.
+     */
+    public static PhaseProfiler recording() {
+        return new Recording();
+    }
+
+    public abstract void begin(Phase phase);
+
+    public abstract void end(Phase phase);
+
+    public boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * Stats for every phase recorded so far. Threads still recording may
+     * make the result slightly inconsistent.
+     */
+    public Map<Phase, PhaseStats> snapshot() {
+        return Collections.emptyMap();
+    }
+
+    public void reset() {}
+
+    /**
+     * One line per recorded phase with call count, total time, latency
+     * percentiles and mean allocation.
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+            "%-20s %10s %10s %9s %9s %9s %10s %10s %10s%n",
+            "phase", "calls", "total ms", "mean ns", "p50 ns", "p99 ns", "max ns", "mean B", "p99 B"));
+        for (PhaseStats stats : snapshot().values()) {
+            long calls = stats.count();
+            if (calls == 0) {
+                continue;
+            }
+            Histogram bytes = stats.bytes();
+            sb.append(String.format(Locale.ROOT,
+                "%-20s %10d %10.1f %9d %9d %9d %10d %10s %10s%n",
+                stats.phase(), calls, stats.totalNanos() / 1e6, stats.totalNanos() / calls,
+                stats.nanos().valueAtPercentile(50), stats.nanos().valueAtPercentile(99), stats.nanos().getMax(),
+                bytes.getTotalCount() == 0 ? "-" : Long.toString(stats.totalBytes() / bytes.getTotalCount()),
+                bytes.getTotalCount() == 0 ? "-" : Long.toString(bytes.valueAtPercentile(99))));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Print {@link #report()} of the global profiler when the JVM exits,
+     * if profiling is enabled.
+     */
+    public static void reportOnExit() {
+        if (GLOBAL.isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                () -> System.out.print("[PROFILE]\n" + GLOBAL.report()), "roguelab-profile-report"));
+        }
+    }
+
+    /**
+     * Records into per-thread histograms so the hot path takes no locks;
+     * {@link #snapshot()} merges them.
+     */
+    private static final class Recording extends PhaseProfiler {
+
+        private static final int PHASES = Phase.values().length;
+        private static final long UNSET = Long.MIN_VALUE;
+
+        private final List<ThreadRecorder> recorders = new CopyOnWriteArrayList<>();
+        private final ThreadLocal<ThreadRecorder> local = ThreadLocal.withInitial(() -> {
+            ThreadRecorder recorder = new ThreadRecorder();
+            recorders.add(recorder);
+            return recorder;
+        });
+        private final com.sun.management.ThreadMXBean threads;
+
+        Recording() {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            com.sun.management.ThreadMXBean allocation = null;
+            if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+                sun.setThreadAllocatedMemoryEnabled(true);
+                allocation = sun;
+            }
+            this.threads = allocation;
+        }
+
+        @Override
+        public void begin(Phase phase) {
+            ThreadRecorder recorder = local.get();
+            int i = phase.ordinal();
+            recorder.startBytes[i] = allocatedBytes();
+            recorder.startNanos[i] = System.nanoTime();
+        }
+
+        @Override
+        public void end(Phase phase) {
+            long now = System.nanoTime();
+            ThreadRecorder recorder = local.get();
+            int i = phase.ordinal();
+            long start = recorder.startNanos[i];
+            if (start == UNSET) {
+                return;
+            }
+            recorder.startNanos[i] = UNSET;
+            long elapsed = now - start;
+            recorder.nanos[i].record(elapsed);
+            recorder.totalNanos[i] += elapsed;
+
+            long startBytes = recorder.startBytes[i];
+            if (startBytes >= 0) {
+                long allocated = Math.max(allocatedBytes() - startBytes, 0);
+                recorder.bytes[i].record(allocated);
+                recorder.totalBytes[i] += allocated;
+            }
+        }
+
+        private long allocatedBytes() {
+            return threads != null ? threads.getCurrentThreadAllocatedBytes() : -1;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public Map<Phase, PhaseStats> snapshot() {
+            Map<Phase, PhaseStats> stats = new EnumMap<>(Phase.class);
+            List<ThreadRecorder> all = new ArrayList<>(recorders);
+            for (Phase phase : Phase.values()) {
+                int i = phase.ordinal();
+                Histogram nanos = new Histogram();
+                Histogram bytes = new Histogram();
+                long totalNanos = 0;
+                long totalBytes = 0;
+                for (ThreadRecorder recorder : all) {
+                    nanos.merge(recorder.nanos[i]);
+                    bytes.merge(recorder.bytes[i]);
+                    totalNanos += recorder.totalNanos[i];
+                    totalBytes += recorder.totalBytes[i];
+                }
+                stats.put(phase, new PhaseStats(phase, nanos, bytes, totalNanos, totalBytes));
+            }
+            return stats;
+        }
+
+        @Override
+        public void reset() {
+            for (ThreadRecorder recorder : recorders) {
+                recorder.reset();
+            }
+        }
+
+        private static final class ThreadRecorder {
+
+            final long[] startNanos = new long[PHASES];
+            final long[] startBytes = new long[PHASES];
+            final Histogram[] nanos = new Histogram[PHASES];
+            final Histogram[] bytes = new Histogram[PHASES];
+            final long[] totalNanos = new long[PHASES];
+            final long[] totalBytes = new long[PHASES];
+
+            ThreadRecorder() {
+                for (int i = 0; i < PHASES; i++) {
+                    nanos[i] = new Histogram();
+                    bytes[i] = new Histogram();
+                }
+                reset();
+            }
+
+            void reset() {
+                for (int i = 0; i < PHASES; i++) {
+                    startNanos[i] = UNSET;
+                    nanos[i].reset();
+                    bytes[i].reset();
+                    totalNanos[i] = 0;
+                    totalBytes[i] = 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.roguelab.util;
+
+/**
+ * Streaming count, mean, variance, min and max in constant memory.
+ *
+ * Uses Welford's update for single values and Chan's formula to merge
+ * two partial results, so accumulators filled on different threads can
+ * be combined exactly at the end.
+ *
+ * Not thread-safe; give each thread its own instance and merge them.
+ */
+public final class StreamingStats {
+
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Fold another accumulator into this one.
+     */
+    public void merge(StreamingStats other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() { return count; }
+    public double getMean() { return count == 0 ? 0 : mean; }
+    public double getMin() { return count == 0 ? 0 : min; }
+    public double getMax() { return count == 0 ? 0 : max; }
+
+    /**
+     * Sample variance (n - 1 denominator).
+     */
+    public double getVariance() {
+        return count < 2 ? 0 : m2 / (count - 1);
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Stats[n=%d, mean=%.2f, sd=%.2f, min=%.0f, max=%.0f]",
+            count, getMean(), getStandardDeviation(), getMin(), getMax());
+    }
+}
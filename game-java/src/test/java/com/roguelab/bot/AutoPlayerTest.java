@@ -0,0 +1,119 @@
+package com.roguelab.bot;
+
+import com.roguelab.domain.*;
+import com.roguelab.dungeon.DungeonConfig;
+import com.roguelab.game.GameSession;
+import com.roguelab.game.GameState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AutoPlayer")
+class AutoPlayerTest {
+
+    private static final long SEED = 12345L;
+
+    private GameSession newSession(long seed) {
+        return new GameSession("Bot", PlayerClass.WARRIOR, seed, Difficulty.NORMAL, DungeonConfig.easy());
+    }
+
+    @Nested
+    @DisplayName("Playing runs")
+    class PlayingRuns {
+
+        @Test
+        @DisplayName("should play a run to completion")
+        void playsToCompletion() {
+            GameSession session = newSession(SEED);
+
+            RunOutcome outcome = new AutoPlayer(BaselinePolicy.INSTANCE).play(session);
+
+            assertThat(session.getState()).isEqualTo(GameState.RUN_ENDED);
+            assertThat(outcome.actions()).isPositive();
+            assertThat(outcome.floorReached()).isBetween(1, outcome.maxFloors());
+        }
+
+        @Test
+        @DisplayName("should be deterministic for the same seed")
+        void isDeterministic() {
+            Policy policy = new LookaheadPolicy(new PotionUserPolicy(0.4, new GreedyShopperPolicy()));
+
+            RunOutcome first = new AutoPlayer(policy).play(newSession(SEED));
+            RunOutcome second = new AutoPlayer(policy).play(newSession(SEED));
+
+            assertThat(second).isEqualTo(first);
+        }
+
+        @Test
+        @DisplayName("should abandon runs that exceed the action limit")
+        void abandonsLongRuns() {
+            GameSession session = newSession(SEED);
+
+            RunOutcome outcome = new AutoPlayer(BaselinePolicy.INSTANCE, 1).play(session);
+
+            assertThat(outcome.actions()).isEqualTo(1);
+            assertThat(session.isActive()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Policies")
+    class Policies {
+
+        @Test
+        @DisplayName("rest threshold should defer to fallback outside rest sites")
+        void restThresholdDelegates() {
+            GameSession session = newSession(SEED);
+            session.start();
+            SessionView view = new SessionView(session);
+
+            assertThat(new RestThresholdPolicy(0.5).decide(view))
+                .isEqualTo(BaselinePolicy.INSTANCE.decide(view));
+        }
+
+        @Test
+        @DisplayName("potion user should drink when low")
+        void potionUserDrinksWhenLow() {
+            GameSession session = newSession(SEED);
+            session.start();
+            Player player = session.getPlayer();
+            player.getInventory().addItem(
+                Item.builder("Health Potion", ItemType.CONSUMABLE).healthBonus(20).build());
+            player.getHealth().setCurrent(10);
+
+            Action action = new PotionUserPolicy(0.5).decide(new SessionView(session));
+
+            assertThat(action.kind()).isEqualTo(Action.Kind.USE_ITEM);
+            assertThat(player.getInventory().getItems().get(action.index()).getName())
+                .isEqualTo("Health Potion");
+        }
+
+        @Test
+        @DisplayName("indexed actions should be cached")
+        void indexedActionsAreCached() {
+            assertThat(Action.buy(3)).isSameAs(Action.buy(3));
+            assertThat(Action.useItem(0).kind()).isEqualTo(Action.Kind.USE_ITEM);
+            assertThatThrownBy(() -> Action.pickUp(-1)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("CombatEstimator")
+    class Estimator {
+
+        @Test
+        @DisplayName("should predict a healthy player survives the first room")
+        void predictsEasyVictory() {
+            GameSession session = newSession(SEED);
+            session.start();
+            SessionView view = new SessionView(session);
+            CombatEstimator estimator = new CombatEstimator();
+
+            double remaining = estimator.estimateRemainingHealth(view, view.roomIndex(), 1000);
+
+            assertThat(remaining).isPositive();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.roguelab.bot;
+
+import com.roguelab.domain.*;
+import com.roguelab.dungeon.DungeonConfig;
+import com.roguelab.game.GameSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SearchPolicy")
+class SearchPolicyTest {
+
+    private static final long SEED = 12345L;
+
+    private GameSession newSession(long seed) {
+        return new GameSession("Bot", PlayerClass.WARRIOR, seed, Difficulty.NORMAL, DungeonConfig.easy());
+    }
+
+    @Nested
+    @DisplayName("Forking")
+    class Forking {
+
+        @Test
+        @DisplayName("forking should reproduce the session")
+        void forkReproducesSession() {
+            GameSession session = newSession(SEED);
+            session.start();
+            ActionLog log = new ActionLog(session);
+            SessionView view = new SessionView(session, log);
+
+            for (int i = 0; i < 8 && session.isActive(); i++) {
+                Action action = BaselinePolicy.INSTANCE.decide(view);
+                AutoPlayer.apply(session, action);
+                log.append(action);
+            }
+
+            GameSession fork = view.fork();
+
+            assertThat(fork).isNotSameAs(session);
+            assertThat(fork.getState()).isEqualTo(session.getState());
+            assertThat(fork.getCurrentFloorNumber()).isEqualTo(session.getCurrentFloorNumber());
+            assertThat(fork.getCurrentFloor().getCurrentRoomIndex())
+                .isEqualTo(session.getCurrentFloor().getCurrentRoomIndex());
+            assertThat(fork.getPlayer().getHealth().getCurrent())
+                .isEqualTo(session.getPlayer().getHealth().getCurrent());
+            assertThat(fork.getPlayer().getInventory().getGold())
+                .isEqualTo(session.getPlayer().getInventory().getGold());
+        }
+
+        @Test
+        @DisplayName("forks restored from one snapshot should play on identically")
+        void snapshotForksPlayOnIdentically() {
+            GameSession session = newSession(SEED);
+            session.start();
+            SessionView view = new SessionView(session);
+            for (int i = 0; i < 8 && session.isActive(); i++) {
+                AutoPlayer.apply(session, BaselinePolicy.INSTANCE.decide(view));
+            }
+
+            byte[] snapshot = view.snapshot();
+            RunOutcome first = new AutoPlayer(BaselinePolicy.INSTANCE).play(GameSession.restore(snapshot));
+            RunOutcome second = new AutoPlayer(BaselinePolicy.INSTANCE).play(GameSession.restore(snapshot));
+            RunOutcome original = new AutoPlayer(BaselinePolicy.INSTANCE).play(session);
+
+            assertThat(first).isEqualTo(original);
+            assertThat(second).isEqualTo(original);
+        }
+    }
+
+    @Nested
+    @DisplayName("Searching")
+    class Searching {
+
+        @Test
+        @DisplayName("should only choose legal actions")
+        void choosesLegalActions() {
+            List<Action> legal = new ArrayList<>();
+            try (SearchPolicy search = SearchPolicy.builder().rolloutBudget(20).build()) {
+                Policy policy = view -> {
+                    ActionSpace.legalActions(view, legal);
+                    Action action = search.decide(view);
+                    assertThat(legal).contains(action);
+                    return action;
+                };
+
+                RunOutcome outcome = new AutoPlayer(policy).play(newSession(SEED));
+
+                assertThat(outcome.actions()).isPositive();
+                assertThat(search.getTotalRollouts()).isPositive();
+            }
+        }
+
+        @Test
+        @DisplayName("should be deterministic with sequential rollouts")
+        void isDeterministic() {
+            RunOutcome first;
+            RunOutcome second;
+            try (SearchPolicy search = SearchPolicy.builder().rolloutBudget(20).build()) {
+                first = new AutoPlayer(search).play(newSession(SEED));
+            }
+            try (SearchPolicy search = SearchPolicy.builder().rolloutBudget(20).build()) {
+                second = new AutoPlayer(search).play(newSession(SEED));
+            }
+
+            assertThat(second).isEqualTo(first);
+        }
+
+        @Test
+        @DisplayName("should run rollouts in parallel")
+        void runsParallelRollouts() {
+            try (SearchPolicy search = SearchPolicy.builder()
+                    .rolloutBudget(16)
+                    .parallelism(4)
+                    .build()) {
+                RunOutcome outcome = new AutoPlayer(search).play(newSession(SEED));
+
+                assertThat(outcome.actions()).isPositive();
+            }
+        }
+
+        @Test
+        @DisplayName("should reject invalid budgets")
+        void rejectsInvalidBudgets() {
+            assertThatThrownBy(() -> SearchPolicy.builder().rolloutBudget(0).build())
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> SearchPolicy.builder().parallelism(0).build())
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Gap report")
+    class GapReport {
+
+        @Test
+        @DisplayName("should report one result per seed")
+        void reportsEverySeed() {
+            try (SearchPolicy search = SearchPolicy.builder().rolloutBudget(10).build()) {
+                OptimalityGapReport report = OptimalityGapReport.measure(
+                    PlayerClass.WARRIOR, DungeonConfig.easy(), 1, 3, search);
+
+                assertThat(report.getResults()).hasSize(3);
+                assertThat(report.getResults()).extracting(OptimalityGapReport.SeedResult::seed)
+                    .containsExactly(1L, 2L, 3L);
+                assertThat(report.toMarkdown()).contains("| Seed | Greedy | Search | Gap |");
+            }
+        }
+
+        @Test
+        @DisplayName("greedy baseline should match a standalone baseline run")
+        void greedyMatchesBaseline() {
+            try (SearchPolicy search = SearchPolicy.builder().rolloutBudget(10).build()) {
+                OptimalityGapReport report = OptimalityGapReport.measure(
+                    PlayerClass.WARRIOR, DungeonConfig.easy(), SEED, 1, search);
+
+                RunOutcome baseline = new AutoPlayer(BaselinePolicy.INSTANCE).play(newSession(SEED));
+
+                assertThat(report.getResults().get(0).greedy()).isEqualTo(baseline);
+            }
+        }
+    }
+}
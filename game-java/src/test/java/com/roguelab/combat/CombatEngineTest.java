@@ -122,6 +122,49 @@ class CombatEngineTest {
             assertThat(result.experienceGained()).isEqualTo(0);
             assertThat(player.getInventory().getGold()).isEqualTo(initialGold);
         }
+        
+        @Test
+        @DisplayName("should credit the enemy that landed the killing blow")
+        void creditsKillingBlow() {
+            Player player = new Player("Test", PlayerClass.WARRIOR);
+            Room room = new Room(EntityId.of("room1"), RoomType.COMBAT, 1, 0);
+            room.addEnemy(new Enemy(EntityId.of("rat"), EnemyType.RAT, 1, 5000, 0, 0));
+            room.addEnemy(new Enemy(EntityId.of("boss"), EnemyType.DRAGON, 5, 500, 50, 20));
+            
+            CombatResult result = engine.runCombat("run1", player, room, random, 0);
+            
+            assertThat(result.outcome()).isEqualTo(CombatResult.Outcome.DEFEAT);
+            assertThat(result.killedBy()).isEqualTo(EnemyType.DRAGON);
+        }
+        
+        @Test
+        @DisplayName("should credit a damage-over-time death to the enemy that applied it")
+        void creditsDamageOverTime() {
+            Player player = new Player("Test", PlayerClass.WARRIOR);
+            player.getHealth().setCurrent(1);
+            player.getStatuses().apply(StatusType.BURNING, EntityId.of("gob"), 3, 1);
+            Room room = new Room(EntityId.of("room1"), RoomType.COMBAT, 1, 0);
+            room.addEnemy(new Enemy(EntityId.of("rat"), EnemyType.RAT, 1, 50, 1, 0));
+            room.addEnemy(new Enemy(EntityId.of("gob"), EnemyType.GOBLIN, 1, 50, 1, 0));
+            
+            CombatResult result = engine.runCombat("run1", player, room, random, 0);
+            
+            assertThat(result.turnsElapsed()).isEqualTo(1);
+            assertThat(result.killedBy()).isEqualTo(EnemyType.GOBLIN);
+        }
+        
+        @Test
+        @DisplayName("should credit no enemy on victory")
+        void noKillerOnVictory() {
+            Player player = new Player("Test", PlayerClass.WARRIOR);
+            Room room = new Room(EntityId.of("room1"), RoomType.COMBAT, 1, 0);
+            room.addEnemy(new Enemy(EnemyType.RAT, 1));
+            
+            CombatResult result = engine.runCombat("run1", player, room, random, 0);
+            
+            assertThat(result.isVictory()).isTrue();
+            assertThat(result.killedBy()).isNull();
+        }
     }
     
     @Nested
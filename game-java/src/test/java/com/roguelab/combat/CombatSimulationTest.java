@@ -0,0 +1,100 @@
+package com.roguelab.combat;
+
+import com.roguelab.domain.*;
+import com.roguelab.util.GameRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CombatSimulation")
+class CombatSimulationTest {
+
+    private static final long SEED = 12345L;
+
+    private static Room twoEnemyRoom() {
+        Room room = new Room(EntityId.of("room1"), RoomType.COMBAT, 1, 0);
+        room.addEnemy(new Enemy(EnemyType.GOBLIN, 1));
+        room.addEnemy(new Enemy(EnemyType.SKELETON, 1));
+        return room;
+    }
+
+    private static CombatSimulation begin(Player player, Room room) {
+        GameRandom random = new GameRandom(SEED);
+        return new CombatEngine(random).begin("run1", player, room, random, 0);
+    }
+
+    @Test
+    @DisplayName("should play out exactly as runCombat for the same seed")
+    void matchesRunCombat() {
+        Player player1 = new Player("Test", PlayerClass.WARRIOR);
+        GameRandom random = new GameRandom(SEED);
+        CombatResult whole = new CombatEngine(random).runCombat("run1", player1, twoEnemyRoom(), random, 0);
+
+        Player player2 = new Player("Test", PlayerClass.WARRIOR);
+        CombatSimulation simulation = begin(player2, twoEnemyRoom());
+        while (!simulation.isFinished()) {
+            simulation.step();
+        }
+
+        // Enemy ids differ between the two rooms, so compare everything else
+        assertThat(simulation.getResult()).usingRecursiveComparison()
+            .ignoringFields("killedEnemyIds")
+            .isEqualTo(whole);
+        assertThat(player2.getHealth().getCurrent()).isEqualTo(player1.getHealth().getCurrent());
+        assertThat(player2.getInventory().getGold()).isEqualTo(player1.getInventory().getGold());
+    }
+
+    @Test
+    @DisplayName("should report each turn in a record that adds up to the result")
+    void turnsAddUp() {
+        Player player = new Player("Test", PlayerClass.WARRIOR);
+        CombatSimulation simulation = begin(player, twoEnemyRoom());
+
+        List<CombatSimulation.Turn> turns = new ArrayList<>();
+        while (!simulation.isFinished()) {
+            turns.add(simulation.step());
+        }
+        CombatResult result = simulation.getResult();
+
+        assertThat(turns).hasSize(result.turnsElapsed());
+        assertThat(turns).extracting(CombatSimulation.Turn::turn)
+            .containsExactlyElementsOf(IntStream.rangeClosed(1, turns.size()).boxed().toList());
+        assertThat(turns.stream().mapToInt(CombatSimulation.Turn::damageDealt).sum())
+            .isEqualTo(result.totalDamageDealt());
+        assertThat(turns.stream().mapToInt(CombatSimulation.Turn::damageTaken).sum())
+            .isEqualTo(result.totalDamageTaken());
+        assertThat(turns.stream().filter(CombatSimulation.Turn::killed).count())
+            .isEqualTo((long) result.enemiesKilled());
+        assertThat(turns.get(turns.size() - 1).playerHealth()).isEqualTo(player.getHealth().getCurrent());
+    }
+
+    @Test
+    @DisplayName("should only give a result once the fight is over")
+    void resultOnlyWhenFinished() {
+        CombatSimulation simulation = begin(new Player("Test", PlayerClass.WARRIOR), twoEnemyRoom());
+
+        assertThat(simulation.isFinished()).isFalse();
+        assertThatThrownBy(simulation::getResult).isInstanceOf(IllegalStateException.class);
+
+        while (!simulation.isFinished()) {
+            simulation.step();
+        }
+        assertThatThrownBy(simulation::step).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("should finish at once in a room without enemies")
+    void emptyRoomFinishesAtOnce() {
+        Room room = new Room(EntityId.of("room1"), RoomType.COMBAT, 1, 0);
+
+        CombatSimulation simulation = begin(new Player("Test", PlayerClass.WARRIOR), room);
+
+        assertThat(simulation.isFinished()).isTrue();
+        assertThat(simulation.getResult().turnsElapsed()).isZero();
+    }
+}
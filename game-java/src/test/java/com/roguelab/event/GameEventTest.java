@@ -20,12 +20,12 @@ class GameEventTest {
     void runStartedHasTickZero() {
         RunStartedEvent event = new RunStartedEvent(
             testRunId, 12345L, "0.1.0",
-            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero"
+            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero", 100
         );
         
         assertThat(event.getTick()).isEqualTo(0);
         assertThat(event.getEventType()).isEqualTo("RUN_STARTED");
-        assertThat(event.getEventVersion()).isEqualTo("1.0.0");
+        assertThat(event.getEventVersion()).isEqualTo("1.1.0");
     }
     
     @Test
@@ -35,7 +35,7 @@ class GameEventTest {
         
         RunStartedEvent event = new RunStartedEvent(
             testRunId, 12345L, "0.1.0",
-            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero"
+            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero", 100
         );
         
         Instant after = Instant.now();
@@ -50,7 +50,8 @@ class GameEventTest {
     void rejectsNegativeTick() {
         assertThatThrownBy(() -> new RunEndedEvent(
             testRunId, -1, RunEndedEvent.Outcome.VICTORY,
-            5, 1000, 500, 10, 25, 3600
+            5, 1000, 500, 10, 25, 3600,
+            "VICTORY", 1, 500, 200, 900, 300, 20, 18, 6, true
         )).isInstanceOf(IllegalArgumentException.class);
     }
     
@@ -59,7 +60,7 @@ class GameEventTest {
     void rejectsNullRunId() {
         assertThatThrownBy(() -> new RunStartedEvent(
             null, 12345L, "0.1.0",
-            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero"
+            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero", 100
         )).isInstanceOf(NullPointerException.class);
     }
     
@@ -71,7 +72,7 @@ class GameEventTest {
             "player", DamageDealtEvent.EntityType.PLAYER,
             "goblin_1", DamageDealtEvent.EntityType.ENEMY,
             10, 15, com.roguelab.domain.DamageType.PHYSICAL,
-            true, 20, 5, false
+            true, 20, 5, false, com.roguelab.domain.EnemyType.GOBLIN
         );
         
         assertThat(event.getSourceId()).isEqualTo("player");
@@ -99,7 +100,7 @@ class GameEventTest {
         
         RunStartedEvent event = new RunStartedEvent(
             fixedTime, testRunId, 12345L, "0.1.0",
-            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero"
+            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero", 100
         );
         
         assertThat(event.getTimestamp()).isEqualTo(fixedTime);
@@ -1,5 +1,8 @@
 package com.roguelab.game;
 
+import com.roguelab.combat.AttackResult;
+import com.roguelab.combat.CombatContext;
+import com.roguelab.combat.CombatEventListener;
 import com.roguelab.combat.CombatResult;
 import com.roguelab.domain.*;
 import com.roguelab.dungeon.DungeonConfig;
@@ -181,8 +184,56 @@ class GameSessionTest {
                 }
             }
         }
+        
+        @Test
+        @DisplayName("should end the run if combat fails part way")
+        void endsRunWhenCombatFails() {
+            GameSession fighting = new GameSession("Hero", PlayerClass.WARRIOR, 42L);
+            fighting.setListener(listener);
+            fighting.setCombatListener(new FailingCombatListener());
+            fighting.start();
+            assertThat(fighting.getState()).isEqualTo(GameState.IN_COMBAT);
+            
+            assertThatThrownBy(fighting::executeCombat).hasMessage("listener failed");
+            
+            assertThat(fighting.getState()).isEqualTo(GameState.RUN_ENDED);
+            assertThat(listener.endReason).isEqualTo(GameSessionListener.RunEndReason.ERROR);
+            assertThatCode(fighting::snapshot).doesNotThrowAnyException();
+        }
     }
     
+    @Nested
+    @DisplayName("State version")
+    class StateVersion {
+
+        @Test
+        @DisplayName("should advance on every command")
+        void advancesOnCommands() {
+            long initial = session.getStateVersion();
+            session.start();
+            long started = session.getStateVersion();
+            assertThat(started).isGreaterThan(initial);
+
+            if (session.getState() == GameState.IN_COMBAT) {
+                session.executeCombat();
+                assertThat(session.getStateVersion()).isGreaterThan(started);
+            }
+        }
+
+        @Test
+        @DisplayName("should not change while the session is only read")
+        void stableWhileReading() {
+            session.start();
+            long version = session.getStateVersion();
+
+            session.getPlayer().getHealth().getCurrent();
+            session.getCurrentRoom().getItems();
+            session.isActive();
+
+            assertThat(session.getStateVersion()).isEqualTo(version);
+        }
+    }
+
     @Nested
     @DisplayName("Determinism")
     class Determinism {
@@ -252,4 +303,16 @@ class GameSessionTest {
         @Override public void onPlayerLevelUp(GameSession s, int l) {}
         @Override public void onRunEnded(GameSession s, RunEndReason r) { runEnded = true; endReason = r; }
     }
+    
+    /**
+     * Combat listener that fails on the first blow.
+     */
+    private static class FailingCombatListener implements CombatEventListener {
+        @Override public void onCombatStarted(CombatContext ctx) {}
+        @Override public void onDamageDealt(CombatContext ctx, AttackResult result, boolean playerAttack) {
+            throw new IllegalStateException("listener failed");
+        }
+        @Override public void onCombatEnded(CombatContext ctx, CombatResult result) {}
+        @Override public void onPlayerDied(CombatContext ctx) {}
+    }
 }
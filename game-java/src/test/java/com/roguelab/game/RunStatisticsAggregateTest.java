@@ -0,0 +1,172 @@
+package com.roguelab.game;
+
+import com.roguelab.domain.EnemyType;
+import com.roguelab.util.Histogram;
+import com.roguelab.util.StreamingStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RunStatisticsAggregate")
+class RunStatisticsAggregateTest {
+
+    private static RunStatistics run(int damageDealt, int gold, EnemyType killedBy) {
+        RunStatistics stats = new RunStatistics();
+        stats.recordDamageDealt(damageDealt);
+        stats.recordGoldEarned(gold);
+        stats.recordCombatTurns(damageDealt / 10);
+        if (killedBy != null) {
+            stats.recordKilledBy(killedBy);
+            stats.recordRunEnded(GameSessionListener.RunEndReason.PLAYER_DEATH);
+        } else {
+            stats.recordRunEnded(GameSessionListener.RunEndReason.VICTORY);
+        }
+        return stats;
+    }
+
+    @Nested
+    @DisplayName("Aggregating")
+    class Aggregating {
+
+        @Test
+        @DisplayName("should count end reasons and deaths per enemy")
+        void countsOutcomes() {
+            RunStatisticsAggregate aggregate = new RunStatisticsAggregate();
+            aggregate.add(run(100, 10, EnemyType.RAT));
+            aggregate.add(run(200, 20, EnemyType.RAT));
+            aggregate.add(run(300, 30, null));
+
+            assertThat(aggregate.getRuns()).isEqualTo(3);
+            assertThat(aggregate.getDeathsBy(EnemyType.RAT)).isEqualTo(2);
+            assertThat(aggregate.getDeathsBy(EnemyType.BAT)).isZero();
+            assertThat(aggregate.getEndReasonCount(GameSessionListener.RunEndReason.VICTORY)).isEqualTo(1);
+            assertThat(aggregate.getVictoryRate()).isCloseTo(1.0 / 3, within(1e-9));
+            assertThat(aggregate.getDamageDealt().getMean()).isCloseTo(200, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("merging partials should equal aggregating everything at once")
+        void mergeMatchesSequential() {
+            List<RunStatistics> runs = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                runs.add(run(50 + i * 7, i * 3, i % 3 == 0 ? EnemyType.GOBLIN : null));
+            }
+
+            RunStatisticsAggregate sequential = new RunStatisticsAggregate();
+            runs.forEach(sequential::add);
+
+            RunStatisticsAggregate left = new RunStatisticsAggregate();
+            RunStatisticsAggregate right = new RunStatisticsAggregate();
+            runs.subList(0, 37).forEach(left::add);
+            runs.subList(37, 100).forEach(right::add);
+            RunStatisticsAggregate merged = left.merge(right);
+
+            assertThat(merged.getRuns()).isEqualTo(sequential.getRuns());
+            assertThat(merged.getDeathsBy(EnemyType.GOBLIN)).isEqualTo(sequential.getDeathsBy(EnemyType.GOBLIN));
+            assertThat(merged.getDamageDealt().getMean())
+                .isCloseTo(sequential.getDamageDealt().getMean(), within(1e-9));
+            assertThat(merged.getDamageDealt().getVariance())
+                .isCloseTo(sequential.getDamageDealt().getVariance(), within(1e-6));
+            assertThat(merged.getGoldEarnedHistogram().valueAtPercentile(90))
+                .isEqualTo(sequential.getGoldEarnedHistogram().valueAtPercentile(90));
+        }
+
+        @Test
+        @DisplayName("collector should merge runs added from many threads")
+        void collectorMergesThreads() {
+            RunStatisticsAggregate.Collector collector = new RunStatisticsAggregate.Collector();
+
+            IntStream.range(0, 10_000).parallel()
+                .forEach(i -> collector.add(run(i % 500, i % 50, EnemyType.SPIDER)));
+
+            RunStatisticsAggregate result = collector.result();
+            assertThat(result.getRuns()).isEqualTo(10_000);
+            assertThat(result.getDeathsBy(EnemyType.SPIDER)).isEqualTo(10_000);
+            assertThat(result.getDamageDealtHistogram().getTotalCount()).isEqualTo(10_000);
+        }
+
+        @Test
+        @DisplayName("should render a markdown summary")
+        void rendersMarkdown() {
+            RunStatisticsAggregate aggregate = new RunStatisticsAggregate();
+            aggregate.add(run(100, 10, EnemyType.ORC));
+
+            assertThat(aggregate.toMarkdown())
+                .contains("| Total Runs | 1 |")
+                .contains("| ORC | 1 |");
+        }
+    }
+
+    @Nested
+    @DisplayName("StreamingStats")
+    class Stats {
+
+        @Test
+        @DisplayName("should compute mean and sample variance")
+        void computesMeanAndVariance() {
+            StreamingStats stats = new StreamingStats();
+            for (double v : new double[] {2, 4, 4, 4, 5, 5, 7, 9}) {
+                stats.add(v);
+            }
+
+            assertThat(stats.getMean()).isCloseTo(5.0, within(1e-9));
+            assertThat(stats.getVariance()).isCloseTo(32.0 / 7, within(1e-9));
+            assertThat(stats.getMin()).isEqualTo(2);
+            assertThat(stats.getMax()).isEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("should be zero when empty")
+        void emptyIsZero() {
+            StreamingStats stats = new StreamingStats();
+
+            assertThat(stats.getMean()).isZero();
+            assertThat(stats.getVariance()).isZero();
+            assertThat(stats.getMin()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Histogram")
+    class Histograms {
+
+        @Test
+        @DisplayName("should be exact for small values")
+        void exactForSmallValues() {
+            Histogram histogram = new Histogram();
+            for (int i = 1; i <= 50; i++) {
+                histogram.record(i);
+            }
+
+            assertThat(histogram.valueAtPercentile(50)).isEqualTo(25);
+            assertThat(histogram.valueAtPercentile(100)).isEqualTo(50);
+            assertThat(histogram.getMin()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should bound relative error for large values")
+        void boundsRelativeError() {
+            Histogram histogram = new Histogram();
+            for (long v = 1; v <= 1_000_000; v += 997) {
+                histogram.record(v);
+            }
+
+            long p50 = histogram.valueAtPercentile(50);
+            assertThat((double) p50).isCloseTo(500_000, withinPercentage(4));
+            assertThat(histogram.valueAtPercentile(100)).isEqualTo(histogram.getMax());
+        }
+
+        @Test
+        @DisplayName("should reject negative values")
+        void rejectsNegativeValues() {
+            assertThatThrownBy(() -> new Histogram().record(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
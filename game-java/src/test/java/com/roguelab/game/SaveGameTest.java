@@ -0,0 +1,168 @@
+package com.roguelab.game;
+
+import com.roguelab.bot.Action;
+import com.roguelab.bot.ActionLog;
+import com.roguelab.bot.AutoPlayer;
+import com.roguelab.bot.BaselinePolicy;
+import com.roguelab.bot.SessionView;
+import com.roguelab.domain.Difficulty;
+import com.roguelab.domain.Item;
+import com.roguelab.domain.Player;
+import com.roguelab.domain.PlayerClass;
+import com.roguelab.domain.Room;
+import com.roguelab.dungeon.DungeonConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Save Game")
+class SaveGameTest {
+
+    private static final long SEED = 4242L;
+
+    @TempDir
+    Path dir;
+
+    private static GameSession newSession() {
+        return new GameSession("Hero", PlayerClass.ROGUE, SEED, Difficulty.NORMAL, DungeonConfig.standard());
+    }
+
+    private static void play(GameSession session, int limit) {
+        ActionLog history = new ActionLog(session);
+        SessionView view = new SessionView(session, history);
+        for (int i = 0; i < limit && session.isActive(); i++) {
+            Action action = BaselinePolicy.INSTANCE.decide(view);
+            AutoPlayer.apply(session, action);
+            history.append(action);
+        }
+    }
+
+    private static String fingerprint(GameSession session) {
+        Player player = session.getPlayer();
+        StringBuilder sb = new StringBuilder()
+            .append(session.getState()).append(' ').append(session.getCurrentTick())
+            .append(" hp=").append(player.getHealth().getCurrent()).append('/').append(player.getHealth().getMaximum())
+            .append(" gold=").append(player.getInventory().getGold())
+            .append(" lvl=").append(player.getLevel()).append(' ').append(player.getExperience())
+            .append(" at=").append(session.getCurrentFloorNumber())
+            .append(':').append(session.getDungeon().getCurrentFloor().getCurrentRoomIndex())
+            .append(" rng=").append(session.getRandom().getState())
+            .append(' ').append(session.getStatistics());
+        for (Item item : player.getInventory().getItems()) {
+            sb.append(' ').append(item.getName());
+        }
+        for (Room room : session.getDungeon().getCurrentFloor().getRooms()) {
+            sb.append(room.isCleared() ? " C" : " -");
+            room.getEnemies().forEach(e -> sb.append(e.getHealth().getCurrent()).append(','));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("should checkpoint on room transitions")
+    void checkpointsOnRoomTransitions() throws IOException {
+        Path file = dir.resolve("run.sav");
+        GameSession session = newSession();
+        try (SaveGame save = SaveGame.autosave(file, session)) {
+            session.start();
+            assertThat(save.getCheckpoints()).isEqualTo(1);
+            play(session, 20);
+            save.flush();
+
+            assertThat(save.getCheckpoints()).isGreaterThan(1);
+            assertThat(save.getWrites()).isBetween(1L, save.getCheckpoints());
+            assertThat(file).exists();
+            assertThat(dir.resolve("run.sav.tmp")).doesNotExist();
+        }
+    }
+
+    @Test
+    @DisplayName("loaded session should match the saved one and play on identically")
+    void loadsSavedState() throws IOException {
+        Path file = dir.resolve("run.sav");
+        GameSession session = newSession();
+        try (SaveGame save = SaveGame.autosave(file, session)) {
+            session.start();
+            play(session, 20);
+            save.checkpoint();
+        }
+
+        GameSession loaded = SaveGame.load(file);
+        assertThat(loaded.getRunId()).isEqualTo(session.getRunId());
+        assertThat(fingerprint(loaded)).isEqualTo(fingerprint(session));
+
+        play(session, 10_000);
+        play(loaded, 10_000);
+        assertThat(fingerprint(loaded)).isEqualTo(fingerprint(session));
+    }
+
+    @Test
+    @DisplayName("should reuse sections for floors already left")
+    void reusesFinishedFloors() throws IOException {
+        Path file = dir.resolve("run.sav");
+        GameSession session = newSession();
+        try (SaveGame save = SaveGame.autosave(file, session)) {
+            session.start();
+            while (session.isActive() && session.getCurrentFloorNumber() < 3) {
+                play(session, 1);
+            }
+            assertThat(session.getCurrentFloorNumber()).isEqualTo(3);
+            save.checkpoint();
+        }
+
+        GameSession loaded = SaveGame.load(file);
+        assertThat(fingerprint(loaded)).isEqualTo(fingerprint(session));
+        assertThat(loaded.getDungeon().getFloor(1).orElseThrow().isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should delete the save when the run ends")
+    void deletesOnRunEnd() throws IOException {
+        Path file = dir.resolve("run.sav");
+        GameSession session = newSession();
+        try (SaveGame save = SaveGame.autosave(file, session)) {
+            new AutoPlayer(BaselinePolicy.INSTANCE).play(session);
+            save.flush();
+        }
+
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("should reject a corrupt save")
+    void rejectsCorruptSave() throws IOException {
+        Path file = dir.resolve("run.sav");
+        GameSession session = newSession();
+        try (SaveGame save = SaveGame.autosave(file, session)) {
+            session.start();
+            assertThat(save.getCheckpoints()).isEqualTo(1);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x55;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> SaveGame.load(file))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("corrupt");
+    }
+
+    @Test
+    @DisplayName("closing should stop autosaving")
+    void closeDetaches() throws IOException {
+        Path file = dir.resolve("run.sav");
+        GameSession session = newSession();
+        SaveGame save = SaveGame.autosave(file, session);
+        session.start();
+        save.close();
+        long checkpoints = save.getCheckpoints();
+
+        play(session, 10);
+        assertThat(save.getCheckpoints()).isEqualTo(checkpoints);
+    }
+}
@@ -0,0 +1,211 @@
+package com.roguelab.game;
+
+import com.roguelab.bot.Action;
+import com.roguelab.bot.ActionLog;
+import com.roguelab.bot.AutoPlayer;
+import com.roguelab.bot.BaselinePolicy;
+import com.roguelab.bot.SessionView;
+import com.roguelab.domain.Difficulty;
+import com.roguelab.domain.Item;
+import com.roguelab.domain.Player;
+import com.roguelab.domain.PlayerClass;
+import com.roguelab.domain.Room;
+import com.roguelab.dungeon.DungeonConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Session Journal")
+class SessionJournalTest {
+
+    private static final long SEED = 4242L;
+
+    @TempDir
+    Path dir;
+
+    private static GameSession newSession() {
+        return new GameSession("Hero", PlayerClass.WARRIOR, SEED, Difficulty.NORMAL, DungeonConfig.standard());
+    }
+
+    /**
+     * Play up to {@code limit} bot actions without ending the run.
+     */
+    private static void play(GameSession session, int limit) {
+        ActionLog history = new ActionLog(session);
+        SessionView view = new SessionView(session, history);
+        for (int i = 0; i < limit && session.isActive(); i++) {
+            Action action = BaselinePolicy.INSTANCE.decide(view);
+            AutoPlayer.apply(session, action);
+            history.append(action);
+        }
+    }
+
+    private static String fingerprint(GameSession session) {
+        Player player = session.getPlayer();
+        RunStatistics stats = session.getStatistics();
+        StringBuilder sb = new StringBuilder()
+            .append(session.getState()).append(' ').append(session.getCurrentTick())
+            .append(" hp=").append(player.getHealth().getCurrent()).append('/').append(player.getHealth().getMaximum())
+            .append(" gold=").append(player.getInventory().getGold())
+            .append(" lvl=").append(player.getLevel()).append(' ').append(player.getExperience())
+            .append(" kills=").append(player.getEnemiesKilled())
+            .append(" at=").append(session.getCurrentFloorNumber())
+            .append(':').append(session.getDungeon().getCurrentFloor().getCurrentRoomIndex())
+            .append(" rng=").append(session.getRandom().getState())
+            .append(' ').append(stats)
+            .append(" items=").append(stats.getItemsCollected()).append('/').append(stats.getItemsUsed());
+        for (Item item : player.getInventory().getItems()) {
+            sb.append(' ').append(item.getName());
+        }
+        for (Room room : session.getDungeon().getCurrentFloor().getRooms()) {
+            sb.append(room.isCleared() ? " C" : " -");
+            room.getEnemies().forEach(e -> sb.append(e.getHealth().getCurrent()).append(','));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("recovered session should match the journaled one")
+    void recoversState() throws IOException {
+        Path file = dir.resolve("run.rlj");
+        GameSession session = newSession();
+        try (SessionJournal journal = SessionJournal.builder().snapshotInterval(4).create(file, session)) {
+            session.start();
+            play(session, 30);
+            assertThat(journal.getSnapshotsWritten()).isPositive();
+        }
+
+        try (SessionJournal recovered = SessionJournal.recover(file)) {
+            GameSession restored = recovered.getSession();
+            assertThat(restored.getRunId()).isEqualTo(session.getRunId());
+            assertThat(restored.getStartTime().toEpochMilli()).isEqualTo(session.getStartTime().toEpochMilli());
+            assertThat(fingerprint(restored)).isEqualTo(fingerprint(session));
+        }
+    }
+
+    @Test
+    @DisplayName("play continued after recovery should match an uninterrupted run")
+    void continuesAfterRecovery() throws IOException {
+        GameSession uninterrupted = newSession();
+        uninterrupted.start();
+        play(uninterrupted, 15);
+
+        Path file = dir.resolve("run.rlj");
+        GameSession crashed = newSession();
+        SessionJournal journal = SessionJournal.builder().snapshotInterval(7).create(file, crashed);
+        crashed.start();
+        play(crashed, 15);
+        journal.close();
+
+        try (SessionJournal recovered = SessionJournal.recover(file)) {
+            GameSession restored = recovered.getSession();
+            assertThat(fingerprint(restored)).isEqualTo(fingerprint(uninterrupted));
+
+            play(uninterrupted, 10_000);
+            play(restored, 10_000);
+            assertThat(fingerprint(restored)).isEqualTo(fingerprint(uninterrupted));
+        }
+    }
+
+    @Test
+    @DisplayName("should drop a torn frame at the end")
+    void dropsTornTail() throws IOException {
+        Path file = dir.resolve("run.rlj");
+        GameSession session = newSession();
+        try (SessionJournal journal = SessionJournal.create(file, session)) {
+            session.start();
+            play(session, 12);
+            assertThat(journal.getRecordsWritten()).isPositive();
+        }
+        long intact = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 40, 7, 7, 7}));
+        }
+
+        try (SessionJournal recovered = SessionJournal.recover(file)) {
+            assertThat(fingerprint(recovered.getSession())).isEqualTo(fingerprint(session));
+            assertThat(Files.size(file)).isEqualTo(intact);
+        }
+    }
+
+    @Test
+    @DisplayName("should keep journaling after recovery")
+    void appendsAfterRecovery() throws IOException {
+        Path file = dir.resolve("run.rlj");
+        GameSession session = newSession();
+        try (SessionJournal journal = SessionJournal.create(file, session)) {
+            session.start();
+            play(session, 10);
+            assertThat(journal.getRecordsWritten()).isPositive();
+        }
+
+        GameSession continued;
+        try (SessionJournal recovered = SessionJournal.recover(file)) {
+            continued = recovered.getSession();
+            play(continued, 10);
+            assertThat(recovered.getRecordsWritten()).isPositive();
+        }
+
+        try (SessionJournal again = SessionJournal.recover(file)) {
+            assertThat(fingerprint(again.getSession())).isEqualTo(fingerprint(continued));
+        }
+    }
+
+    @Test
+    @DisplayName("replay should rebuild the run and notify the listener")
+    void replaysWithListener() throws IOException {
+        Path file = dir.resolve("run.rlj");
+        GameSession session = newSession();
+        GameSessionTest.TestListener live = new GameSessionTest.TestListener();
+        session.setListener(live);
+        try (SessionJournal journal = SessionJournal.builder().snapshotInterval(3).create(file, session)) {
+            new AutoPlayer(BaselinePolicy.INSTANCE).play(session);
+            assertThat(journal.getSnapshotsWritten()).isGreaterThan(1);
+        }
+
+        GameSessionTest.TestListener listener = new GameSessionTest.TestListener();
+        GameSession replayed = SessionJournal.replay(file, listener);
+
+        assertThat(listener.runStarted).isTrue();
+        assertThat(listener.combatResults).hasSameSizeAs(live.combatResults).isNotEmpty();
+        assertThat(listener.roomsCleared).hasSameSizeAs(live.roomsCleared);
+        assertThat(listener.endReason).isEqualTo(live.endReason);
+        assertThat(replayed.getState()).isEqualTo(GameState.RUN_ENDED);
+        assertThat(fingerprint(replayed)).isEqualTo(fingerprint(session));
+    }
+
+    @Test
+    @DisplayName("should snapshot a session that has already started")
+    void attachesMidRun() throws IOException {
+        Path file = dir.resolve("run.rlj");
+        GameSession session = newSession();
+        session.start();
+        play(session, 8);
+
+        try (SessionJournal journal = SessionJournal.create(file, session)) {
+            assertThat(journal.getSnapshotsWritten()).isEqualTo(1);
+            play(session, 8);
+        }
+
+        assertThat(fingerprint(SessionJournal.replay(file, GameSessionListener.NONE)))
+            .isEqualTo(fingerprint(session));
+    }
+
+    @Test
+    @DisplayName("should reject a file that is not a journal")
+    void rejectsOtherFiles() throws IOException {
+        Path file = dir.resolve("other.rlj");
+        Files.writeString(file, "not a journal");
+
+        assertThatThrownBy(() -> SessionJournal.recover(file)).isInstanceOf(IOException.class);
+    }
+}
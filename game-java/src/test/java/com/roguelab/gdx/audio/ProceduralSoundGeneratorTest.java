@@ -0,0 +1,51 @@
+package com.roguelab.gdx.audio;
+
+import com.roguelab.gdx.audio.ProceduralSoundGenerator.SoundParams;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Procedural Sound Generator")
+class ProceduralSoundGeneratorTest {
+
+    @Test
+    @DisplayName("should hash equal parameters equally and different ones differently")
+    void hashesParameters() {
+        SoundParams params = ProceduralSoundGenerator.hitImpact();
+        SoundParams copy = params.copy();
+        assertThat(copy.hash()).isEqualTo(params.hash());
+
+        copy.masterVolume += 0.01f;
+        assertThat(copy.hash()).isNotEqualTo(params.hash());
+        assertThat(ProceduralSoundGenerator.footstep().hash()).isNotEqualTo(params.hash());
+    }
+
+    @Test
+    @DisplayName("should generate identical noise for identical parameters")
+    void deterministicNoise() {
+        SoundParams params = ProceduralSoundGenerator.attackSword();
+        assertThat(params.waveType).isEqualTo(3);
+
+        short[] first = ProceduralSoundGenerator.generateSamples(params);
+        short[] second = ProceduralSoundGenerator.generateSamples(params.copy());
+        assertThat(Arrays.equals(first, second)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should encode a complete WAV and reject a truncated one")
+    void encodesWav() {
+        short[] samples = ProceduralSoundGenerator.generateSamples(ProceduralSoundGenerator.menuSelect());
+        byte[] wav = ProceduralSoundGenerator.toWav(samples);
+
+        assertThat(wav).hasSize(44 + samples.length * 2);
+        assertThat(new String(wav, 0, 4)).isEqualTo("RIFF");
+        assertThat(new String(wav, 8, 4)).isEqualTo("WAVE");
+        assertThat(wav[44]).isEqualTo((byte) samples[0]);
+        assertThat(wav[45]).isEqualTo((byte) (samples[0] >> 8));
+        assertThat(ProceduralSoundGenerator.isCompleteWav(wav)).isTrue();
+        assertThat(ProceduralSoundGenerator.isCompleteWav(Arrays.copyOf(wav, wav.length - 1))).isFalse();
+    }
+}
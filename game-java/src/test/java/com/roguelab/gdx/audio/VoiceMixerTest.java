@@ -0,0 +1,122 @@
+package com.roguelab.gdx.audio;
+
+import com.roguelab.gdx.audio.ProceduralSoundGenerator.SoundParams;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Voice Mixer")
+class VoiceMixerTest {
+
+    private static final int BLOCK = 256;
+
+    private static VoiceMixer mixer(int voices, int commands, int startsPerBlock) {
+        SoundParams[] sounds = {
+            ProceduralSoundGenerator.menuSelect(),
+            ProceduralSoundGenerator.victory()
+        };
+        return new VoiceMixer(sounds, voices, commands, startsPerBlock);
+    }
+
+    @Test
+    @DisplayName("should mix a voice that matches the baked samples at normal pitch")
+    void matchesBakedSamples() {
+        VoiceMixer mixer = mixer(4, 8, 8);
+        short[] baked = ProceduralSoundGenerator.generateSamples(ProceduralSoundGenerator.menuSelect());
+        float[] out = new float[BLOCK];
+
+        mixer.play(0, 1f, 1f, 0);
+        mixer.mix(out, BLOCK);
+
+        assertThat(mixer.getActiveVoices()).isEqualTo(1);
+        for (int i = 0; i < BLOCK; i++) {
+            assertThat((short) (out[i] * 32767)).isEqualTo(baked[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("should free a voice once its sound has finished")
+    void finishesVoices() {
+        VoiceMixer mixer = mixer(4, 8, 8);
+        float[] out = new float[BLOCK];
+        int blocks = ProceduralSoundGenerator.generateSamples(ProceduralSoundGenerator.menuSelect()).length / BLOCK + 2;
+
+        mixer.play(0, 1f, 1f, 0);
+        for (int i = 0; i < blocks; i++) {
+            mixer.mix(out, BLOCK);
+        }
+
+        assertThat(mixer.getActiveVoices()).isZero();
+        assertThat(out).containsOnly(0f);
+    }
+
+    @Test
+    @DisplayName("should steal the oldest lowest-priority voice when all are busy")
+    void stealsVoices() {
+        VoiceMixer mixer = mixer(2, 8, 8);
+        float[] out = new float[BLOCK];
+
+        mixer.play(1, 0.1f, 1f, 1);
+        mixer.play(1, 0.1f, 1f, 1);
+        mixer.play(1, 0.1f, 1f, 1);
+        mixer.mix(out, BLOCK);
+
+        assertThat(mixer.getActiveVoices()).isEqualTo(2);
+        assertThat(mixer.getStolen()).isEqualTo(1);
+
+        mixer.play(1, 0.1f, 1f, 0);
+        mixer.mix(out, BLOCK);
+        assertThat(mixer.getStolen()).isEqualTo(1);
+        assertThat(mixer.getDropped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should bound starts per block and queued commands")
+    void boundsWork() {
+        VoiceMixer mixer = mixer(16, 8, 4);
+        float[] out = new float[BLOCK];
+
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (mixer.play(0, 0.1f, 1f, 0)) {
+                accepted++;
+            }
+        }
+        assertThat(accepted).isEqualTo(8);
+
+        mixer.mix(out, BLOCK);
+        assertThat(mixer.getStarted()).isEqualTo(4);
+        assertThat(mixer.getDropped()).isEqualTo(96);
+        assertThat(mixer.play(0, 0.1f, 1f, 0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should clip the mix to the sample range")
+    void clipsMix() {
+        VoiceMixer mixer = mixer(8, 8, 8);
+        float[] out = new float[BLOCK];
+        for (int i = 0; i < 8; i++) {
+            mixer.play(1, 4f, 1f, 0);
+        }
+
+        mixer.mix(out, BLOCK);
+
+        for (float sample : out) {
+            assertThat(sample).isBetween(-1f, 1f);
+        }
+    }
+
+    @Test
+    @DisplayName("should shorten a sound played at a higher pitch")
+    void pitchScalesLength() {
+        Voice normal = new Voice();
+        Voice high = new Voice();
+        SoundParams params = ProceduralSoundGenerator.footstep();
+
+        normal.start(params, 1f, 1f, 0, 1L, 0);
+        high.start(params, 2f, 1f, 0, 1L, 0);
+
+        assertThat(high.getLength()).isEqualTo(normal.getLength() / 2);
+    }
+}
@@ -0,0 +1,100 @@
+package com.roguelab.gdx.effect;
+
+import com.roguelab.gdx.effect.EffectBuffer.Kind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Effect Buffer")
+class EffectBufferTest {
+
+    @Test
+    @DisplayName("should expire effects after their lifetime")
+    void expiresEffects() {
+        EffectBuffer buffer = new EffectBuffer(8, 8);
+        buffer.spawn(Kind.HIT, 0, 0);
+        buffer.spawn(Kind.SLASH, 0, 0);
+        buffer.spawnText(0, 0, "-5", 1f, 0f, 0f);
+
+        buffer.update(0.25f);
+        assertThat(buffer.size()).isEqualTo(2);
+
+        buffer.update(0.1f);
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.getKind(0)).isEqualTo(Kind.DAMAGE_NUMBER);
+        assertThat(buffer.getText(0)).isEqualTo("-5");
+        assertThat(buffer.getRed(0)).isEqualTo(1f);
+
+        buffer.update(2f);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should keep live effects packed after removing from the middle")
+    void swapRemoves() {
+        EffectBuffer buffer = new EffectBuffer(8, 8);
+        buffer.spawn(Kind.SLASH, 1, 0);
+        buffer.spawn(Kind.HIT, 2, 0);
+        buffer.spawnText(3, 0, "+10", 0f, 1f, 0f);
+
+        buffer.update(0.21f);
+
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(buffer.getKind(0)).isEqualTo(Kind.SLASH);
+        assertThat(buffer.getKind(1)).isEqualTo(Kind.DAMAGE_NUMBER);
+        assertThat(buffer.getText(1)).isEqualTo("+10");
+        assertThat(buffer.getY(1)).isGreaterThan(0f);
+    }
+
+    @Test
+    @DisplayName("should drop spawns beyond the per-frame budget")
+    void limitsSpawnsPerFrame() {
+        EffectBuffer buffer = new EffectBuffer(64, 4);
+        for (int i = 0; i < 10; i++) {
+            buffer.spawn(Kind.HIT, i, 0);
+        }
+        assertThat(buffer.size()).isEqualTo(4);
+        assertThat(buffer.getDropped()).isEqualTo(6);
+
+        buffer.update(0.01f);
+        assertThat(buffer.spawn(Kind.HIT, 0, 0)).isNotNegative();
+    }
+
+    @Test
+    @DisplayName("should replace the effect closest to expiring when full")
+    void recyclesOldest() {
+        EffectBuffer buffer = new EffectBuffer(2, 8);
+        buffer.spawnText(0, 0, "old", 1f, 1f, 1f);
+        buffer.update(1f);
+        buffer.spawnText(0, 0, "new", 1f, 1f, 1f);
+        buffer.spawnText(0, 0, "newest", 1f, 1f, 1f);
+
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(buffer.getRecycled()).isEqualTo(1);
+        assertThat(new String[] {buffer.getText(0), buffer.getText(1)}).containsExactlyInAnyOrder("new", "newest");
+    }
+
+    @Test
+    @DisplayName("should stay within capacity under a stress load")
+    void boundedUnderStress() {
+        EffectBuffer buffer = new EffectBuffer(
+            EffectsManager.DEFAULT_SPRITE_CAPACITY, EffectsManager.DEFAULT_SPAWNS_PER_FRAME);
+        for (int frame = 0; frame < 300; frame++) {
+            for (int i = 0; i < 100; i++) {
+                buffer.spawn(i % 2 == 0 ? Kind.SLASH : Kind.HIT, i, frame);
+            }
+            buffer.update(1f / 60f);
+            assertThat(buffer.size()).isLessThanOrEqualTo(buffer.getCapacity());
+        }
+
+        assertThat(buffer.getSpawned()).isEqualTo(300L * buffer.getSpawnsPerFrame());
+        assertThat(buffer.getDropped()).isEqualTo(300L * (100 - buffer.getSpawnsPerFrame()));
+    }
+
+    @Test
+    @DisplayName("should reject a non-positive capacity")
+    void rejectsBadCapacity() {
+        assertThatThrownBy(() -> new EffectBuffer(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
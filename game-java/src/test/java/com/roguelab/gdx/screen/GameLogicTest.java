@@ -0,0 +1,203 @@
+package com.roguelab.gdx.screen;
+
+import com.roguelab.combat.AttackResult;
+import com.roguelab.combat.CombatContext;
+import com.roguelab.combat.CombatEventListener;
+import com.roguelab.combat.CombatResult;
+import com.roguelab.domain.PlayerClass;
+import com.roguelab.game.GameSession;
+import com.roguelab.game.GameState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Game Logic")
+class GameLogicTest {
+
+    private GameLogic logic;
+
+    @AfterEach
+    void stop() {
+        if (logic != null) {
+            logic.shutdown();
+            logic.awaitShutdown(1000);
+        }
+    }
+
+    private GameLogic started(long seed) {
+        logic = new GameLogic(new GameSession("Test", PlayerClass.WARRIOR, seed), false, 0);
+        logic.start();
+        return logic;
+    }
+
+    private static SessionFrame await(GameLogic logic, Predicate<SessionFrame> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            SessionFrame frame = logic.getFrame();
+            if (frame != null && condition.test(frame)) {
+                return frame;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("No matching frame published");
+    }
+
+    private static List<String> messages(GameLogic logic) {
+        List<String> messages = new ArrayList<>();
+        for (GameLogic.Cue cue = logic.pollCue(); cue != null; cue = logic.pollCue()) {
+            if (cue instanceof GameLogic.Cue.Message message) {
+                messages.add(message.text());
+            }
+        }
+        return messages;
+    }
+
+    @Test
+    @DisplayName("should publish a frame and cues once the run has started")
+    void publishesFirstFrame() throws InterruptedException {
+        GameLogic logic = started(42L);
+
+        SessionFrame frame = await(logic, f -> true);
+
+        assertThat(frame.active()).isTrue();
+        assertThat(frame.floorNumber()).isEqualTo(1);
+        assertThat(frame.rooms()).isNotEmpty();
+        assertThat(frame.health()).isEqualTo(frame.maxHealth());
+        assertThat(messages(logic)).contains("You enter the dungeon...", "Seed: 42");
+    }
+
+    @Test
+    @DisplayName("should run posted commands on the logic thread")
+    void runsCommands() throws InterruptedException {
+        GameLogic logic = started(42L);
+        await(logic, f -> true);
+
+        logic.post(GameLogic.Command.ABANDON);
+
+        SessionFrame frame = await(logic, f -> !f.active());
+        assertThat(frame.state()).isEqualTo(GameState.RUN_ENDED);
+        assertThat(frame.victory()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should run the shutdown cleanup on the logic thread after queued commands")
+    void cleansUpAfterQueuedCommands() throws InterruptedException {
+        GameLogic logic = started(42L);
+        await(logic, f -> true);
+        List<String> ran = new ArrayList<>();
+
+        logic.post(GameLogic.Command.ABANDON);
+        logic.shutdown(() -> ran.add(Thread.currentThread().getName() + " " + logic.getFrame().active()));
+
+        assertThat(logic.awaitShutdown(5000)).isTrue();
+        assertThat(ran).containsExactly("roguelab-logic false");
+    }
+
+    @Test
+    @DisplayName("should leave published frames unchanged by later commands")
+    void framesAreImmutable() throws InterruptedException {
+        GameLogic logic = started(7L);
+        SessionFrame first = await(logic, f -> true);
+        long version = first.version();
+        int roomIndex = first.roomIndex();
+
+        for (int i = 0; i < 20; i++) {
+            logic.post(GameLogic.Command.ACT);
+            logic.post(GameLogic.Command.FORWARD);
+        }
+        await(logic, f -> f.version() != version);
+
+        assertThat(first.version()).isEqualTo(version);
+        assertThat(first.roomIndex()).isEqualTo(roomIndex);
+        assertThatThrownBy(() -> first.rooms().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should ignore commands that do not apply to the current state")
+    void ignoresStaleCommands() throws InterruptedException {
+        GameLogic logic = started(42L);
+        SessionFrame first = await(logic, f -> true);
+        messages(logic);
+
+        logic.post(GameLogic.Command.buy(0));
+        logic.post(GameLogic.Command.BACK);
+        logic.post(GameLogic.Command.ABANDON);
+        await(logic, f -> !f.active());
+
+        assertThat(messages(logic)).doesNotContain("You cannot afford that.", "You retrace your steps...");
+        assertThat(first.roomIndex()).isZero();
+    }
+
+    @Test
+    @DisplayName("should play a fight one turn at a time")
+    void playsFightTurnByTurn() throws InterruptedException {
+        GameLogic logic = started(42L);
+        await(logic, f -> f.state() == GameState.IN_COMBAT);
+        messages(logic);
+
+        logic.post(GameLogic.Command.ACT);
+        SessionFrame after = await(logic, f -> f.state() != GameState.IN_COMBAT);
+
+        int dealt = 0;
+        int blows = 0;
+        for (GameLogic.Cue cue = logic.pollCue(); cue != null; cue = logic.pollCue()) {
+            if (cue instanceof GameLogic.Cue.Popup popup && popup.kind() == GameLogic.PopupKind.DAMAGE_DEALT) {
+                dealt += popup.amount();
+                blows++;
+            }
+        }
+        assertThat(blows).isEqualTo(after.combatTurn());
+        assertThat(dealt).isPositive();
+    }
+
+    @Test
+    @DisplayName("should drop presses queued behind an attack instead of running them after the fight")
+    void dropsPressesQueuedBehindAttack() throws InterruptedException {
+        GameLogic logic = new GameLogic(new GameSession("Test", PlayerClass.WARRIOR, 42L), false, 20);
+        this.logic = logic;
+        logic.start();
+        SessionFrame combat = await(logic, f -> f.state() == GameState.IN_COMBAT);
+        messages(logic);
+
+        logic.post(GameLogic.Command.ACT);
+        logic.post(GameLogic.Command.ACT);
+        logic.post(GameLogic.Command.FORWARD);
+        logic.shutdown();
+        assertThat(logic.awaitShutdown(5000)).isTrue();
+
+        SessionFrame after = logic.getFrame();
+        assertThat(after.state()).isNotEqualTo(GameState.IN_COMBAT);
+        assertThat(after.roomIndex()).isEqualTo(combat.roomIndex());
+        assertThat(messages(logic)).doesNotContain("You move deeper into the dungeon...");
+    }
+
+    @Test
+    @DisplayName("should end the run instead of staying in a fight that failed")
+    void failedFightEndsRun() throws InterruptedException {
+        GameSession session = new GameSession("Test", PlayerClass.WARRIOR, 42L);
+        session.setCombatListener(new CombatEventListener() {
+            @Override public void onCombatStarted(CombatContext ctx) {}
+            @Override public void onDamageDealt(CombatContext ctx, AttackResult result, boolean playerAttack) {
+                throw new IllegalStateException("listener failed");
+            }
+            @Override public void onCombatEnded(CombatContext ctx, CombatResult result) {}
+            @Override public void onPlayerDied(CombatContext ctx) {}
+        });
+        logic = new GameLogic(session, false, 0);
+        logic.start();
+        await(logic, f -> f.state() == GameState.IN_COMBAT);
+        messages(logic);
+
+        logic.post(GameLogic.Command.ACT);
+
+        SessionFrame frame = await(logic, f -> !f.active());
+        assertThat(frame.state()).isEqualTo(GameState.RUN_ENDED);
+        assertThat(messages(logic)).contains("The fight could not be resolved. The run is over.");
+    }
+}
@@ -0,0 +1,135 @@
+package com.roguelab.jfr;
+
+import com.roguelab.domain.Difficulty;
+import com.roguelab.domain.PlayerClass;
+import com.roguelab.dungeon.DungeonConfig;
+import com.roguelab.game.GameSession;
+import com.roguelab.telemetry.TelemetryRuns;
+import com.roguelab.telemetry.TelemetryWriter;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Flight Recorder Events")
+class FlightRecorderEventsTest {
+
+    @TempDir
+    static Path dir;
+
+    private static List<RecordedEvent> events;
+
+    @BeforeAll
+    static void recordRun() throws IOException {
+        Path telemetry = dir.resolve("run.jsonl");
+        try (Recording recording = new Recording()) {
+            for (Class<?> type : List.of(CombatEncounter.class, FloorGenerated.class,
+                                         TelemetryFlush.class, SessionTransition.class)) {
+                recording.enable(type.getAnnotation(jdk.jfr.Name.class).value());
+            }
+            recording.start();
+
+            GameSession session = new GameSession("Bot", PlayerClass.WARRIOR, 12345L,
+                Difficulty.NORMAL, DungeonConfig.easy());
+            TelemetryRuns.record(telemetry, "run_jfr", session);
+
+            recording.stop();
+            Path file = dir.resolve("run.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+    }
+
+    private static List<RecordedEvent> ofType(String name) {
+        return events.stream()
+            .filter(e -> e.getEventType().getName().equals(name))
+            .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("should record every combat encounter")
+    void combatEncounters() {
+        List<RecordedEvent> combats = ofType("com.roguelab.CombatEncounter");
+
+        assertThat(combats).isNotEmpty().allSatisfy(e -> {
+            assertThat(e.getString("runId")).startsWith("run_");
+            assertThat(e.getInt("enemyCount")).isPositive();
+            assertThat(e.getInt("turns")).isPositive();
+            assertThat(e.getString("outcome")).isIn("VICTORY", "DEFEAT", "FLED", "INTERRUPTED");
+        });
+    }
+
+    @Test
+    @DisplayName("should record floor generation with its duration")
+    void floorsGenerated() {
+        List<RecordedEvent> floors = ofType("com.roguelab.FloorGenerated");
+
+        assertThat(floors).isNotEmpty();
+        assertThat(floors.get(0).getInt("floorNumber")).isEqualTo(1);
+        assertThat(floors).allSatisfy(e -> {
+            assertThat(e.getInt("roomCount")).isPositive();
+            assertThat(e.getDuration()).isPositive();
+        });
+    }
+
+    @Test
+    @DisplayName("should record telemetry flushes with the bytes written")
+    void telemetryFlushes() throws IOException {
+        List<RecordedEvent> flushes = ofType("com.roguelab.TelemetryFlush");
+
+        long bytes = flushes.stream().mapToLong(e -> e.getLong("bytes")).sum();
+        assertThat(flushes).allSatisfy(e -> assertThat(e.getString("sink")).isEqualTo("run.jsonl"));
+        assertThat(bytes).isEqualTo(Files.size(dir.resolve("run.jsonl")));
+    }
+
+    @Test
+    @DisplayName("a recorded flush should not count bytes from flushes nobody recorded")
+    void flushBytesAreNotCarriedOver() throws IOException {
+        Path telemetry = dir.resolve("late.jsonl");
+        try (TelemetryWriter writer = new TelemetryWriter(telemetry, "run_late", false)) {
+            writer.write("TEST_EVENT", 1, writer.createPayload().put("count", 1));
+            long before = Files.size(telemetry);
+
+            List<RecordedEvent> flushes;
+            try (Recording recording = new Recording()) {
+                recording.enable("com.roguelab.TelemetryFlush");
+                recording.start();
+                writer.write("TEST_EVENT", 2, writer.createPayload().put("count", 2));
+                recording.stop();
+                Path file = dir.resolve("late.jfr");
+                recording.dump(file);
+                flushes = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> "late.jsonl".equals(e.getString("sink")))
+                    .toList();
+            }
+
+            assertThat(flushes).hasSize(1);
+            assertThat(flushes.get(0).getLong("bytes")).isEqualTo(Files.size(telemetry) - before);
+        }
+    }
+
+    @Test
+    @DisplayName("should record session state transitions in order")
+    void sessionTransitions() {
+        List<RecordedEvent> transitions = ofType("com.roguelab.SessionTransition");
+
+        assertThat(transitions).isNotEmpty();
+        assertThat(transitions.get(0).getString("from")).isEqualTo("INITIALIZING");
+        assertThat(transitions.get(transitions.size() - 1).getString("to")).isEqualTo("RUN_ENDED");
+        for (int i = 1; i < transitions.size(); i++) {
+            assertThat(transitions.get(i).getString("from")).isEqualTo(transitions.get(i - 1).getString("to"));
+        }
+    }
+}
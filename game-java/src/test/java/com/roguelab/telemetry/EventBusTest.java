@@ -0,0 +1,278 @@
+package com.roguelab.telemetry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roguelab.domain.Difficulty;
+import com.roguelab.domain.PlayerClass;
+import com.roguelab.event.GameEvent;
+import com.roguelab.event.RunEndedEvent;
+import com.roguelab.event.RunStartedEvent;
+import org.junit.jupiter.api.*;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@DisplayName("Event Bus")
+class EventBusTest {
+
+    private final UUID runId = UUID.randomUUID();
+
+    private GameEvent event(int tick) {
+        return new RunEndedEvent(runId, tick, RunEndedEvent.Outcome.VICTORY, 3, 100, 50, 4, 10, 60,
+            "VICTORY", 1, 200, 150, 500, 120, 12, 10, 4, true);
+    }
+
+    /** Collects events on the consumer thread. */
+    private static final class Collecting implements EventBus.Consumer {
+        final List<GameEvent> events = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean shutdown;
+
+        @Override
+        public void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+            events.add(event);
+        }
+
+        @Override
+        public void onShutdown() {
+            shutdown = true;
+        }
+    }
+
+    /** Collects events, but blocks on the first one until released. */
+    private static final class Stalled implements EventBus.Consumer {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<GameEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+            entered.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+    }
+
+    @Nested
+    @DisplayName("Publishing")
+    class Publishing {
+
+        @Test
+        @DisplayName("every consumer should see every event in order")
+        void deliversInOrder() {
+            Collecting first = new Collecting();
+            Collecting second = new Collecting();
+            EventBus bus = new EventBus(16)
+                .addConsumer("first", first)
+                .addConsumer("second", second)
+                .start();
+
+            // More events than slots, so the ring wraps
+            for (int tick = 0; tick < 100; tick++) {
+                bus.publish(event(tick));
+            }
+            bus.close();
+
+            assertThat(first.events).extracting(GameEvent::getTick)
+                .containsExactlyElementsOf(IntStream.range(0, 100).boxed().toList());
+            assertThat(second.events).hasSize(100);
+            assertThat(second.events.get(42)).isSameAs(first.events.get(42));
+            assertThat(first.shutdown).isTrue();
+        }
+
+        @Test
+        @DisplayName("should accept events from several threads")
+        void acceptsConcurrentPublishers() throws InterruptedException {
+            Collecting consumer = new Collecting();
+            EventBus bus = new EventBus(64).addConsumer("collect", consumer).start();
+
+            List<Thread> publishers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        bus.publish(event(i));
+                    }
+                });
+                publishers.add(thread);
+                thread.start();
+            }
+            for (Thread thread : publishers) {
+                thread.join();
+            }
+            bus.close();
+
+            assertThat(consumer.events).hasSize(1000);
+            assertThat(bus.getPublishedCount()).isEqualTo(1000);
+        }
+
+        @Test
+        @DisplayName("should reject invalid ring sizes")
+        void rejectsInvalidRingSize() {
+            assertThatThrownBy(() -> new EventBus(100))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should drop and count events published after close")
+        void dropsPublishAfterClose() {
+            EventBus bus = new EventBus(16).start();
+            bus.close();
+
+            assertThat(bus.publish(event(0))).isFalse();
+            assertThat(bus.getDroppedCount()).isEqualTo(1);
+            assertThat(bus.getPublishedCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Backpressure and shutdown")
+    class Backpressure {
+
+        @Test
+        @DisplayName("should drop and count an event once the ring stays full")
+        void dropsAfterPublishTimeout() throws InterruptedException {
+            Stalled consumer = new Stalled();
+            EventBus bus = new EventBus(4, Duration.ofMillis(20), Duration.ofSeconds(2))
+                .addConsumer("stalled", consumer)
+                .start();
+            long droppedBefore = TelemetryMetrics.global().getDroppedEvents();
+
+            for (int tick = 0; tick < 4; tick++) {
+                assertThat(bus.publish(event(tick))).isTrue();
+            }
+            consumer.entered.await();
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () ->
+                assertThat(bus.publish(event(4))).isFalse());
+
+            consumer.release.countDown();
+            bus.close();
+
+            assertThat(consumer.events).extracting(GameEvent::getTick).containsExactly(0, 1, 2, 3);
+            assertThat(bus.getDroppedCount()).isEqualTo(1);
+            assertThat(TelemetryMetrics.global().getDroppedEvents() - droppedBefore).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("close should deliver a publish that was already waiting for a slot")
+        void closeWaitsForPublishInProgress() throws InterruptedException {
+            Stalled consumer = new Stalled();
+            EventBus bus = new EventBus(4, Duration.ofSeconds(5), Duration.ofSeconds(5))
+                .addConsumer("stalled", consumer)
+                .start();
+            for (int tick = 0; tick < 4; tick++) {
+                bus.publish(event(tick));
+            }
+            consumer.entered.await();
+
+            AtomicBoolean accepted = new AtomicBoolean();
+            Thread publisher = new Thread(() -> accepted.set(bus.publish(event(4))));
+            publisher.start();
+            while (publisher.getState() != Thread.State.TIMED_WAITING) {
+                Thread.onSpinWait();
+            }
+            Thread closer = new Thread(bus::close);
+            closer.start();
+
+            // Release the consumer only once close is waiting for the publisher
+            while (closer.getState() != Thread.State.TIMED_WAITING) {
+                Thread.onSpinWait();
+            }
+            consumer.release.countDown();
+            publisher.join();
+            closer.join();
+
+            assertThat(accepted).isTrue();
+            assertThat(consumer.events).extracting(GameEvent::getTick).containsExactly(0, 1, 2, 3, 4);
+        }
+
+        @Test
+        @DisplayName("close should give up on a stuck consumer after the timeout")
+        void closeTimesOut() throws InterruptedException {
+            Stalled consumer = new Stalled();
+            EventBus bus = new EventBus(4, Duration.ofMillis(20), Duration.ofMillis(100))
+                .addConsumer("stalled", consumer)
+                .start();
+            bus.publish(event(0));
+            consumer.entered.await();
+
+            try {
+                assertTimeoutPreemptively(Duration.ofSeconds(2), bus::close);
+            } finally {
+                consumer.release.countDown();
+            }
+        }
+
+        @Test
+        @DisplayName("should release events once every consumer has passed them")
+        void releasesConsumedEvents() {
+            EventBus.Consumer ignoring = (event, sequence, endOfBatch) -> {};
+            EventBus bus = new EventBus(16)
+                .addConsumer("first", ignoring)
+                .addConsumer("second", ignoring)
+                .start();
+
+            GameEvent event = event(0);
+            WeakReference<GameEvent> ref = new WeakReference<>(event);
+            bus.publish(event);
+            event = null;
+            bus.close();
+
+            for (int i = 0; i < 20 && ref.get() != null; i++) {
+                System.gc();
+            }
+            assertThat(ref.get()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Key styles")
+    class KeyStyles {
+
+        private final ObjectMapper mapper = new ObjectMapper();
+
+        @Test
+        @DisplayName("snake_case serializer should write the analytics schema")
+        void snakeCaseWritesAnalyticsSchema() throws Exception {
+            GameEvent event = new RunStartedEvent(
+                runId, 12345L, "0.3.0", PlayerClass.MAGE, Difficulty.HARD, "Hero", 100);
+
+            JsonNode camel = mapper.readTree(new EventSerializer().serialize(event));
+            JsonNode snake = mapper.readTree(
+                new EventSerializer(EventSerializer.KeyStyle.SNAKE_CASE).serialize(event));
+
+            assertThat(snake.get("event_type").asText()).isEqualTo(camel.get("eventType").asText());
+            assertThat(snake.get("run_id").asText()).isEqualTo(camel.get("runId").asText());
+            assertThat(snake.get("payload").get("player_class").asText()).isEqualTo("MAGE");
+            assertThat(snake.get("payload").get("version").asText()).isEqualTo("0.3.0");
+            assertThat(snake.get("payload").get("starting_health").asInt()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("should convert camelCase keys")
+        void convertsKeys() {
+            assertThat(EventSerializer.toSnakeCase("playerHealthRemaining"))
+                .isEqualTo("player_health_remaining");
+            assertThat(EventSerializer.toSnakeCase("seed")).isEqualTo("seed");
+        }
+    }
+}
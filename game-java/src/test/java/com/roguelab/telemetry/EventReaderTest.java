@@ -0,0 +1,182 @@
+package com.roguelab.telemetry;
+
+import com.roguelab.domain.*;
+import com.roguelab.event.*;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Event Reader")
+class EventReaderTest {
+
+    private UUID runId;
+
+    @BeforeEach
+    void setUp() {
+        runId = UUID.randomUUID();
+    }
+
+    private String jsonl(EventSerializer serializer, GameEvent... events) {
+        StringBuilder sb = new StringBuilder();
+        for (GameEvent event : events) {
+            sb.append(serializer.serialize(event)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private EventReader reader(EventReader.Builder builder, String content) {
+        return builder.open(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private GameEvent[] sampleRun() {
+        return new GameEvent[] {
+            new RunStartedEvent(runId, 12345L, "0.1.0", PlayerClass.MAGE, Difficulty.HARD, "Hero", 100),
+            new CombatStartedEvent(runId, 5, "room_1_0",
+                List.of(new EnemyInfo("goblin_1", EnemyType.GOBLIN, 20, 5, 20, 2)), 80, 100),
+            new DamageDealtEvent(runId, 6, "player", DamageDealtEvent.EntityType.PLAYER,
+                "goblin_1", DamageDealtEvent.EntityType.ENEMY, 10, 15, DamageType.FIRE, true, 20, 5, false, EnemyType.GOBLIN)
+        };
+    }
+
+    @Nested
+    @DisplayName("Decoding")
+    class Decoding {
+
+        @Test
+        @DisplayName("should decode the envelope and payload fields on demand")
+        void decodesEnvelopeAndFields() {
+            try (EventReader reader = reader(EventReader.builder(), jsonl(new EventSerializer(), sampleRun()))) {
+                RawEvent started = reader.next();
+                assertThat(started.getEventType()).isEqualTo("RUN_STARTED");
+                assertThat(started.getEventTypeEnum()).isEqualTo(EventType.RUN_STARTED);
+                assertThat(started.getEventVersion()).isEqualTo("1.1.0");
+                assertThat(started.getRunId()).isEqualTo(runId.toString());
+                assertThat(started.getTimestamp()).isNotNull();
+                assertThat(started.getLong("seed", 0)).isEqualTo(12345L);
+                assertThat(started.getString("playerClass")).isEqualTo("MAGE");
+                assertThat(started.has("missing")).isFalse();
+
+                RawEvent combat = reader.next();
+                assertThat(combat.getTick()).isEqualTo(5);
+                assertThat(combat.getNode("enemies").get(0).get("enemyId").asText()).isEqualTo("goblin_1");
+
+                RawEvent damage = reader.next();
+                assertThat(damage.getInt("finalDamage", 0)).isEqualTo(15);
+                assertThat(damage.getBoolean("isCritical", false)).isTrue();
+                assertThat(damage.getDouble("missing", -1)).isEqualTo(-1);
+
+                assertThat(reader.next()).isNull();
+                assertThat(reader.getEventsRead()).isEqualTo(3);
+            }
+        }
+
+        @Test
+        @DisplayName("should match schema field names in snake_case files")
+        void readsSnakeCase() {
+            String content = jsonl(new EventSerializer(EventSerializer.KeyStyle.SNAKE_CASE), sampleRun());
+            try (EventReader reader = reader(EventReader.builder().types(EventType.DAMAGE_DEALT), content)) {
+                RawEvent damage = reader.next();
+                assertThat(damage.getKeyStyle()).isEqualTo(EventSerializer.KeyStyle.SNAKE_CASE);
+                assertThat(damage.getRunId()).isEqualTo(runId.toString());
+                assertThat(damage.getInt("finalDamage", 0)).isEqualTo(15);
+                assertThat(damage.getString("damageType")).isEqualTo("FIRE");
+            }
+        }
+
+        @Test
+        @DisplayName("should skip filtered events and malformed lines")
+        void filtersAndSkips() {
+            String content = jsonl(new EventSerializer(), sampleRun())
+                + "\r\n"
+                + "{\"payload\":{\"finalDamage\":7},\"eventType\":\"DAMAGE_DEALT\"}\r\n"
+                + "[1, 2]\n"
+                + "{\"eventType\":\"DAMAGE_DEALT\",\"payload\":{\"finalDa";
+
+            try (EventReader reader = reader(EventReader.builder().types(EventType.DAMAGE_DEALT), content)) {
+                List<Integer> damage = reader.stream().map(e -> e.getInt("finalDamage", 0)).toList();
+
+                assertThat(damage).containsExactly(15, 7);
+                assertThat(reader.getEventsFiltered()).isEqualTo(2);
+                assertThat(reader.getLinesSkipped()).isEqualTo(2);
+            }
+        }
+
+        @Test
+        @DisplayName("should read lines longer than the buffer")
+        void readsLongLines() {
+            String name = "x".repeat(200_000);
+            String content = jsonl(new EventSerializer(),
+                new RunStartedEvent(runId, 1L, "0.1.0", PlayerClass.ROGUE, Difficulty.EASY, name, 100));
+
+            try (EventReader reader = reader(EventReader.builder(), content)) {
+                assertThat(reader.next().getString("playerName")).isEqualTo(name);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Upcasting")
+    class Upcasting {
+
+        private static final String OLD_DAMAGE =
+            "{\"eventType\":\"DAMAGE_DEALT\",\"eventVersion\":\"0.8.0\",\"tick\":3,\"payload\":{\"damage\":9}}\n";
+
+        @Test
+        @DisplayName("should chain upcasters to the newest version")
+        void chainsUpcasters() {
+            EventReader.Builder builder = EventReader.builder()
+                .upcaster(EventType.DAMAGE_DEALT, "0.8.0", "0.9.0",
+                    (payload, keys) -> payload.set(keys.key("finalDamage"), payload.remove(keys.key("damage"))))
+                .upcaster(EventType.DAMAGE_DEALT, "0.9.0", "1.0.0",
+                    (payload, keys) -> payload.put(keys.key("isCritical"), false));
+
+            try (EventReader reader = reader(builder, OLD_DAMAGE)) {
+                RawEvent event = reader.next();
+
+                assertThat(event.isUpcast()).isTrue();
+                assertThat(event.getWrittenVersion()).isEqualTo("0.8.0");
+                assertThat(event.getEventVersion()).isEqualTo("1.0.0");
+                assertThat(event.getInt("finalDamage", 0)).isEqualTo(9);
+                assertThat(event.has("damage")).isFalse();
+                assertThat(event.getBoolean("isCritical", true)).isFalse();
+            }
+        }
+
+        @Test
+        @DisplayName("should leave current events untouched")
+        void leavesCurrentEvents() {
+            EventReader.Builder builder = EventReader.builder()
+                .upcaster(EventType.DAMAGE_DEALT, "0.8.0", "1.0.0", (payload, keys) -> payload.removeAll());
+
+            try (EventReader reader = reader(builder, jsonl(new EventSerializer(), sampleRun()))) {
+                RawEvent damage = reader.stream().filter(e -> e.getEventTypeEnum() == EventType.DAMAGE_DEALT)
+                    .findFirst().orElseThrow();
+
+                assertThat(damage.isUpcast()).isFalse();
+                assertThat(damage.getInt("finalDamage", 0)).isEqualTo(15);
+            }
+        }
+
+        @Test
+        @DisplayName("should reject cycles and duplicate upcasters")
+        void rejectsBadChains() {
+            EventUpcaster noop = (payload, keys) -> {};
+            assertThatThrownBy(() -> EventReader.builder()
+                    .upcaster(EventType.DAMAGE_DEALT, "0.8.0", "0.9.0", noop)
+                    .upcaster(EventType.DAMAGE_DEALT, "0.8.0", "1.0.0", noop))
+                .isInstanceOf(IllegalArgumentException.class);
+
+            EventReader.Builder cyclic = EventReader.builder()
+                .upcaster(EventType.DAMAGE_DEALT, "0.8.0", "0.9.0", noop)
+                .upcaster(EventType.DAMAGE_DEALT, "0.9.0", "0.8.0", noop);
+            try (EventReader reader = reader(cyclic, OLD_DAMAGE)) {
+                assertThatThrownBy(reader::next).isInstanceOf(TelemetryException.class);
+            }
+        }
+    }
+}
@@ -34,7 +34,7 @@ class EventSerializerTest {
     void serializesRunStartedEvent() throws Exception {
         RunStartedEvent event = new RunStartedEvent(
             testRunId, 12345L, "0.1.0",
-            PlayerClass.WARRIOR, Difficulty.NORMAL, "TestHero"
+            PlayerClass.WARRIOR, Difficulty.NORMAL, "TestHero", 100
         );
         
         String json = serializer.serialize(event);
@@ -42,7 +42,7 @@ class EventSerializerTest {
         
         // Base fields
         assertThat(node.get("eventType").asText()).isEqualTo("RUN_STARTED");
-        assertThat(node.get("eventVersion").asText()).isEqualTo("1.0.0");
+        assertThat(node.get("eventVersion").asText()).isEqualTo("1.1.0");
         assertThat(node.get("runId").asText()).isEqualTo(testRunId.toString());
         assertThat(node.get("tick").asInt()).isEqualTo(0);
         assertThat(node.has("timestamp")).isTrue();
@@ -63,7 +63,7 @@ class EventSerializerTest {
             testRunId, 42, "player", DamageDealtEvent.EntityType.PLAYER,
             "goblin_123", DamageDealtEvent.EntityType.ENEMY,
             10, 15, DamageType.PHYSICAL, true,
-            20, 5, false
+            20, 5, false, EnemyType.GOBLIN
         );
         
         String json = serializer.serialize(event);
@@ -86,8 +86,8 @@ class EventSerializerTest {
     @DisplayName("should serialize CombatStartedEvent with enemy list")
     void serializesCombatStartedEvent() throws Exception {
         List<EnemyInfo> enemies = List.of(
-            new EnemyInfo("goblin_1", EnemyType.GOBLIN, 20, 5),
-            new EnemyInfo("orc_1", EnemyType.ORC, 40, 8)
+            new EnemyInfo("goblin_1", EnemyType.GOBLIN, 20, 5, 20, 2),
+            new EnemyInfo("orc_1", EnemyType.ORC, 40, 8, 40, 2)
         );
         
         CombatStartedEvent event = new CombatStartedEvent(
@@ -112,7 +112,7 @@ class EventSerializerTest {
         ItemPickedEvent event = new ItemPickedEvent(
             testRunId, 200, "sword_001", ItemType.WEAPON,
             "Sword of Fire", Rarity.RARE, 2, 
-            ItemPickedEvent.ItemSource.CHEST, stats
+            ItemPickedEvent.ItemSource.CHEST, stats, 100, "room_2_1"
         );
         
         String json = serializer.serialize(event);
@@ -130,7 +130,7 @@ class EventSerializerTest {
         PlayerDiedEvent event = new PlayerDiedEvent(
             testRunId, 500, PlayerDiedEvent.CauseType.ENEMY,
             "dragon_boss", "Ancient Dragon", DamageType.FIRE,
-            50, 8, List.of("sword_001", "armor_002"), 250, 42
+            50, 8, List.of("sword_001", "armor_002"), 250, 42, 300
         );
         
         String json = serializer.serialize(event);
@@ -148,7 +148,7 @@ class EventSerializerTest {
     void producesValidJsonLines() throws Exception {
         RunStartedEvent event = new RunStartedEvent(
             testRunId, 12345L, "0.1.0",
-            PlayerClass.MAGE, Difficulty.HARD, "Test\nHero" // Name with newline
+            PlayerClass.MAGE, Difficulty.HARD, "Test\nHero", 100 // Name with newline
         );
         
         String json = serializer.serialize(event);
@@ -182,7 +182,7 @@ class EventSerializerTest {
         Instant fixedTime = Instant.parse("2025-01-15T14:30:00.000Z");
         RunStartedEvent event = new RunStartedEvent(
             fixedTime, testRunId, 12345L, "0.1.0",
-            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero"
+            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero", 100
         );
         
         String json = serializer.serialize(event);
@@ -0,0 +1,221 @@
+package com.roguelab.telemetry;
+
+import com.roguelab.domain.Difficulty;
+import com.roguelab.domain.PlayerClass;
+import com.roguelab.event.GameEvent;
+import com.roguelab.event.RunStartedEvent;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@DisplayName("Fan-Out Emitter")
+class FanOutEmitterTest {
+
+    private GameEvent event() {
+        return new RunStartedEvent(
+            UUID.randomUUID(), 12345L, "0.1.0",
+            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero", 100
+        );
+    }
+
+    /** Records every event it receives. */
+    private static final class RecordingEmitter implements TelemetryEmitter {
+        final List<GameEvent> events = new CopyOnWriteArrayList<>();
+        volatile boolean flushed;
+        volatile boolean closed;
+
+        @Override public void emit(GameEvent event) { events.add(event); }
+        @Override public void flush() { flushed = true; }
+        @Override public void close() { closed = true; }
+    }
+
+    /** Blocks on every emit until released, ignoring interrupts. */
+    private static final class StuckEmitter implements TelemetryEmitter {
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean emitting;
+        volatile boolean closed;
+        volatile boolean closedWhileEmitting;
+
+        @Override
+        public void emit(GameEvent event) {
+            emitting = true;
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            emitting = false;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        @Override public void flush() {}
+        @Override public void close() {
+            closedWhileEmitting |= emitting;
+            closed = true;
+        }
+    }
+
+    @Test
+    @DisplayName("should deliver the same event instance to every sink")
+    void deliversToEverySink() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        FanOutEmitter emitter = new FanOutEmitter(first, second);
+
+        GameEvent event = event();
+        emitter.emit(event);
+        emitter.close();
+
+        assertThat(first.events).containsExactly(event);
+        assertThat(second.events).hasSize(1);
+        assertThat(second.events.get(0)).isSameAs(event);
+        assertThat(first.closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("a stuck sink should not block emit or other sinks")
+    void stuckSinkDoesNotBlock() {
+        StuckEmitter stuck = new StuckEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        FanOutEmitter emitter = new FanOutEmitter(4, Duration.ofMillis(200), stuck, healthy);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            for (int i = 0; i < 100; i++) {
+                emitter.emit(event());
+            }
+        });
+
+        FanOutEmitter.SinkMetrics stuckMetrics = emitter.getMetrics().get(0);
+        assertThat(stuckMetrics.published()).isEqualTo(100);
+        assertThat(stuckMetrics.dropped()).isPositive();
+
+        emitter.close();
+        stuck.release.countDown();
+
+        FanOutEmitter.SinkMetrics healthyMetrics = emitter.getMetrics().get(1);
+        assertThat(healthyMetrics.delivered() + healthyMetrics.dropped()).isEqualTo(100);
+        assertThat(healthy.events).hasSize((int) healthyMetrics.delivered());
+    }
+
+    @Test
+    @DisplayName("should never close a sink that is still being written")
+    void abandonsStuckSinkWithoutClosing() throws InterruptedException {
+        StuckEmitter stuck = new StuckEmitter();
+        FanOutEmitter emitter = new FanOutEmitter(4, Duration.ofMillis(100), stuck);
+        emitter.emit(event());
+        emitter.emit(event());
+        while (!stuck.emitting) {
+            Thread.sleep(5);
+        }
+
+        emitter.close();
+        assertThat(stuck.closed).isFalse();
+
+        stuck.release.countDown();
+        for (int i = 0; i < 200 && !stuck.closed; i++) {
+            Thread.sleep(5);
+        }
+        assertThat(stuck.closed).isTrue();
+        assertThat(stuck.closedWhileEmitting).isFalse();
+        FanOutEmitter.SinkMetrics metrics = emitter.getMetrics().get(0);
+        assertThat(metrics.delivered()).isEqualTo(1);
+        assertThat(metrics.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should remove a stuck sink without waiting for it")
+    void removesStuckSinkWithoutWaiting() {
+        StuckEmitter stuck = new StuckEmitter();
+        FanOutEmitter emitter = new FanOutEmitter(4, Duration.ofSeconds(30), stuck);
+        emitter.emit(event());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            assertThat(emitter.removeEmitter(stuck)).isTrue();
+        });
+        assertThat(emitter.getSinkCount()).isZero();
+        stuck.release.countDown();
+        emitter.close();
+        assertThat(stuck.closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("should add and remove sinks at runtime")
+    void addsAndRemovesSinks() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter late = new RecordingEmitter();
+        FanOutEmitter emitter = new FanOutEmitter(first);
+
+        emitter.emit(event());
+        emitter.addEmitter(late);
+        emitter.emit(event());
+        assertThat(emitter.removeEmitter(first)).isTrue();
+        emitter.emit(event());
+        emitter.close();
+
+        assertThat(first.events).hasSize(2);
+        assertThat(first.closed).isTrue();
+        assertThat(late.events).hasSize(2);
+        assertThat(emitter.removeEmitter(first)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should count sink failures without stopping delivery")
+    void countsFailures() throws InterruptedException {
+        RecordingEmitter healthy = new RecordingEmitter();
+        TelemetryEmitter failing = new TelemetryEmitter() {
+            @Override public void emit(GameEvent event) { throw new TelemetryException("boom"); }
+            @Override public void flush() {}
+            @Override public void close() {}
+        };
+        FanOutEmitter emitter = new FanOutEmitter(failing, healthy);
+
+        emitter.emit(event());
+        emitter.emit(event());
+        while (emitter.getMetrics().get(0).failed() < 2) {
+            Thread.sleep(5);
+        }
+
+        assertThat(emitter.getMetrics().get(0).delivered()).isZero();
+        emitter.close();
+        assertThat(healthy.events).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("should flush sinks once drained")
+    void flushesSinks() throws InterruptedException {
+        RecordingEmitter sink = new RecordingEmitter();
+        FanOutEmitter emitter = new FanOutEmitter(sink);
+
+        emitter.emit(event());
+        emitter.flush();
+        for (int i = 0; i < 200 && !sink.flushed; i++) {
+            Thread.sleep(5);
+        }
+
+        assertThat(sink.flushed).isTrue();
+        assertThat(sink.events).hasSize(1);
+        emitter.close();
+    }
+
+    @Test
+    @DisplayName("should reject emit after close")
+    void rejectsEmitAfterClose() {
+        FanOutEmitter emitter = new FanOutEmitter(new RecordingEmitter());
+        emitter.close();
+
+        assertThatThrownBy(() -> emitter.emit(event()))
+            .isInstanceOf(TelemetryException.class);
+    }
+}
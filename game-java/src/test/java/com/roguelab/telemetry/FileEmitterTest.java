@@ -64,12 +64,12 @@ class FileEmitterTest {
         
         RunStartedEvent startEvent = new RunStartedEvent(
             runId, 12345L, "0.1.0",
-            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero"
+            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero", 100
         );
         
         RunEndedEvent endEvent = new RunEndedEvent(
             runId, 100, RunEndedEvent.Outcome.VICTORY,
-            5, 1000, 500, 10, 25, 3600
+            5, 1000, 500, 10, 25, 3600, "VICTORY", 0, 0, 0, 0, 0, 0, 0, 1, true
         );
         
         emitter.emit(startEvent);
@@ -95,7 +95,7 @@ class FileEmitterTest {
         
         emitter.emit(new RunStartedEvent(
             runId, 12345L, "0.1.0",
-            PlayerClass.ROGUE, Difficulty.HARD, "Test"
+            PlayerClass.ROGUE, Difficulty.HARD, "Test", 100
         ));
         
         emitter.flush();
@@ -117,7 +117,7 @@ class FileEmitterTest {
         
         assertThatThrownBy(() -> emitter.emit(new RunStartedEvent(
             runId, 12345L, "0.1.0",
-            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero"
+            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero", 100
         ))).isInstanceOf(TelemetryException.class);
     }
     
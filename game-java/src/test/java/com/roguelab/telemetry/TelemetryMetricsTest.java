@@ -0,0 +1,149 @@
+package com.roguelab.telemetry;
+
+import com.roguelab.domain.Difficulty;
+import com.roguelab.domain.PlayerClass;
+import com.roguelab.event.GameEvent;
+import com.roguelab.event.RunStartedEvent;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Telemetry Metrics")
+class TelemetryMetricsTest {
+
+    private final TelemetryMetrics metrics = TelemetryMetrics.global();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("writer should record events, bytes and flushes")
+    void recordsWriterActivity() throws IOException {
+        TelemetryMetrics.Snapshot before = metrics.snapshot();
+        long roomEvents = metrics.getEventsWrittenByType().getOrDefault("ROOM_ENTERED", 0L);
+
+        Path file = dir.resolve("run.jsonl");
+        try (TelemetryWriter writer = new TelemetryWriter(file, "run_1", false)) {
+            for (int i = 0; i < 3; i++) {
+                writer.write("ROOM_ENTERED", i, writer.createPayload().put("room", i));
+            }
+        }
+
+        TelemetryMetrics.Snapshot after = metrics.snapshot();
+        assertThat(after.events() - before.events()).isEqualTo(3);
+        assertThat(after.flushes() - before.flushes()).isEqualTo(3);
+        assertThat(after.bytes() - before.bytes()).isEqualTo(Files.size(file));
+        assertThat(after.serializationNanos()).isGreaterThan(before.serializationNanos());
+        assertThat(metrics.getEventsWrittenByType().get("ROOM_ENTERED")).isEqualTo(roomEvents + 3);
+    }
+
+    @Test
+    @DisplayName("file emitter should record events and bytes")
+    void recordsEmitterActivity() {
+        TelemetryMetrics.Snapshot before = metrics.snapshot();
+
+        FileEmitter emitter = new FileEmitter(dir, UUID.randomUUID());
+        emitter.emit(event());
+        emitter.flush();
+        emitter.close();
+
+        TelemetryMetrics.Snapshot after = metrics.snapshot();
+        assertThat(after.events() - before.events()).isEqualTo(1);
+        assertThat(after.flushes() - before.flushes()).isEqualTo(1);
+        assertThat(after.bytes() - before.bytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("fan-out should report drops and queue depth")
+    void recordsFanOutDrops() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TelemetryEmitter stuck = new TelemetryEmitter() {
+            @Override
+            public void emit(GameEvent event) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            @Override public void flush() {}
+            @Override public void close() {}
+        };
+
+        TelemetryMetrics.Snapshot before = metrics.snapshot();
+        FanOutEmitter emitter = new FanOutEmitter(2, Duration.ofSeconds(1), stuck);
+        // Wedge the worker first, so the queue fills and stays full
+        emitter.emit(event());
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 19; i++) {
+            emitter.emit(event());
+        }
+        long dropped = emitter.getMetrics().get(0).dropped();
+
+        assertThat(dropped).isEqualTo(17);
+        assertThat(metrics.snapshot().dropped() - before.dropped()).isEqualTo(dropped);
+        assertThat(metrics.getQueueDepths()).anySatisfy((name, depth) -> {
+            assertThat(name).startsWith("fan-out/");
+            assertThat(depth).isPositive();
+        });
+
+        release.countDown();
+        emitter.close();
+        assertThat(metrics.getQueueDepths().keySet()).noneMatch(name -> name.startsWith("fan-out/"));
+    }
+
+    @Test
+    @DisplayName("latency percentiles should be within a bucket of the true value")
+    void histogramPercentiles() {
+        TelemetryMetrics.LatencyHistogram histogram = new TelemetryMetrics.LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.mean()).isEqualTo(500.5);
+        assertThat(histogram.percentile(0.50)).isBetween(500L, 516L);
+        assertThat(histogram.percentile(0.99)).isBetween(990L, 1000L);
+        assertThat(histogram.max()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("should be readable over JMX")
+    void exposesMBean() throws Exception {
+        TelemetryMetrics.install();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(TelemetryMetrics.OBJECT_NAME);
+
+        assertThat(server.isRegistered(name)).isTrue();
+        assertThat((Long) server.getAttribute(name, "EventsWritten")).isEqualTo(metrics.getEventsWritten());
+    }
+
+    @Test
+    @DisplayName("log line should describe the interval")
+    void formatsLogLine() {
+        TelemetryMetrics.Snapshot from = new TelemetryMetrics.Snapshot(0, 100, 0, 10, 0, 0, 0);
+        TelemetryMetrics.Snapshot to = new TelemetryMetrics.Snapshot(2_000_000_000L, 300, 2_000_000, 30, 5, 1, 40_000);
+
+        assertThat(metrics.formatLine(from, to))
+            .startsWith("[TELEMETRY] 200 events (100/s), 2.00 MB written, 20 flushes, serialize 200 ns/event")
+            .contains("5 dropped, 1 errors");
+    }
+
+    private GameEvent event() {
+        return new RunStartedEvent(UUID.randomUUID(), 12345L, "0.1.0",
+            PlayerClass.WARRIOR, Difficulty.NORMAL, "Hero", 100);
+    }
+}
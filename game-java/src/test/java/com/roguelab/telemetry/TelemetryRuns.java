@@ -0,0 +1,67 @@
+package com.roguelab.telemetry;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.roguelab.bot.AutoPlayer;
+import com.roguelab.bot.BaselinePolicy;
+import com.roguelab.game.GameSession;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Test wiring for recording runs to JSONL the way the game does: a
+ * {@link TelemetryWriter} consuming an {@link EventBus}, fed by an
+ * {@link EventBusListener}. Closing the bus also closes the writer.
+ */
+public final class TelemetryRuns {
+
+    private TelemetryRuns() {}
+
+    /**
+     * A started bus whose only consumer writes JSONL to the file.
+     */
+    public static EventBus jsonlBus(Path file, String runId) throws IOException {
+        return jsonlBus(file, runId, null);
+    }
+
+    /**
+     * A started bus whose only consumer writes JSONL to the file and
+     * passes each written event to the tap.
+     */
+    public static EventBus jsonlBus(Path file, String runId, Consumer<? super ObjectNode> tap)
+            throws IOException {
+        TelemetryWriter writer = new TelemetryWriter(file, runId, false);
+        writer.setTap(tap);
+        return new EventBus().addConsumer("jsonl", EventBus.forWriter(writer)).start();
+    }
+
+    /**
+     * Sets a listener publishing to the bus as the session's game and combat listener.
+     */
+    public static EventBusListener attach(EventBus bus, GameSession session, TelemetrySampler sampler) {
+        EventBusListener telemetry = new EventBusListener(bus, session.getRunId(), "test", sampler);
+        session.setListener(telemetry);
+        session.setCombatListener(telemetry);
+        return telemetry;
+    }
+
+    /**
+     * Plays the session to the end with the baseline bot, recording every event.
+     */
+    public static void record(Path file, String runId, GameSession session) throws IOException {
+        record(file, runId, session, null);
+    }
+
+    /**
+     * Plays the session to the end with the baseline bot, recording every
+     * event and passing each one to the tap.
+     */
+    public static void record(Path file, String runId, GameSession session, Consumer<? super ObjectNode> tap)
+            throws IOException {
+        try (EventBus bus = jsonlBus(file, runId, tap)) {
+            attach(bus, session, TelemetrySampler.ALL);
+            new AutoPlayer(BaselinePolicy.INSTANCE).play(session);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.roguelab.telemetry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roguelab.domain.*;
+import com.roguelab.dungeon.DungeonConfig;
+import com.roguelab.game.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Telemetry Sampler")
+class TelemetrySamplerTest {
+
+    private static final long SEED = 12345L;
+    private Path tempFile;
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempFile = Files.createTempFile("telemetry-sampling", ".jsonl");
+        mapper = new ObjectMapper();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(tempFile);
+    }
+
+    @Test
+    @DisplayName("should keep every event by default")
+    void keepsEverythingByDefault() {
+        TelemetrySampler sampler = TelemetrySampler.ALL;
+        long key = TelemetrySampler.runKey("run");
+
+        assertThat(sampler.keepsRun("run")).isTrue();
+        assertThat(IntStream.range(0, 100).allMatch(i -> sampler.sample("DAMAGE_DEALT", key, i))).isTrue();
+    }
+
+    @Test
+    @DisplayName("run sampling should be deterministic and close to the rate")
+    void runSamplingIsDeterministic() {
+        TelemetrySampler sampler = TelemetrySampler.builder().runRate(0.25).build();
+
+        long kept = IntStream.range(0, 10_000)
+            .filter(i -> sampler.keepsRun("run_" + i))
+            .count();
+
+        assertThat(kept).isBetween(2_200L, 2_800L);
+        assertThat(sampler.keepsRun("run_42")).isEqualTo(sampler.keepsRun("run_42"));
+    }
+
+    @Test
+    @DisplayName("per-type rates should only affect their event type")
+    void perTypeRates() {
+        TelemetrySampler sampler = TelemetrySampler.builder()
+            .rate("DAMAGE_DEALT", 0.1)
+            .build();
+        long key = TelemetrySampler.runKey("run");
+
+        long damageKept = IntStream.range(0, 10_000)
+            .filter(i -> sampler.sample("DAMAGE_DEALT", key, i))
+            .count();
+
+        assertThat(damageKept).isBetween(800L, 1_200L);
+        assertThat(sampler.rateFor("COMBAT_ENDED")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should reject rates outside [0, 1]")
+    void rejectsInvalidRates() {
+        assertThatThrownBy(() -> TelemetrySampler.builder().runRate(1.5))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TelemetrySampler.builder().rate("DAMAGE_DEALT", -0.1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("summary-only mode should fold hits into COMBAT_ENDED")
+    void summaryOnlyFoldsHits() throws IOException {
+        TelemetrySampler sampler = TelemetrySampler.builder().summaryOnly(true).build();
+        playCombat(sampler);
+
+        List<JsonNode> events = readEvents();
+        assertThat(events).extracting(e -> e.get("event_type").asText())
+            .contains("COMBAT_STARTED", "COMBAT_ENDED")
+            .doesNotContain("DAMAGE_DEALT");
+
+        JsonNode summary = events.stream()
+            .filter(e -> e.get("event_type").asText().equals("COMBAT_ENDED"))
+            .findFirst().orElseThrow()
+            .get("payload").get("damage_summary");
+        assertThat(summary.get("player_hits").asInt()).isPositive();
+    }
+
+    @Test
+    @DisplayName("hits should name enemy types when COMBAT_STARTED is sampled out")
+    void namesEnemiesWithoutCombatStarted() throws IOException {
+        TelemetrySampler sampler = TelemetrySampler.builder().rate("COMBAT_STARTED", 0).build();
+        playCombat(sampler);
+
+        List<JsonNode> hits = readEvents().stream()
+            .filter(e -> e.get("event_type").asText().equals("DAMAGE_DEALT"))
+            .toList();
+        assertThat(hits).isNotEmpty();
+        assertThat(hits).extracting(e -> e.get("payload").get("target_type").asText())
+            .doesNotContain("UNKNOWN");
+    }
+
+    @Test
+    @DisplayName("dropped runs should write nothing")
+    void droppedRunWritesNothing() throws IOException {
+        TelemetrySampler sampler = TelemetrySampler.builder().runRate(0).build();
+        playCombat(sampler);
+
+        assertThat(readEvents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("dropped runs should publish nothing to the bus")
+    void droppedRunPublishesNothing() throws IOException {
+        TelemetrySampler sampler = TelemetrySampler.builder().runRate(0).build();
+
+        assertThat(playCombat(sampler)).isZero();
+    }
+
+    /**
+     * Play up to and through the first combat.
+     * @return Number of events published to the bus
+     */
+    private long playCombat(TelemetrySampler sampler) throws IOException {
+        EventBus bus = TelemetryRuns.jsonlBus(tempFile, "test_run");
+        try (bus) {
+            GameSession session = new GameSession("Hero", PlayerClass.WARRIOR, SEED,
+                Difficulty.NORMAL, DungeonConfig.easy());
+            TelemetryRuns.attach(bus, session, sampler);
+            session.start();
+
+            while (session.isActive() && session.getState() != GameState.IN_COMBAT) {
+                switch (session.getState()) {
+                    case IN_SHOP -> session.leaveShop();
+                    case AT_REST -> session.leaveRest();
+                    default -> session.advanceRoom();
+                }
+            }
+            session.executeCombat();
+        }
+        return bus.getPublishedCount();
+    }
+
+    private List<JsonNode> readEvents() throws IOException {
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : Files.readAllLines(tempFile)) {
+            if (!line.isBlank()) {
+                events.add(mapper.readTree(line));
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,331 @@
+package com.roguelab.telemetry;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.roguelab.combat.AttackResult;
+import com.roguelab.combat.CombatContext;
+import com.roguelab.domain.*;
+import com.roguelab.dungeon.DungeonConfig;
+import com.roguelab.event.*;
+import com.roguelab.game.*;
+import com.roguelab.util.PhaseProfiler;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Telemetry Writer")
+class TelemetryWriterTest {
+    
+    private static final long SEED = 12345L;
+    private Path tempFile;
+    private ObjectMapper mapper;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        tempFile = Files.createTempFile("telemetry-test", ".jsonl");
+        mapper = new ObjectMapper();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(tempFile);
+    }
+    
+    @Test
+    @DisplayName("should write RUN_STARTED event")
+    void writesRunStartedEvent() throws IOException {
+        String runId = "test_run";
+        try (EventBus bus = bus(runId)) {
+            GameSession session = new GameSession("Hero", PlayerClass.WARRIOR, SEED);
+            EventBusListener listener = new EventBusListener(bus, runId, "test");
+            
+            listener.onRunStarted(session);
+        }
+        
+        List<JsonNode> events = readEvents();
+        assertThat(events).hasSize(1);
+        
+        JsonNode event = events.get(0);
+        assertThat(event.get("event_type").asText()).isEqualTo("RUN_STARTED");
+        assertThat(event.get("run_id").asText()).isEqualTo("test_run");
+        assertThat(event.get("payload").get("player_name").asText()).isEqualTo("Hero");
+        assertThat(event.get("payload").get("player_class").asText()).isEqualTo("WARRIOR");
+        assertThat(event.get("payload").get("starting_health").asInt()).isPositive();
+    }
+    
+    @Test
+    @DisplayName("should write FLOOR_ENTERED event")
+    void writesFloorEnteredEvent() throws IOException {
+        String runId = "test_run";
+        try (EventBus bus = bus(runId)) {
+            GameSession session = new GameSession("Hero", PlayerClass.WARRIOR, SEED, 
+                Difficulty.NORMAL, DungeonConfig.easy());
+            session.start();
+            
+            EventBusListener listener = new EventBusListener(bus, runId, "test");
+            listener.onFloorEntered(session, session.getCurrentFloor());
+        }
+        
+        List<JsonNode> events = readEvents();
+        assertThat(events).hasSize(1);
+        
+        JsonNode event = events.get(0);
+        assertThat(event.get("event_type").asText()).isEqualTo("FLOOR_ENTERED");
+        assertThat(event.get("payload").get("floor_number").asInt()).isEqualTo(1);
+        assertThat(event.get("payload").get("room_count").asInt()).isPositive();
+        assertThat(event.get("payload").get("room_types")).hasSize(event.get("payload").get("room_count").asInt());
+    }
+    
+    @Test
+    @DisplayName("should write RUN_ENDED event with statistics")
+    void writesRunEndedEvent() throws IOException {
+        String runId = "test_run";
+        try (EventBus bus = bus(runId)) {
+            GameSession session = new GameSession("Hero", PlayerClass.WARRIOR, SEED);
+            session.start();
+            
+            EventBusListener listener = new EventBusListener(bus, runId, "test");
+            listener.onRunEnded(session, GameSessionListener.RunEndReason.VICTORY);
+        }
+        
+        List<JsonNode> events = readEvents();
+        assertThat(events).hasSize(1);
+        
+        JsonNode event = events.get(0);
+        assertThat(event.get("event_type").asText()).isEqualTo("RUN_ENDED");
+        assertThat(event.get("payload").get("end_reason").asText()).isEqualTo("VICTORY");
+        assertThat(event.get("payload").has("rooms_visited")).isTrue();
+        assertThat(event.get("payload").get("player_alive").asBoolean()).isTrue();
+    }
+    
+    @Test
+    @DisplayName("TelemetryWriter should include all required fields")
+    void writerIncludesRequiredFields() throws IOException {
+        String runId = "test_run";
+        try (TelemetryWriter writer = new TelemetryWriter(tempFile, runId, false)) {
+            var payload = writer.createPayload();
+            payload.put("test", "value");
+            writer.write("TEST_EVENT", 42, payload);
+        }
+        
+        List<JsonNode> events = readEvents();
+        JsonNode event = events.get(0);
+        
+        assertThat(event.has("event_type")).isTrue();
+        assertThat(event.has("event_version")).isTrue();
+        assertThat(event.has("timestamp")).isTrue();
+        assertThat(event.has("run_id")).isTrue();
+        assertThat(event.has("tick")).isTrue();
+        assertThat(event.has("payload")).isTrue();
+        
+        assertThat(event.get("tick").asInt()).isEqualTo(42);
+    }
+    
+    @Test
+    @DisplayName("should write DAMAGE_DEALT with enemy types from the combat lookup")
+    void writesDamageDealtEvent() throws IOException {
+        Room room = new Room(EntityId.of("room_1_0"), RoomType.COMBAT, 1, 0);
+        Enemy rat = new Enemy(EnemyType.RAT, 1);
+        Enemy orc = new Enemy(EnemyType.ORC, 1);
+        room.addEnemy(rat);
+        room.addEnemy(orc);
+        CombatContext ctx = new CombatContext("test_run", new Player("Hero", PlayerClass.WARRIOR), room, 3);
+        
+        try (EventBus bus = bus("test_run")) {
+            EventBusListener listener = new EventBusListener(bus, "test_run", "test");
+            listener.onCombatStarted(ctx);
+            listener.onDamageDealt(ctx, new AttackResult("player", orc.getId().value(), 10, 12,
+                DamageType.FIRE, true, 30, 18, false), true);
+            listener.onDamageDealt(ctx, new AttackResult(rat.getId().value(), "player", 4, 3,
+                DamageType.PHYSICAL, false, 50, 47, false), false);
+        }
+        
+        List<JsonNode> events = readEvents();
+        assertThat(events).extracting(e -> e.get("event_type").asText())
+            .containsExactly("COMBAT_STARTED", "DAMAGE_DEALT", "DAMAGE_DEALT");
+        assertThat(events.get(0).get("payload").get("enemies").get(1).get("type").asText()).isEqualTo("ORC");
+        
+        JsonNode hit = events.get(1).get("payload");
+        assertThat(hit.get("source_type").asText()).isEqualTo("PLAYER");
+        assertThat(hit.get("target_type").asText()).isEqualTo("ORC");
+        assertThat(hit.get("final_damage").asInt()).isEqualTo(12);
+        assertThat(hit.get("damage_type").asText()).isEqualTo("FIRE");
+        assertThat(hit.get("critical").asBoolean()).isTrue();
+        assertThat(events.get(2).get("payload").get("source_type").asText()).isEqualTo("RAT");
+    }
+    
+    @Test
+    @DisplayName("should write COMBAT_ENDED and PLAYER_DIED with the keys analytics reads")
+    void writesCombatEndedAndPlayerDied() throws IOException {
+        Room room = new Room(EntityId.of("room_1_0"), RoomType.COMBAT, 1, 0);
+        Enemy rat = new Enemy(EnemyType.RAT, 1);
+        Enemy orc = new Enemy(EnemyType.ORC, 1);
+        room.addEnemy(rat);
+        room.addEnemy(orc);
+        Player player = new Player("Hero", PlayerClass.WARRIOR);
+        CombatContext ctx = new CombatContext("test_run", player, room, 3);
+        ctx.addDamageTaken(player.getHealth().getCurrent());
+        ctx.recordDamageFrom(orc, 9);
+        player.getHealth().takeDamage(player.getHealth().getCurrent());
+        
+        try (EventBus bus = bus("test_run")) {
+            EventBusListener listener = new EventBusListener(bus, "test_run", "test");
+            listener.onCombatStarted(ctx);
+            listener.onCombatEnded(ctx, ctx.buildResult());
+            listener.onPlayerDied(ctx);
+        }
+        
+        List<JsonNode> events = readEvents();
+        assertThat(events).extracting(e -> e.get("event_type").asText())
+            .containsExactly("COMBAT_STARTED", "COMBAT_ENDED", "PLAYER_DIED");
+        
+        JsonNode ended = events.get(1).get("payload");
+        assertThat(ended.get("outcome").asText()).isEqualTo("DEFEAT");
+        assertThat(ended.get("total_damage_taken").asInt()).isEqualTo(ctx.getTotalDamageTaken());
+        assertThat(ended.has("total_damage_dealt")).isTrue();
+        assertThat(ended.has("enemies_killed")).isTrue();
+        assertThat(ended.has("gold_earned")).isTrue();
+        assertThat(ended.get("player_health_after").asInt()).isZero();
+        
+        JsonNode died = events.get(2).get("payload");
+        assertThat(died.get("cause_id").asText()).isEqualTo(orc.getId().value());
+        assertThat(died.get("cause_name").asText()).isEqualTo("ORC");
+        assertThat(died.get("final_blow").asInt()).isEqualTo(9);
+        assertThat(died.get("total_damage_taken").asInt()).isEqualTo(ctx.getTotalDamageTaken());
+    }
+    
+    @Test
+    @DisplayName("streamed payloads should match tree payloads")
+    void streamedPayloadMatchesTree() throws IOException {
+        List<ObjectNode> tapped = new ArrayList<>();
+        try (TelemetryWriter writer = new TelemetryWriter(tempFile, "test_run", false)) {
+            writer.write(new SerializedString("TEST_EVENT"), 7, gen -> {
+                gen.writeFieldName(new SerializedString("count"));
+                gen.writeNumber(3);
+                gen.writeStringField("name", "value");
+            });
+            writer.setTap(tapped::add);
+            writer.write(new SerializedString("TEST_EVENT"), 8, gen -> gen.writeNumberField("count", 4));
+        }
+        
+        List<JsonNode> events = readEvents();
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).get("run_id").asText()).isEqualTo("test_run");
+        assertThat(events.get(0).get("tick").asInt()).isEqualTo(7);
+        assertThat(events.get(0).get("payload").get("count").asInt()).isEqualTo(3);
+        assertThat(events.get(0).get("payload").get("name").asText()).isEqualTo("value");
+        
+        assertThat(tapped).hasSize(1);
+        assertThat(tapped.get(0)).isEqualTo(events.get(1));
+    }
+    
+    @Test
+    @DisplayName("streamed combat events should match the serializer's payloads")
+    void streamedCombatEventsMatchSerializer() throws IOException {
+        UUID runId = UUID.randomUUID();
+        List<GameEvent> published = List.of(
+            new CombatStartedEvent(runId, 1, "room_1_0",
+                List.of(new EnemyInfo("orc_1", EnemyType.ORC, 30, 6, 40, 2)), 80, 100),
+            new DamageDealtEvent(runId, 2, "player", DamageDealtEvent.EntityType.PLAYER,
+                "orc_1", DamageDealtEvent.EntityType.ENEMY, 10, 12, DamageType.FIRE, true, 30, 18, false,
+                EnemyType.ORC),
+            new DamageDealtEvent(runId, 3, "orc_1", DamageDealtEvent.EntityType.ENEMY,
+                "player", DamageDealtEvent.EntityType.PLAYER, 6, 4, DamageType.PHYSICAL, false, 80, 76, false,
+                null),
+            new CombatEndedEvent(runId, 4, "room_1_0", CombatEndedEvent.CombatOutcome.DEFEAT,
+                3, 12, 80, 0, 0, 0, 0, 100, new CombatEndedEvent.DamageSummary(1, 1, 12, 2, 0, 6)),
+            new PlayerDiedEvent(runId, 4, PlayerDiedEvent.CauseType.ENEMY, "orc_1", "ORC",
+                DamageType.PHYSICAL, 6, 1, List.of("sword_001"), 25, 3, 80)
+        );
+        
+        try (EventBus bus = bus("test_run")) {
+            published.forEach(bus::publish);
+        }
+        
+        EventSerializer serializer = new EventSerializer(EventSerializer.KeyStyle.SNAKE_CASE);
+        List<JsonNode> events = readEvents();
+        assertThat(events).hasSize(published.size());
+        for (int i = 0; i < events.size(); i++) {
+            GameEvent event = published.get(i);
+            assertThat(events.get(i).get("event_type").asText()).isEqualTo(event.getEventType());
+            assertThat(events.get(i).get("event_version").asText()).isEqualTo(event.getEventVersion());
+            assertThat(events.get(i).get("payload")).isEqualTo(serializer.serializePayload(event));
+        }
+    }
+    
+    @Test
+    @DisplayName("bus consumer should flush once per batch, not per event")
+    void busConsumerFlushesPerBatch() throws IOException {
+        UUID runId = UUID.randomUUID();
+        EventBus.Consumer consumer = EventBus.forWriter(new TelemetryWriter(tempFile, "test_run", false));
+        for (int tick = 1; tick <= 3; tick++) {
+            consumer.onEvent(new DamageDealtEvent(runId, tick, "player", DamageDealtEvent.EntityType.PLAYER,
+                "orc_1", DamageDealtEvent.EntityType.ENEMY, 10, 10, DamageType.PHYSICAL, false, 30, 20, false,
+                EnemyType.ORC), tick, false);
+        }
+        assertThat(readEvents()).isEmpty();
+        
+        consumer.onEvent(new FloorEnteredEvent(runId, 4, 2, 6, false, List.of(RoomType.COMBAT)), 4, true);
+        assertThat(readEvents()).hasSize(4);
+        consumer.onShutdown();
+    }
+    
+    @Test
+    @DisplayName("tapped writes should record one telemetry phase each, never nested")
+    void tappedWritesProfileOnce() throws IOException {
+        NestingProfiler profiler = new NestingProfiler();
+        try (TelemetryWriter writer = new TelemetryWriter(tempFile, "test_run", false, profiler)) {
+            writer.setTap(event -> {});
+            writer.write(new SerializedString("TEST_EVENT"), 1, gen -> gen.writeNumberField("count", 1));
+            writer.write("TEST_EVENT", 2, mapper.createObjectNode().put("count", 2));
+        }
+        
+        assertThat(profiler.begins).isEqualTo(2);
+        assertThat(profiler.maxDepth).isEqualTo(1);
+        assertThat(profiler.depth).isZero();
+    }
+    
+    /** Counts telemetry phases and how deeply they nest. */
+    private static final class NestingProfiler extends PhaseProfiler {
+        int begins;
+        int depth;
+        int maxDepth;
+        
+        @Override
+        public void begin(Phase phase) {
+            if (phase == Phase.TELEMETRY) {
+                begins++;
+                maxDepth = Math.max(maxDepth, ++depth);
+            }
+        }
+        
+        @Override
+        public void end(Phase phase) {
+            if (phase == Phase.TELEMETRY) {
+                depth--;
+            }
+        }
+    }
+    
+    private EventBus bus(String runId) throws IOException {
+        return TelemetryRuns.jsonlBus(tempFile, runId);
+    }
+    
+    private List<JsonNode> readEvents() throws IOException {
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : Files.readAllLines(tempFile)) {
+            if (!line.isBlank()) {
+                events.add(mapper.readTree(line));
+            }
+        }
+        return events;
+    }
+}
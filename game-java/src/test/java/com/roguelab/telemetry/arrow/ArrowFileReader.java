@@ -0,0 +1,378 @@
+package com.roguelab.telemetry.arrow;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads back Arrow IPC files for tests. It follows the format spec
+ * (File.fbs, Schema.fbs, Message.fbs) rather than {@link ArrowTableWriter}'s
+ * code, and checks the offsets, alignment and lengths a strict reader such
+ * as pyarrow's verifies, so a layout error in the writer fails here.
+ *
+ * Only what the writer produces is supported: flat int, bool and utf8
+ * columns, and utf8 dictionaries with integer indices.
+ */
+final class ArrowFileReader {
+
+    private static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+    private static final short METADATA_V5 = 4;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_UTF8 = 5;
+    private static final byte TYPE_BOOL = 6;
+    private static final byte HEADER_SCHEMA = 1;
+    private static final byte HEADER_DICTIONARY_BATCH = 2;
+    private static final byte HEADER_RECORD_BATCH = 3;
+
+    /**
+     * One schema field. {@code bitWidth} is the integer width for int
+     * columns and the index width for dictionary columns.
+     */
+    record Field(String name, boolean nullable, byte typeId, int bitWidth, boolean signed, Long dictionaryId) {}
+
+    private record Block(long offset, int metadataLength, long bodyLength) {}
+
+    private record Batch(long length, List<long[]> nodes, List<long[]> buffers, int body, long dictionaryId) {}
+
+    private final ByteBuffer file;
+    private final List<Field> fields = new ArrayList<>();
+    private final Map<Long, List<String>> dictionaries = new HashMap<>();
+    private final Map<String, List<Object>> columns = new LinkedHashMap<>();
+    private final List<Long> batchLengths = new ArrayList<>();
+
+    private ArrowFileReader(byte[] bytes) {
+        this.file = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int length = bytes.length;
+        check(startsWith(0, MAGIC) && startsWith(length - MAGIC.length, MAGIC), "magic");
+        int footerLength = file.getInt(length - MAGIC.length - 4);
+        int footerStart = length - MAGIC.length - 4 - footerLength;
+        check(footerStart >= 8 && footerStart % 8 == 0, "footer offset");
+        check(file.getInt(footerStart - 8) == -1 && file.getInt(footerStart - 4) == 0, "end-of-stream marker");
+
+        FlatBuffer footer = new FlatBuffer(slice(footerStart, footerLength));
+        int root = footer.root();
+        check(footer.getShort(root, 0) == METADATA_V5, "footer version");
+        readSchema(footer, footer.ref(root, 1));
+        check(messageType(8) == HEADER_SCHEMA, "schema message at the start of the stream");
+
+        for (Block block : blocks(footer, footer.ref(root, 2))) {
+            readDictionary(block);
+        }
+        for (Field field : fields) {
+            columns.put(field.name(), new ArrayList<>());
+        }
+        for (Block block : blocks(footer, footer.ref(root, 3))) {
+            readRecordBatch(block);
+        }
+    }
+
+    static ArrowFileReader read(Path path) throws IOException {
+        return new ArrowFileReader(Files.readAllBytes(path));
+    }
+
+    List<Field> fields() { return fields; }
+    Map<Long, List<String>> dictionaries() { return dictionaries; }
+    List<Long> batchLengths() { return batchLengths; }
+
+    long rowCount() {
+        return batchLengths.stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Every value of a column across batches, null where the validity
+     * bitmap says so. Dictionary columns are decoded to their strings.
+     */
+    List<Object> column(String name) {
+        List<Object> values = columns.get(name);
+        check(values != null, "column " + name);
+        return values;
+    }
+
+    // === METADATA ===
+
+    private void readSchema(FlatBuffer fb, int schema) {
+        int vector = fb.ref(schema, 1);
+        for (int i = 0; i < fb.length(vector); i++) {
+            int field = fb.tableAt(vector, i);
+            String name = fb.string(fb.ref(field, 0));
+            boolean nullable = fb.getByte(field, 1) != 0;
+            byte typeId = fb.getByte(field, 2);
+            int type = fb.ref(field, 3);
+            check(type >= 0, "type of " + name);
+            int children = fb.ref(field, 5);
+            check(children < 0 || fb.length(children) == 0, "children of " + name);
+
+            int dictionary = fb.ref(field, 4);
+            if (dictionary >= 0) {
+                int index = fb.ref(dictionary, 1);
+                fields.add(new Field(name, nullable, typeId,
+                    fb.getInt(index, 0), fb.getByte(index, 1) != 0, fb.getLong(dictionary, 0)));
+            } else if (typeId == TYPE_INT) {
+                fields.add(new Field(name, nullable, typeId, fb.getInt(type, 0), fb.getByte(type, 1) != 0, null));
+            } else {
+                fields.add(new Field(name, nullable, typeId, 0, false, null));
+            }
+        }
+    }
+
+    private List<Block> blocks(FlatBuffer fb, int vector) {
+        List<Block> blocks = new ArrayList<>();
+        if (vector < 0) {
+            return blocks;
+        }
+        for (int i = 0; i < fb.length(vector); i++) {
+            int at = fb.structAt(vector, i, 24);
+            blocks.add(new Block(fb.buf.getLong(at), fb.buf.getInt(at + 8), fb.buf.getLong(at + 16)));
+        }
+        return blocks;
+    }
+
+    private byte messageType(int offset) {
+        check(file.getInt(offset) == -1, "continuation marker at " + offset);
+        FlatBuffer fb = new FlatBuffer(slice(offset + 8, file.getInt(offset + 4)));
+        return fb.getByte(fb.root(), 1);
+    }
+
+    /**
+     * Parse the message a footer block points at and its record batch.
+     */
+    private Batch message(Block block, byte expectedType, boolean dictionary) {
+        int offset = (int) block.offset();
+        check(offset % 8 == 0, "message alignment");
+        check(file.getInt(offset) == -1, "continuation marker at " + offset);
+        int metadataLength = file.getInt(offset + 4);
+        check(8 + metadataLength == block.metadataLength(), "block metadata length");
+        check(block.metadataLength() % 8 == 0, "metadata padding");
+
+        FlatBuffer fb = new FlatBuffer(slice(offset + 8, metadataLength));
+        int message = fb.root();
+        check(fb.getShort(message, 0) == METADATA_V5, "message version");
+        check(fb.getByte(message, 1) == expectedType, "message header type");
+        check(fb.getLong(message, 3) == block.bodyLength(), "message body length");
+
+        int batch = fb.ref(message, 2);
+        long dictionaryId = -1;
+        if (dictionary) {
+            dictionaryId = fb.getLong(batch, 0);
+            batch = fb.ref(batch, 1);
+        }
+        List<long[]> nodes = new ArrayList<>();
+        int nodeVector = fb.ref(batch, 1);
+        for (int i = 0; i < fb.length(nodeVector); i++) {
+            int at = fb.structAt(nodeVector, i, 16);
+            nodes.add(new long[] {fb.buf.getLong(at), fb.buf.getLong(at + 8)});
+        }
+        List<long[]> buffers = new ArrayList<>();
+        int bufferVector = fb.ref(batch, 2);
+        for (int i = 0; i < fb.length(bufferVector); i++) {
+            int at = fb.structAt(bufferVector, i, 16);
+            long start = fb.buf.getLong(at);
+            long length = fb.buf.getLong(at + 8);
+            check(start % 8 == 0 && start + length <= block.bodyLength(), "buffer " + i + " bounds");
+            buffers.add(new long[] {start, length});
+        }
+        return new Batch(fb.getLong(batch, 0), nodes, buffers, offset + block.metadataLength(), dictionaryId);
+    }
+
+    private void readDictionary(Block block) {
+        Batch batch = message(block, HEADER_DICTIONARY_BATCH, true);
+        check(batch.nodes().size() == 1 && batch.buffers().size() == 3, "dictionary layout");
+        List<Object> values = new ArrayList<>();
+        readUtf8(batch, batch.nodes().get(0), 0, values);
+        List<String> strings = new ArrayList<>();
+        values.forEach(v -> strings.add((String) v));
+        dictionaries.put(batch.dictionaryId(), strings);
+    }
+
+    private void readRecordBatch(Block block) {
+        Batch batch = message(block, HEADER_RECORD_BATCH, false);
+        check(batch.nodes().size() == fields.size(), "one node per field");
+        batchLengths.add(batch.length());
+        int buffer = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            long[] node = batch.nodes().get(i);
+            check(node[0] == batch.length(), "node length of " + field.name());
+            List<Object> values = columns.get(field.name());
+            if (field.dictionaryId() != null) {
+                List<String> dictionary = dictionaries.get(field.dictionaryId());
+                check(dictionary != null && field.bitWidth() == 8, "dictionary of " + field.name());
+                ByteBuffer indices = buffer(batch, buffer + 1);
+                for (int row = 0; row < node[0]; row++) {
+                    values.add(isValid(batch, buffer, node, row) ? dictionary.get(indices.get(row)) : null);
+                }
+                buffer += 2;
+            } else if (field.typeId() == TYPE_UTF8) {
+                readUtf8(batch, node, buffer, values);
+                buffer += 3;
+            } else if (field.typeId() == TYPE_BOOL) {
+                ByteBuffer bits = buffer(batch, buffer + 1);
+                for (int row = 0; row < node[0]; row++) {
+                    values.add(isValid(batch, buffer, node, row) ? bit(bits, row) : null);
+                }
+                buffer += 2;
+            } else {
+                check(field.typeId() == TYPE_INT, "type of " + field.name());
+                ByteBuffer data = buffer(batch, buffer + 1);
+                check(data.remaining() == node[0] * field.bitWidth() / 8, "value buffer of " + field.name());
+                for (int row = 0; row < node[0]; row++) {
+                    Object value = field.bitWidth() == 64 ? (Object) data.getLong(row * 8) : (Object) data.getInt(row * 4);
+                    values.add(isValid(batch, buffer, node, row) ? value : null);
+                }
+                buffer += 2;
+            }
+        }
+        check(buffer == batch.buffers().size(), "every buffer consumed");
+    }
+
+    private void readUtf8(Batch batch, long[] node, int buffer, List<Object> values) {
+        ByteBuffer offsets = buffer(batch, buffer + 1);
+        ByteBuffer data = buffer(batch, buffer + 2);
+        check(offsets.remaining() == (node[0] + 1) * 4 && offsets.getInt(0) == 0, "utf8 offsets");
+        for (int row = 0; row < node[0]; row++) {
+            int start = offsets.getInt(row * 4);
+            int end = offsets.getInt(row * 4 + 4);
+            check(start <= end && end <= data.remaining(), "utf8 offsets");
+            byte[] bytes = new byte[end - start];
+            data.get(start, bytes);
+            values.add(isValid(batch, buffer, node, row) ? new String(bytes, StandardCharsets.UTF_8) : null);
+        }
+    }
+
+    private boolean isValid(Batch batch, int buffer, long[] node, int row) {
+        ByteBuffer validity = buffer(batch, buffer);
+        if (validity.remaining() == 0) {
+            check(node[1] == 0, "nulls without a validity bitmap");
+            return true;
+        }
+        return bit(validity, row);
+    }
+
+    private static boolean bit(ByteBuffer bits, int index) {
+        return (bits.get(index >>> 3) & (1 << (index & 7))) != 0;
+    }
+
+    private ByteBuffer buffer(Batch batch, int index) {
+        long[] buffer = batch.buffers().get(index);
+        return slice(batch.body() + (int) buffer[0], (int) buffer[1]);
+    }
+
+    private ByteBuffer slice(int offset, int length) {
+        check(offset >= 0 && length >= 0 && offset + length <= file.capacity(), "range " + offset + "+" + length);
+        return file.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private boolean startsWith(int offset, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (file.get(offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new IllegalStateException("Invalid Arrow file: " + what);
+        }
+    }
+
+    /**
+     * FlatBuffers accessors over one metadata buffer. Positions are relative
+     * to the buffer's start, where alignment is checked as the verifier does.
+     */
+    private static final class FlatBuffer {
+        final ByteBuffer buf;
+
+        FlatBuffer(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        int root() {
+            return offset(0);
+        }
+
+        /** Position a uoffset at {@code at} points to. */
+        int offset(int at) {
+            aligned(at, 4);
+            int target = at + buf.getInt(at);
+            check(target > at && target < buf.capacity(), "offset at " + at);
+            return target;
+        }
+
+        /** Position of a field in a table, or -1 if absent. */
+        int field(int table, int slot) {
+            aligned(table, 4);
+            int vtable = table - buf.getInt(table);
+            aligned(vtable, 2);
+            int vtableSize = buf.getShort(vtable);
+            int entry = 4 + 2 * slot;
+            if (entry >= vtableSize) {
+                return -1;
+            }
+            int offset = buf.getShort(vtable + entry);
+            check(offset < buf.getShort(vtable + 2), "field " + slot + " inside its table");
+            return offset == 0 ? -1 : table + offset;
+        }
+
+        int ref(int table, int slot) {
+            int at = field(table, slot);
+            return at < 0 ? -1 : offset(at);
+        }
+
+        byte getByte(int table, int slot) {
+            int at = field(table, slot);
+            return at < 0 ? 0 : buf.get(at);
+        }
+
+        short getShort(int table, int slot) {
+            int at = field(table, slot);
+            return at < 0 ? 0 : buf.getShort(aligned(at, 2));
+        }
+
+        int getInt(int table, int slot) {
+            int at = field(table, slot);
+            return at < 0 ? 0 : buf.getInt(aligned(at, 4));
+        }
+
+        long getLong(int table, int slot) {
+            int at = field(table, slot);
+            return at < 0 ? 0 : buf.getLong(aligned(at, 8));
+        }
+
+        String string(int at) {
+            aligned(at, 4);
+            byte[] bytes = new byte[buf.getInt(at)];
+            buf.get(at + 4, bytes);
+            check(buf.get(at + 4 + bytes.length) == 0, "string terminator");
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int length(int vector) {
+            return buf.getInt(aligned(vector, 4));
+        }
+
+        int tableAt(int vector, int index) {
+            return offset(vector + 4 + 4 * index);
+        }
+
+        int structAt(int vector, int index, int size) {
+            int at = vector + 4 + size * index;
+            check(at + size <= buf.capacity(), "struct " + index);
+            return aligned(at, 8);
+        }
+
+        private static int aligned(int at, int alignment) {
+            check(at % alignment == 0, "alignment of " + at);
+            return at;
+        }
+    }
+}
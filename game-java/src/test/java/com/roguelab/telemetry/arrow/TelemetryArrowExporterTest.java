@@ -0,0 +1,186 @@
+package com.roguelab.telemetry.arrow;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roguelab.domain.*;
+import com.roguelab.dungeon.DungeonConfig;
+import com.roguelab.game.GameSession;
+import com.roguelab.telemetry.TelemetryRuns;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Telemetry Arrow Exporter")
+class TelemetryArrowExporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Nested
+    @DisplayName("Arrow table writer")
+    class TableWriter {
+
+        @Test
+        @DisplayName("should write a framed Arrow IPC file")
+        void writesFramedFile() throws IOException {
+            Path file = dir.resolve("small.arrow");
+            writeSmallTable(file);
+
+            byte[] bytes = Files.readAllBytes(file);
+            byte[] magic = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+            assertThat(Arrays.copyOf(bytes, 6)).isEqualTo(magic);
+            assertThat(Arrays.copyOfRange(bytes, bytes.length - 6, bytes.length)).isEqualTo(magic);
+
+            // Footer length sits just before the trailing magic
+            int footerLength = ByteBuffer.wrap(bytes, bytes.length - 10, 4)
+                .order(ByteOrder.LITTLE_ENDIAN).getInt();
+            assertThat(footerLength).isPositive().isLessThan(bytes.length);
+            assertThat(footerLength % 8).isZero();
+        }
+
+        @Test
+        @DisplayName("should read back the schema, dictionary and every batch")
+        void roundTrips() throws IOException {
+            Path file = dir.resolve("small.arrow");
+            writeSmallTable(file);
+
+            ArrowFileReader arrow = ArrowFileReader.read(file);
+
+            assertThat(arrow.fields()).extracting(ArrowFileReader.Field::name)
+                .containsExactly("name", "value", "total", "crit", "damage_type");
+            assertThat(arrow.fields()).allMatch(ArrowFileReader.Field::nullable);
+            assertThat(arrow.fields().get(1)).extracting(ArrowFileReader.Field::bitWidth).isEqualTo(32);
+            assertThat(arrow.fields().get(2)).extracting(ArrowFileReader.Field::bitWidth).isEqualTo(64);
+            assertThat(arrow.fields().get(4).dictionaryId()).isNotNull();
+            assertThat(arrow.dictionaries().get(arrow.fields().get(4).dictionaryId()))
+                .containsExactly("PHYSICAL", "FIRE", "ICE", "POISON", "MAGIC");
+
+            assertThat(arrow.batchLengths()).containsExactly(2L, 2L, 1L);
+            assertThat(arrow.column("name")).containsExactly("row0", "row1", null, "row3", "row4");
+            assertThat(arrow.column("value")).containsExactly(0, 1, 2, null, 4);
+            assertThat(arrow.column("total")).containsExactly(0L, 10_000_000_000L, 20_000_000_000L,
+                30_000_000_000L, null);
+            assertThat(arrow.column("crit")).containsExactly(true, false, true, false, null);
+            assertThat(arrow.column("damage_type")).containsExactly("PHYSICAL", "FIRE", "ICE", null, "MAGIC");
+        }
+
+        /**
+         * Five rows in batches of two, with a null in each column.
+         */
+        private void writeSmallTable(Path file) {
+            try (ArrowTableWriter table = ArrowTableWriter.builder(file)
+                    .utf8("name")
+                    .int32("value")
+                    .int64("total")
+                    .bool("crit")
+                    .dictionary("damage_type", DamageType.class)
+                    .batchSize(2)
+                    .build()) {
+                for (int i = 0; i < 5; i++) {
+                    table.setString(0, i != 2 ? "row" + i : null);
+                    if (i != 3) {
+                        table.setInt(1, i).setEnum(4, DamageType.values()[i]);
+                    }
+                    if (i != 4) {
+                        table.setLong(2, i * 10_000_000_000L).setBool(3, i % 2 == 0);
+                    }
+                    table.endRow();
+                }
+                assertThat(table.getRowCount()).isEqualTo(5);
+            }
+        }
+
+        @Test
+        @DisplayName("should reject rows after close")
+        void rejectsRowsAfterClose() {
+            ArrowTableWriter table = ArrowTableWriter.builder(dir.resolve("closed.arrow"))
+                .int32("value")
+                .build();
+            table.close();
+
+            assertThatThrownBy(table::endRow).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("should require at least one column")
+        void requiresColumns() {
+            assertThatThrownBy(() -> ArrowTableWriter.builder(dir.resolve("empty.arrow")).build())
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Exporting")
+    class Exporting {
+
+        @Test
+        @DisplayName("live and file exports should produce the same row counts")
+        void liveMatchesFile() throws IOException {
+            Path jsonl = dir.resolve("run.jsonl");
+            Map<String, Long> live;
+            try (TelemetryArrowExporter exporter = new TelemetryArrowExporter(dir.resolve("live"))) {
+                GameSession session = new GameSession("Bot", PlayerClass.WARRIOR, 7L,
+                    Difficulty.NORMAL, DungeonConfig.standard());
+                TelemetryRuns.record(jsonl, "run_1", session, exporter);
+                live = exporter.getRowCounts();
+            }
+
+            Map<String, Long> fromFile;
+            try (TelemetryArrowExporter exporter = new TelemetryArrowExporter(dir.resolve("file"))) {
+                exporter.exportFile(jsonl);
+                fromFile = exporter.getRowCounts();
+            }
+
+            List<JsonNode> events = readEvents(jsonl);
+            long damageEvents = events.stream()
+                .filter(e -> e.get("event_type").asText().equals("DAMAGE_DEALT"))
+                .count();
+
+            assertThat(fromFile).isEqualTo(live);
+            assertThat(live.get("runs.arrow")).isEqualTo(1);
+            assertThat(live.get("damage.arrow")).isEqualTo(damageEvents).isPositive();
+            assertThat(dir.resolve("file").resolve("combats.arrow")).exists();
+
+            ArrowFileReader damage = ArrowFileReader.read(dir.resolve("file").resolve("damage.arrow"));
+            assertThat(damage.rowCount()).isEqualTo(damageEvents);
+            assertThat(damage.column("run_id")).containsOnly("run_1");
+        }
+
+        @Test
+        @DisplayName("runs that never ended should not be written")
+        void skipsUnfinishedRuns() throws IOException {
+            ObjectMapper mapper = new ObjectMapper();
+            try (TelemetryArrowExporter exporter = new TelemetryArrowExporter(dir)) {
+                exporter.accept(mapper.readTree(
+                    "{\"event_type\":\"RUN_STARTED\",\"run_id\":\"r\",\"tick\":0,\"payload\":{\"seed\":1}}"));
+
+                assertThat(exporter.getRowCounts().get("runs.arrow")).isZero();
+            }
+        }
+    }
+
+    private static List<JsonNode> readEvents(Path file) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        return Files.readAllLines(file).stream()
+            .filter(line -> !line.isBlank())
+            .map(line -> {
+                try {
+                    return mapper.readTree(line);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            })
+            .toList();
+    }
+}
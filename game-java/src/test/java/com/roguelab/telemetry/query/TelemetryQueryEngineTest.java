@@ -0,0 +1,183 @@
+package com.roguelab.telemetry.query;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roguelab.domain.*;
+import com.roguelab.dungeon.DungeonConfig;
+import com.roguelab.game.GameSession;
+import com.roguelab.telemetry.TelemetryRuns;
+import com.roguelab.telemetry.query.TelemetryQuery.Aggregate;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Telemetry Query Engine")
+class TelemetryQueryEngineTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    static Path runsDir;
+
+    private static List<JsonNode> events;
+
+    @BeforeAll
+    static void playRuns() throws IOException {
+        for (int seed = 1; seed <= 6; seed++) {
+            GameSession session = new GameSession("Bot", PlayerClass.values()[seed % 3], seed,
+                Difficulty.NORMAL, DungeonConfig.standard());
+            TelemetryRuns.record(runsDir.resolve("run_" + seed + ".jsonl"), "run_" + seed, session);
+        }
+
+        events = new ArrayList<>();
+        try (var files = Files.list(runsDir)) {
+            for (Path file : files.toList()) {
+                for (String line : Files.readAllLines(file)) {
+                    events.add(MAPPER.readTree(line));
+                }
+            }
+        }
+    }
+
+    private static List<JsonNode> eventsOfType(String type) {
+        return events.stream().filter(e -> e.get("event_type").asText().equals(type)).toList();
+    }
+
+    @Nested
+    @DisplayName("Queries")
+    class Queries {
+
+        @Test
+        @DisplayName("group-by sums should match the raw events")
+        void groupBySum() throws IOException {
+            QueryResult result = new TelemetryQueryEngine(runsDir).execute(
+                TelemetryQuery.from("DAMAGE_DEALT")
+                    .where("target_type", "PLAYER")
+                    .groupBy("source_type")
+                    .aggregate(Aggregate.sum("final_damage"), Aggregate.count())
+                    .build());
+
+            for (QueryResult.Row row : result.getRows()) {
+                List<JsonNode> hits = eventsOfType("DAMAGE_DEALT").stream()
+                    .map(e -> e.get("payload"))
+                    .filter(p -> p.get("target_type").asText().equals("PLAYER"))
+                    .filter(p -> p.get("source_type").asText().equals(row.key(0)))
+                    .toList();
+                assertThat(row.longValue(0)).isEqualTo(hits.stream().mapToLong(p -> p.get("final_damage").asLong()).sum());
+                assertThat(row.longValue(1)).isEqualTo(hits.size());
+            }
+            assertThat(result.getRows()).isNotEmpty();
+            assertThat(result.getScannedEvents()).isEqualTo(eventsOfType("DAMAGE_DEALT").size());
+        }
+
+        @Test
+        @DisplayName("boolean predicates should match JSON booleans")
+        void booleanPredicate() throws IOException {
+            QueryResult result = new TelemetryQueryEngine(runsDir).execute(
+                TelemetryQuery.from("DAMAGE_DEALT")
+                    .where("killed", true)
+                    .aggregate(Aggregate.count())
+                    .build());
+
+            long killingBlows = eventsOfType("DAMAGE_DEALT").stream()
+                .filter(e -> e.get("payload").get("killed").asBoolean())
+                .count();
+            assertThat(result.scalar(0)).isEqualTo(killingBlows);
+        }
+
+        @Test
+        @DisplayName("exploded arrays should yield one row per element")
+        void explode() throws IOException {
+            QueryResult result = new TelemetryQueryEngine(runsDir).execute(
+                TelemetryQuery.from("COMBAT_STARTED")
+                    .explode("enemies")
+                    .aggregate(Aggregate.count(), Aggregate.countDistinct(TelemetryQuery.RUN_ID))
+                    .build());
+
+            long enemies = eventsOfType("COMBAT_STARTED").stream()
+                .mapToLong(e -> e.get("payload").get("enemies").size())
+                .sum();
+            assertThat(result.scalar(0)).isEqualTo(enemies);
+            assertThat(result.scalar(1)).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("run context columns should carry the player class")
+        void runContext() throws IOException {
+            QueryResult result = new TelemetryQueryEngine(runsDir).execute(
+                TelemetryQuery.from("RUN_ENDED")
+                    .groupBy(TelemetryQuery.RUN_PLAYER_CLASS)
+                    .aggregate(Aggregate.count())
+                    .build());
+
+            assertThat(result.getRows()).extracting(r -> r.key(0))
+                .containsExactly("MAGE", "ROGUE", "WARRIOR");
+            assertThat(result.getRows()).allSatisfy(r -> assertThat(r.longValue(0)).isEqualTo(2));
+        }
+
+        @Test
+        @DisplayName("should reject exploded columns without explode()")
+        void rejectsUnexplodedColumns() {
+            assertThatThrownBy(() -> TelemetryQuery.from("COMBAT_STARTED")
+                    .groupBy("enemies.type")
+                    .aggregate(Aggregate.count())
+                    .build())
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing")
+    class Parsing {
+
+        @Test
+        @DisplayName("should parse reordered fields and skip corrupt lines")
+        void irregularLines(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("odd.jsonl");
+            Files.writeString(file, String.join("\n",
+                "{\"payload\":{\"final_damage\":4},\"run_id\":\"r\",\"event_type\":\"DAMAGE_DEALT\"}",
+                "{ \"event_type\": \"DAMAGE_DEALT\", \"payload\": {\"final_damage\": 6}}\r",
+                "{\"event_type\":\"DAMAGE_DEALT\",\"payload\":{\"final_dam",
+                "",
+                "{\"event_type\":\"DAMAGE_DEALT\",\"payload\":{\"final_damage\":10}}"));
+
+            QueryResult result = new TelemetryQueryEngine(file).execute(
+                TelemetryQuery.from("DAMAGE_DEALT").aggregate(Aggregate.sum("final_damage")).build());
+
+            assertThat(result.scalar(0)).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("should find newlines at every position")
+        void findsNewlines() {
+            for (int at = 0; at < 20; at++) {
+                byte[] data = "x".repeat(20).getBytes(StandardCharsets.US_ASCII);
+                data[at] = '\n';
+                assertThat(TelemetryQueryEngine.indexOfNewline(data, 0, data.length)).isEqualTo(at);
+            }
+            byte[] none = "no newline here".getBytes(StandardCharsets.US_ASCII);
+            assertThat(TelemetryQueryEngine.indexOfNewline(none, 0, none.length)).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    @DisplayName("batch report should render the core tables")
+    void batchReport() throws IOException {
+        String report = BatchReport.run(new TelemetryQueryEngine(runsDir));
+
+        assertThat(report)
+            .contains("| Total Runs | 6 |")
+            .contains("## Combat Statistics")
+            .contains("## Enemy Lethality Ranking")
+            .contains("## Death Causes")
+            .contains("## Run Statistics");
+    }
+}
@@ -0,0 +1,116 @@
+package com.roguelab.util;
+
+import com.roguelab.util.PhaseProfiler.Phase;
+import com.roguelab.util.PhaseProfiler.PhaseStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Phase Profiler")
+class PhaseProfilerTest {
+
+    private final PhaseProfiler profiler = PhaseProfiler.recording();
+
+    @Test
+    @DisplayName("global profiler should be a no-op unless enabled")
+    void globalIsNoopByDefault() {
+        if (!Boolean.getBoolean(PhaseProfiler.PROPERTY)) {
+            assertThat(PhaseProfiler.global()).isSameAs(PhaseProfiler.NOOP);
+        }
+        PhaseProfiler.NOOP.begin(Phase.COMBAT_TURN);
+        PhaseProfiler.NOOP.end(Phase.COMBAT_TURN);
+        assertThat(PhaseProfiler.NOOP.isEnabled()).isFalse();
+        assertThat(PhaseProfiler.NOOP.snapshot()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should time each phase")
+    void timesPhases() {
+        for (int i = 0; i < 5; i++) {
+            profiler.begin(Phase.COMBAT_TURN);
+            LockSupport.parkNanos(1_000_000);
+            profiler.end(Phase.COMBAT_TURN);
+        }
+
+        PhaseStats turns = profiler.snapshot().get(Phase.COMBAT_TURN);
+        assertThat(turns.count()).isEqualTo(5);
+        assertThat(turns.totalNanos()).isGreaterThanOrEqualTo(5_000_000);
+        assertThat(turns.nanos().getMin()).isGreaterThanOrEqualTo(900_000);
+        assertThat(profiler.snapshot().get(Phase.TELEMETRY).count()).isZero();
+    }
+
+    @Test
+    @DisplayName("nested phases should both be recorded, inclusively")
+    void nestedPhases() {
+        profiler.begin(Phase.COMBAT_TURN);
+        profiler.begin(Phase.DAMAGE_CALCULATION);
+        LockSupport.parkNanos(1_000_000);
+        profiler.end(Phase.DAMAGE_CALCULATION);
+        profiler.end(Phase.COMBAT_TURN);
+
+        Map<Phase, PhaseStats> stats = profiler.snapshot();
+        assertThat(stats.get(Phase.DAMAGE_CALCULATION).count()).isEqualTo(1);
+        assertThat(stats.get(Phase.COMBAT_TURN).totalNanos())
+            .isGreaterThanOrEqualTo(stats.get(Phase.DAMAGE_CALCULATION).totalNanos());
+    }
+
+    @Test
+    @DisplayName("end without begin should be ignored")
+    void unmatchedEnd() {
+        profiler.end(Phase.ROOM_ENTRY);
+        profiler.begin(Phase.ROOM_ENTRY);
+        profiler.end(Phase.ROOM_ENTRY);
+        profiler.end(Phase.ROOM_ENTRY);
+
+        assertThat(profiler.snapshot().get(Phase.ROOM_ENTRY).count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should record allocated bytes")
+    void recordsAllocation() {
+        profiler.begin(Phase.FLOOR_GENERATION);
+        long[] garbage = new long[100_000];
+        profiler.end(Phase.FLOOR_GENERATION);
+
+        PhaseStats stats = profiler.snapshot().get(Phase.FLOOR_GENERATION);
+        if (stats.bytes().getTotalCount() > 0) {
+            assertThat(stats.totalBytes()).isGreaterThanOrEqualTo(8L * garbage.length);
+        }
+    }
+
+    @Test
+    @DisplayName("should merge threads")
+    void mergesThreads() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    profiler.begin(Phase.LISTENER_DISPATCH);
+                    profiler.end(Phase.LISTENER_DISPATCH);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(profiler.snapshot().get(Phase.LISTENER_DISPATCH).count()).isEqualTo(400);
+        profiler.reset();
+        assertThat(profiler.snapshot().get(Phase.LISTENER_DISPATCH).count()).isZero();
+    }
+
+    @Test
+    @DisplayName("report should list recorded phases only")
+    void report() {
+        profiler.begin(Phase.TELEMETRY);
+        profiler.end(Phase.TELEMETRY);
+
+        String report = profiler.report();
+        assertThat(report).startsWith("phase").contains("TELEMETRY").doesNotContain("COMBAT_TURN");
+    }
+}